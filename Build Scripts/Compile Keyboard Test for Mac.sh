@@ -61,8 +61,8 @@ if [[ "$(uname)" == 'Darwin' ]]; then # Can only compile macOS app when running
 	jdk_path="${jdk_base_path}/jdk-${java_version}.jdk"
 
 	# jdeps="$("${jdk_path}/Contents/Home/bin/jdeps" --multi-release "${java_version%%.*}" --list-deps "${PROJECT_PATH}/dist/JAR for macOS/Keyboard_Test.jar" | tr -s '[:space:]' ',' | sed -E 's/^,|,$//g')"
-	# echo "JDEPS: ${jdeps}" # Should be "java.base,java.desktop"
-	jdeps='java.base,java.desktop'
+	# echo "JDEPS: ${jdeps}" # Should be "java.base,java.desktop,java.management,jdk.httpserver"
+	jdeps='java.base,java.desktop,java.management,jdk.httpserver' # "java.management" is for the soak test and "jdk.httpserver" is for the station metrics server.
 
 	"${jdk_path}/Contents/Home/bin/jlink" \
 		--add-modules "${jdeps}" \
@@ -0,0 +1,332 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * The running totals of every session that stations have posted to "FleetResultCollector": per key and per computer model failure rates, and completion duration percentiles.
+ *
+ * Each session only updates a few counters (and one duration bucket), so the memory used never grows with the number of sessions, only with the number of keys, models, and stations.
+ * Completion durations are counted in 100 millisecond buckets (up to 30 minutes) instead of keeping every duration, so percentiles are accurate to 100 milliseconds.
+ *
+ * This class is NOT thread-safe and is only ever used on the single collector thread.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class FleetAggregates {
+
+    static final long DURATION_BUCKET_MILLIS = 100;
+    static final int DURATION_BUCKET_COUNT = (int) ((30 * 60 * 1000) / DURATION_BUCKET_MILLIS); // Plus one more bucket for anything longer.
+    static final int MAX_RECENT_RESULT_ID_COUNT = 10000; // A station only posts a result again with its next result, so only the most recent result IDs are needed to catch every repost.
+
+    /**
+     * The parts of a posted "KeyboardTestResult" that are aggregated, which is also what is written to each line of the collector session log.
+     */
+    public static class Session {
+
+        public final String station;
+        public final String computerModel;
+        public final String profileID;
+        public final String endReason;
+        public final boolean didPressEveryExpectedKey;
+        public final long completionMillis;
+        public final List<String> expectedKeyIDs;
+        public final List<String> missedKeyIDs; // Expected keys that were never pressed.
+        public final String resultID; // The name of the result file on the station (which is posted as the "Idempotency-Key" header), or an empty string if the station didn't send one.
+
+        public Session(String station, String computerModel, String profileID, String endReason, boolean didPressEveryExpectedKey, long completionMillis, List<String> expectedKeyIDs, List<String> missedKeyIDs,
+                String resultID) {
+            this.station = getCleanField(station);
+            this.computerModel = getCleanField(computerModel);
+            this.profileID = getCleanField(profileID);
+            this.endReason = getCleanField(endReason);
+            this.didPressEveryExpectedKey = didPressEveryExpectedKey;
+            this.completionMillis = completionMillis;
+            this.expectedKeyIDs = Collections.unmodifiableList(expectedKeyIDs);
+            this.missedKeyIDs = Collections.unmodifiableList(missedKeyIDs);
+            this.resultID = ((resultID == null) ? "" : resultID.replaceAll("[\t\r\n]", " "));
+        }
+
+        private static String getCleanField(String field) {
+            // Tabs and line breaks would break the session log lines, and commas would break the key ID lists (but key IDs never contain any of these).
+            return (((field == null) || field.isEmpty()) ? "unknown" : field.replaceAll("[\t\r\n]", " "));
+        }
+
+        public String toLogLine() {
+            return (station + "\t" + computerModel + "\t" + profileID + "\t" + endReason + "\t" + didPressEveryExpectedKey + "\t" + completionMillis + "\t" + String.join(",", expectedKeyIDs) + "\t" + String.join(",", missedKeyIDs) + "\t" + resultID);
+        }
+
+        public static Session fromLogLine(String logLine) {
+            String[] logLineFields = logLine.split("\t", -1);
+            if ((logLineFields.length != 8) && (logLineFields.length != 9)) { // Session logs from before result IDs were logged have no result ID field.
+                throw new IllegalArgumentException("Invalid session log line with " + logLineFields.length + " fields");
+            }
+
+            return new Session(logLineFields[0], logLineFields[1], logLineFields[2], logLineFields[3], Boolean.parseBoolean(logLineFields[4]), Long.parseLong(logLineFields[5]),
+                    getKeyIDs(logLineFields[6]), getKeyIDs(logLineFields[7]), ((logLineFields.length == 9) ? logLineFields[8] : ""));
+        }
+
+        private static List<String> getKeyIDs(String keyIDsField) {
+            return (keyIDsField.isEmpty() ? new ArrayList<>() : new ArrayList<>(Arrays.asList(keyIDsField.split(","))));
+        }
+    }
+
+    private long completedSessionCount = 0;
+    private long incompleteSessionCount = 0;
+    private long manualSessionCount = 0; // Sessions with no expected keys (the "Manual" profile), which can't pass or fail.
+    private long alreadyCountedSessionCount = 0; // Completed tests that were reset or quit after they were already posted as completed.
+    private final TreeMap<String, long[]> keyCounts = new TreeMap<>(); // {tested, missed}
+    private final TreeMap<String, long[]> computerModelCounts = new TreeMap<>(); // {tested, incomplete}
+    private final TreeMap<String, long[]> stationCounts = new TreeMap<>(); // {sessions}
+    private final long[] completionDurationBucketCounts = new long[DURATION_BUCKET_COUNT + 1];
+    private final LinkedHashSet<String> recentResultIDs = new LinkedHashSet<>(); // Oldest first, so that the oldest is forgotten once there are too many.
+
+    public boolean hasResultID(String resultID) {
+        // A station posts a result again when it didn't get the response (such as a timeout after the collector already logged it), so the collector checks this to never count it twice.
+        return (!resultID.isEmpty() && recentResultIDs.contains(resultID));
+    }
+
+    private void addResultID(String resultID) {
+        if (resultID.isEmpty() || !recentResultIDs.add(resultID)) {
+            return;
+        }
+
+        if (recentResultIDs.size() > MAX_RECENT_RESULT_ID_COUNT) {
+            Iterator<String> recentResultIDsIterator = recentResultIDs.iterator();
+            recentResultIDsIterator.next();
+            recentResultIDsIterator.remove();
+        }
+    }
+
+    public void add(Session session) {
+        addResultID(session.resultID);
+        stationCounts.computeIfAbsent(session.station, (String station) -> new long[1])[0]++;
+
+        boolean isCompleted = session.endReason.equals("completed");
+        if (!isCompleted && session.didPressEveryExpectedKey) {
+            alreadyCountedSessionCount++;
+            return;
+        }
+
+        if (session.expectedKeyIDs.isEmpty()) {
+            manualSessionCount++;
+            return;
+        }
+
+        if (isCompleted) {
+            completedSessionCount++;
+            completionDurationBucketCounts[(int) Math.min(Math.max(session.completionMillis, 0) / DURATION_BUCKET_MILLIS, DURATION_BUCKET_COUNT)]++;
+        } else {
+            incompleteSessionCount++;
+        }
+
+        long[] thisComputerModelCounts = computerModelCounts.computeIfAbsent(session.computerModel, (String computerModel) -> new long[2]);
+        thisComputerModelCounts[0]++;
+        if (!isCompleted) {
+            thisComputerModelCounts[1]++;
+        }
+
+        for (String thisKeyID : session.expectedKeyIDs) {
+            keyCounts.computeIfAbsent(thisKeyID, (String keyID) -> new long[2])[0]++;
+        }
+
+        if (!isCompleted) {
+            for (String thisKeyID : session.missedKeyIDs) {
+                keyCounts.computeIfAbsent(thisKeyID, (String keyID) -> new long[2])[1]++;
+            }
+        }
+    }
+
+    public long getSessionCount() {
+        return (completedSessionCount + incompleteSessionCount + manualSessionCount + alreadyCountedSessionCount);
+    }
+
+    public long getCompletedSessionCount() {
+        return completedSessionCount;
+    }
+
+    public long getIncompleteSessionCount() {
+        return incompleteSessionCount;
+    }
+
+    public long getCompletionPercentileMillis(double percentile) {
+        // Returns the upper bound of the bucket that the percentile falls in, or -1 if no tests have been completed.
+        if (completedSessionCount == 0) {
+            return -1;
+        }
+
+        long targetCount = (long) Math.ceil((percentile / 100.0) * completedSessionCount);
+        long cumulativeCount = 0;
+        for (int bucketIndex = 0; bucketIndex < completionDurationBucketCounts.length; bucketIndex++) {
+            cumulativeCount += completionDurationBucketCounts[bucketIndex];
+            if (cumulativeCount >= Math.max(targetCount, 1)) {
+                return ((bucketIndex + 1) * DURATION_BUCKET_MILLIS);
+            }
+        }
+
+        return ((DURATION_BUCKET_COUNT + 1) * DURATION_BUCKET_MILLIS);
+    }
+
+    public String getSummary() {
+        StringBuilder summary = new StringBuilder();
+
+        long testedSessionCount = (completedSessionCount + incompleteSessionCount);
+        summary.append(String.format("Sessions: %d (%d Completed, %d Incomplete, %d Manual, %d Already Counted)%n", getSessionCount(), completedSessionCount, incompleteSessionCount, manualSessionCount, alreadyCountedSessionCount));
+        summary.append(String.format("Failure Rate: %.2f%%%n", ((testedSessionCount == 0) ? 0 : ((incompleteSessionCount * 100.0) / testedSessionCount))));
+
+        if (completedSessionCount > 0) {
+            summary.append(String.format("Completion Duration: p50 %.1fs, p90 %.1fs, p99 %.1fs%n", (getCompletionPercentileMillis(50) / 1000.0), (getCompletionPercentileMillis(90) / 1000.0), (getCompletionPercentileMillis(99) / 1000.0)));
+        }
+
+        summary.append("\nComputer Models (Incomplete / Tested):\n");
+        for (Map.Entry<String, long[]> thisComputerModelCounts : computerModelCounts.entrySet()) {
+            long[] theseCounts = thisComputerModelCounts.getValue();
+            summary.append(String.format("  %-40s %6d / %-6d %6.2f%%%n", thisComputerModelCounts.getKey(), theseCounts[1], theseCounts[0], ((theseCounts[1] * 100.0) / theseCounts[0])));
+        }
+
+        // Only list keys that have actually been missed, with the most often missed keys first.
+        List<Map.Entry<String, long[]>> missedKeyCounts = new ArrayList<>();
+        for (Map.Entry<String, long[]> thisKeyCounts : keyCounts.entrySet()) {
+            if (thisKeyCounts.getValue()[1] > 0) {
+                missedKeyCounts.add(thisKeyCounts);
+            }
+        }
+        missedKeyCounts.sort((Map.Entry<String, long[]> thisKeyCounts, Map.Entry<String, long[]> thatKeyCounts)
+                -> Double.compare(((double) thatKeyCounts.getValue()[1] / thatKeyCounts.getValue()[0]), ((double) thisKeyCounts.getValue()[1] / thisKeyCounts.getValue()[0])));
+
+        summary.append("\nMissed Keys (Missed / Tested):\n");
+        for (Map.Entry<String, long[]> thisKeyCounts : missedKeyCounts) {
+            long[] theseCounts = thisKeyCounts.getValue();
+            summary.append(String.format("  %-40s %6d / %-6d %6.2f%%%n", thisKeyCounts.getKey(), theseCounts[1], theseCounts[0], ((theseCounts[1] * 100.0) / theseCounts[0])));
+        }
+
+        summary.append("\nStations (Sessions):\n");
+        for (Map.Entry<String, long[]> thisStationCounts : stationCounts.entrySet()) {
+            summary.append(String.format("  %-40s %6d%n", thisStationCounts.getKey(), thisStationCounts.getValue()[0]));
+        }
+
+        return summary.toString();
+    }
+
+    public void writeSnapshot(File snapshotFile, long logGeneration) throws IOException {
+        Properties snapshot = new Properties();
+        snapshot.setProperty("logGeneration", Long.toString(logGeneration));
+        snapshot.setProperty("completedSessionCount", Long.toString(completedSessionCount));
+        snapshot.setProperty("incompleteSessionCount", Long.toString(incompleteSessionCount));
+        snapshot.setProperty("manualSessionCount", Long.toString(manualSessionCount));
+        snapshot.setProperty("alreadyCountedSessionCount", Long.toString(alreadyCountedSessionCount));
+        putCounts(snapshot, "key.", keyCounts);
+        putCounts(snapshot, "computerModel.", computerModelCounts);
+        putCounts(snapshot, "station.", stationCounts);
+
+        StringBuilder completionDurationBuckets = new StringBuilder(); // Only the buckets with any counts as "index:count" pairs since most buckets are always empty.
+        for (int bucketIndex = 0; bucketIndex < completionDurationBucketCounts.length; bucketIndex++) {
+            if (completionDurationBucketCounts[bucketIndex] > 0) {
+                completionDurationBuckets.append((completionDurationBuckets.length() == 0) ? "" : ",").append(bucketIndex).append(':').append(completionDurationBucketCounts[bucketIndex]);
+            }
+        }
+        snapshot.setProperty("completionDurationBuckets", completionDurationBuckets.toString());
+        snapshot.setProperty("recentResultIDs", String.join("\n", recentResultIDs)); // Result IDs are file names, which never contain line breaks.
+
+        // Write to a temporary file and then move it into place so that the collector being killed while compacting never leaves a partial snapshot.
+        File tempSnapshotFile = new File(snapshotFile.getPath() + ".tmp");
+        try (FileOutputStream tempSnapshotFileOutputStream = new FileOutputStream(tempSnapshotFile)) {
+            snapshot.store(tempSnapshotFileOutputStream, "Keyboard Test Fleet Aggregates");
+            tempSnapshotFileOutputStream.getFD().sync();
+        }
+
+        Files.move(tempSnapshotFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public long readSnapshot(File snapshotFile) throws IOException {
+        // Returns the last session log generation that is included in the snapshot (or 0 if there is no snapshot yet).
+        if (!snapshotFile.exists()) {
+            return 0;
+        }
+
+        Properties snapshot = new Properties();
+        try (FileInputStream snapshotFileInputStream = new FileInputStream(snapshotFile)) {
+            snapshot.load(snapshotFileInputStream);
+        }
+
+        try {
+            completedSessionCount = Long.parseLong(snapshot.getProperty("completedSessionCount", "0"));
+            incompleteSessionCount = Long.parseLong(snapshot.getProperty("incompleteSessionCount", "0"));
+            manualSessionCount = Long.parseLong(snapshot.getProperty("manualSessionCount", "0"));
+            alreadyCountedSessionCount = Long.parseLong(snapshot.getProperty("alreadyCountedSessionCount", "0"));
+            getCounts(snapshot, "key.", keyCounts);
+            getCounts(snapshot, "computerModel.", computerModelCounts);
+            getCounts(snapshot, "station.", stationCounts);
+
+            for (String thisCompletionDurationBucket : snapshot.getProperty("completionDurationBuckets", "").split(",")) {
+                if (!thisCompletionDurationBucket.isEmpty()) {
+                    String[] thisBucketIndexAndCount = thisCompletionDurationBucket.split(":");
+                    completionDurationBucketCounts[Integer.parseInt(thisBucketIndexAndCount[0])] = Long.parseLong(thisBucketIndexAndCount[1]);
+                }
+            }
+
+            for (String thisResultID : snapshot.getProperty("recentResultIDs", "").split("\n")) {
+                addResultID(thisResultID);
+            }
+
+            return Long.parseLong(snapshot.getProperty("logGeneration", "0"));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException readSnapshotException) {
+            throw new IOException("Invalid snapshot: " + readSnapshotException, readSnapshotException);
+        }
+    }
+
+    private static void putCounts(Properties snapshot, String keyPrefix, TreeMap<String, long[]> counts) {
+        for (Map.Entry<String, long[]> theseCounts : counts.entrySet()) {
+            StringBuilder countsValue = new StringBuilder();
+            for (long thisCount : theseCounts.getValue()) {
+                countsValue.append((countsValue.length() == 0) ? "" : ",").append(thisCount);
+            }
+
+            snapshot.setProperty(keyPrefix + theseCounts.getKey(), countsValue.toString());
+        }
+    }
+
+    private static void getCounts(Properties snapshot, String keyPrefix, TreeMap<String, long[]> counts) {
+        for (String thisKey : snapshot.stringPropertyNames()) {
+            if (thisKey.startsWith(keyPrefix)) {
+                String[] countsValues = snapshot.getProperty(thisKey).split(",");
+                long[] theseCounts = new long[countsValues.length];
+                for (int countIndex = 0; countIndex < countsValues.length; countIndex++) {
+                    theseCounts[countIndex] = Long.parseLong(countsValues[countIndex]);
+                }
+
+                counts.put(thisKey.substring(keyPrefix.length()), theseCounts);
+            }
+        }
+    }
+}
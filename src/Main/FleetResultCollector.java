@@ -0,0 +1,631 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A separate process that collects the result of every test from many stations (which post them with "--collector-url=", see "KeyboardTestResultWriter")
+ * and keeps running totals of the failure rate of each key and computer model and the completion duration percentiles (see "FleetAggregates").
+ *
+ * Every request and the periodic compaction are handled on ONE thread so that the aggregates never need any locking, which easily keeps up with thousands of sessions per hour.
+ * Each accepted session is appended to a session log before it's acknowledged, and every minute (or "--compact-seconds=") the aggregates are written to a snapshot and the
+ * session logs that the snapshot includes are deleted. Session logs are numbered by generation so that when the collector is restarted it loads the snapshot and then
+ * replays only the newer session logs, which means no session is ever counted twice or lost even if the collector is killed while compacting.
+ * Stations post each result with an "Idempotency-Key" header (its result file name), and the most recent result IDs are kept along with the aggregates so that a result
+ * that's posted again (because the station never got the response) is acknowledged without being counted again, even across restarts.
+ *
+ * Run with "java -cp KeyboardTest.jar Main.FleetResultCollector [--port=9465] [--address=127.0.0.1] [--data-folder=/path/to/folder] [--compact-seconds=60]"
+ * and then see the running totals at "http://127.0.0.1:9465/summary". The "fleet-simulation" target in "build.xml" runs a collector on localhost along with
+ * simulated stations posting random results ("--simulate-stations=" and "--simulate-sessions=") and checks that every session was counted (including after restarting).
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class FleetResultCollector {
+
+    private static final int MAX_REQUEST_BYTES = (1024 * 1024);
+    private static final boolean debugLogging = false;
+
+    private final File dataFolder;
+    private final FleetAggregates aggregates = new FleetAggregates();
+    private final ScheduledThreadPoolExecutor collectorExecutor;
+    private final HttpServer httpServer;
+    private long logGeneration;
+    private BufferedWriter sessionLogWriter;
+    private long uncompactedSessionCount = 0; // Sessions that are only in session logs (including logs that were replayed at launch) and not in the snapshot yet.
+    private long rejectedRequestCount = 0;
+    private long repostedRequestCount = 0;
+
+    public FleetResultCollector(File dataFolder, String address, int port, int compactSeconds) throws IOException {
+        this.dataFolder = dataFolder;
+
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+
+        // Load the snapshot and replay any session logs that are newer than it, and then start a new session log generation so that existing logs are never appended to.
+        long snapshotLogGeneration = aggregates.readSnapshot(getSnapshotFile());
+        logGeneration = snapshotLogGeneration;
+        for (long thisLogGeneration : getSessionLogGenerations()) {
+            if (thisLogGeneration > snapshotLogGeneration) {
+                replaySessionLog(getSessionLogFile(thisLogGeneration));
+            } else {
+                getSessionLogFile(thisLogGeneration).delete(); // Left over from being killed after writing the snapshot but before deleting the logs it included.
+            }
+
+            logGeneration = Math.max(logGeneration, thisLogGeneration);
+        }
+        openNextSessionLog();
+
+        collectorExecutor = new ScheduledThreadPoolExecutor(1, (Runnable collectorRunnable) -> {
+            Thread collectorThread = new Thread(collectorRunnable, "Fleet Result Collector");
+            collectorThread.setDaemon(true);
+            return collectorThread;
+        });
+
+        httpServer = HttpServer.create(new InetSocketAddress(address, port), 0);
+        httpServer.createContext("/results", this::handleResultsRequest);
+        httpServer.createContext("/summary", this::handleSummaryRequest);
+        httpServer.setExecutor(collectorExecutor);
+
+        collectorExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (IOException compactException) {
+                System.err.println("compactException: " + compactException);
+            } catch (RuntimeException compactRuntimeException) {
+                // Any exception that escapes this task would silently cancel every later compaction, so log it and keep compacting next time.
+                System.err.println("compactRuntimeException: " + compactRuntimeException);
+            }
+        }, compactSeconds, compactSeconds, TimeUnit.SECONDS);
+    }
+
+    public void start() {
+        httpServer.start();
+    }
+
+    public void stop() {
+        httpServer.stop(0);
+
+        try {
+            collectorExecutor.submit(() -> {
+                compact();
+                sessionLogWriter.close();
+                return null;
+            }).get();
+        } catch (InterruptedException | ExecutionException stopCollectorException) {
+            System.err.println("stopCollectorException: " + stopCollectorException);
+        }
+
+        collectorExecutor.shutdownNow();
+    }
+
+    public InetSocketAddress getAddress() {
+        return httpServer.getAddress();
+    }
+
+    public String getSummary() throws InterruptedException, ExecutionException {
+        return collectorExecutor.submit(aggregates::getSummary).get();
+    }
+
+    public long getSessionCount() throws InterruptedException, ExecutionException {
+        return collectorExecutor.submit(aggregates::getSessionCount).get();
+    }
+
+    private File getSnapshotFile() {
+        return new File(dataFolder, "fleet-aggregates.properties");
+    }
+
+    private File getSessionLogFile(long sessionLogGeneration) {
+        return new File(dataFolder, String.format("sessions-%012d.log", sessionLogGeneration));
+    }
+
+    private List<Long> getSessionLogGenerations() {
+        List<Long> sessionLogGenerations = new ArrayList<>();
+
+        File[] dataFolderFiles = dataFolder.listFiles();
+        if (dataFolderFiles != null) {
+            for (File thisDataFolderFile : dataFolderFiles) {
+                String thisFileName = thisDataFolderFile.getName();
+                if (thisFileName.matches("^sessions-[0-9]+\\.log$")) {
+                    sessionLogGenerations.add(Long.parseLong(thisFileName.substring(9, thisFileName.length() - 4)));
+                }
+            }
+        }
+
+        sessionLogGenerations.sort(null);
+
+        return sessionLogGenerations;
+    }
+
+    private void replaySessionLog(File sessionLogFile) throws IOException {
+        try (BufferedReader sessionLogReader = new BufferedReader(new FileReader(sessionLogFile, StandardCharsets.UTF_8))) {
+            String thisLogLine;
+            while ((thisLogLine = sessionLogReader.readLine()) != null) {
+                try {
+                    aggregates.add(FleetAggregates.Session.fromLogLine(thisLogLine));
+                    uncompactedSessionCount++;
+                } catch (IllegalArgumentException replaySessionException) {
+                    System.err.println("replaySessionException: " + replaySessionException + " (in " + sessionLogFile.getName() + ")"); // Most likely a partial last line from being killed while appending.
+                }
+            }
+        }
+    }
+
+    private void openNextSessionLog() throws IOException {
+        logGeneration++;
+        sessionLogWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(getSessionLogFile(logGeneration)), StandardCharsets.UTF_8));
+    }
+
+    private void compact() throws IOException {
+        // Only compact when something new has been logged since the last compaction.
+        if (uncompactedSessionCount == 0) {
+            return;
+        }
+
+        sessionLogWriter.close();
+        long compactedLogGeneration = logGeneration;
+        openNextSessionLog();
+
+        aggregates.writeSnapshot(getSnapshotFile(), compactedLogGeneration);
+        uncompactedSessionCount = 0;
+
+        for (long thisLogGeneration : getSessionLogGenerations()) {
+            if (thisLogGeneration <= compactedLogGeneration) {
+                getSessionLogFile(thisLogGeneration).delete();
+            }
+        }
+    }
+
+    private void handleResultsRequest(HttpExchange httpExchange) throws IOException {
+        try {
+            if (!httpExchange.getRequestMethod().equals("POST")) {
+                httpExchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            FleetAggregates.Session session;
+            try (InputStream requestBody = httpExchange.getRequestBody()) {
+                byte[] requestBytes = requestBody.readNBytes(MAX_REQUEST_BYTES + 1);
+                if (requestBytes.length > MAX_REQUEST_BYTES) {
+                    throw new IllegalArgumentException("Result is larger than " + MAX_REQUEST_BYTES + " bytes");
+                }
+
+                session = getSessionFromResultJSON(new String(requestBytes, StandardCharsets.UTF_8), httpExchange.getRequestHeaders().getFirst("Idempotency-Key"));
+            } catch (IllegalArgumentException | ClassCastException parseResultException) {
+                rejectedRequestCount++;
+                System.err.println("parseResultException: " + parseResultException + " (" + rejectedRequestCount + " rejected)");
+                httpExchange.sendResponseHeaders(400, -1);
+                return;
+            }
+
+            if (aggregates.hasResultID(session.resultID)) {
+                // The station didn't get the response the last time it posted this result, so acknowledge it again without counting it again.
+                repostedRequestCount++;
+                if (debugLogging) {
+                    System.out.println("Already Collected Result: " + session.resultID + " (" + repostedRequestCount + " reposted)");
+                }
+                httpExchange.sendResponseHeaders(204, -1);
+                return;
+            }
+
+            // The session is logged (flushed to the OS but not synced, which is done when compacting) before it's acknowledged so that a station never thinks an unsaved session was saved.
+            sessionLogWriter.write(session.toLogLine());
+            sessionLogWriter.write('\n');
+            sessionLogWriter.flush();
+
+            aggregates.add(session);
+            uncompactedSessionCount++;
+
+            httpExchange.sendResponseHeaders(204, -1);
+        } finally {
+            httpExchange.close();
+        }
+    }
+
+    private void handleSummaryRequest(HttpExchange httpExchange) throws IOException {
+        try {
+            byte[] summaryBytes = aggregates.getSummary().getBytes(StandardCharsets.UTF_8);
+            httpExchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            httpExchange.sendResponseHeaders(200, summaryBytes.length);
+
+            try (OutputStream responseBody = httpExchange.getResponseBody()) {
+                responseBody.write(summaryBytes);
+            }
+        } finally {
+            httpExchange.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static FleetAggregates.Session getSessionFromResultJSON(String resultJSON, String resultID) {
+        // Every problem with the result (including missing fields) throws "IllegalArgumentException" (or "ClassCastException" for a field of the wrong type) so that it's rejected as a bad request.
+        Map<String, Object> result = (Map<String, Object>) getRequiredValue(new JSONReader(resultJSON).readValue(), "result");
+
+        List<String> expectedKeyIDs = new ArrayList<>();
+        List<String> missedKeyIDs = new ArrayList<>();
+        for (Object thisKeyObject : (List<Object>) getRequiredValue(result.get("keys"), "keys")) {
+            Map<String, Object> thisKey = (Map<String, Object>) getRequiredValue(thisKeyObject, "key");
+            if (Boolean.TRUE.equals(thisKey.get("expected"))) {
+                String thisKeyID = (String) getRequiredValue(thisKey.get("id"), "key id");
+                expectedKeyIDs.add(thisKeyID);
+
+                if (KeyboardTestResult.KEY_STATE_NOT_PRESSED.equals(thisKey.get("state"))) {
+                    missedKeyIDs.add(thisKeyID);
+                }
+            }
+        }
+
+        return new FleetAggregates.Session((String) result.get("station"), (String) result.get("computerModel"), (String) result.get("profile"), (String) result.get("endReason"),
+                Boolean.TRUE.equals(result.get("didPressEveryExpectedKey")), ((Number) getRequiredValue(result.get("completionMillis"), "completionMillis")).longValue(), expectedKeyIDs, missedKeyIDs, resultID);
+    }
+
+    private static Object getRequiredValue(Object value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + name + " in result JSON");
+        }
+
+        return value;
+    }
+
+    /**
+     * Just enough of a JSON reader for the results that "KeyboardTestResultWriter" writes (objects, arrays, strings, numbers, booleans, and null), since the project has no JSON dependency.
+     */
+    static class JSONReader {
+
+        private final String json;
+        private int position = 0;
+
+        JSONReader(String json) {
+            this.json = json;
+        }
+
+        Object readValue() {
+            skipWhitespace();
+
+            if (position >= json.length()) {
+                throw new IllegalArgumentException("Unexpected end of JSON");
+            }
+
+            char thisChar = json.charAt(position);
+            if (thisChar == '{') {
+                LinkedHashMap<String, Object> object = new LinkedHashMap<>();
+                position++;
+                skipWhitespace();
+                if (peek() == '}') {
+                    position++;
+                    return object;
+                }
+
+                while (true) {
+                    skipWhitespace();
+                    String name = readString();
+                    skipWhitespace();
+                    expect(':');
+                    object.put(name, readValue());
+                    skipWhitespace();
+                    if (peek() == ',') {
+                        position++;
+                    } else {
+                        expect('}');
+                        return object;
+                    }
+                }
+            } else if (thisChar == '[') {
+                ArrayList<Object> array = new ArrayList<>();
+                position++;
+                skipWhitespace();
+                if (peek() == ']') {
+                    position++;
+                    return array;
+                }
+
+                while (true) {
+                    array.add(readValue());
+                    skipWhitespace();
+                    if (peek() == ',') {
+                        position++;
+                    } else {
+                        expect(']');
+                        return array;
+                    }
+                }
+            } else if (thisChar == '"') {
+                return readString();
+            } else if (json.startsWith("true", position)) {
+                position += 4;
+                return Boolean.TRUE;
+            } else if (json.startsWith("false", position)) {
+                position += 5;
+                return Boolean.FALSE;
+            } else if (json.startsWith("null", position)) {
+                position += 4;
+                return null;
+            } else {
+                int numberStartPosition = position;
+                while ((position < json.length()) && ("+-0123456789.eE".indexOf(json.charAt(position)) >= 0)) {
+                    position++;
+                }
+
+                try {
+                    return Double.valueOf(json.substring(numberStartPosition, position));
+                } catch (NumberFormatException readNumberException) {
+                    throw new IllegalArgumentException("Invalid JSON value at " + numberStartPosition);
+                }
+            }
+        }
+
+        private String readString() {
+            expect('"');
+
+            StringBuilder string = new StringBuilder();
+            while (true) {
+                if (position >= json.length()) {
+                    throw new IllegalArgumentException("Unterminated JSON string");
+                }
+
+                char thisChar = json.charAt(position++);
+                if (thisChar == '"') {
+                    return string.toString();
+                } else if (thisChar == '\\') {
+                    char escapedChar = peek(); // Throws "IllegalArgumentException" if the JSON ends right after the backslash.
+                    position++;
+                    switch (escapedChar) {
+                        case 'n':
+                            string.append('\n');
+                            break;
+                        case 'r':
+                            string.append('\r');
+                            break;
+                        case 't':
+                            string.append('\t');
+                            break;
+                        case 'b':
+                            string.append('\b');
+                            break;
+                        case 'f':
+                            string.append('\f');
+                            break;
+                        case 'u':
+                            if ((position + 4) > json.length()) {
+                                throw new IllegalArgumentException("Truncated JSON unicode escape at " + position);
+                            }
+
+                            try {
+                                string.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                            } catch (NumberFormatException readUnicodeEscapeException) {
+                                throw new IllegalArgumentException("Invalid JSON unicode escape at " + position);
+                            }
+                            position += 4;
+                            break;
+                        default:
+                            string.append(escapedChar); // Quotes, backslashes, and slashes.
+                    }
+                } else {
+                    string.append(thisChar);
+                }
+            }
+        }
+
+        private char peek() {
+            if (position >= json.length()) {
+                throw new IllegalArgumentException("Unexpected end of JSON");
+            }
+
+            return json.charAt(position);
+        }
+
+        private void expect(char expectedChar) {
+            if (peek() != expectedChar) {
+                throw new IllegalArgumentException("Expected '" + expectedChar + "' at " + position + " in JSON");
+            }
+
+            position++;
+        }
+
+        private void skipWhitespace() {
+            while ((position < json.length()) && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+    }
+
+    private static void runSimulation(FleetResultCollector collector, File dataFolder, int simulatedStationCount, int simulatedSessionsPerStation, int compactSeconds) throws Exception {
+        // Each simulated station posts random results for a random profile of the real layout (with a few computer models that fail more often than others)
+        // exactly like a real station would, and then the collector is restarted from its data folder to make sure that every session was kept.
+        KeyboardLayout keyboardLayout = KeyboardLayout.load("Standard");
+        List<KeyboardLayout.Profile> testedProfiles = new ArrayList<>();
+        for (KeyboardLayout.Profile thisProfile : keyboardLayout.getProfiles()) {
+            if (thisProfile.isAvailable(KeyboardLayout.OS_LINUX) && !keyboardLayout.getExpectedKeys(thisProfile, KeyboardLayout.OS_LINUX).isEmpty()) {
+                testedProfiles.add(thisProfile);
+            }
+        }
+
+        String[] simulatedComputerModels = {"Latitude E7450", "ThinkPad T480", "OptiPlex 7050", "EliteBook 840 G5"};
+        double[] simulatedComputerModelFailureRates = {0.02, 0.05, 0.01, 0.15};
+
+        URL resultsURL = new URL("http://" + collector.getAddress().getHostString() + ":" + collector.getAddress().getPort() + "/results");
+        AtomicLong postedSessionCount = new AtomicLong();
+        AtomicLong repostedSessionCount = new AtomicLong();
+        AtomicLong failedPostCount = new AtomicLong();
+
+        System.out.println("Simulating " + simulatedStationCount + " Stations Posting " + simulatedSessionsPerStation + " Sessions Each to: " + resultsURL);
+
+        long simulationStartNanoTime = System.nanoTime();
+
+        List<Thread> simulatedStationThreads = new ArrayList<>();
+        for (int stationIndex = 0; stationIndex < simulatedStationCount; stationIndex++) {
+            String thisStationName = String.format("Simulated Station %02d", (stationIndex + 1));
+            Random thisRandom = new Random(stationIndex);
+
+            Thread thisSimulatedStationThread = new Thread(() -> {
+                for (int sessionIndex = 0; sessionIndex < simulatedSessionsPerStation; sessionIndex++) {
+                    int thisComputerModelIndex = thisRandom.nextInt(simulatedComputerModels.length);
+                    KeyboardLayout.Profile thisProfile = testedProfiles.get(thisRandom.nextInt(testedProfiles.size()));
+                    BitSet expectedKeys = keyboardLayout.getExpectedKeys(thisProfile, KeyboardLayout.OS_LINUX);
+                    boolean isCompleted = (thisRandom.nextDouble() >= simulatedComputerModelFailureRates[thisComputerModelIndex]);
+
+                    ArrayList<KeyboardTestResult.KeyResult> keyResults = new ArrayList<>();
+                    int pressedExpectedKeyCount = 0;
+                    for (KeyboardLayout.Key thisKey : keyboardLayout.getKeys()) {
+                        boolean isExpected = expectedKeys.get(thisKey.index);
+                        boolean wasPressed = (isExpected && (isCompleted || (thisRandom.nextInt(20) != 0)));
+                        if (wasPressed) {
+                            pressedExpectedKeyCount++;
+                        }
+
+                        keyResults.add(new KeyboardTestResult.KeyResult(thisKey.id, thisKey.section.name, isExpected, (wasPressed ? 1 : 0), (wasPressed ? thisRandom.nextInt(60000) : -1)));
+                    }
+
+                    long thisCompletionMillis = (isCompleted ? (30000 + (long) Math.abs(thisRandom.nextGaussian() * 20000)) : -1);
+                    long thisEndedAtMillis = System.currentTimeMillis();
+                    KeyboardTestResult thisResult = new KeyboardTestResult((isCompleted ? "completed" : "reset"), "linux", thisProfile.id, isCompleted, expectedKeys.cardinality(), pressedExpectedKeyCount,
+                            pressedExpectedKeyCount, (thisEndedAtMillis - 60000), thisEndedAtMillis, 60000, thisCompletionMillis, 250, 2000, keyResults, new ArrayList<>());
+
+                    try {
+                        byte[] thisResultJSONBytes = KeyboardTestResultWriter.getJSONBytes(thisResult, thisStationName, simulatedComputerModels[thisComputerModelIndex]);
+                        String thisResultID = thisStationName + " Session " + sessionIndex;
+                        KeyboardTestResultWriter.postJSON(resultsURL, thisResultJSONBytes, thisResultID);
+                        postedSessionCount.incrementAndGet();
+
+                        if (thisRandom.nextInt(20) == 0) {
+                            // Post some results again like a station that didn't get the response would, which must NOT be counted again.
+                            KeyboardTestResultWriter.postJSON(resultsURL, thisResultJSONBytes, thisResultID);
+                            repostedSessionCount.incrementAndGet();
+                        }
+                    } catch (IOException postSimulatedResultException) {
+                        failedPostCount.incrementAndGet();
+                        System.err.println("postSimulatedResultException: " + postSimulatedResultException);
+                    }
+                }
+            }, thisStationName);
+
+            simulatedStationThreads.add(thisSimulatedStationThread);
+            thisSimulatedStationThread.start();
+        }
+
+        for (Thread thisSimulatedStationThread : simulatedStationThreads) {
+            thisSimulatedStationThread.join();
+        }
+
+        double simulationSeconds = ((System.nanoTime() - simulationStartNanoTime) / 1_000_000_000.0);
+        long collectedSessionCount = collector.getSessionCount();
+
+        System.out.println();
+        System.out.print(collector.getSummary());
+        System.out.println(String.format("%nPosted %d Sessions (%d Reposted, %d Failed) in %.2f Seconds (%.0f Sessions per Hour)", postedSessionCount.get(), repostedSessionCount.get(), failedPostCount.get(), simulationSeconds, ((postedSessionCount.get() / simulationSeconds) * 3600)));
+
+        collector.stop();
+
+        FleetResultCollector restartedCollector = new FleetResultCollector(dataFolder, "127.0.0.1", 0, compactSeconds);
+        long restartedSessionCount = restartedCollector.getSessionCount();
+        restartedCollector.stop();
+
+        long expectedSessionCount = ((long) simulatedStationCount * simulatedSessionsPerStation);
+        System.out.println("Collected Sessions: " + collectedSessionCount + " (" + restartedSessionCount + " After Restarting, " + expectedSessionCount + " Expected)");
+
+        if ((failedPostCount.get() > 0) || (collectedSessionCount != expectedSessionCount) || (restartedSessionCount != expectedSessionCount)) {
+            System.out.println("FLEET SIMULATION FAILED");
+            System.exit(1);
+        }
+    }
+
+    public static void main(String[] args) {
+        String address = "127.0.0.1";
+        int port = 9465;
+        File dataFolder = new File(LaunchCache.getCacheFolder(), "Fleet Collector");
+        int compactSeconds = 60;
+        int simulatedStationCount = 0;
+        int simulatedSessionsPerStation = 100;
+
+        for (String thisArg : args) {
+            if (thisArg.startsWith("--address=")) {
+                address = thisArg.substring(thisArg.indexOf("=") + 1);
+            } else if (thisArg.matches("^--port=[0-9]+$")) {
+                port = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.startsWith("--data-folder=")) {
+                dataFolder = new File(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.matches("^--compact-seconds=[0-9]+$")) {
+                compactSeconds = Math.max(Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1)), 1);
+            } else if (thisArg.matches("^--simulate-stations=[0-9]+$")) {
+                simulatedStationCount = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.matches("^--simulate-sessions=[0-9]+$")) {
+                simulatedSessionsPerStation = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else {
+                System.err.println("Unknown Argument: " + thisArg);
+                System.exit(2);
+            }
+        }
+
+        try {
+            if (simulatedStationCount > 0) {
+                // Simulations always start from an empty data folder so that the counts can be checked.
+                File simulationDataFolder = Files.createTempDirectory("keyboard-test-fleet-simulation").toFile();
+                FleetResultCollector collector = new FleetResultCollector(simulationDataFolder, "127.0.0.1", 0, compactSeconds);
+                collector.start();
+
+                runSimulation(collector, simulationDataFolder, simulatedStationCount, simulatedSessionsPerStation, compactSeconds);
+
+                for (File thisSimulationFile : simulationDataFolder.listFiles()) {
+                    thisSimulationFile.delete();
+                }
+                simulationDataFolder.delete();
+            } else {
+                FleetResultCollector collector = new FleetResultCollector(dataFolder, address, port, compactSeconds);
+                collector.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(collector::stop));
+
+                if (debugLogging) {
+                    System.out.println("Collecting Keyboard Test Results at: http://" + collector.getAddress().getHostString() + ":" + collector.getAddress().getPort() + "/results");
+                    System.out.println("Summary at: http://" + collector.getAddress().getHostString() + ":" + collector.getAddress().getPort() + "/summary");
+                    System.out.println("Data Folder: " + dataFolder.getPath());
+                }
+
+                Thread.currentThread().join(); // Keep running until killed since every collector thread is a daemon thread.
+            }
+        } catch (Exception fleetResultCollectorException) {
+            System.err.println("fleetResultCollectorException: " + fleetResultCollectorException);
+            System.exit(1);
+        }
+    }
+}
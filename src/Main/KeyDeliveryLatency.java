@@ -0,0 +1,247 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.awt.event.KeyEvent;
+
+/**
+ * Measures how long the OS and JVM input stack takes to deliver each key press on Linux (launched with "--delivery-latency"), to tell
+ * whether lag on a station is in the keyboard, the OS, or this app.
+ *
+ * The same keyboard device that the X server reads from is also read on its own thread (see "LinuxEvdevInput"), and the kernel timestamp of each key press
+ * is kept in a small ring of recent key presses. When the matching AWT "KeyEvent" gets to "onKeyPressed", the oldest unmatched kernel key press
+ * with the same key code is taken out of the ring and the time between the kernel timestamp and now is recorded into a histogram.
+ *
+ * Everything is in fixed size arrays that are allocated once, so matching never allocates and can always be left on during normal testing.
+ * Autorepeats are never matched since the X server makes its own autorepeats instead of using the kernel ones. So, the AWT keys that are down are also kept
+ * in a small fixed array, and an AWT key press of a key that is already down is skipped as an autorepeat instead of being counted as unmatched (or worse, being matched
+ * with a newer kernel press of the same key). AWT key presses from other keyboards (or kernel key presses that were never delivered through AWT,
+ * such as while the window isn't focused) are only counted as unmatched.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyDeliveryLatency {
+
+    private static final int WINDOW_SIZE = 64; // Far more key presses than can be in flight at once, even for a fast key roll on a slow station.
+    private static final long MAX_MATCH_AGE_MICROS = 1_000_000; // Kernel key presses that AWT never delivered within this time are dropped as unmatched.
+    private static final int MAX_DOWN_KEY_COUNT = 16; // More keys than any keyboard can report as down at once.
+    private static final long MAX_AUTOREPEAT_INTERVAL_MICROS = 1_000_000; // Longer than any autorepeat delay, so a key whose release was never delivered (such as while the window wasn't focused) isn't treated as down forever.
+
+    public static final long NOT_MATCHED = -1;
+    public static final long IS_AUTOREPEAT = -2;
+
+    private static final int BUCKET_WIDTH_MICROS = 100;
+    private static final int BUCKET_COUNT = 1000; // Up to 100 ms in 0.1 ms buckets, and anything slower goes into one more overflow bucket.
+
+    private final long[] kernelMicros = new long[WINDOW_SIZE];
+    private final int[] keyCodes = new int[WINDOW_SIZE];
+    private final int[] keyLocations = new int[WINDOW_SIZE];
+    private final boolean[] isPending = new boolean[WINDOW_SIZE];
+    private int nextWindowIndex = 0; // Also the index of the oldest key press in the window once the window has been filled.
+
+    private final int[] downKeyCodes = new int[MAX_DOWN_KEY_COUNT];
+    private final int[] downKeyLocations = new int[MAX_DOWN_KEY_COUNT];
+    private final long[] downKeyLastPressMicros = new long[MAX_DOWN_KEY_COUNT];
+    private int downKeyCount = 0;
+
+    private final long[] bucketCounts = new long[BUCKET_COUNT + 1];
+    private long matchedCount = 0;
+    private long unmatchedAWTCount = 0;
+    private long unmatchedKernelCount = 0;
+    private long sumMicros = 0;
+    private long maxMicros = 0;
+
+    // Kernel timestamps use the same clock as "System.currentTimeMillis()", but that only has millisecond precision. So, the microsecond offset from "System.nanoTime()"
+    // to that clock is determined once and then kept up to date with every match (see "currentTimeMicros()") to be able to get the current time in microseconds without allocating an "Instant".
+    private long nanoTimeToCurrentTimeMicrosOffset;
+
+    public KeyDeliveryLatency() {
+        // Wait for the next millisecond tick of "System.currentTimeMillis()" (which takes at most a millisecond) so that the offset starts out exact instead of up to a millisecond early.
+        long startMillis = System.currentTimeMillis();
+        long thisMillis;
+        while ((thisMillis = System.currentTimeMillis()) == startMillis) {
+            Thread.onSpinWait();
+        }
+
+        nanoTimeToCurrentTimeMicrosOffset = ((thisMillis * 1000) - (System.nanoTime() / 1000));
+    }
+
+    private long currentTimeMicros() {
+        long nanoTimeMicros = (System.nanoTime() / 1000);
+
+        // "System.currentTimeMillis()" truncates to the millisecond, so each sample of the offset is from 0 to 999 microseconds early. Only a larger offset can be more exact,
+        // unless the offset is more than a millisecond smaller than before, which only happens when the clock was set back (such as by NTP) and the offset must start over.
+        long sampledOffset = ((System.currentTimeMillis() * 1000) - nanoTimeMicros);
+        if ((sampledOffset > nanoTimeToCurrentTimeMicrosOffset) || (sampledOffset < (nanoTimeToCurrentTimeMicrosOffset - 1000))) {
+            nanoTimeToCurrentTimeMicrosOffset = sampledOffset;
+        }
+
+        return (nanoTimeToCurrentTimeMicrosOffset + nanoTimeMicros);
+    }
+
+    public synchronized void kernelKeyPressed(LinuxEvdevInput.EvdevKeyPress keyPress) {
+        // Called on the reader thread of the keyboard device.
+        if (keyPress.isRepeat || (keyPress.keyCode == KeyEvent.VK_UNDEFINED)) {
+            return;
+        }
+
+        if (isPending[nextWindowIndex]) {
+            unmatchedKernelCount++; // The oldest key press was never delivered through AWT and is being replaced.
+        }
+
+        kernelMicros[nextWindowIndex] = keyPress.whenMicros;
+        keyCodes[nextWindowIndex] = keyPress.keyCode;
+        keyLocations[nextWindowIndex] = keyPress.keyLocation;
+        isPending[nextWindowIndex] = true;
+        nextWindowIndex = ((nextWindowIndex + 1) % WINDOW_SIZE);
+    }
+
+    private static int getKernelKeyCode(int keyCode, int keyLocation) {
+        // With Num Lock off, AWT sends the NumPad keys as navigation keys (such as "VK_HOME" for NumPad 7) but the kernel always sends the NumPad number keys,
+        // so translate them the same way as the key handling does or every NumPad key press with Num Lock off would be unmatched.
+        return ((keyLocation == KeyEvent.KEY_LOCATION_NUMPAD) ? KeyboardTestEngine.translateNumPadKeyCode(keyCode) : keyCode);
+    }
+
+    private int getDownKeyIndex(int keyCode, int keyLocation) {
+        for (int downKeyIndex = 0; downKeyIndex < downKeyCount; downKeyIndex++) {
+            if ((downKeyCodes[downKeyIndex] == keyCode) && (downKeyLocations[downKeyIndex] == keyLocation)) {
+                return downKeyIndex;
+            }
+        }
+
+        return -1;
+    }
+
+    public synchronized long awtKeyPressed(int keyCode, int keyLocation) {
+        // Called on the EDT as soon as the AWT key press gets to "onKeyPressed". Returns the delivery time in microseconds,
+        // "NOT_MATCHED" if there was no matching kernel key press, or "IS_AUTOREPEAT" if the key was already down (which should not be recorded at all).
+        long nowMicros = currentTimeMicros();
+        keyCode = getKernelKeyCode(keyCode, keyLocation);
+
+        int downKeyIndex = getDownKeyIndex(keyCode, keyLocation);
+        if (downKeyIndex >= 0) {
+            boolean isAutorepeat = ((nowMicros - downKeyLastPressMicros[downKeyIndex]) <= MAX_AUTOREPEAT_INTERVAL_MICROS);
+            downKeyLastPressMicros[downKeyIndex] = nowMicros;
+
+            if (isAutorepeat) {
+                return IS_AUTOREPEAT;
+            }
+        } else if (downKeyCount < MAX_DOWN_KEY_COUNT) {
+            downKeyCodes[downKeyCount] = keyCode;
+            downKeyLocations[downKeyCount] = keyLocation;
+            downKeyLastPressMicros[downKeyCount] = nowMicros;
+            downKeyCount++;
+        }
+
+        for (int windowOffset = 0; windowOffset < WINDOW_SIZE; windowOffset++) {
+            int thisWindowIndex = ((nextWindowIndex + windowOffset) % WINDOW_SIZE); // Oldest first so that repeated presses of the same key are matched in order.
+
+            if (isPending[thisWindowIndex]) {
+                long thisDeliveryMicros = (nowMicros - kernelMicros[thisWindowIndex]);
+
+                if (thisDeliveryMicros > MAX_MATCH_AGE_MICROS) {
+                    isPending[thisWindowIndex] = false;
+                    unmatchedKernelCount++;
+                } else if ((keyCodes[thisWindowIndex] == keyCode) && ((keyLocations[thisWindowIndex] == keyLocation) || (keyLocation == KeyEvent.KEY_LOCATION_UNKNOWN) || (keyLocations[thisWindowIndex] == KeyEvent.KEY_LOCATION_UNKNOWN))) {
+                    isPending[thisWindowIndex] = false;
+
+                    if (thisDeliveryMicros < 0) {
+                        thisDeliveryMicros = 0; // Only possible if the clock was set forward between the key press and now.
+                    }
+
+                    bucketCounts[(int) Math.min((thisDeliveryMicros / BUCKET_WIDTH_MICROS), BUCKET_COUNT)]++;
+                    matchedCount++;
+                    sumMicros += thisDeliveryMicros;
+                    maxMicros = Math.max(maxMicros, thisDeliveryMicros);
+
+                    return thisDeliveryMicros;
+                }
+            }
+        }
+
+        unmatchedAWTCount++;
+
+        return NOT_MATCHED;
+    }
+
+    public synchronized void awtKeyReleased(int keyCode, int keyLocation) {
+        // Called on the EDT for every AWT key release so that the next press of the key isn't treated as an autorepeat.
+        keyCode = getKernelKeyCode(keyCode, keyLocation);
+        int downKeyIndex = getDownKeyIndex(keyCode, keyLocation);
+        if (downKeyIndex >= 0) {
+            downKeyCount--;
+            downKeyCodes[downKeyIndex] = downKeyCodes[downKeyCount]; // The order of the down keys doesn't matter, so just move the last one into the gap.
+            downKeyLocations[downKeyIndex] = downKeyLocations[downKeyCount];
+            downKeyLastPressMicros[downKeyIndex] = downKeyLastPressMicros[downKeyCount];
+        }
+    }
+
+    public synchronized long getPercentileMicros(double percentile) {
+        // The upper bound of the bucket containing the percentile (or the slowest delivery if it's in the overflow bucket).
+        if (matchedCount == 0) {
+            return 0;
+        }
+
+        long targetCount = (long) Math.ceil(matchedCount * (percentile / 100.0));
+        long cumulativeCount = 0;
+        for (int bucketIndex = 0; bucketIndex < BUCKET_COUNT; bucketIndex++) {
+            cumulativeCount += bucketCounts[bucketIndex];
+            if (cumulativeCount >= targetCount) {
+                return Math.min(((bucketIndex + 1L) * BUCKET_WIDTH_MICROS), maxMicros);
+            }
+        }
+
+        return maxMicros;
+    }
+
+    public synchronized String getSummary() {
+        StringBuilder summary = new StringBuilder("Key Delivery Latency (Kernel to AWT):\n");
+        summary.append(String.format("  %-22s %d%n", "Matched Key Presses", matchedCount));
+        summary.append(String.format("  %-22s %d%n", "Unmatched AWT", unmatchedAWTCount));
+        summary.append(String.format("  %-22s %d%n", "Unmatched Kernel", unmatchedKernelCount));
+
+        if (matchedCount > 0) {
+            summary.append(String.format("  %-22s %.2f ms%n", "Mean", ((sumMicros / (double) matchedCount) / 1000.0)));
+            for (double thisPercentile : new double[]{50, 90, 99}) {
+                summary.append(String.format("  %-22s %.1f ms%n", ("P" + (int) thisPercentile), (getPercentileMicros(thisPercentile) / 1000.0)));
+            }
+            summary.append(String.format("  %-22s %.2f ms%n", "Max", (maxMicros / 1000.0)));
+
+            // A text histogram of the 0.1 ms buckets merged into 1 ms rows (skipping empty rows) up to the slowest delivery, with anything over 100 ms on one row.
+            long maxRowCount = 0;
+            int lastRow = (int) Math.min((maxMicros / 1000), (BUCKET_COUNT / 10));
+            long[] rowCounts = new long[lastRow + 1];
+            for (int bucketIndex = 0; bucketIndex <= BUCKET_COUNT; bucketIndex++) {
+                int thisRow = Math.min((bucketIndex / 10), lastRow);
+                rowCounts[thisRow] += bucketCounts[bucketIndex];
+                maxRowCount = Math.max(maxRowCount, rowCounts[thisRow]);
+            }
+
+            for (int thisRow = 0; thisRow <= lastRow; thisRow++) {
+                if (rowCounts[thisRow] == 0) {
+                    continue;
+                }
+
+                String thisRowLabel = (((thisRow == (BUCKET_COUNT / 10)) ? ">=" + thisRow : (thisRow + "-" + (thisRow + 1))) + " ms");
+                summary.append(String.format("  %10s %8d %s%n", thisRowLabel, rowCounts[thisRow], "#".repeat((int) Math.round((rowCounts[thisRow] * 40.0) / maxRowCount))));
+            }
+        }
+
+        return summary.toString();
+    }
+}
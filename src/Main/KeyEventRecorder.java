@@ -0,0 +1,189 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Records every key event to a compact binary file (see "KeyEventRecording" for the format) without ever writing to the disk on the Event Dispatch Thread.
+ *
+ * Events are encoded into a preallocated buffer and a background thread swaps in a second preallocated buffer and writes the filled one to the end of the file
+ * whenever the buffer is half full or every second, so recording a key event never allocates or blocks (unless the disk is so slow that both buffers fill up,
+ * in which case the buffer being filled grows so that no events are lost).
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyEventRecorder {
+
+    private static final int BUFFER_SIZE = 65536;
+    private static final int MAX_EVENT_SIZE = (1 + (5 * 2) + (10 * 2)); // 1 flags byte, 2 int varints, and 2 long varints.
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+
+    private final File recordingFile;
+    private final FileOutputStream recordingOutputStream;
+    private final Thread writerThread;
+
+    // Everything below is guarded by "this".
+    private byte[] fillingBuffer = new byte[BUFFER_SIZE];
+    private byte[] writingBuffer = new byte[BUFFER_SIZE];
+    private int fillingBufferLength = 0;
+    private boolean didWriteHeader = false;
+    private long previousWhen = 0;
+    private long previousNanoTime = 0;
+    private boolean isClosed = false;
+
+    public KeyEventRecorder(File recordingFile) throws IOException {
+        File recordingFolder = recordingFile.getAbsoluteFile().getParentFile();
+        if ((recordingFolder != null) && !recordingFolder.exists()) {
+            recordingFolder.mkdirs();
+        }
+
+        this.recordingFile = recordingFile;
+        recordingOutputStream = new FileOutputStream(recordingFile);
+
+        writerThread = new Thread(this::writeBuffersUntilClosed, "Key Event Recorder");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public static File getDefaultRecordingFile() {
+        return new File(new File(LaunchCache.getCacheFolder(), "Recordings"), "Keyboard Test " + new SimpleDateFormat("yyyy-MM-dd 'at' HH.mm.ss").format(new Date()) + ".ktr");
+    }
+
+    public File getRecordingFile() {
+        return recordingFile;
+    }
+
+    public synchronized void record(boolean isPress, int keyCode, int keyLocation, int modifiersEx, boolean isNumLockOn, long when, long nanoTime) {
+        if (isClosed) {
+            return;
+        }
+
+        if ((fillingBufferLength + MAX_EVENT_SIZE + 12) > fillingBuffer.length) {
+            fillingBuffer = Arrays.copyOf(fillingBuffer, fillingBuffer.length * 2); // Only happens if the writer thread has fallen far behind (see class comment).
+        }
+
+        if (!didWriteHeader) {
+            didWriteHeader = true;
+            fillingBufferLength = putInt(fillingBuffer, fillingBufferLength, KeyEventRecording.MAGIC);
+            fillingBufferLength = putInt(fillingBuffer, fillingBufferLength, (int) (when >>> 32));
+            fillingBufferLength = putInt(fillingBuffer, fillingBufferLength, (int) when);
+            previousWhen = when;
+            previousNanoTime = nanoTime;
+        }
+
+        long whenDelta = (when - previousWhen);
+        fillingBuffer[fillingBufferLength++] = (byte) ((isPress ? KeyEventRecording.FLAG_PRESS : 0) | (isNumLockOn ? KeyEventRecording.FLAG_NUM_LOCK_ON : 0)
+                | ((keyLocation & KeyEventRecording.LOCATION_MASK) << KeyEventRecording.LOCATION_SHIFT));
+        fillingBufferLength = putVarLong(fillingBuffer, fillingBufferLength, (keyCode & 0xFFFFFFFFL));
+        fillingBufferLength = putVarLong(fillingBuffer, fillingBufferLength, (modifiersEx & 0xFFFFFFFFL));
+        fillingBufferLength = putVarLong(fillingBuffer, fillingBufferLength, ((whenDelta << 1) ^ (whenDelta >> 63))); // Zigzag encode so that small negative deltas are still small.
+        fillingBufferLength = putVarLong(fillingBuffer, fillingBufferLength, Math.max(nanoTime - previousNanoTime, 0));
+        previousWhen = when;
+        previousNanoTime = nanoTime;
+
+        if (fillingBufferLength >= (BUFFER_SIZE / 2)) {
+            notifyAll();
+        }
+    }
+
+    private static int putInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+
+        return (offset + 4);
+    }
+
+    private static int putVarLong(byte[] buffer, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+
+        return offset;
+    }
+
+    private void writeBuffersUntilClosed() {
+        while (true) {
+            byte[] bufferToWrite;
+            int bufferToWriteLength;
+            boolean shouldStop;
+
+            synchronized (this) {
+                if (!isClosed && (fillingBufferLength < (BUFFER_SIZE / 2))) {
+                    try {
+                        wait(FLUSH_INTERVAL_MILLIS);
+                    } catch (InterruptedException waitForKeyEventsException) {
+                        // Ignore waitForKeyEventsException and just write whatever has been recorded.
+                    }
+                }
+
+                bufferToWrite = fillingBuffer;
+                bufferToWriteLength = fillingBufferLength;
+                fillingBuffer = writingBuffer;
+                fillingBufferLength = 0;
+                writingBuffer = bufferToWrite;
+                shouldStop = isClosed;
+            }
+
+            if (bufferToWriteLength > 0) {
+                try {
+                    recordingOutputStream.write(bufferToWrite, 0, bufferToWriteLength);
+                } catch (IOException writeRecordingException) {
+                    System.err.println("writeRecordingException: " + writeRecordingException);
+                }
+            }
+
+            if (shouldStop) {
+                try {
+                    recordingOutputStream.close();
+                } catch (IOException closeRecordingException) {
+                    System.err.println("closeRecordingException: " + closeRecordingException);
+                }
+
+                return;
+            }
+        }
+    }
+
+    public void close() {
+        // Write everything that has been recorded and wait for the file to be closed (which is called from a shutdown hook so that quitting never loses any key events).
+        synchronized (this) {
+            if (isClosed) {
+                return;
+            }
+
+            isClosed = true;
+            notifyAll();
+        }
+
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException waitForRecordingToCloseException) {
+            // Ignore waitForRecordingToCloseException since the JVM is quitting anyway.
+        }
+    }
+}
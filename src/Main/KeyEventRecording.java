@@ -0,0 +1,231 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A recording of every key event from a keyboard test session (see "KeyEventRecorder"), which can be replayed through the same key handling
+ * to reproduce exactly which keys lit up for a field report, or to benchmark the key handling with real typing.
+ *
+ * The file starts with the "KTR1" magic number and the wall clock time of the first event in milliseconds, and each event after that is:
+ * - 1 byte of flags: bit 0 is set for key presses (and clear for releases), bit 1 is set if Num Lock was on, and bits 2 through 4 are the key location.
+ * - The key code and "getModifiersEx()" as unsigned varints.
+ * - The change in "getWhen()" milliseconds from the previous event as a zigzag varint (since "getWhen()" can go backwards when the system clock changes).
+ * - The change in "System.nanoTime()" from the previous event as an unsigned varint.
+ *
+ * Varints store 7 bits per byte with the high bit set when more bytes follow, so most events are only 5 to 7 bytes.
+ * Since every event only depends on the previous event, a recording that was cut off (such as when the computer lost power) can still be read up to the last complete event.
+ *
+ * A recording can be replayed in the "KeyboardTest" window with the "--replay=" argument, or without a display by running this class directly:
+ * java -Djava.awt.headless=true -cp Keyboard_Test.jar Main.KeyEventRecording [--speed=1|10|max] recording.ktr
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyEventRecording {
+
+    static final int MAGIC = 0x4B545231; // "KTR1"
+    static final int HEADER_LENGTH = 12; // The magic number and the wall clock time of the first event.
+
+    static final int FLAG_PRESS = 0x01;
+    static final int FLAG_NUM_LOCK_ON = 0x02;
+    static final int LOCATION_SHIFT = 2;
+    static final int LOCATION_MASK = 0x07;
+
+    public static class Event {
+
+        public final boolean isPress;
+        public final int keyCode;
+        public final int keyLocation;
+        public final int modifiersEx;
+        public final boolean isNumLockOn;
+        public final long when; // Wall clock milliseconds from "KeyEvent.getWhen()".
+        public final long nanoTime; // Nanoseconds since the first event in the recording.
+
+        public Event(boolean isPress, int keyCode, int keyLocation, int modifiersEx, boolean isNumLockOn, long when, long nanoTime) {
+            this.isPress = isPress;
+            this.keyCode = keyCode;
+            this.keyLocation = keyLocation;
+            this.modifiersEx = modifiersEx;
+            this.isNumLockOn = isNumLockOn;
+            this.when = when;
+            this.nanoTime = nanoTime;
+        }
+    }
+
+    private final List<Event> events;
+
+    private KeyEventRecording(List<Event> events) {
+        this.events = events;
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    public long getDurationNanos() {
+        return (events.isEmpty() ? 0 : events.get(events.size() - 1).nanoTime);
+    }
+
+    public static KeyEventRecording read(File recordingFile) throws IOException {
+        // A recording that was cut off before its header was written (such as when the station lost power right after launching) would otherwise just fail with a bare "EOFException".
+        long recordingFileLength = recordingFile.length();
+        if (recordingFileLength < HEADER_LENGTH) {
+            throw new IOException("Not a complete Keyboard Test recording (only " + recordingFileLength + " bytes): " + recordingFile.getPath());
+        }
+
+        try (DataInputStream recordingInputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(recordingFile)))) {
+            if (recordingInputStream.readInt() != MAGIC) {
+                throw new IOException("Not a Keyboard Test recording: " + recordingFile.getPath());
+            }
+
+            long when = recordingInputStream.readLong();
+            long nanoTime = 0;
+            boolean isFirstEvent = true;
+            ArrayList<Event> events = new ArrayList<>();
+
+            while (true) {
+                int flags = recordingInputStream.read();
+                if (flags < 0) {
+                    break;
+                }
+
+                try {
+                    int keyCode = (int) readVarLong(recordingInputStream);
+                    int modifiersEx = (int) readVarLong(recordingInputStream);
+                    long whenDelta = readVarLong(recordingInputStream);
+                    long nanoTimeDelta = readVarLong(recordingInputStream);
+
+                    if (!isFirstEvent) { // The first event is always recorded with no deltas since the header holds its wall clock time.
+                        when += ((whenDelta >>> 1) ^ -(whenDelta & 1));
+                        nanoTime += nanoTimeDelta;
+                    }
+                    isFirstEvent = false;
+
+                    events.add(new Event(((flags & FLAG_PRESS) != 0), keyCode, ((flags >> LOCATION_SHIFT) & LOCATION_MASK), modifiersEx, ((flags & FLAG_NUM_LOCK_ON) != 0), when, nanoTime));
+                } catch (EOFException truncatedEventException) {
+                    break; // Ignore truncatedEventException since the recording was cut off in the middle of writing the last event.
+                }
+            }
+
+            return new KeyEventRecording(events);
+        }
+    }
+
+    private static long readVarLong(InputStream inputStream) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int thisByte = inputStream.read();
+            if (thisByte < 0) {
+                throw new EOFException();
+            }
+
+            value |= ((long) (thisByte & 0x7F) << shift);
+            if ((thisByte & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Invalid varint in recording");
+    }
+
+    public static long getReplayNanoTime(Event event, double speed) {
+        // A speed of 0 (or less) means to replay as fast as possible.
+        return ((speed > 0) ? Math.round(event.nanoTime / speed) : 0);
+    }
+
+    public static double parseReplaySpeed(String speed) {
+        // Speeds can be written as "10", "10x", or "max" (which is returned as 0).
+        if ((speed == null) || speed.isEmpty()) {
+            return 1;
+        } else if (speed.equals("max")) {
+            return 0;
+        }
+
+        try {
+            return Math.max(Double.parseDouble(speed.replaceAll("[x×]$", "")), 0);
+        } catch (NumberFormatException parseReplaySpeedException) {
+            System.err.println("parseReplaySpeedException: " + parseReplaySpeedException);
+            return 1;
+        }
+    }
+
+    public static void main(String[] args) {
+        // Replay a recording through "KeyboardTestEngine" without a display and print which key each key press lit up.
+        double replaySpeed = 0;
+        String recordingPath = null;
+
+        for (String thisArg : args) {
+            if (thisArg.startsWith("--speed=")) {
+                replaySpeed = parseReplaySpeed(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else {
+                recordingPath = thisArg;
+            }
+        }
+
+        if (recordingPath == null) {
+            System.err.println("Usage: java -Djava.awt.headless=true -cp Keyboard_Test.jar Main.KeyEventRecording [--speed=1|10|max] recording.ktr");
+            System.exit(2);
+        }
+
+        try {
+            KeyEventRecording recording = read(new File(recordingPath));
+            KeyboardTestEngine engine = new KeyboardTestEngine(KeyboardLayout.load("Standard"), KeyboardLayout.getCurrentOS());
+            engine.addListener(new KeyboardTestEngine.Listener() {
+                @Override
+                public void profileChanged(KeyboardLayout.Profile newProfile, boolean wasDetected) {
+                    System.out.println("    Profile: " + ((newProfile == null) ? "manual" : newProfile.id) + (wasDetected ? " (Detected)" : ""));
+                }
+
+                @Override
+                public void everyExpectedKeyPressed(KeyboardLayout.Profile profile) {
+                    System.out.println("    Every Expected Key Pressed");
+                }
+            });
+
+            long replayStartNanoTime = System.nanoTime();
+            for (Event thisEvent : recording.getEvents()) {
+                long waitNanos = (replayStartNanoTime + getReplayNanoTime(thisEvent, replaySpeed) - System.nanoTime());
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+
+                if (thisEvent.isPress) {
+                    KeyboardTestEngine.KeyPress keyPress = engine.keyPressed(thisEvent.keyCode, thisEvent.keyLocation, thisEvent.modifiersEx, thisEvent.isNumLockOn);
+                    System.out.println(String.format("%10.3f s  %-24s %s", (thisEvent.nanoTime / 1_000_000_000.0), ((keyPress == null) ? "(Ignored)" : keyPress.keyText),
+                            ((keyPress == null) ? "" : ((keyPress.key == null) ? "NOT IN LAYOUT" : (keyPress.key.id + (keyPress.isFirstPress ? "" : " (Again)"))))));
+                }
+            }
+
+            System.out.println("Replayed " + recording.getEvents().size() + " key events in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - replayStartNanoTime) + " ms"
+                    + " (recorded in " + TimeUnit.NANOSECONDS.toMillis(recording.getDurationNanos()) + " ms) and " + engine.getPressedKeyCount() + " different keys were pressed.");
+        } catch (IOException | InterruptedException replayRecordingException) {
+            System.err.println("replayRecordingException: " + replayRecordingException);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks each piece of the key handling separately so that hot path regressions can be caught by comparing the results between builds
+ * (see the "benchmark" target in "build.xml").
+ *
+ * Each benchmark is run in timed batches: the warm-up batches give the JIT time to compile the code being measured, and then the average time per operation
+ * of each measured batch is recorded. Every operation returns a value that is added to a checksum which is printed at the end so that the JIT can't skip any work.
+ *
+ * Results are written as tab separated "name, nanoseconds per operation, standard deviation" lines, and can be compared to a previous results file
+ * with "--compare=", which exits with 1 if any benchmark got slower than "--max-regression=" percent (25% by default).
+ *
+ * This runs without a display ("java.awt.headless=true") since the key handling is all in "KeyboardTestEngine".
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyHandlingBenchmark {
+
+    private interface Operation {
+
+        long run(int operationIndex);
+    }
+
+    private static final int[] NUMPAD_NAVIGATION_KEY_CODES = new int[]{
+        KeyEvent.VK_HOME, KeyEvent.VK_UP, KeyEvent.VK_KP_UP, KeyEvent.VK_PAGE_UP, KeyEvent.VK_LEFT, KeyEvent.VK_KP_LEFT, KeyEvent.VK_CLEAR, KeyEvent.VK_BEGIN,
+        KeyEvent.VK_RIGHT, KeyEvent.VK_KP_RIGHT, KeyEvent.VK_END, KeyEvent.VK_DOWN, KeyEvent.VK_KP_DOWN, KeyEvent.VK_PAGE_DOWN, KeyEvent.VK_INSERT, KeyEvent.VK_DELETE, KeyEvent.VK_NUMPAD5
+    };
+
+    private static int warmUpBatches = 5;
+    private static int measuredBatches = 10;
+    private static long batchNanos = TimeUnit.MILLISECONDS.toNanos(200);
+    private static long checksum = 0;
+
+    public static void main(String[] args) {
+        File outputFile = new File("benchmark-results.tsv");
+        File compareFile = null;
+        double maxRegressionPercentage = 25;
+
+        for (String thisArg : args) {
+            if (thisArg.startsWith("--output=")) {
+                outputFile = new File(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.startsWith("--compare=") && (thisArg.length() > "--compare=".length())) {
+                compareFile = new File(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.matches("^--max-regression=[0-9.]+$")) {
+                maxRegressionPercentage = Double.parseDouble(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.matches("^--warm-up-batches=[0-9]+$")) {
+                warmUpBatches = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.matches("^--batches=[1-9][0-9]*$")) {
+                measuredBatches = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.matches("^--batch-millis=[1-9][0-9]*$")) {
+                batchNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(thisArg.substring(thisArg.indexOf("=") + 1)));
+            }
+        }
+
+        KeyboardLayout keyboardLayout;
+        try {
+            keyboardLayout = KeyboardLayout.load("Standard");
+        } catch (IOException loadKeyboardLayoutException) {
+            System.err.println("loadKeyboardLayoutException: " + loadKeyboardLayoutException);
+            System.exit(1);
+            return;
+        }
+
+        int currentOS = KeyboardLayout.getCurrentOS();
+        KeyboardTestEngine engine = new KeyboardTestEngine(keyboardLayout, currentOS);
+
+        // Every key code and location that is bound to a layout key on this OS (in layout order), which is what technicians actually press.
+        List<int[]> boundKeyCodes = new ArrayList<>();
+        for (KeyboardLayout.Key thisKey : keyboardLayout.getKeys()) {
+            for (KeyboardLayout.Binding thisBinding : thisKey.getBindings()) {
+                if (thisBinding.appliesTo(currentOS)) {
+                    boundKeyCodes.add(new int[]{thisBinding.keyCode, thisBinding.keyLocation});
+                }
+            }
+        }
+
+        int[][] standardKeyCodes = boundKeyCodes.stream().filter((int[] thisKeyCode) -> (thisKeyCode[1] == KeyEvent.KEY_LOCATION_STANDARD)).toArray(int[][]::new);
+        int[][] locatedKeyCodes = boundKeyCodes.stream().filter((int[] thisKeyCode) -> (thisKeyCode[1] != KeyEvent.KEY_LOCATION_STANDARD)).toArray(int[][]::new);
+        int[][] allKeyCodes = boundKeyCodes.toArray(int[][]::new);
+
+        KeyboardLayout.Profile fullKeyboardProfile = keyboardLayout.getProfile("ansi");
+        KeyboardLayout.Profile laptopKeyboardProfile = keyboardLayout.getProfile((currentOS == KeyboardLayout.OS_MAC) ? "macLaptop" : "pcLaptop");
+
+        LinkedHashMap<String, Operation> benchmarks = new LinkedHashMap<>();
+        benchmarks.put("Key Text Formatting", (int operationIndex) -> {
+            int[] thisKeyCode = standardKeyCodes[operationIndex % standardKeyCodes.length];
+            return engine.getKeyText(thisKeyCode[0], thisKeyCode[1], 0).length();
+        });
+        benchmarks.put("Key Text Location Prefixing", (int operationIndex) -> {
+            int[] thisKeyCode = locatedKeyCodes[operationIndex % locatedKeyCodes.length];
+            return engine.getKeyText(thisKeyCode[0], thisKeyCode[1], 0).length();
+        });
+        benchmarks.put("NumPad Translation", (int operationIndex) -> KeyboardTestEngine.translateNumPadKeyCode(NUMPAD_NAVIGATION_KEY_CODES[operationIndex % NUMPAD_NAVIGATION_KEY_CODES.length]));
+        benchmarks.put("Key Label Lookup", (int operationIndex) -> {
+            int[] thisKeyCode = allKeyCodes[operationIndex % allKeyCodes.length];
+            KeyboardLayout.Key boundKey = engine.getBoundKey(thisKeyCode[1], thisKeyCode[0]);
+            return ((boundKey == null) ? -1 : boundKey.index);
+        });
+        benchmarks.put("Key Press with Completion Check", (int operationIndex) -> {
+            // The full engine path for each key press (text, translation, lookup, pressed key tracking, profile detection, and the completion check),
+            // starting over once every key has been pressed so that first presses (which do the most work) are always included.
+            int keyCodeIndex = (operationIndex % allKeyCodes.length);
+            if (keyCodeIndex == 0) {
+                engine.reset();
+            }
+
+            int[] thisKeyCode = allKeyCodes[keyCodeIndex];
+            KeyboardTestEngine.KeyPress keyPress = engine.keyPressed(thisKeyCode[0], thisKeyCode[1], 0, true);
+            return ((keyPress == null) ? -1 : keyPress.keyText.length());
+        });
+        benchmarks.put("Profile Switch Completion Recount", (int operationIndex) -> {
+            engine.setProfile(((operationIndex % 2) == 0) ? fullKeyboardProfile : laptopKeyboardProfile);
+            return engine.getPressedExpectedKeyCount();
+        });
+        // "ScaledImage" reads and decodes the PNG from a new resource stream on every call (nothing is cached), but when the icon isn't in the build (such as in a source checkout without
+        // the images), "toImageIcon()" just returns null after failing to find it, so skip these instead of reporting how long it takes to not find the icon as if it were loading it.
+        if (new ScaledImage("AppIcon", null).toImageIcon(64, false) != null) {
+            benchmarks.put("App Icon Loading", (int operationIndex) -> new ScaledImage("AppIcon", null).toImageIcon(64, false).getIconWidth());
+            benchmarks.put("App Icon Loading and Trimming", (int operationIndex) -> new ScaledImage("AppIcon", null).toImageIcon(64, true).getIconWidth());
+        } else {
+            System.out.println("Skipping App Icon Loading Benchmarks Since the App Icon Is Not in the Build");
+        }
+
+        System.out.println("Keyboard Test Key Handling Benchmark (" + warmUpBatches + " warm-up and " + measuredBatches + " measured batches of " + TimeUnit.NANOSECONDS.toMillis(batchNanos) + " ms each):");
+
+        LinkedHashMap<String, double[]> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Operation> thisBenchmark : benchmarks.entrySet()) {
+            double[] thisResult = runBenchmark(thisBenchmark.getValue());
+            results.put(thisBenchmark.getKey(), thisResult);
+            System.out.println(String.format("  %-36s %12.1f ns/op  (+/- %.1f)", thisBenchmark.getKey(), thisResult[0], thisResult[1]));
+        }
+
+        System.out.println("  (Checksum: " + checksum + ")");
+
+        try {
+            File outputFolder = outputFile.getAbsoluteFile().getParentFile();
+            if ((outputFolder != null) && !outputFolder.exists()) {
+                outputFolder.mkdirs();
+            }
+
+            try (PrintWriter outputWriter = new PrintWriter(outputFile, StandardCharsets.UTF_8)) {
+                // Always formatted with "Locale.ROOT" since "Double.parseDouble()" only reads a "." decimal separator when comparing with a previous results file.
+                for (Map.Entry<String, double[]> thisResult : results.entrySet()) {
+                    outputWriter.println(thisResult.getKey() + "\t" + String.format(Locale.ROOT, "%.3f", thisResult.getValue()[0]) + "\t" + String.format(Locale.ROOT, "%.3f", thisResult.getValue()[1]));
+                }
+            }
+
+            System.out.println("Results written to: " + outputFile.getPath());
+        } catch (IOException writeBenchmarkResultsException) {
+            System.err.println("writeBenchmarkResultsException: " + writeBenchmarkResultsException);
+        }
+
+        if ((compareFile != null) && !compareResults(results, compareFile, maxRegressionPercentage)) {
+            System.exit(1);
+        }
+    }
+
+    private static double[] runBenchmark(Operation operation) {
+        // Returns the mean and standard deviation of nanoseconds per operation across the measured batches.
+        double[] batchNanosPerOperation = new double[measuredBatches];
+        int operationIndex = 0;
+
+        for (int batchIndex = -warmUpBatches; batchIndex < measuredBatches; batchIndex++) {
+            long batchChecksum = 0;
+            int batchOperationCount = 0;
+            long batchStartNanoTime = System.nanoTime();
+            long batchElapsedNanos;
+
+            do {
+                // Check the time every 64 operations so that calling "System.nanoTime()" doesn't add much to fast operations.
+                for (int operationInBatch = 0; operationInBatch < 64; operationInBatch++) {
+                    batchChecksum += operation.run(operationIndex++);
+                }
+
+                batchOperationCount += 64;
+                batchElapsedNanos = (System.nanoTime() - batchStartNanoTime);
+            } while (batchElapsedNanos < batchNanos);
+
+            checksum += batchChecksum;
+
+            if (batchIndex >= 0) {
+                batchNanosPerOperation[batchIndex] = ((double) batchElapsedNanos / batchOperationCount);
+            }
+        }
+
+        double mean = Arrays.stream(batchNanosPerOperation).average().orElse(0);
+        double variance = Arrays.stream(batchNanosPerOperation).map((double thisNanosPerOperation) -> Math.pow(thisNanosPerOperation - mean, 2)).sum() / Math.max(measuredBatches - 1, 1);
+
+        return new double[]{mean, Math.sqrt(variance)};
+    }
+
+    private static boolean compareResults(Map<String, double[]> results, File previousResultsFile, double maxRegressionPercentage) {
+        List<String> previousResultLines;
+        try {
+            previousResultLines = Files.readAllLines(previousResultsFile.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException readPreviousResultsException) {
+            System.err.println("readPreviousResultsException: " + readPreviousResultsException);
+            return false;
+        }
+
+        System.out.println("Compared to: " + previousResultsFile.getPath());
+
+        boolean didPass = true;
+        for (String thisPreviousResultLine : previousResultLines) {
+            String[] thisPreviousResult = thisPreviousResultLine.split("\t");
+            if ((thisPreviousResult.length < 2) || !results.containsKey(thisPreviousResult[0])) {
+                continue;
+            }
+
+            double previousNanosPerOperation = Double.parseDouble(thisPreviousResult[1]);
+            double changePercentage = (((results.get(thisPreviousResult[0])[0] - previousNanosPerOperation) / previousNanosPerOperation) * 100);
+            boolean isRegression = (changePercentage > maxRegressionPercentage);
+            if (isRegression) {
+                didPass = false;
+            }
+
+            System.out.println(String.format("  %-36s %+8.1f%%%s", thisPreviousResult[0], changePercentage, (isRegression ? "  REGRESSION" : "")));
+        }
+
+        return didPass;
+    }
+}
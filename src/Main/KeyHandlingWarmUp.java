@@ -0,0 +1,349 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.awt.Color;
+import java.awt.EventQueue;
+import java.awt.Font;
+import java.awt.event.KeyEvent;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.swing.BorderFactory;
+import javax.swing.JLabel;
+import javax.swing.border.Border;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.html.HTMLEditorKit;
+
+/**
+ * Pushes synthetic key presses through the key handling right after launching (with "--warm-up") so that the JIT has already compiled it by the time the first real key is pressed,
+ * since on old computers the first few key presses are otherwise handled by the interpreter and their highlights visibly lag.
+ *
+ * The warm-up runs the same methods that "KeyboardTest.handleKeyPress()" uses for everything other than changing components ("KeyboardTest.handleKeyPressWithoutComponents()",
+ * "KeyboardTest.getLastKeyPressedText()", and "KeyboardTest.getKeyLabelFont()"), but with its own "KeyboardTestEngine" and "StationMetrics" so that the real test and metrics are never changed,
+ * and it also parses the "Last Key Pressed" HTML into a document that is never displayed. It runs on a minimum priority daemon thread that is only started once the window has been shown,
+ * and it stops as soon as a real key is pressed so that it never competes with actual key presses.
+ *
+ * Run "java -Djava.awt.headless=true -cp KeyboardTest.jar Main.KeyHandlingWarmUp" to measure the first key press latency in a new JVM with and without the warm-up
+ * (see the "warm-up-benchmark" target in "build.xml"). Each measured key press also updates the "Last Key Pressed" and key labels on the EDT like "KeyboardTest.handleKeyPress()" does
+ * (with labels that are never displayed), including rendering the "Last Key Pressed" HTML, which the warm-up only partly covers by parsing that HTML.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyHandlingWarmUp {
+
+    public static final int DEFAULT_KEY_PRESS_COUNT = 20000;
+    private static final String[] FIRST_KEYS_TYPED = new String[]{"T", "H", "E", "SPACE", "Q", "U", "I", "C", "K", "SPACE"}; // The start of "The quick brown fox jumps over the lazy dog."
+
+    private final KeyboardTestEngine engine;
+    private final StationMetrics stationMetrics = new StationMetrics(); // Never served, only so that recording the metrics of each key press is also warmed up.
+    private final int[][] boundKeyCodes;
+    private final List<KeyboardLayout.Profile> profiles;
+    private final Font keyLabelFont;
+    private final int keyPressCount;
+    private volatile boolean isCancelled = false;
+    private volatile int warmedUpKeyPressCount = 0;
+    private static volatile long checksumSink; // Every checksum is stored here so that the JIT can't skip any of the work.
+
+    public KeyHandlingWarmUp(KeyboardLayout keyboardLayout, int os, Font keyLabelFont, int keyPressCount) {
+        engine = new KeyboardTestEngine(keyboardLayout, os);
+        boundKeyCodes = getBoundKeyCodes(keyboardLayout, os);
+        profiles = keyboardLayout.getProfiles();
+        this.keyLabelFont = keyLabelFont;
+        this.keyPressCount = keyPressCount;
+    }
+
+    static int[][] getBoundKeyCodes(KeyboardLayout keyboardLayout, int os) {
+        // Every key code and location that is bound to a layout key on this OS (in layout order), just like "KeyHandlingBenchmark".
+        List<int[]> boundKeyCodes = new ArrayList<>();
+        for (KeyboardLayout.Key thisKey : keyboardLayout.getKeys()) {
+            for (KeyboardLayout.Binding thisBinding : thisKey.getBindings()) {
+                if (thisBinding.appliesTo(os)) {
+                    boundKeyCodes.add(new int[]{thisBinding.keyCode, thisBinding.keyLocation});
+                }
+            }
+        }
+
+        return boundKeyCodes.toArray(int[][]::new);
+    }
+
+    public void start() {
+        Thread warmUpThread = new Thread(this::run, "Key Handling Warm-Up");
+        warmUpThread.setDaemon(true);
+        warmUpThread.setPriority(Thread.MIN_PRIORITY);
+        warmUpThread.start();
+    }
+
+    public boolean cancel() {
+        // Returns true only for the first call so that the caller can report how far the warm-up got once.
+        boolean wasCancelled = isCancelled;
+        isCancelled = true;
+
+        return !wasCancelled;
+    }
+
+    public int getWarmedUpKeyPressCount() {
+        return warmedUpKeyPressCount;
+    }
+
+    public void run() {
+        long checksum = 0;
+        HTMLEditorKit htmlEditorKit = new HTMLEditorKit();
+        int boundKeyCodeIndex = 0;
+        int profileIndex = 0;
+
+        for (int keyPressIndex = 0; (keyPressIndex < keyPressCount) && !isCancelled; keyPressIndex++) {
+            if (boundKeyCodeIndex == boundKeyCodes.length) {
+                // Start over with the next profile once every key has been pressed so that first presses (which do the most work) and the completion check keep being included.
+                boundKeyCodeIndex = 0;
+                engine.reset();
+                engine.setProfile(profiles.isEmpty() ? null : profiles.get(profileIndex++ % profiles.size()));
+            }
+
+            int[] thisKeyCode = boundKeyCodes[boundKeyCodeIndex++];
+            checksum += handleKeyPress(engine, stationMetrics, thisKeyCode[0], thisKeyCode[1], ((keyPressIndex % 2) == 0), keyLabelFont);
+
+            if ((keyPressIndex % 64) == 0) {
+                checksum += handleKeyPress(engine, stationMetrics, KeyEvent.VK_UNDEFINED, KeyEvent.KEY_LOCATION_UNKNOWN, true, keyLabelFont); // Unknown keys highlight "Last Key Pressed" instead of a key label.
+            }
+
+            if ((keyPressIndex % 256) == 0) {
+                // The "Last Key Pressed" label parses its HTML each time its text is set, so also parse it into a separate document (which is never displayed) every so often.
+                checksum += parseLastKeyPressedHTML(htmlEditorKit, KeyboardTest.getLastKeyPressedText(engine.getKeyText(thisKeyCode[0], thisKeyCode[1], 0)));
+            }
+
+            warmedUpKeyPressCount = (keyPressIndex + 1);
+        }
+
+        checksumSink = checksum;
+    }
+
+    static int handleKeyPress(KeyboardTestEngine engine, StationMetrics stationMetrics, int keyCode, int keyLocation, boolean isNumLockOn, Font keyLabelFont) {
+        // The same calls as "KeyboardTest.handleKeyPress()" in the same order, except for the ones that change components.
+        KeyboardTestEngine.KeyPress keyPress = KeyboardTest.handleKeyPressWithoutComponents(engine, stationMetrics, keyCode, keyLocation, 0, isNumLockOn);
+        if (keyPress == null) {
+            return 0;
+        }
+
+        String lastKeyPressedText = KeyboardTest.getLastKeyPressedText(keyPress.keyText);
+        if (keyPress.key == null) {
+            return lastKeyPressedText.length();
+        }
+
+        return (lastKeyPressedText.length() + KeyboardTest.getKeyLabelFont(KeyboardTest.getKeyLabelFont(keyLabelFont, true), false).getStyle());
+    }
+
+    static int handleKeyPressAndUpdateLabels(KeyboardTestEngine engine, StationMetrics stationMetrics, int keyCode, int keyLocation, boolean isNumLockOn, JLabel lastKeyPressedLabel, JLabel keyLabel, Border keyLabelBorder) {
+        // The same as "handleKeyPress()" but also changing the labels like "KeyboardTest.handleKeyPress()" does, so it must be called on the EDT.
+        KeyboardTestEngine.KeyPress keyPress = KeyboardTest.handleKeyPressWithoutComponents(engine, stationMetrics, keyCode, keyLocation, 0, isNumLockOn);
+        if (keyPress == null) {
+            return 0;
+        }
+
+        lastKeyPressedLabel.setText(KeyboardTest.getLastKeyPressedText(keyPress.keyText)); // Renders the HTML into a view right away, even though the label is never displayed.
+        if (keyPress.key == null) {
+            lastKeyPressedLabel.setBorder(keyLabelBorder);
+            lastKeyPressedLabel.setBackground(Color.ORANGE);
+            lastKeyPressedLabel.setForeground(Color.BLACK);
+            return lastKeyPressedLabel.getText().length();
+        }
+
+        keyLabel.setBorder(keyLabelBorder);
+        keyLabel.setBackground(Color.ORANGE);
+        keyLabel.setForeground(Color.BLACK);
+        keyLabel.setFont(KeyboardTest.getKeyLabelFont(keyLabel.getFont(), true));
+
+        return (lastKeyPressedLabel.getText().length() + keyLabel.getFont().getStyle());
+    }
+
+    private static int parseLastKeyPressedHTML(HTMLEditorKit htmlEditorKit, String lastKeyPressedText) {
+        Document lastKeyPressedDocument = htmlEditorKit.createDefaultDocument();
+        try {
+            htmlEditorKit.read(new StringReader(lastKeyPressedText), lastKeyPressedDocument, 0);
+        } catch (IOException | BadLocationException parseLastKeyPressedHTMLException) {
+            // Ignore parseLastKeyPressedHTMLException since this is only to warm up the parser.
+        }
+
+        return lastKeyPressedDocument.getLength();
+    }
+
+    public static void main(String[] args) {
+        // With "--measure" (and optionally "--warm-up=N"), this JVM measures how long its own first key presses take. Otherwise, the measurement is run in a new JVM
+        // with and without the warm-up (since the first key presses can only be measured once in each JVM) and the results are printed side by side.
+        boolean isMeasuring = false;
+        int warmUpKeyPressCount = 0;
+        int runs = 5;
+
+        for (String thisArg : args) {
+            if (thisArg.equals("--measure")) {
+                isMeasuring = true;
+            } else if (thisArg.matches("^--warm-up=[0-9]+$")) {
+                warmUpKeyPressCount = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.matches("^--runs=[1-9][0-9]*$")) {
+                runs = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            }
+        }
+
+        if (isMeasuring) {
+            measureFirstKeyPresses(warmUpKeyPressCount);
+        } else {
+            compareFirstKeyPresses(((warmUpKeyPressCount > 0) ? warmUpKeyPressCount : DEFAULT_KEY_PRESS_COUNT), runs);
+        }
+    }
+
+    private static void measureFirstKeyPresses(int warmUpKeyPressCount) {
+        // Prints the microseconds that each of the first key presses took on a line of tab separated values.
+        KeyboardLayout keyboardLayout;
+        try {
+            keyboardLayout = KeyboardLayout.load("Standard");
+        } catch (IOException loadKeyboardLayoutException) {
+            System.err.println("loadKeyboardLayoutException: " + loadKeyboardLayoutException);
+            System.exit(1);
+            return;
+        }
+
+        int currentOS = KeyboardLayout.getCurrentOS();
+        Font keyLabelFont = new Font("Helvetica", Font.PLAIN, 14);
+
+        if (warmUpKeyPressCount > 0) {
+            new KeyHandlingWarmUp(keyboardLayout, currentOS, keyLabelFont, warmUpKeyPressCount).run(); // Run right here instead of in the background so that the warm-up is done before measuring.
+        }
+
+        try {
+            // The key handling is shared with "KeyboardTest", which has always been loaded by the time the first real key is pressed, so load it before measuring too.
+            Class.forName(KeyboardTest.class.getName());
+        } catch (ClassNotFoundException | LinkageError loadKeyboardTestClassException) {
+            System.err.println("loadKeyboardTestClassException: " + loadKeyboardTestClassException);
+            System.exit(1);
+            return;
+        }
+
+        // The key codes of the first keys a technician types, found by the layout key IDs.
+        KeyboardTestEngine engine = new KeyboardTestEngine(keyboardLayout, currentOS);
+        StationMetrics stationMetrics = new StationMetrics();
+        List<int[]> firstKeyCodes = new ArrayList<>();
+        for (String thisKeyID : FIRST_KEYS_TYPED) {
+            for (KeyboardLayout.Key thisKey : keyboardLayout.getKeys()) {
+                if (thisKey.id.equalsIgnoreCase(thisKeyID)) {
+                    for (KeyboardLayout.Binding thisBinding : thisKey.getBindings()) {
+                        if (thisBinding.appliesTo(currentOS)) {
+                            firstKeyCodes.add(new int[]{thisBinding.keyCode, thisBinding.keyLocation});
+                            break;
+                        }
+                    }
+                    break;
+                }
+            }
+        }
+
+        // The real key presses are handled on the EDT, which also updates the labels, so measure all of it on the EDT (with one label for each key since each key only gets its first highlight once).
+        long[] firstKeyPressNanos = new long[firstKeyCodes.size()];
+        try {
+            EventQueue.invokeAndWait(() -> {
+                JLabel lastKeyPressedLabel = new JLabel(KeyboardTest.getLastKeyPressedText("NONE"));
+                Border keyLabelBorder = BorderFactory.createLineBorder(Color.ORANGE, 2);
+                JLabel[] keyLabels = new JLabel[firstKeyCodes.size()];
+                for (int keyPressIndex = 0; keyPressIndex < keyLabels.length; keyPressIndex++) {
+                    keyLabels[keyPressIndex] = new JLabel(FIRST_KEYS_TYPED[keyPressIndex]);
+                    keyLabels[keyPressIndex].setFont(keyLabelFont);
+                }
+
+                long checksum = 0;
+                for (int keyPressIndex = 0; keyPressIndex < firstKeyCodes.size(); keyPressIndex++) {
+                    int[] thisKeyCode = firstKeyCodes.get(keyPressIndex);
+
+                    long keyPressStartNanoTime = System.nanoTime();
+                    checksum += handleKeyPressAndUpdateLabels(engine, stationMetrics, thisKeyCode[0], thisKeyCode[1], true, lastKeyPressedLabel, keyLabels[keyPressIndex], keyLabelBorder);
+                    firstKeyPressNanos[keyPressIndex] = (System.nanoTime() - keyPressStartNanoTime);
+                }
+                checksumSink = checksum;
+            });
+        } catch (InterruptedException | InvocationTargetException measureFirstKeyPressesException) {
+            System.err.println("measureFirstKeyPressesException: " + measureFirstKeyPressesException);
+            System.exit(1);
+            return;
+        }
+
+        StringBuilder measurementLine = new StringBuilder();
+        for (long thisKeyPressNanos : firstKeyPressNanos) {
+            measurementLine.append((measurementLine.length() == 0) ? "" : "\t").append(TimeUnit.NANOSECONDS.toMicros(thisKeyPressNanos));
+        }
+        System.out.println(measurementLine);
+    }
+
+    private static void compareFirstKeyPresses(int warmUpKeyPressCount, int runs) {
+        String javaPath = new File(new File(System.getProperty("java.home"), "bin"), "java").getPath();
+        String classPath = System.getProperty("java.class.path");
+
+        System.out.println("Keyboard Test First Key Press Latency Including Label Updates (" + FIRST_KEYS_TYPED.length + " key presses in a new JVM, median of " + runs + " runs, with a warm-up of " + warmUpKeyPressCount + " key presses):");
+
+        long[][] medianMicros = new long[2][];
+        for (int warmUpIndex = 0; warmUpIndex < 2; warmUpIndex++) {
+            long[][] runMicros = new long[runs][];
+            for (int runIndex = 0; runIndex < runs; runIndex++) {
+                try {
+                    Process measureProcess = new ProcessBuilder(javaPath, "-Djava.awt.headless=true", "-cp", classPath, KeyHandlingWarmUp.class.getName(), "--measure", ("--warm-up=" + ((warmUpIndex == 0) ? 0 : warmUpKeyPressCount)))
+                            .redirectError(ProcessBuilder.Redirect.INHERIT).start();
+
+                    String measurementLine;
+                    try (BufferedReader measurementReader = new BufferedReader(new InputStreamReader(measureProcess.getInputStream(), StandardCharsets.UTF_8))) {
+                        measurementLine = measurementReader.readLine();
+                    }
+
+                    if ((measureProcess.waitFor() != 0) || (measurementLine == null)) {
+                        throw new IOException("Measurement Failed");
+                    }
+
+                    runMicros[runIndex] = Arrays.stream(measurementLine.trim().split("\t")).mapToLong(Long::parseLong).toArray();
+                } catch (IOException | InterruptedException | NumberFormatException measureFirstKeyPressesException) {
+                    System.err.println("measureFirstKeyPressesException: " + measureFirstKeyPressesException);
+                    System.exit(1);
+                    return;
+                }
+            }
+
+            medianMicros[warmUpIndex] = new long[runMicros[0].length];
+            for (int keyPressIndex = 0; keyPressIndex < medianMicros[warmUpIndex].length; keyPressIndex++) {
+                long[] thisKeyPressMicros = new long[runs];
+                for (int runIndex = 0; runIndex < runs; runIndex++) {
+                    thisKeyPressMicros[runIndex] = runMicros[runIndex][keyPressIndex];
+                }
+                Arrays.sort(thisKeyPressMicros);
+                medianMicros[warmUpIndex][keyPressIndex] = thisKeyPressMicros[runs / 2];
+            }
+        }
+
+        System.out.println(String.format("  %-24s %14s %14s", "Key Press", "Cold", "Warmed Up"));
+        long[] totalMicros = new long[2];
+        for (int keyPressIndex = 0; keyPressIndex < medianMicros[0].length; keyPressIndex++) {
+            System.out.println(String.format("  %-24s %11d us %11d us", ("#" + (keyPressIndex + 1) + " (" + FIRST_KEYS_TYPED[keyPressIndex] + ")"), medianMicros[0][keyPressIndex], medianMicros[1][keyPressIndex]));
+            totalMicros[0] += medianMicros[0][keyPressIndex];
+            totalMicros[1] += medianMicros[1][keyPressIndex];
+        }
+        System.out.println(String.format("  %-24s %11d us %11d us", "Total", totalMicros[0], totalMicros[1]));
+    }
+}
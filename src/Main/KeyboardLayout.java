@@ -0,0 +1,731 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.awt.event.KeyEvent;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The keys of a keyboard layout along with their sections, key code and key location bindings, and any per-OS label changes, which are all defined in
+ * "/Resources/Layouts/[NAME].layout" text files instead of in code. See the comments at the top of "Standard.layout" for the format.
+ *
+ * When building, the text files are compiled into binary files ("/Resources/Layouts/[NAME].kbl") by "KeyboardLayoutCompiler" so that the layout can be read in one shot at launch
+ * without any text parsing or looking up key codes by reflection. These are NOT fixed-width tables that could be memory-mapped and indexed into, they are just each section, key, and profile
+ * written in order with "DataOutputStream" (see "writeBinary()"), where every string is a variable-length "writeUTF()" record and every list is prefixed with its count,
+ * so they can only be decoded from start to finish. If the binary file doesn't exist (such as when running without building the full project), the text file is parsed instead.
+ *
+ * Layout profiles (such as ANSI, ISO, and JIS full keyboards or Mac and PC laptops) define which keys are expected to exist on each kind of keyboard
+ * so that the test can be finished automatically once every expected key has been pressed.
+ *
+ * Layout files do NOT define any key geometry. The position and size of each key is still designed in the NetBeans Form Editor (and each key label in the form has its "name" set to its layout key ID),
+ * so a layout with keys in different places than the form still needs the form to be changed. Only the per-OS widths and fonts that used to be changed in code are in the layout files.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyboardLayout {
+
+    public static final int OS_MAC = 1;
+    public static final int OS_WINDOWS = 2;
+    public static final int OS_LINUX = 4;
+    public static final int OS_OTHER = 8;
+    public static final int OS_LINUX_EVDEV = 16; // Linux when the key events are read straight from the kernel (see "LinuxEvdevInput"), which can tell apart some keys that AWT on Linux can't.
+    public static final int OS_PC = (OS_WINDOWS | OS_LINUX | OS_OTHER | OS_LINUX_EVDEV);
+    public static final int OS_ALL = (OS_MAC | OS_PC);
+
+    private static final int BINARY_MAGIC = 0x4B544C34; // "KTL4"
+
+    private final String name;
+    private final List<Section> sections = new ArrayList<>();
+    private final List<Key> keys = new ArrayList<>();
+    private final Map<String, Key> keysByID = new LinkedHashMap<>();
+    private final List<Profile> profiles = new ArrayList<>();
+
+    public static class Section {
+
+        public final String name;
+        public final int index;
+        final int hiddenOSes;
+        final int fullKeyboardOSes;
+        final boolean revealOnPress;
+
+        Section(String name, int index, int hiddenOSes, int fullKeyboardOSes, boolean revealOnPress) {
+            this.name = name;
+            this.index = index;
+            this.hiddenOSes = hiddenOSes;
+            this.fullKeyboardOSes = fullKeyboardOSes;
+            this.revealOnPress = revealOnPress;
+        }
+
+        public boolean isHidden(int os) {
+            return ((hiddenOSes & os) != 0);
+        }
+
+        public boolean isFullKeyboardOnly(int os) { // Sections which are only shown with the Full Keyboard layout and are hidden and shown when toggling the Full Keyboard.
+            return ((fullKeyboardOSes & os) != 0);
+        }
+
+        public boolean isRevealedOnPress() { // Hidden sections which should be shown as soon as any of their keys are pressed (such as the extra keys on ISO and JIS keyboards).
+            return revealOnPress;
+        }
+    }
+
+    public static class Binding {
+
+        public final int keyLocation;
+        public final int keyCode;
+        final int oses;
+
+        Binding(int keyLocation, int keyCode, int oses) {
+            this.keyLocation = keyLocation;
+            this.keyCode = keyCode;
+            this.oses = oses;
+        }
+
+        public boolean appliesTo(int os) {
+            return ((oses & os) != 0);
+        }
+    }
+
+    public static class Key {
+
+        public final String id;
+        public final int index;
+        public final Section section;
+        final int hiddenOSes;
+        final int fullKeyboardOSes;
+        final List<Integer> labelOSes = new ArrayList<>(); // The OS mask for the label at the same index in "labels".
+        final List<String> labels = new ArrayList<>();
+        final List<int[]> widths = new ArrayList<>(); // Each entry is {osMask, width}.
+        final List<int[]> fontSizes = new ArrayList<>(); // Each entry is {osMask, fontSize}.
+        final List<String> fontNames = new ArrayList<>(); // The font name for the font size at the same index in "fontSizes".
+        final List<Binding> bindings = new ArrayList<>();
+
+        Key(String id, int index, Section section, int hiddenOSes, int fullKeyboardOSes) {
+            this.id = id;
+            this.index = index;
+            this.section = section;
+            this.hiddenOSes = hiddenOSes;
+            this.fullKeyboardOSes = fullKeyboardOSes;
+        }
+
+        public boolean isHidden(int os) {
+            return ((hiddenOSes & os) != 0);
+        }
+
+        public boolean isFullKeyboardOnly(int os) { // Keys which are only shown with the Full Keyboard layout, but are within a section that is always shown (such as the Right Control key on Mac keyboards).
+            return ((fullKeyboardOSes & os) != 0);
+        }
+
+        public String getLabel(int os) { // Returns "null" if the label designed in the form should not be changed.
+            for (int labelIndex = 0; labelIndex < labels.size(); labelIndex++) {
+                if ((labelOSes.get(labelIndex) & os) != 0) {
+                    return labels.get(labelIndex);
+                }
+            }
+
+            return null;
+        }
+
+        public int getWidth(int os) { // Returns 0 if the width designed in the form should not be changed.
+            for (int[] thisWidth : widths) {
+                if ((thisWidth[0] & os) != 0) {
+                    return thisWidth[1];
+                }
+            }
+
+            return 0;
+        }
+
+        public String getFontName(int os) { // Returns "null" if the font designed in the form should not be changed.
+            for (int fontIndex = 0; fontIndex < fontSizes.size(); fontIndex++) {
+                if ((fontSizes.get(fontIndex)[0] & os) != 0) {
+                    return fontNames.get(fontIndex);
+                }
+            }
+
+            return null;
+        }
+
+        public int getFontSize(int os) { // Returns 0 if the font designed in the form should not be changed.
+            for (int[] thisFontSize : fontSizes) {
+                if ((thisFontSize[0] & os) != 0) {
+                    return thisFontSize[1];
+                }
+            }
+
+            return 0;
+        }
+
+        public List<Binding> getBindings() {
+            return Collections.unmodifiableList(bindings);
+        }
+    }
+
+    public static class Profile {
+
+        public final String id;
+        public final String name;
+        public final int index;
+        final int availableOSes;
+        final boolean fullKeyboard;
+        final List<Integer> sectionIndexes = new ArrayList<>();
+        final List<Integer> optionalSectionIndexes = new ArrayList<>();
+        final List<Integer> addedKeyIndexes = new ArrayList<>();
+        final List<Integer> removedKeyIndexes = new ArrayList<>();
+
+        Profile(String id, String name, int index, int availableOSes, boolean fullKeyboard) {
+            this.id = id;
+            this.name = name;
+            this.index = index;
+            this.availableOSes = availableOSes;
+            this.fullKeyboard = fullKeyboard;
+        }
+
+        public boolean isAvailable(int os) {
+            return ((availableOSes & os) != 0);
+        }
+
+        public boolean showsFullKeyboard() {
+            return fullKeyboard;
+        }
+    }
+
+    private KeyboardLayout(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Section> getSections() {
+        return Collections.unmodifiableList(sections);
+    }
+
+    public List<Key> getKeys() {
+        return Collections.unmodifiableList(keys);
+    }
+
+    public Key getKey(String keyID) {
+        return keysByID.get(keyID);
+    }
+
+    public List<Profile> getProfiles() {
+        return Collections.unmodifiableList(profiles);
+    }
+
+    public Profile getProfile(String profileID) {
+        for (Profile thisProfile : profiles) {
+            if (thisProfile.id.equals(profileID)) {
+                return thisProfile;
+            }
+        }
+
+        return null;
+    }
+
+    public BitSet getExpectedKeys(Profile profile, int os) {
+        // The expected keys are indexed by "Key.index" so that checking whether every expected key has been pressed can be done by just keeping count of pressed expected keys.
+        // Keys which are hidden or have no key code bindings on the current OS are never expected, and keys that are only shown on the Full Keyboard are only expected by Full Keyboard profiles.
+        BitSet expectedKeys = new BitSet(keys.size());
+
+        for (Key thisKey : keys) {
+            if (profile.sectionIndexes.contains(thisKey.section.index) && !thisKey.section.isHidden(os) && !thisKey.isHidden(os)
+                    && (profile.fullKeyboard || !thisKey.isFullKeyboardOnly(os)) && thisKey.bindings.stream().anyMatch((Binding thisBinding) -> thisBinding.appliesTo(os))) {
+                expectedKeys.set(thisKey.index);
+            }
+        }
+
+        for (int thisAddedKeyIndex : profile.addedKeyIndexes) {
+            expectedKeys.set(thisAddedKeyIndex);
+        }
+
+        for (int thisRemovedKeyIndex : profile.removedKeyIndexes) {
+            expectedKeys.clear(thisRemovedKeyIndex);
+        }
+
+        return expectedKeys;
+    }
+
+    public BitSet getAllowedKeys(Profile profile, int os) {
+        // The allowed keys are every key that could exist on the kind of keyboard a profile is for, even if they aren't expected (such as the Page Up and Page Down keys that only some PC laptops have).
+        // Pressing a key that isn't allowed by a profile means the keyboard being tested can't be that kind of keyboard (see "KeyboardProfileClassifier").
+        BitSet allowedKeys = getExpectedKeys(profile, os);
+
+        for (Key thisKey : keys) {
+            if ((profile.sectionIndexes.contains(thisKey.section.index) || profile.optionalSectionIndexes.contains(thisKey.section.index)) && !thisKey.section.isHidden(os) && !thisKey.isHidden(os)) {
+                allowedKeys.set(thisKey.index);
+            }
+        }
+
+        return allowedKeys;
+    }
+
+    public static int getCurrentOS() {
+        String osName = System.getProperty("os.name");
+
+        if (osName.startsWith("Mac OS X") || osName.startsWith("macOS")) {
+            return OS_MAC;
+        } else if (osName.startsWith("Windows")) {
+            return OS_WINDOWS;
+        } else if (osName.startsWith("Linux")) {
+            return OS_LINUX;
+        }
+
+        return OS_OTHER;
+    }
+
+    public static String getOSName(int os) {
+        // The same names that are used for OS lists in layout files.
+        switch (os) {
+            case OS_MAC:
+                return "mac";
+            case OS_WINDOWS:
+                return "windows";
+            case OS_LINUX:
+            case OS_LINUX_EVDEV:
+                return "linux";
+            default:
+                return "other";
+        }
+    }
+
+    public static String getKeyLocationName(int keyLocation) {
+        switch (keyLocation) {
+            case KeyEvent.KEY_LOCATION_LEFT:
+                return "Left";
+            case KeyEvent.KEY_LOCATION_RIGHT:
+                return "Right";
+            case KeyEvent.KEY_LOCATION_NUMPAD:
+                return "NumPad";
+            default:
+                return "";
+        }
+    }
+
+    public static KeyboardLayout load(String layoutName) throws IOException {
+        try (InputStream binaryLayoutInputStream = KeyboardLayout.class.getResourceAsStream("/Resources/Layouts/" + layoutName + ".kbl")) {
+            if (binaryLayoutInputStream != null) {
+                // Read the whole compiled layout in one shot and then decode it from memory.
+                return readBinary(layoutName, new DataInputStream(new ByteArrayInputStream(binaryLayoutInputStream.readAllBytes())));
+            }
+        }
+
+        try (InputStream textLayoutInputStream = KeyboardLayout.class.getResourceAsStream("/Resources/Layouts/" + layoutName + ".layout")) {
+            if (textLayoutInputStream == null) {
+                throw new IOException("Missing Keyboard Layout: " + layoutName);
+            }
+
+            return parseText(layoutName, new InputStreamReader(textLayoutInputStream, StandardCharsets.UTF_8));
+        }
+    }
+
+    public static KeyboardLayout parseText(String layoutName, Reader layoutReader) throws IOException {
+        KeyboardLayout layout = new KeyboardLayout(layoutName);
+        Map<String, Section> sectionsByName = new LinkedHashMap<>();
+
+        BufferedReader layoutLineReader = new BufferedReader(layoutReader);
+        String thisLine;
+        int lineNumber = 0;
+        while ((thisLine = layoutLineReader.readLine()) != null) {
+            lineNumber++;
+
+            List<String> lineTokens = tokenizeLine(thisLine, lineNumber);
+            if (lineTokens.isEmpty()) {
+                continue;
+            }
+
+            if (lineTokens.get(0).equals("section") && (lineTokens.size() >= 2)) {
+                int hiddenOSes = 0;
+                int fullKeyboardOSes = 0;
+                boolean revealOnPress = false;
+
+                for (String thisOption : lineTokens.subList(2, lineTokens.size())) {
+                    if (thisOption.startsWith("hidden@")) {
+                        hiddenOSes |= parseOSes(thisOption.substring(thisOption.indexOf("@") + 1), lineNumber);
+                    } else if (thisOption.startsWith("fullKeyboard@")) {
+                        fullKeyboardOSes |= parseOSes(thisOption.substring(thisOption.indexOf("@") + 1), lineNumber);
+                    } else if (thisOption.equals("revealOnPress")) {
+                        revealOnPress = true;
+                    } else {
+                        throw new IOException("Unknown section option \"" + thisOption + "\" on line " + lineNumber);
+                    }
+                }
+
+                Section thisSection = new Section(lineTokens.get(1), layout.sections.size(), hiddenOSes, fullKeyboardOSes, revealOnPress);
+                layout.sections.add(thisSection);
+                sectionsByName.put(thisSection.name, thisSection);
+            } else if (lineTokens.get(0).equals("key") && (lineTokens.size() >= 3)) {
+                Section keySection = sectionsByName.get(lineTokens.get(2));
+                if (keySection == null) {
+                    throw new IOException("Unknown section \"" + lineTokens.get(2) + "\" on line " + lineNumber);
+                }
+
+                int hiddenOSes = 0;
+                int fullKeyboardOSes = 0;
+                List<String> keyOptions = lineTokens.subList(3, lineTokens.size());
+                for (String thisOption : keyOptions) {
+                    if (thisOption.startsWith("hidden@")) {
+                        hiddenOSes |= parseOSes(thisOption.substring(thisOption.indexOf("@") + 1), lineNumber);
+                    } else if (thisOption.startsWith("fullKeyboard@")) {
+                        fullKeyboardOSes |= parseOSes(thisOption.substring(thisOption.indexOf("@") + 1), lineNumber);
+                    }
+                }
+
+                Key thisKey = new Key(lineTokens.get(1), layout.keys.size(), keySection, hiddenOSes, fullKeyboardOSes);
+
+                for (String thisOption : keyOptions) {
+                    int optionOSes = OS_ALL;
+                    String optionWithoutOSes = thisOption;
+                    if (thisOption.contains("@")) {
+                        optionOSes = parseOSes(thisOption.substring(thisOption.lastIndexOf("@") + 1), lineNumber);
+                        optionWithoutOSes = thisOption.substring(0, thisOption.lastIndexOf("@"));
+                    }
+
+                    if (optionWithoutOSes.contains("=")) {
+                        String optionName = optionWithoutOSes.substring(0, optionWithoutOSes.indexOf("="));
+                        String optionValue = optionWithoutOSes.substring(optionWithoutOSes.indexOf("=") + 1);
+
+                        switch (optionName) {
+                            case "label":
+                                thisKey.labelOSes.add(optionOSes);
+                                thisKey.labels.add(optionValue);
+                                break;
+                            case "width":
+                                thisKey.widths.add(new int[]{optionOSes, parseNumber(optionValue, lineNumber)});
+                                break;
+                            case "font": // Fonts are written as "[NAME]/[SIZE]" (such as: font=Helvetica/12@mac).
+                                if (!optionValue.contains("/")) {
+                                    throw new IOException("Invalid font \"" + optionValue + "\" on line " + lineNumber);
+                                }
+
+                                thisKey.fontSizes.add(new int[]{optionOSes, parseNumber(optionValue.substring(optionValue.lastIndexOf("/") + 1), lineNumber)});
+                                thisKey.fontNames.add(optionValue.substring(0, optionValue.lastIndexOf("/")));
+                                break;
+                            default:
+                                throw new IOException("Unknown key option \"" + thisOption + "\" on line " + lineNumber);
+                        }
+                    } else if (optionWithoutOSes.contains(":")) {
+                        int keyLocation = parseKeyLocation(optionWithoutOSes.substring(0, optionWithoutOSes.indexOf(":")), lineNumber);
+                        int keyCode = parseKeyCode(optionWithoutOSes.substring(optionWithoutOSes.indexOf(":") + 1), lineNumber);
+                        thisKey.bindings.add(new Binding(keyLocation, keyCode, optionOSes));
+                    } else if (!optionWithoutOSes.equals("hidden") && !optionWithoutOSes.equals("fullKeyboard")) {
+                        throw new IOException("Unknown key option \"" + thisOption + "\" on line " + lineNumber);
+                    }
+                }
+
+                if (layout.keysByID.containsKey(thisKey.id)) {
+                    throw new IOException("Duplicate key \"" + thisKey.id + "\" on line " + lineNumber);
+                }
+
+                layout.keys.add(thisKey);
+                layout.keysByID.put(thisKey.id, thisKey);
+            } else if (lineTokens.get(0).equals("profile") && (lineTokens.size() >= 3)) {
+                int availableOSes = OS_ALL;
+                boolean fullKeyboard = false;
+                List<String> profileOptions = lineTokens.subList(3, lineTokens.size());
+                for (String thisOption : profileOptions) {
+                    if (thisOption.startsWith("available@")) {
+                        availableOSes = parseOSes(thisOption.substring(thisOption.indexOf("@") + 1), lineNumber);
+                    } else if (thisOption.equals("fullKeyboard")) {
+                        fullKeyboard = true;
+                    }
+                }
+
+                Profile thisProfile = new Profile(lineTokens.get(1), lineTokens.get(2), layout.profiles.size(), availableOSes, fullKeyboard);
+
+                for (String thisOption : profileOptions) {
+                    if (thisOption.startsWith("sections=") || thisOption.startsWith("optionalSections=")) {
+                        for (String thisSectionName : thisOption.substring(thisOption.indexOf("=") + 1).split(",")) {
+                            Section thisSection = sectionsByName.get(thisSectionName);
+                            if (thisSection == null) {
+                                throw new IOException("Unknown section \"" + thisSectionName + "\" on line " + lineNumber);
+                            }
+
+                            (thisOption.startsWith("sections=") ? thisProfile.sectionIndexes : thisProfile.optionalSectionIndexes).add(thisSection.index);
+                        }
+                    } else if (thisOption.startsWith("add=") || thisOption.startsWith("remove=")) {
+                        for (String thisKeyID : thisOption.substring(thisOption.indexOf("=") + 1).split(",")) {
+                            Key thisKey = layout.keysByID.get(thisKeyID);
+                            if (thisKey == null) { // Profiles must be defined after every key they add or remove.
+                                throw new IOException("Unknown key \"" + thisKeyID + "\" on line " + lineNumber);
+                            }
+
+                            (thisOption.startsWith("add=") ? thisProfile.addedKeyIndexes : thisProfile.removedKeyIndexes).add(thisKey.index);
+                        }
+                    } else if (!thisOption.startsWith("available@") && !thisOption.equals("fullKeyboard")) {
+                        throw new IOException("Unknown profile option \"" + thisOption + "\" on line " + lineNumber);
+                    }
+                }
+
+                layout.profiles.add(thisProfile);
+            } else {
+                throw new IOException("Invalid line " + lineNumber + ": " + thisLine);
+            }
+        }
+
+        return layout;
+    }
+
+    private static List<String> tokenizeLine(String line, int lineNumber) throws IOException {
+        // Tokens are separated by whitespace, and any part of a token can be wrapped in double quotes to include whitespace (such as: label="caps lock"@mac).
+        List<String> lineTokens = new ArrayList<>();
+        StringBuilder thisToken = new StringBuilder();
+        boolean isInQuotes = false;
+        boolean hasToken = false;
+
+        for (int charIndex = 0; charIndex < line.length(); charIndex++) {
+            char thisChar = line.charAt(charIndex);
+
+            if (thisChar == '"') {
+                isInQuotes = !isInQuotes;
+                hasToken = true;
+            } else if (!isInQuotes && (thisChar == '#')) {
+                break;
+            } else if (!isInQuotes && Character.isWhitespace(thisChar)) {
+                if (hasToken) {
+                    lineTokens.add(thisToken.toString());
+                    thisToken.setLength(0);
+                    hasToken = false;
+                }
+            } else {
+                thisToken.append(thisChar);
+                hasToken = true;
+            }
+        }
+
+        if (isInQuotes) {
+            throw new IOException("Unterminated quote on line " + lineNumber);
+        }
+
+        if (hasToken) {
+            lineTokens.add(thisToken.toString());
+        }
+
+        return lineTokens;
+    }
+
+    private static int parseOSes(String osNames, int lineNumber) throws IOException {
+        int oses = 0;
+
+        for (String thisOSName : osNames.split(",")) {
+            switch (thisOSName) {
+                case "mac":
+                    oses |= OS_MAC;
+                    break;
+                case "windows":
+                    oses |= OS_WINDOWS;
+                    break;
+                case "linux":
+                    oses |= OS_LINUX;
+                    break;
+                case "linuxEvdev":
+                    oses |= OS_LINUX_EVDEV;
+                    break;
+                case "other":
+                    oses |= OS_OTHER;
+                    break;
+                case "pc":
+                    oses |= OS_PC;
+                    break;
+                case "all":
+                    oses |= OS_ALL;
+                    break;
+                default:
+                    throw new IOException("Unknown OS \"" + thisOSName + "\" on line " + lineNumber);
+            }
+        }
+
+        return oses;
+    }
+
+    private static int parseKeyLocation(String keyLocationName, int lineNumber) throws IOException {
+        switch (keyLocationName) {
+            case "Standard":
+                return KeyEvent.KEY_LOCATION_STANDARD;
+            case "Left":
+                return KeyEvent.KEY_LOCATION_LEFT;
+            case "Right":
+                return KeyEvent.KEY_LOCATION_RIGHT;
+            case "NumPad":
+                return KeyEvent.KEY_LOCATION_NUMPAD;
+            default:
+                throw new IOException("Unknown key location \"" + keyLocationName + "\" on line " + lineNumber);
+        }
+    }
+
+    private static int parseKeyCode(String keyCodeName, int lineNumber) throws IOException {
+        // Key codes are written as their "KeyEvent" constant names (such as "VK_ESCAPE") since that is much more readable than the numbers.
+        // Looking up the constants by name is only done when compiling the layout (or when the compiled layout doesn't exist).
+        if (keyCodeName.matches("^[0-9]+$")) {
+            return parseNumber(keyCodeName, lineNumber);
+        }
+
+        try {
+            return KeyEvent.class.getField(keyCodeName).getInt(null);
+        } catch (NoSuchFieldException | IllegalAccessException | IllegalArgumentException getKeyCodeException) {
+            throw new IOException("Unknown key code \"" + keyCodeName + "\" on line " + lineNumber);
+        }
+    }
+
+    private static int parseNumber(String number, int lineNumber) throws IOException {
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException parseNumberException) {
+            throw new IOException("Invalid number \"" + number + "\" on line " + lineNumber);
+        }
+    }
+
+    public void writeBinary(DataOutputStream binaryOutputStream) throws IOException {
+        // The magic number, then the count and each section (name, hidden OSes, full keyboard OSes, reveal on press), then the count and each key (ID, section index, hidden OSes, full keyboard OSes,
+        // and then the count and each label, width, font, and binding), then the count and each profile (ID, name, available OSes, full keyboard, and then the count and each index of each index list).
+        // The strings are written with "writeUTF()" so each one is a 2 byte length followed by its modified UTF-8 bytes, which means the records are variable-length and must be read in order.
+        binaryOutputStream.writeInt(BINARY_MAGIC);
+
+        binaryOutputStream.writeShort(sections.size());
+        for (Section thisSection : sections) {
+            binaryOutputStream.writeUTF(thisSection.name);
+            binaryOutputStream.writeByte(thisSection.hiddenOSes);
+            binaryOutputStream.writeByte(thisSection.fullKeyboardOSes);
+            binaryOutputStream.writeBoolean(thisSection.revealOnPress);
+        }
+
+        binaryOutputStream.writeShort(keys.size());
+        for (Key thisKey : keys) {
+            binaryOutputStream.writeUTF(thisKey.id);
+            binaryOutputStream.writeByte(thisKey.section.index);
+            binaryOutputStream.writeByte(thisKey.hiddenOSes);
+            binaryOutputStream.writeByte(thisKey.fullKeyboardOSes);
+
+            binaryOutputStream.writeByte(thisKey.labels.size());
+            for (int labelIndex = 0; labelIndex < thisKey.labels.size(); labelIndex++) {
+                binaryOutputStream.writeByte(thisKey.labelOSes.get(labelIndex));
+                binaryOutputStream.writeUTF(thisKey.labels.get(labelIndex));
+            }
+
+            binaryOutputStream.writeByte(thisKey.widths.size());
+            for (int[] thisWidth : thisKey.widths) {
+                binaryOutputStream.writeByte(thisWidth[0]);
+                binaryOutputStream.writeShort(thisWidth[1]);
+            }
+
+            binaryOutputStream.writeByte(thisKey.fontSizes.size());
+            for (int fontIndex = 0; fontIndex < thisKey.fontSizes.size(); fontIndex++) {
+                binaryOutputStream.writeByte(thisKey.fontSizes.get(fontIndex)[0]);
+                binaryOutputStream.writeShort(thisKey.fontSizes.get(fontIndex)[1]);
+                binaryOutputStream.writeUTF(thisKey.fontNames.get(fontIndex));
+            }
+
+            binaryOutputStream.writeByte(thisKey.bindings.size());
+            for (Binding thisBinding : thisKey.bindings) {
+                binaryOutputStream.writeByte(thisBinding.keyLocation);
+                binaryOutputStream.writeInt(thisBinding.keyCode);
+                binaryOutputStream.writeByte(thisBinding.oses);
+            }
+        }
+
+        binaryOutputStream.writeShort(profiles.size());
+        for (Profile thisProfile : profiles) {
+            binaryOutputStream.writeUTF(thisProfile.id);
+            binaryOutputStream.writeUTF(thisProfile.name);
+            binaryOutputStream.writeByte(thisProfile.availableOSes);
+            binaryOutputStream.writeBoolean(thisProfile.fullKeyboard);
+
+            for (List<Integer> thisIndexList : Arrays.asList(thisProfile.sectionIndexes, thisProfile.optionalSectionIndexes, thisProfile.addedKeyIndexes, thisProfile.removedKeyIndexes)) {
+                binaryOutputStream.writeShort(thisIndexList.size());
+                for (int thisIndex : thisIndexList) {
+                    binaryOutputStream.writeShort(thisIndex);
+                }
+            }
+        }
+    }
+
+    private static KeyboardLayout readBinary(String layoutName, DataInputStream binaryInputStream) throws IOException {
+        if (binaryInputStream.readInt() != BINARY_MAGIC) {
+            throw new IOException("Invalid Compiled Keyboard Layout: " + layoutName);
+        }
+
+        KeyboardLayout layout = new KeyboardLayout(layoutName);
+
+        int sectionCount = binaryInputStream.readUnsignedShort();
+        for (int sectionIndex = 0; sectionIndex < sectionCount; sectionIndex++) {
+            layout.sections.add(new Section(binaryInputStream.readUTF(), sectionIndex, binaryInputStream.readUnsignedByte(), binaryInputStream.readUnsignedByte(), binaryInputStream.readBoolean()));
+        }
+
+        int keyCount = binaryInputStream.readUnsignedShort();
+        for (int keyIndex = 0; keyIndex < keyCount; keyIndex++) {
+            Key thisKey = new Key(binaryInputStream.readUTF(), keyIndex, layout.sections.get(binaryInputStream.readUnsignedByte()), binaryInputStream.readUnsignedByte(), binaryInputStream.readUnsignedByte());
+
+            int labelCount = binaryInputStream.readUnsignedByte();
+            for (int labelIndex = 0; labelIndex < labelCount; labelIndex++) {
+                thisKey.labelOSes.add(binaryInputStream.readUnsignedByte());
+                thisKey.labels.add(binaryInputStream.readUTF());
+            }
+
+            int widthCount = binaryInputStream.readUnsignedByte();
+            for (int widthIndex = 0; widthIndex < widthCount; widthIndex++) {
+                thisKey.widths.add(new int[]{binaryInputStream.readUnsignedByte(), binaryInputStream.readUnsignedShort()});
+            }
+
+            int fontCount = binaryInputStream.readUnsignedByte();
+            for (int fontIndex = 0; fontIndex < fontCount; fontIndex++) {
+                thisKey.fontSizes.add(new int[]{binaryInputStream.readUnsignedByte(), binaryInputStream.readUnsignedShort()});
+                thisKey.fontNames.add(binaryInputStream.readUTF());
+            }
+
+            int bindingCount = binaryInputStream.readUnsignedByte();
+            for (int bindingIndex = 0; bindingIndex < bindingCount; bindingIndex++) {
+                thisKey.bindings.add(new Binding(binaryInputStream.readUnsignedByte(), binaryInputStream.readInt(), binaryInputStream.readUnsignedByte()));
+            }
+
+            layout.keys.add(thisKey);
+            layout.keysByID.put(thisKey.id, thisKey);
+        }
+
+        int profileCount = binaryInputStream.readUnsignedShort();
+        for (int profileIndex = 0; profileIndex < profileCount; profileIndex++) {
+            Profile thisProfile = new Profile(binaryInputStream.readUTF(), binaryInputStream.readUTF(), profileIndex, binaryInputStream.readUnsignedByte(), binaryInputStream.readBoolean());
+
+            for (List<Integer> thisIndexList : Arrays.asList(thisProfile.sectionIndexes, thisProfile.optionalSectionIndexes, thisProfile.addedKeyIndexes, thisProfile.removedKeyIndexes)) {
+                int indexCount = binaryInputStream.readUnsignedShort();
+                for (int indexIndex = 0; indexIndex < indexCount; indexIndex++) {
+                    thisIndexList.add(binaryInputStream.readUnsignedShort());
+                }
+            }
+
+            layout.profiles.add(thisProfile);
+        }
+
+        return layout;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Compiles every "[NAME].layout" text file in a folder into the binary "[NAME].kbl" files that "KeyboardLayout" loads at launch (see "KeyboardLayout.writeBinary()" for the format).
+ *
+ * This is run by the "-post-compile" target in "build.xml" with the source layouts folder and the built resources layouts folder as arguments.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyboardLayoutCompiler {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: KeyboardLayoutCompiler <Layouts Source Folder> <Layouts Output Folder>");
+            System.exit(1);
+        }
+
+        File layoutsSourceFolder = new File(args[0]);
+        File layoutsOutputFolder = new File(args[1]);
+
+        File[] layoutSourceFiles = layoutsSourceFolder.listFiles((File thisFolder, String thisFileName) -> thisFileName.endsWith(".layout"));
+        if (layoutSourceFiles == null) {
+            throw new IOException("Missing Layouts Folder: " + layoutsSourceFolder.getPath());
+        }
+
+        if (!layoutsOutputFolder.exists()) {
+            layoutsOutputFolder.mkdirs();
+        }
+
+        for (File thisLayoutSourceFile : layoutSourceFiles) {
+            String layoutName = thisLayoutSourceFile.getName().substring(0, thisLayoutSourceFile.getName().lastIndexOf("."));
+            KeyboardLayout thisLayout = KeyboardLayout.parseText(layoutName, Files.newBufferedReader(thisLayoutSourceFile.toPath(), StandardCharsets.UTF_8));
+
+            File thisLayoutOutputFile = new File(layoutsOutputFolder, layoutName + ".kbl");
+            try (DataOutputStream layoutOutputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(thisLayoutOutputFile)))) {
+                thisLayout.writeBinary(layoutOutputStream);
+            }
+
+            System.out.println("Compiled Keyboard Layout \"" + layoutName + "\" (" + thisLayout.getKeys().size() + " Keys) to " + thisLayoutOutputFile.getPath());
+        }
+    }
+}
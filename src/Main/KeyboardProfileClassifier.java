@@ -0,0 +1,155 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Detects which layout profile matches the keyboard being tested from the keys that have been pressed so far.
+ *
+ * Every pressed key that can't exist on the kind of keyboard a profile is for (see "KeyboardLayout.getAllowedKeys") counts against that profile,
+ * and the most likely profile is the one with the fewest of those keys, preferring the profile with the fewest expected keys when tied.
+ * So, laptop profiles are detected until a NumPad key is pressed, and the ANSI profile is detected until an ISO or JIS key is pressed.
+ *
+ * Since that is only ever negative evidence, a detected profile is only confirmed (see "isConfirmed") once the pressed keys have ruled out every other profile.
+ * For example, a laptop profile can never be confirmed since a full keyboard could always still have a NumPad that hasn't been pressed yet,
+ * so the test is never finished automatically on a detected profile that a keyboard with more keys could also match.
+ *
+ * Which profiles allow each key is worked out once up front as a bitmask per key, so each key press is only a few bitwise operations per profile
+ * and can be done right in the key pressed event.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyboardProfileClassifier {
+
+    private static final int MINIMUM_OBSERVED_KEY_COUNT = 6; // Don't switch profiles until enough different keys have been pressed for the detection to mean something.
+
+    private final KeyboardLayout.Profile[] candidateProfiles;
+    private final int[] candidateExpectedKeyCounts;
+    private final int[] keyAllowedCandidateMasks; // Indexed by "Key.index", and each bit is whether the candidate profile at that bit index allows the key.
+    private final int[] disallowedKeyCounts;
+    private final BitSet observedKeys = new BitSet();
+    private int observedKeyCount = 0;
+    private int mostLikelyCandidateIndex = -1;
+
+    public KeyboardProfileClassifier(KeyboardLayout layout, List<KeyboardLayout.Profile> profiles, int os) {
+        candidateProfiles = profiles.stream().filter((KeyboardLayout.Profile thisProfile) -> thisProfile.isAvailable(os)).toArray(KeyboardLayout.Profile[]::new);
+        if (candidateProfiles.length > (Integer.SIZE - 1)) {
+            throw new IllegalArgumentException("Too Many Keyboard Profiles for " + KeyboardLayout.getOSName(os) + ": " + candidateProfiles.length + " (Profile Detection Supports Up to " + (Integer.SIZE - 1) + ")"); // Each candidate is a bit in an "int" mask (see "keyAllowedCandidateMasks").
+        }
+
+        candidateExpectedKeyCounts = new int[candidateProfiles.length];
+        disallowedKeyCounts = new int[candidateProfiles.length];
+        keyAllowedCandidateMasks = new int[layout.getKeys().size()];
+
+        for (int candidateIndex = 0; candidateIndex < candidateProfiles.length; candidateIndex++) {
+            candidateExpectedKeyCounts[candidateIndex] = layout.getExpectedKeys(candidateProfiles[candidateIndex], os).cardinality();
+
+            BitSet thisAllowedKeys = layout.getAllowedKeys(candidateProfiles[candidateIndex], os);
+            for (int keyIndex = thisAllowedKeys.nextSetBit(0); keyIndex >= 0; keyIndex = thisAllowedKeys.nextSetBit(keyIndex + 1)) {
+                keyAllowedCandidateMasks[keyIndex] |= (1 << candidateIndex);
+            }
+        }
+
+        reset();
+    }
+
+    public final void reset() {
+        observedKeys.clear();
+        observedKeyCount = 0;
+
+        for (int candidateIndex = 0; candidateIndex < candidateProfiles.length; candidateIndex++) {
+            disallowedKeyCounts[candidateIndex] = 0;
+        }
+
+        updateMostLikelyCandidate();
+    }
+
+    public KeyboardLayout.Profile observe(int keyIndex) {
+        // Returns the most likely profile after this key press, or "null" if not enough different keys have been pressed to detect the profile yet.
+        if ((keyIndex >= 0) && (keyIndex < keyAllowedCandidateMasks.length) && !observedKeys.get(keyIndex)) {
+            observedKeys.set(keyIndex);
+            observedKeyCount++;
+
+            int thisKeyAllowedCandidateMask = keyAllowedCandidateMasks[keyIndex];
+            if (thisKeyAllowedCandidateMask != ((1 << candidateProfiles.length) - 1)) { // Most keys are allowed by every profile and don't change anything.
+                for (int candidateIndex = 0; candidateIndex < candidateProfiles.length; candidateIndex++) {
+                    if ((thisKeyAllowedCandidateMask & (1 << candidateIndex)) == 0) {
+                        disallowedKeyCounts[candidateIndex]++;
+                    }
+                }
+
+                updateMostLikelyCandidate();
+            }
+        }
+
+        return getMostLikelyProfile();
+    }
+
+    public KeyboardLayout.Profile getMostLikelyProfile() {
+        if ((observedKeyCount < MINIMUM_OBSERVED_KEY_COUNT) || (mostLikelyCandidateIndex < 0)) {
+            return null;
+        }
+
+        return candidateProfiles[mostLikelyCandidateIndex];
+    }
+
+    public boolean isConfirmed(KeyboardLayout.Profile profile) {
+        // Whether the pressed keys have ruled out every other profile more than this one (such as by pressing a NumPad key and an ISO key), which is the only positive evidence for a profile.
+        if ((observedKeyCount < MINIMUM_OBSERVED_KEY_COUNT) || (profile == null)) {
+            return false;
+        }
+
+        int profileCandidateIndex = -1;
+        for (int candidateIndex = 0; candidateIndex < candidateProfiles.length; candidateIndex++) {
+            if (candidateProfiles[candidateIndex] == profile) {
+                profileCandidateIndex = candidateIndex;
+                break;
+            }
+        }
+
+        if (profileCandidateIndex < 0) {
+            return false;
+        }
+
+        for (int candidateIndex = 0; candidateIndex < candidateProfiles.length; candidateIndex++) {
+            if ((candidateIndex != profileCandidateIndex) && (disallowedKeyCounts[candidateIndex] <= disallowedKeyCounts[profileCandidateIndex])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public int getObservedKeyCount() {
+        return observedKeyCount;
+    }
+
+    private void updateMostLikelyCandidate() {
+        mostLikelyCandidateIndex = -1;
+
+        for (int candidateIndex = 0; candidateIndex < candidateProfiles.length; candidateIndex++) {
+            if ((mostLikelyCandidateIndex < 0)
+                    || (disallowedKeyCounts[candidateIndex] < disallowedKeyCounts[mostLikelyCandidateIndex])
+                    || ((disallowedKeyCounts[candidateIndex] == disallowedKeyCounts[mostLikelyCandidateIndex]) && (candidateExpectedKeyCounts[candidateIndex] < candidateExpectedKeyCounts[mostLikelyCandidateIndex]))) {
+                mostLikelyCandidateIndex = candidateIndex;
+            }
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.awt.EventQueue;
+import java.awt.KeyboardFocusManager;
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+import javax.swing.JTextArea;
+
+/**
+ * Keeps the "KeyboardTest" window busy with synthetic key presses for hours (like burn-in stations leave it open) while sampling the health of the app
+ * to prove that it can run all day on low memory computers (such as 2 GB WinPE computers).
+ *
+ * Synthetic key presses are sent straight to the "textArea" with "KeyboardFocusManager.redispatchEvent()" so that they go through the same key listener
+ * and text insertion as real key presses without needing the window to keep the keyboard focus (so a technician can still use the computer).
+ *
+ * Every sample (once a minute by default) records the heap used after the last garbage collection, the live thread count, the number of key highlight "SwingWorker"
+ * instances that haven't finished, the Event Dispatch Thread latency, and the "textArea" length to a CSV file which is rotated once it gets large.
+ * If any of these grew in every one of the last 10 samples, that is treated as a leak and the soak test fails loudly and quits with exit code 1.
+ * Any exception from handling a synthetic key press (which is also in each sample) fails the soak test the same way at the next sample.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyboardSoakTest {
+
+    private static final String[] SAMPLE_NAMES = new String[]{"Heap Used After GC (Bytes)", "Live Threads", "Pending Key Highlight Workers", "EDT Latency (Microseconds)", "Text Area Length"};
+    private static final boolean[] SHOULD_CHECK_SAMPLE_GROWTH = new boolean[]{true, true, true, false, true}; // EDT latency going up and down is normal, so only check it in the report.
+    private static final long MAX_METRICS_FILE_BYTES = (5 * 1024 * 1024);
+
+    private final JTextArea textArea;
+    private final KeyboardTestEngine engine;
+    private final IntSupplier pendingKeyHighlightWorkerCount;
+    private final int keysPerSecond;
+    private final long sampleIntervalSeconds;
+    private final long durationMinutes;
+    private final int growthSampleCount;
+    private final File metricsFile;
+
+    private final ArrayDeque<long[]> recentSamples = new ArrayDeque<>();
+    private final AtomicLong injectedKeyPressCount = new AtomicLong();
+    private final AtomicLong keyPressExceptionCount = new AtomicLong();
+    private final long startNanoTime = System.nanoTime();
+    private volatile boolean isRunning = true;
+
+    public KeyboardSoakTest(JTextArea textArea, KeyboardTestEngine engine, IntSupplier pendingKeyHighlightWorkerCount) {
+        this.textArea = textArea;
+        this.engine = engine;
+        this.pendingKeyHighlightWorkerCount = pendingKeyHighlightWorkerCount;
+
+        keysPerSecond = Math.max(Integer.getInteger("KeyboardTest.soakRate", 20), 1);
+        sampleIntervalSeconds = Math.max(Long.getLong("KeyboardTest.soakSampleSeconds", 60), 1);
+        durationMinutes = Math.max(Long.getLong("KeyboardTest.soakTest", 0), 0); // 0 means to keep going until the app is quit.
+        growthSampleCount = Math.max(Integer.getInteger("KeyboardTest.soakGrowthSamples", 10), 3);
+
+        String metricsPath = System.getProperty("KeyboardTest.soakMetricsPath", "");
+        metricsFile = (metricsPath.isEmpty() ? new File(LaunchCache.getCacheFolder(), "soak-metrics.csv") : new File(metricsPath));
+    }
+
+    public void start() {
+        System.out.println("Soak Testing at " + keysPerSecond + " keys per second" + ((durationMinutes == 0) ? "" : (" for " + durationMinutes + " minutes")) + " with metrics sampled every " + sampleIntervalSeconds + " seconds to: " + metricsFile.getPath());
+
+        Thread injectionThread = new Thread(this::injectKeyPresses, "Keyboard Soak Test");
+        injectionThread.setDaemon(true);
+        injectionThread.start();
+
+        ScheduledExecutorService sampleExecutor = Executors.newSingleThreadScheduledExecutor((Runnable sampleRunnable) -> {
+            Thread sampleThread = new Thread(sampleRunnable, "Keyboard Soak Test Sampler");
+            sampleThread.setDaemon(true);
+            return sampleThread;
+        });
+        sampleExecutor.scheduleAtFixedRate(this::takeSample, sampleIntervalSeconds, sampleIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    private void injectKeyPresses() {
+        // Cycle through every key in the layout (other than the keys that would open menus or change lock key states, see "KeyboardStressTest") along with a space after every word.
+        List<Integer> keyCodes = new ArrayList<>();
+        int os = engine.getOS();
+        for (KeyboardLayout.Key thisKey : engine.getLayout().getKeys()) {
+            if (!thisKey.isHidden(os) && !thisKey.section.isHidden(os)) {
+                for (KeyboardLayout.Binding thisBinding : thisKey.getBindings()) {
+                    if (thisBinding.appliesTo(os)) {
+                        if (!KeyboardStressTest.EXCLUDED_KEY_CODES.contains(thisBinding.keyCode) && !keyCodes.contains(thisBinding.keyCode)) {
+                            keyCodes.add(thisBinding.keyCode);
+                        }
+
+                        break;
+                    }
+                }
+            }
+        }
+
+        long keyPressIntervalNanos = (TimeUnit.SECONDS.toNanos(1) / keysPerSecond);
+        long nextKeyPressNanoTime = System.nanoTime();
+        int keyCodeIndex = 0;
+
+        try {
+            while (isRunning) {
+                TimeUnit.NANOSECONDS.sleep(nextKeyPressNanoTime - System.nanoTime());
+                nextKeyPressNanoTime += keyPressIntervalNanos;
+
+                int keyCode = (((keyCodeIndex % 6) == 5) ? KeyEvent.VK_SPACE : keyCodes.get((keyCodeIndex / 6 * 5 + (keyCodeIndex % 6)) % keyCodes.size()));
+                keyCodeIndex++;
+
+                // Wait for each key press to be handled so that a slow Event Dispatch Thread slows down the soak test instead of the soak test itself piling up events.
+                EventQueue.invokeAndWait(() -> {
+                    KeyboardFocusManager keyboardFocusManager = KeyboardFocusManager.getCurrentKeyboardFocusManager();
+                    long when = System.currentTimeMillis();
+                    char keyChar = getKeyChar(keyCode);
+
+                    try {
+                        keyboardFocusManager.redispatchEvent(textArea, new KeyEvent(textArea, KeyEvent.KEY_PRESSED, when, 0, keyCode, keyChar));
+                        if (keyChar != KeyEvent.CHAR_UNDEFINED) {
+                            keyboardFocusManager.redispatchEvent(textArea, new KeyEvent(textArea, KeyEvent.KEY_TYPED, when, 0, KeyEvent.VK_UNDEFINED, keyChar));
+                        }
+                        keyboardFocusManager.redispatchEvent(textArea, new KeyEvent(textArea, KeyEvent.KEY_RELEASED, when, 0, keyCode, keyChar));
+                    } catch (RuntimeException handleKeyPressException) {
+                        // An exception from handling one key press shouldn't stop the injection thread, but it's counted so that the next sample records it and fails the soak test.
+                        if (keyPressExceptionCount.getAndIncrement() == 0) {
+                            System.err.println("handleKeyPressException: " + handleKeyPressException + " (for key code " + keyCode + ")");
+                        }
+                    }
+                });
+
+                injectedKeyPressCount.incrementAndGet();
+            }
+        } catch (InterruptedException | java.lang.reflect.InvocationTargetException injectKeyPressException) {
+            System.err.println("SOAK TEST FAILED: injectKeyPressException: " + ((injectKeyPressException.getCause() == null) ? injectKeyPressException : injectKeyPressException.getCause()));
+            System.exit(1);
+        }
+    }
+
+    private static char getKeyChar(int keyCode) {
+        // Only letters, numbers, and spaces are typed into the "textArea" (which is enough to catch it growing forever).
+        if ((keyCode >= KeyEvent.VK_A) && (keyCode <= KeyEvent.VK_Z)) {
+            return (char) ('a' + (keyCode - KeyEvent.VK_A));
+        } else if (((keyCode >= KeyEvent.VK_0) && (keyCode <= KeyEvent.VK_9)) || (keyCode == KeyEvent.VK_SPACE)) {
+            return (char) keyCode;
+        }
+
+        return KeyEvent.CHAR_UNDEFINED;
+    }
+
+    private void takeSample() {
+        try {
+            long[] sample = new long[]{getHeapUsedAfterGC(), ManagementFactory.getThreadMXBean().getThreadCount(), pendingKeyHighlightWorkerCount.getAsInt(), getEDTLatencyMicros(), getTextAreaLength()};
+            long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanoTime);
+
+            writeSample(elapsedSeconds, sample);
+
+            recentSamples.addLast(sample);
+            if (recentSamples.size() > growthSampleCount) {
+                recentSamples.removeFirst();
+            }
+
+            long thisKeyPressExceptionCount = keyPressExceptionCount.get();
+            if (thisKeyPressExceptionCount > 0) {
+                String failureMessage = "SOAK TEST FAILED: " + thisKeyPressExceptionCount + " key press" + ((thisKeyPressExceptionCount == 1) ? "" : "es") + " threw an exception when handled (the first is printed as \"handleKeyPressException\") after " + injectedKeyPressCount.get() + " key presses.";
+                System.err.println(failureMessage);
+                writeLine("# " + failureMessage);
+                System.exit(1);
+            }
+
+            String growingSampleName = getGrowingSampleName();
+            if (growingSampleName != null) {
+                String failureMessage = "SOAK TEST FAILED: \"" + growingSampleName + "\" grew in every one of the last " + growthSampleCount + " samples (" + sampleIntervalSeconds + " seconds apart) after " + injectedKeyPressCount.get() + " key presses.";
+                System.err.println(failureMessage);
+                writeLine("# " + failureMessage);
+                System.exit(1);
+            }
+
+            if ((durationMinutes > 0) && (elapsedSeconds >= TimeUnit.MINUTES.toSeconds(durationMinutes))) {
+                isRunning = false;
+                System.out.println("Soak Test Passed: " + injectedKeyPressCount.get() + " key presses in " + durationMinutes + " minutes without any growth in " + growthSampleCount + " samples in a row.");
+                System.exit(0);
+            }
+        } catch (RuntimeException takeSampleException) {
+            // Any exception would silently cancel all future samples of the "ScheduledExecutorService", so fail loudly instead.
+            System.err.println("takeSampleException: " + takeSampleException);
+            System.exit(1);
+        }
+    }
+
+    private String getGrowingSampleName() {
+        if (recentSamples.size() < growthSampleCount) {
+            return null;
+        }
+
+        for (int sampleValueIndex = 0; sampleValueIndex < SAMPLE_NAMES.length; sampleValueIndex++) {
+            if (SHOULD_CHECK_SAMPLE_GROWTH[sampleValueIndex]) {
+                boolean didAlwaysGrow = true;
+                long previousValue = -1;
+
+                for (long[] thisSample : recentSamples) {
+                    if ((previousValue >= 0) && (thisSample[sampleValueIndex] <= previousValue)) {
+                        didAlwaysGrow = false;
+                        break;
+                    }
+
+                    previousValue = thisSample[sampleValueIndex];
+                }
+
+                if (didAlwaysGrow) {
+                    return SAMPLE_NAMES[sampleValueIndex];
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static long getHeapUsedAfterGC() {
+        // The memory used right after the last garbage collection is what actually stays in use (the current heap usage also includes garbage that hasn't been collected yet).
+        // The heap only changes after a garbage collection, so a heap that isn't leaking won't grow in every sample.
+        long heapUsedAfterGC = 0;
+        for (MemoryPoolMXBean thisMemoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage thisCollectionUsage = thisMemoryPool.getCollectionUsage();
+            if ((thisMemoryPool.getType() == MemoryType.HEAP) && (thisCollectionUsage != null)) {
+                heapUsedAfterGC += thisCollectionUsage.getUsed();
+            }
+        }
+
+        return heapUsedAfterGC;
+    }
+
+    private static long getEDTLatencyMicros() {
+        long postedNanoTime = System.nanoTime();
+        long[] edtLatencyNanos = new long[]{-1};
+
+        try {
+            EventQueue.invokeAndWait(() -> edtLatencyNanos[0] = (System.nanoTime() - postedNanoTime));
+        } catch (InterruptedException | java.lang.reflect.InvocationTargetException getEDTLatencyException) {
+            System.err.println("getEDTLatencyException: " + getEDTLatencyException);
+        }
+
+        return TimeUnit.NANOSECONDS.toMicros(edtLatencyNanos[0]);
+    }
+
+    private long getTextAreaLength() {
+        long[] textAreaLength = new long[]{-1};
+
+        try {
+            EventQueue.invokeAndWait(() -> textAreaLength[0] = textArea.getDocument().getLength());
+        } catch (InterruptedException | java.lang.reflect.InvocationTargetException getTextAreaLengthException) {
+            System.err.println("getTextAreaLengthException: " + getTextAreaLengthException);
+        }
+
+        return textAreaLength[0];
+    }
+
+    private void writeSample(long elapsedSeconds, long[] sample) {
+        if (metricsFile.exists() && (metricsFile.length() > MAX_METRICS_FILE_BYTES)) {
+            // Keep one previous metrics file so that the file can never fill up the disk, but the samples leading up to a failure are never lost.
+            try {
+                Files.move(metricsFile.toPath(), new File(metricsFile.getPath() + ".1").toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException rotateMetricsFileException) {
+                System.err.println("rotateMetricsFileException: " + rotateMetricsFileException);
+            }
+        }
+
+        if (!metricsFile.exists()) {
+            writeLine("Time,Elapsed Seconds,Key Presses,Key Press Exceptions," + String.join(",", SAMPLE_NAMES));
+        }
+
+        StringBuilder sampleLine = new StringBuilder(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append(',').append(elapsedSeconds).append(',').append(injectedKeyPressCount.get()).append(',').append(keyPressExceptionCount.get());
+        for (long thisSampleValue : sample) {
+            sampleLine.append(',').append(thisSampleValue);
+        }
+
+        writeLine(sampleLine.toString());
+    }
+
+    private void writeLine(String line) {
+        File metricsFolder = metricsFile.getAbsoluteFile().getParentFile();
+        if ((metricsFolder != null) && !metricsFolder.exists()) {
+            metricsFolder.mkdirs();
+        }
+
+        try (Writer metricsWriter = new OutputStreamWriter(new FileOutputStream(metricsFile, true), StandardCharsets.UTF_8)) {
+            metricsWriter.write(line + "\n");
+        } catch (IOException writeMetricsException) {
+            System.err.println("writeMetricsException: " + writeMetricsException);
+        }
+    }
+}
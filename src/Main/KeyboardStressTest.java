@@ -0,0 +1,374 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.awt.AWTException;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.Robot;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.event.KeyEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Types into the running "KeyboardTest" window with "java.awt.Robot" to catch regressions in the key handling and highlighting before they reach the stations.
+ *
+ * Each pattern ("sweep" through every key in layout order, "random" rolls of overlapping key presses, "autorepeat" floods of repeated presses without releases,
+ * and "numpad" keys with Num Lock on and then off) injects key presses at a fixed rate while measuring:
+ * - Dropped Highlights: injected key presses that never reached the "KeyboardTestEngine" (and so were never highlighted).
+ * - Highlight Latency: how long each injected key press took to reach the "KeyboardTestEngine" on the Event Dispatch Thread (which highlights the key label right after).
+ * - EDT Latency: how long tiny tasks posted to the Event Dispatch Thread every 10 ms waited before running.
+ *
+ * The stress test is started with the "--stress-test" argument (see the "stress-test" target in "build.xml") and the process exits with 0 if no highlights were dropped or 1 if any were.
+ * It needs a display, but that can be a virtual one such as "xvfb-run" on a headless Linux computer.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyboardStressTest implements KeyboardTestEngine.Listener {
+
+    private static final String[] ALL_PATTERNS = new String[]{"sweep", "random", "autorepeat", "numpad"};
+    private static final long LATE_HIGHLIGHT_NANOS = TimeUnit.MILLISECONDS.toNanos(16); // One frame at 60 Hz.
+    private static final long EDT_PROBE_INTERVAL_MILLIS = 10;
+
+    // These keys would trigger menu shortcuts (such as changing the UI scale, which relaunches the app), open menus, switch apps, or change the lock key states, which would interfere with the rest of the stress test.
+    static final List<Integer> EXCLUDED_KEY_CODES = Arrays.asList(
+            KeyEvent.VK_CONTROL, KeyEvent.VK_META, KeyEvent.VK_WINDOWS, KeyEvent.VK_CONTEXT_MENU, KeyEvent.VK_ALT, KeyEvent.VK_ALT_GRAPH, KeyEvent.VK_F10,
+            KeyEvent.VK_CAPS_LOCK, KeyEvent.VK_NUM_LOCK, KeyEvent.VK_SCROLL_LOCK, KeyEvent.VK_KANA_LOCK, KeyEvent.VK_INPUT_METHOD_ON_OFF,
+            KeyEvent.VK_PRINTSCREEN, KeyEvent.VK_PAUSE, KeyEvent.VK_F11, KeyEvent.VK_F12
+    );
+
+    private final Window window;
+    private final Component focusComponent;
+    private final KeyboardTestEngine engine;
+    private final List<String> patterns = new ArrayList<>();
+    private final int keysPerSecond;
+    private final int keyPressesPerPattern;
+    private final boolean isMacOS;
+
+    // Only accessed on the Event Dispatch Thread (injected key press times are added from the stress test thread with "EventQueue.invokeAndWait").
+    private final HashMap<Integer, ArrayDeque<Long>> pendingKeyPressNanoTimes = new HashMap<>();
+    private long[] highlightLatencyNanos = new long[1024];
+    private int highlightCount = 0;
+
+    private final Object edtLatencyLock = new Object();
+    private long[] edtLatencyNanos = new long[1024];
+    private int edtLatencyCount = 0;
+    private volatile boolean isProbingEDT = false;
+
+    public KeyboardStressTest(Window window, Component focusComponent, KeyboardTestEngine engine) {
+        this.window = window;
+        this.focusComponent = focusComponent;
+        this.engine = engine;
+        this.isMacOS = (engine.getOS() == KeyboardLayout.OS_MAC);
+
+        String patternsSetting = System.getProperty("KeyboardTest.stressTest", "all");
+        for (String thisPattern : (patternsSetting.equals("all") || patternsSetting.equals("true")) ? ALL_PATTERNS : patternsSetting.split(",")) {
+            if (Arrays.asList(ALL_PATTERNS).contains(thisPattern)) {
+                patterns.add(thisPattern);
+            } else {
+                System.err.println("UNKNOWN STRESS TEST PATTERN: " + thisPattern);
+            }
+        }
+
+        keysPerSecond = Math.max(Integer.getInteger("KeyboardTest.stressRate", 100), 1);
+        keyPressesPerPattern = Math.max(Integer.getInteger("KeyboardTest.stressCount", 500), 1);
+    }
+
+    public void start() {
+        Thread stressTestThread = new Thread(this::run, "Keyboard Stress Test");
+        stressTestThread.setDaemon(true);
+        stressTestThread.start();
+    }
+
+    private void run() {
+        int exitCode = 1;
+
+        try {
+            Robot robot = new Robot();
+            robot.setAutoDelay(0); // Key presses are paced by the stress test itself to be able to inject at high rates.
+
+            EventQueue.invokeAndWait(() -> {
+                engine.addListener(this);
+                window.toFront();
+                focusComponent.requestFocusInWindow();
+            });
+
+            for (int focusAttempt = 0; (focusAttempt < 50) && !focusComponent.isFocusOwner(); focusAttempt++) {
+                TimeUnit.MILLISECONDS.sleep(100);
+            }
+
+            if (!focusComponent.isFocusOwner()) {
+                System.err.println("STRESS TEST FAILED: The Keyboard Test window never got keyboard focus.");
+            } else {
+                Thread edtProbeThread = startEDTProbe();
+                StringBuilder report = new StringBuilder("Keyboard Test Stress Test (" + keysPerSecond + " keys per second, " + keyPressesPerPattern + " key presses per pattern):\n");
+                int totalDroppedHighlights = 0;
+
+                for (String thisPattern : patterns) {
+                    if (thisPattern.equals("numpad")) {
+                        if (isMacOS) { // Mac keyboards have no Num Lock, so only test the NumPad once.
+                            totalDroppedHighlights += runPattern(robot, thisPattern, null, report);
+                        } else {
+                            totalDroppedHighlights += runPattern(robot, thisPattern, true, report);
+                            totalDroppedHighlights += runPattern(robot, thisPattern, false, report);
+                        }
+                    } else {
+                        totalDroppedHighlights += runPattern(robot, thisPattern, null, report);
+                    }
+                }
+
+                isProbingEDT = false;
+                edtProbeThread.join();
+
+                synchronized (edtLatencyLock) {
+                    report.append(formatLatencies("EDT Latency", edtLatencyNanos, edtLatencyCount));
+                }
+
+                report.append(String.format("  %-36s %6d%n", "Total Dropped Highlights", totalDroppedHighlights));
+                System.out.print(report);
+
+                exitCode = ((totalDroppedHighlights == 0) ? 0 : 1);
+            }
+        } catch (AWTException | SecurityException | InterruptedException | java.lang.reflect.InvocationTargetException stressTestException) {
+            System.err.println("stressTestException: " + stressTestException);
+        }
+
+        System.exit(exitCode);
+    }
+
+    private int runPattern(Robot robot, String pattern, Boolean numLockState, StringBuilder report) throws InterruptedException, java.lang.reflect.InvocationTargetException {
+        String patternName = pattern + ((numLockState == null) ? "" : (numLockState ? " (Num Lock On)" : " (Num Lock Off)"));
+
+        if ((numLockState != null) && !setNumLockState(robot, numLockState)) {
+            report.append(String.format("  %-36s SKIPPED (Could Not Set Num Lock)%n", patternName));
+            return 0;
+        }
+
+        int[] keyCodes = getKeyCodes(robot, pattern.equals("numpad"));
+        if (keyCodes.length == 0) {
+            report.append(String.format("  %-36s SKIPPED (No Keys)%n", patternName));
+            return 0;
+        }
+
+        EventQueue.invokeAndWait(() -> {
+            pendingKeyPressNanoTimes.clear();
+            highlightCount = 0;
+        });
+
+        long keyPressIntervalNanos = (TimeUnit.SECONDS.toNanos(1) / keysPerSecond);
+        long nextKeyPressNanoTime = System.nanoTime();
+        Random random = new Random(keyPressesPerPattern); // Use a fixed seed so that each run of the stress test injects the same key presses.
+        ArrayDeque<Integer> heldKeyCodes = new ArrayDeque<>();
+        int injectedKeyPressCount = 0;
+
+        for (int keyPressIndex = 0; keyPressIndex < keyPressesPerPattern; keyPressIndex++) {
+            int keyCode;
+            switch (pattern) {
+                case "random":
+                    keyCode = keyCodes[random.nextInt(keyCodes.length)];
+                    break;
+                case "autorepeat":
+                    keyCode = keyCodes[(keyPressIndex / 50) % keyCodes.length]; // Hold each key down for 50 repeated presses (which is how the OS sends autorepeat) before moving to the next key.
+                    break;
+                default:
+                    keyCode = keyCodes[keyPressIndex % keyCodes.length];
+            }
+
+            LockSupport.parkNanos(nextKeyPressNanoTime - System.nanoTime());
+            nextKeyPressNanoTime += keyPressIntervalNanos;
+
+            if (pattern.equals("random") && heldKeyCodes.contains(keyCode)) {
+                continue; // Never press a key that is already being held down in a roll.
+            }
+
+            recordInjectedKeyPress(keyCode, System.nanoTime());
+            robot.keyPress(keyCode);
+            injectedKeyPressCount++;
+
+            if (pattern.equals("random")) {
+                // Rolls press the next key before releasing the previous ones (like fast typing), with up to 3 keys held down at once.
+                heldKeyCodes.add(keyCode);
+                if ((heldKeyCodes.size() > 2) || random.nextBoolean()) {
+                    robot.keyRelease(heldKeyCodes.poll());
+                }
+            } else if (!pattern.equals("autorepeat") || (((keyPressIndex + 1) % 50) == 0) || ((keyPressIndex + 1) == keyPressesPerPattern)) {
+                robot.keyRelease(keyCode);
+            }
+        }
+
+        while (!heldKeyCodes.isEmpty()) {
+            robot.keyRelease(heldKeyCodes.poll());
+        }
+
+        // Give every key press that is still in the pipeline time to arrive before counting what was dropped.
+        robot.waitForIdle();
+        TimeUnit.MILLISECONDS.sleep(500);
+        robot.waitForIdle();
+
+        int[] droppedHighlightCount = new int[1];
+        long[][] patternHighlightLatencyNanos = new long[1][];
+        int[] patternHighlightCount = new int[1];
+        EventQueue.invokeAndWait(() -> {
+            for (ArrayDeque<Long> thisPendingKeyPressNanoTimes : pendingKeyPressNanoTimes.values()) {
+                droppedHighlightCount[0] += thisPendingKeyPressNanoTimes.size();
+            }
+
+            patternHighlightLatencyNanos[0] = Arrays.copyOf(highlightLatencyNanos, highlightCount);
+            patternHighlightCount[0] = highlightCount;
+        });
+
+        report.append(String.format("  %-36s %6d key presses, %d dropped, %d late (over %d ms)%n", patternName, injectedKeyPressCount, droppedHighlightCount[0],
+                countOver(patternHighlightLatencyNanos[0], patternHighlightCount[0], LATE_HIGHLIGHT_NANOS), TimeUnit.NANOSECONDS.toMillis(LATE_HIGHLIGHT_NANOS)));
+        report.append(formatLatencies("  Highlight Latency", patternHighlightLatencyNanos[0], patternHighlightCount[0]));
+
+        return droppedHighlightCount[0];
+    }
+
+    private void recordInjectedKeyPress(int keyCode, long injectedNanoTime) throws InterruptedException, java.lang.reflect.InvocationTargetException {
+        // Waiting for the Event Dispatch Thread to record the injected key press before actually injecting it makes sure it's always recorded before it's received.
+        // This slows the injection a bit when the Event Dispatch Thread is busy, but that is exactly when highlights would also be late.
+        EventQueue.invokeAndWait(() -> pendingKeyPressNanoTimes.computeIfAbsent(keyCode, (Integer thisKeyCode) -> new ArrayDeque<>()).add(injectedNanoTime));
+    }
+
+    @Override
+    public void keyPressed(KeyboardTestEngine.KeyPress keyPress) {
+        long receivedNanoTime = System.nanoTime();
+
+        // NumPad keys pressed with Num Lock off are received as navigation keys, so match them with the translated key code that the engine highlights.
+        ArrayDeque<Long> thisPendingKeyPressNanoTimes = pendingKeyPressNanoTimes.get(keyPress.translatedKeyCode);
+        if ((keyPress.key != null) && (thisPendingKeyPressNanoTimes != null) && !thisPendingKeyPressNanoTimes.isEmpty()) {
+            if (highlightCount == highlightLatencyNanos.length) {
+                highlightLatencyNanos = Arrays.copyOf(highlightLatencyNanos, highlightLatencyNanos.length * 2);
+            }
+
+            highlightLatencyNanos[highlightCount++] = (receivedNanoTime - thisPendingKeyPressNanoTimes.poll());
+        }
+    }
+
+    private int[] getKeyCodes(Robot robot, boolean isNumPad) {
+        // Use the first key code of every key in the layout (in layout order) that can be injected with "Robot".
+        LinkedHashSet<Integer> keyCodes = new LinkedHashSet<>();
+        int os = engine.getOS();
+
+        for (KeyboardLayout.Key thisKey : engine.getLayout().getKeys()) {
+            if (thisKey.isHidden(os) || thisKey.section.isHidden(os) || (thisKey.section.name.equals("numPad") != isNumPad)) {
+                continue;
+            }
+
+            for (KeyboardLayout.Binding thisBinding : thisKey.getBindings()) {
+                if (thisBinding.appliesTo(os)) {
+                    if (!EXCLUDED_KEY_CODES.contains(thisBinding.keyCode) && !keyCodes.contains(thisBinding.keyCode) && canInject(robot, thisBinding.keyCode)) {
+                        keyCodes.add(thisBinding.keyCode);
+                    }
+
+                    break;
+                }
+            }
+        }
+
+        return keyCodes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private boolean canInject(Robot robot, int keyCode) {
+        try {
+            robot.keyRelease(keyCode); // Releasing a key that isn't held down is harmless, but will throw for key codes that "Robot" can't inject on this OS.
+            return true;
+        } catch (IllegalArgumentException injectKeyCodeException) {
+            return false;
+        }
+    }
+
+    private boolean setNumLockState(Robot robot, boolean shouldBeOn) throws InterruptedException {
+        try {
+            if (Toolkit.getDefaultToolkit().getLockingKeyState(KeyEvent.VK_NUM_LOCK) != shouldBeOn) {
+                robot.keyPress(KeyEvent.VK_NUM_LOCK);
+                robot.keyRelease(KeyEvent.VK_NUM_LOCK);
+                robot.waitForIdle();
+                TimeUnit.MILLISECONDS.sleep(100);
+            }
+
+            return (Toolkit.getDefaultToolkit().getLockingKeyState(KeyEvent.VK_NUM_LOCK) == shouldBeOn);
+        } catch (UnsupportedOperationException | IllegalArgumentException setNumLockStateException) {
+            System.err.println("setNumLockStateException: " + setNumLockStateException);
+            return false;
+        }
+    }
+
+    private Thread startEDTProbe() {
+        isProbingEDT = true;
+
+        Thread edtProbeThread = new Thread(() -> {
+            while (isProbingEDT) {
+                long postedNanoTime = System.nanoTime();
+                EventQueue.invokeLater(() -> {
+                    long edtLatency = (System.nanoTime() - postedNanoTime);
+                    synchronized (edtLatencyLock) {
+                        if (edtLatencyCount == edtLatencyNanos.length) {
+                            edtLatencyNanos = Arrays.copyOf(edtLatencyNanos, edtLatencyNanos.length * 2);
+                        }
+
+                        edtLatencyNanos[edtLatencyCount++] = edtLatency;
+                    }
+                });
+
+                try {
+                    TimeUnit.MILLISECONDS.sleep(EDT_PROBE_INTERVAL_MILLIS);
+                } catch (InterruptedException edtProbeSleepException) {
+                    break;
+                }
+            }
+        }, "Keyboard Stress Test EDT Probe");
+        edtProbeThread.setDaemon(true);
+        edtProbeThread.start();
+
+        return edtProbeThread;
+    }
+
+    private static int countOver(long[] latencyNanos, int count, long thresholdNanos) {
+        int overCount = 0;
+        for (int latencyIndex = 0; latencyIndex < count; latencyIndex++) {
+            if (latencyNanos[latencyIndex] > thresholdNanos) {
+                overCount++;
+            }
+        }
+
+        return overCount;
+    }
+
+    private static String formatLatencies(String name, long[] latencyNanos, int count) {
+        if (count == 0) {
+            return String.format("  %-36s %s%n", name, "NO SAMPLES");
+        }
+
+        long[] sortedLatencyNanos = Arrays.copyOf(latencyNanos, count);
+        Arrays.sort(sortedLatencyNanos);
+
+        return String.format("  %-36s p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms%n", name,
+                (sortedLatencyNanos[(count - 1) / 2] / 1_000_000.0), (sortedLatencyNanos[(int) ((count - 1) * 0.95)] / 1_000_000.0),
+                (sortedLatencyNanos[(int) ((count - 1) * 0.99)] / 1_000_000.0), (sortedLatencyNanos[count - 1] / 1_000_000.0));
+    }
+}
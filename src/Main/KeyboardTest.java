@@ -27,41 +27,69 @@ package Main;
 import com.formdev.flatlaf.*;
 import com.formdev.flatlaf.util.UIScale;
 import java.awt.Color;
+import java.awt.Component;
+import java.awt.Container;
 import java.awt.Desktop;
 import java.awt.Dimension;
+import java.awt.DisplayMode;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
 import java.awt.Insets;
+import java.awt.KeyboardFocusManager;
 import java.awt.Taskbar;
 import java.awt.Toolkit;
 import java.awt.desktop.AboutEvent;
+import java.awt.desktop.QuitStrategy;
 import java.awt.event.ActionEvent;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
 import java.awt.event.InputEvent;
+import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
 import java.time.Year;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import javax.imageio.ImageIO;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.swing.AbstractAction;
 import javax.swing.BorderFactory;
+import javax.swing.ButtonGroup;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JDialog;
 import javax.swing.JEditorPane;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JMenu;
 import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JRadioButtonMenuItem;
 import javax.swing.JScrollPane;
 import javax.swing.KeyStroke;
+import javax.swing.SwingConstants;
 import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.UnsupportedLookAndFeelException;
 import javax.swing.border.Border;
@@ -74,17 +102,45 @@ import javax.swing.text.StyleContext;
  */
 public class KeyboardTest extends javax.swing.JFrame {
 
-    private final boolean debugLogging = false; // NOTE: Enabling "debugLogging" can cause freezing in WinRE (and maybe also Linux) when typing very fast.
-
-    private LinkedHashMap<String, JLabel> keyLabels = new LinkedHashMap<>();
+    private static final boolean debugLogging = false; // NOTE: Enabling "debugLogging" can cause freezing in WinRE (and maybe also Linux) when typing very fast.
+
+    private static final int MAX_TEXT_AREA_LENGTH = 20000;
+
+    private KeyboardLayout keyboardLayout;
+    private int currentOS = KeyboardLayout.getCurrentOS();
+    private KeyboardTestEngine keyboardTestEngine;
+    private FileChannel evdevDeviceChannel = null; // Only set when key events are being read straight from the kernel instead of from AWT.
+    private KeyDeliveryLatency keyDeliveryLatency = null; // Only set when launched with "--delivery-latency".
+    private KeyboardTestProgressSnapshot testProgressSnapshot = null; // Not used for stress tests, soak tests, or replays since those key presses aren't from a real unit.
+    private QAHelperConnection qaHelperConnection = null; // Only set when launched with "--qa-helper-port=".
+    private KeyboardTestStandby keyboardTestStandby = null; // Only set when launched with "--standby".
+    private KeyHandlingWarmUp keyHandlingWarmUp = null; // Only set when launched with "--warm-up".
+    private KeyboardTestResultWriter keyboardTestResultWriter;
+    private long exportedTotalKeyPressCount = 0;
+    private final StationMetrics stationMetrics = new StationMetrics(); // Always updated since it's only a few "LongAdder" increments for each key press, but only served when "--metrics-port=" is set.
+    private JLabel[] layoutKeyLabels; // Indexed by "KeyboardLayout.Key.index" (and "null" for any layout key without a key label).
+    private LinkedHashMap<String, JPanel> keySectionPanels = new LinkedHashMap<>();
+    private ArrayList<JRadioButtonMenuItem> keyboardProfileMenuItems = new ArrayList<>();
+    private boolean didChooseKeyboardProfile = false;
+    private int restoredPressedKeyCount = 0; // Only set until the "Restored Test Progress" prompt is shown (see "promptForRestoredTestProgress()").
+    private JCheckBoxMenuItem detectKeyboardProfileMenuItem;
     private boolean isMacOS = false;
     private boolean isLinux = false;
     private boolean isWindows = false;
     private boolean isMacLaptop = false;
-    private boolean didPressAllMacLaptopKeyboardKeys = false;
     private boolean isTogglingFullKeyboard = false;
-    private boolean fullKeyboardHasBeenShown = false;
-
+    private Boolean queuedFullKeyboardShown = null; // Whether to show the Full Keyboard layout once the current toggle has finished (or null if nothing was requested while toggling).
+    private ComponentListener fullKeyboardToggleResizeListener;
+    private Timer fullKeyboardToggleResizeTimeoutTimer;
+    private Timer resetSweepTimer;
+    private final ArrayDeque<JPanel> deferredSectionPanels = new ArrayDeque<>(); // Only used while the window is first displayed (see "deferSectionsForProgressiveReveal").
+    private Timer deferredSectionRevealTimer = null;
+    private boolean didRevealEverySection = false;
+    private final ArrayDeque<Integer> resetSweepKeyIndexes = new ArrayDeque<>(); // In the order they will be reset, which includes keys that were pressed again (see "isResetSweepPendingKey").
+    private boolean[] isResetSweepPendingKey; // Indexed by "KeyboardLayout.Key.index" so that a key pressed again during the reset sweep is skipped without searching "resetSweepKeyIndexes".
+    private final AtomicInteger pendingKeyHighlightWorkerCount = new AtomicInteger(); // The "SwingWorker" for each key press that turns its highlight from Orange to Green (which the soak test watches for leaks).
+
+    private static String[] launchArgs = new String[0]; // The command line arguments this Keyboard Test was launched with, so that relaunching to change the UI scale keeps every other option (see "getRelaunchArgs()").
     private String launchPath = "";
     private String javaPath = "";
 
@@ -102,6 +158,10 @@ public class KeyboardTest extends javax.swing.JFrame {
      * @param args the command line arguments
      */
     public static void main(String args[]) {
+        StartupTiming.mark("Main Started");
+
+        launchArgs = args.clone();
+
         String osName = System.getProperty("os.name");
         final boolean isMacOS = (osName.startsWith("Mac OS X") || osName.startsWith("macOS"));
         final boolean isLinux = osName.startsWith("Linux");
@@ -113,11 +173,143 @@ public class KeyboardTest extends javax.swing.JFrame {
             // NOTE: Using "com.apple.mrj.application.apple.menu.about.name" property or "-Xdock:name" java launch argument can no longer set JAR app names in the Dock and the "java" binary name is always used: https://bugs.openjdk.org/browse/JDK-8173753
         }
 
+        for (String thisArg : args) {
+            if (thisArg.equals("--startup-timing")) {
+                System.setProperty("KeyboardTest.startupTiming", "true"); // Report how long each startup phase took once the window has been displayed (see "StartupTiming").
+            } else if (thisArg.equals("--instant-reset")) {
+                System.setProperty("KeyboardTest.instantReset", "true"); // Clear every key at once when resetting instead of sweeping across the keyboard (for high-throughput stations).
+            } else if (thisArg.startsWith("--profile=")) {
+                System.setProperty("KeyboardTest.keyboardProfile", thisArg.substring(thisArg.indexOf("=") + 1)); // The ID of the layout profile to finish the test with (or "manual" to never finish automatically), which overrides the default profile for the current computer.
+            } else if (thisArg.matches("^--reset-sweep-duration=[0-9]+$")) {
+                System.setProperty("KeyboardTest.resetSweepDuration", thisArg.substring(thisArg.indexOf("=") + 1)); // Total milliseconds for the reset sweep across the keyboard (0 is the same as "--instant-reset").
+            } else if (thisArg.equals("--startup-benchmark")) {
+                System.setProperty("KeyboardTest.startupTiming", "true"); // Same as "--startup-timing" but also quit as soon as the report is printed so that startup can be timed repeatedly (see the "startup-benchmark" target in "build.xml").
+                System.setProperty("KeyboardTest.startupBenchmark", "true");
+            } else if (thisArg.equals("--stress-test") || thisArg.startsWith("--stress-test=")) {
+                System.setProperty("KeyboardTest.stressTest", (thisArg.contains("=") ? thisArg.substring(thisArg.indexOf("=") + 1) : "all")); // Comma separated stress test patterns to type with "java.awt.Robot" once the window has opened (see "KeyboardStressTest").
+            } else if (thisArg.matches("^--stress-rate=[0-9]+$")) {
+                System.setProperty("KeyboardTest.stressRate", thisArg.substring(thisArg.indexOf("=") + 1)); // Key presses per second for the stress test.
+            } else if (thisArg.matches("^--stress-count=[0-9]+$")) {
+                System.setProperty("KeyboardTest.stressCount", thisArg.substring(thisArg.indexOf("=") + 1)); // Key presses for each stress test pattern.
+            } else if (thisArg.equals("--soak-test") || thisArg.matches("^--soak-test=[0-9]+$")) {
+                System.setProperty("KeyboardTest.soakTest", (thisArg.contains("=") ? thisArg.substring(thisArg.indexOf("=") + 1) : "0")); // Minutes to keep typing synthetic key presses while watching for leaks (or 0 to keep going until quit, see "KeyboardSoakTest").
+            } else if (thisArg.matches("^--soak-rate=[0-9]+$")) {
+                System.setProperty("KeyboardTest.soakRate", thisArg.substring(thisArg.indexOf("=") + 1)); // Key presses per second for the soak test.
+            } else if (thisArg.matches("^--soak-sample-seconds=[0-9]+$")) {
+                System.setProperty("KeyboardTest.soakSampleSeconds", thisArg.substring(thisArg.indexOf("=") + 1)); // Seconds between each soak test metrics sample.
+            } else if (thisArg.startsWith("--soak-metrics=")) {
+                System.setProperty("KeyboardTest.soakMetricsPath", thisArg.substring(thisArg.indexOf("=") + 1)); // The CSV file to write the soak test metrics samples to (instead of "soak-metrics.csv" in the cache folder).
+            } else if (thisArg.equals("--record") || thisArg.startsWith("--record=")) {
+                System.setProperty("KeyboardTest.recordPath", (thisArg.contains("=") ? thisArg.substring(thisArg.indexOf("=") + 1) : "")); // Record every key event to this file (or to the "Recordings" folder in the cache folder if no path is specified) to be able to replay the session later (see "KeyEventRecorder").
+            } else if (thisArg.startsWith("--replay=")) {
+                System.setProperty("KeyboardTest.replayPath", thisArg.substring(thisArg.indexOf("=") + 1)); // Replay a recording through the key handling once the window has opened (see "KeyEventRecording").
+            } else if (thisArg.startsWith("--replay-speed=")) {
+                System.setProperty("KeyboardTest.replaySpeed", thisArg.substring(thisArg.indexOf("=") + 1)); // "1" (the default) to replay at the recorded speed, "10" to replay 10 times faster, or "max" to replay as fast as possible.
+            } else if (thisArg.equals("--evdev") || thisArg.startsWith("--evdev=")) {
+                System.setProperty("KeyboardTest.evdevDevice", (thisArg.contains("=") ? thisArg.substring(thisArg.indexOf("=") + 1) : "")); // On Linux, read key events straight from this keyboard device (or the first keyboard device if none is specified) instead of from AWT (see "LinuxEvdevInput").
+            } else if (thisArg.equals("--delivery-latency") || thisArg.startsWith("--delivery-latency=")) {
+                System.setProperty("KeyboardTest.deliveryLatencyDevice", (thisArg.contains("=") ? thisArg.substring(thisArg.indexOf("=") + 1) : "")); // On Linux, also read this keyboard device (or the first keyboard device if none is specified) to measure how long each key press takes to get from the kernel to AWT (see "KeyDeliveryLatency").
+            } else if (thisArg.equals("--multi-device") || thisArg.startsWith("--multi-device=")) {
+                System.setProperty("KeyboardTest.multiDevice", (thisArg.contains("=") ? thisArg.substring(thisArg.indexOf("=") + 1) : "")); // On Linux, test every keyboard device (or these comma separated devices) at once in one window instead of testing one keyboard (see "MultiDeviceKeyboardTest").
+            } else if (thisArg.matches("^--metrics-port=[0-9]+$")) {
+                System.setProperty("KeyboardTest.metricsPort", thisArg.substring(thisArg.indexOf("=") + 1)); // Serve station throughput and latency metrics in the Prometheus text format at "/metrics" on this port (see "StationMetricsServer").
+            } else if (thisArg.startsWith("--metrics-address=")) {
+                System.setProperty("KeyboardTest.metricsAddress", thisArg.substring(thisArg.indexOf("=") + 1)); // The address for the metrics server to listen on (instead of only localhost), such as the LAN address of the station or "0.0.0.0" for every interface.
+            } else if (thisArg.startsWith("--results-folder=")) {
+                System.setProperty("KeyboardTest.resultsFolder", thisArg.substring(thisArg.indexOf("=") + 1)); // The folder to write the JSON and CSV result of each test to (instead of the "Results" folder in the cache folder, see "KeyboardTestResultWriter").
+            } else if (thisArg.startsWith("--collector-url=")) {
+                System.setProperty("KeyboardTest.collectorURL", thisArg.substring(thisArg.indexOf("=") + 1)); // Also post the result of each test to a fleet collector, such as "http://collector:9465/results" (see "FleetResultCollector").
+            } else if (thisArg.matches("^--qa-helper-port=[0-9]+$")) {
+                System.setProperty("KeyboardTest.qaHelperPort", thisArg.substring(thisArg.indexOf("=") + 1)); // Connect to QA Helper (or another harness) on this loopback port to send it key presses and results and take start and quit commands from it (see "QAHelperConnection").
+            } else if (thisArg.startsWith("--qa-helper-token=")) {
+                System.setProperty("KeyboardTest.qaHelperToken", thisArg.substring(thisArg.indexOf("=") + 1)); // Sent back to the harness when connecting so that it knows the connection is from the Keyboard Test it launched.
+            } else if (thisArg.equals("--warm-up") || thisArg.matches("^--warm-up=[0-9]+$")) {
+                System.setProperty("KeyboardTest.warmUp", (thisArg.contains("=") ? thisArg.substring(thisArg.indexOf("=") + 1) : Integer.toString(KeyHandlingWarmUp.DEFAULT_KEY_PRESS_COUNT))); // Push this many synthetic key presses through the key handling in the background once the window has opened so the first real key presses are already JIT compiled (see "KeyHandlingWarmUp").
+            } else if (thisArg.equals("--standby")) {
+                System.setProperty("KeyboardTest.standby", "true"); // Stay running in the background with the window built but hidden until a launch with "--use-standby" asks for it, and hide instead of quitting when each test is done (see "KeyboardTestStandby").
+            } else if (thisArg.equals("--use-standby")) {
+                System.setProperty("KeyboardTest.useStandby", "true"); // Show a fresh test in the standby Keyboard Test (if there is one) and exit instead of launching normally.
+            } else if (thisArg.equals("--stop-standby")) {
+                System.setProperty("KeyboardTest.stopStandby", "true"); // Quit the standby Keyboard Test and exit.
+            } else if (thisArg.startsWith("--station-name=")) {
+                System.setProperty("KeyboardTest.stationName", thisArg.substring(thisArg.indexOf("=") + 1)); // The station name to include in each result (instead of the host name).
+            } else if (thisArg.startsWith("--computer-model=")) {
+                System.setProperty("KeyboardTest.computerModel", thisArg.substring(thisArg.indexOf("=") + 1)); // The computer model to include in each result (instead of the model reported by the OS).
+            }
+        }
+
+        if (((System.getProperty("KeyboardTest.stressTest") != null) || (System.getProperty("KeyboardTest.soakTest") != null)) && (System.getProperty("KeyboardTest.keyboardProfile") == null)) {
+            System.setProperty("KeyboardTest.keyboardProfile", "manual"); // Never show the modal "Finished Keyboard Test" dialog during a stress or soak test since it would steal the focus from the window being typed into and stop the test.
+        }
+
+        if (Boolean.parseBoolean(System.getProperty("KeyboardTest.stopStandby"))) {
+            StartupSplash.close(); // This launch never displays a window.
+
+            try {
+                KeyboardTestStandby.stop();
+                if (debugLogging) {
+                    System.out.println("Stopped Standby Keyboard Test");
+                }
+                System.exit(0);
+            } catch (IOException stopStandbyException) {
+                System.err.println("stopStandbyException: " + stopStandbyException);
+                System.exit(1);
+            }
+        }
+
+        if (Boolean.parseBoolean(System.getProperty("KeyboardTest.useStandby"))) {
+            // The standby Keyboard Test was already launched with its own options, so only the profile and startup timing can be passed to it.
+            // Any other option (such as "--qa-helper-port=" or "--results-folder=") would be silently ignored by it, so launch normally instead when there are any.
+            ArrayList<String> unsupportedStandbyArgs = new ArrayList<>();
+            for (String thisArg : args) {
+                if (!thisArg.equals("--use-standby") && !thisArg.startsWith("--profile=") && !thisArg.equals("--startup-timing") && !thisArg.equals("--startup-benchmark")) {
+                    unsupportedStandbyArgs.add(thisArg);
+                }
+            }
+
+            if (!unsupportedStandbyArgs.isEmpty()) {
+                System.err.println("CANNOT USE STANDBY WITH: " + String.join(" ", unsupportedStandbyArgs) + " (Launching Normally)");
+                System.setProperty("KeyboardTest.useStandby", "false");
+            }
+        }
+
+        if (Boolean.parseBoolean(System.getProperty("KeyboardTest.useStandby"))) {
+            // Do this before anything else (especially setting the look and feel) since the whole point is to not pay for any of it when there is a standby Keyboard Test.
+            try {
+                Map<?, ?> standbyReply = KeyboardTestStandby.launch(System.getProperty("KeyboardTest.keyboardProfile"), Boolean.parseBoolean(System.getProperty("KeyboardTest.startupBenchmark")));
+                StartupTiming.mark("Standby Window Shown");
+                StartupSplash.close(); // This launch never displays a window of its own, and the splash screen shouldn't cover the standby window while this launch is exiting.
+
+                if (StartupTiming.printReportIfEnabled("Standby Window Shown")) {
+                    System.out.println("  (The standby Keyboard Test took " + ((Number) standbyReply.get("showMillis")).longValue() + " ms to show the window" + (Boolean.TRUE.equals(standbyReply.get("wasFresh")) ? "" : ", which was already showing") + ".)");
+                }
+
+                System.exit(0);
+            } catch (IOException launchStandbyException) {
+                if (debugLogging) {
+                    System.out.println("launchStandbyException: " + launchStandbyException + " (Launching Normally)"); // Such as there being no standby Keyboard Test, so just launch normally.
+                }
+            }
+        }
+
         try {
             if (!new File(KeyboardTest.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath().endsWith(".app/Contents/app/Keyboard_Test.jar")) {
-                Taskbar.getTaskbar().setIconImage(ImageIO.read(KeyboardTest.class.getResource("/Resources/Images/KeyboardTest1024.png"))); // For macOS Dock when run as JAR (not as compiled app bundle since it would override the actual app icon): https://stackoverflow.com/a/56924202
+                // For macOS Dock when run as JAR (not as compiled app bundle since it would override the actual app icon): https://stackoverflow.com/a/56924202
+                // Decoding the 1024px icon is slow, so decode it in the background and set it on the EDT whenever it's ready instead of delaying setting the look and feel and building the window.
+                ScaledImage.readImageAsync("KeyboardTest1024.png").thenAccept((taskbarIconImage) -> {
+                    if (taskbarIconImage != null) {
+                        java.awt.EventQueue.invokeLater(() -> {
+                            try {
+                                Taskbar.getTaskbar().setIconImage(taskbarIconImage);
+                                StartupTiming.mark("Taskbar Icon Applied");
+                            } catch (UnsupportedOperationException | SecurityException setTaskbarImageIconException) {
+                                // Ignore setTaskbarImageIconException
+                            }
+                        });
+                    }
+                });
             }
-        } catch (URISyntaxException | IllegalArgumentException | IOException | UnsupportedOperationException | SecurityException setTaskbarImageIconException) {
+        } catch (URISyntaxException | IllegalArgumentException | SecurityException setTaskbarImageIconException) {
             // Ignore setTaskbarImageIconException
         }
 
@@ -156,16 +348,61 @@ public class KeyboardTest extends javax.swing.JFrame {
                 // Must set a system property to be able to know the custom scale percentage outside of this main method since cannot set a global variable here.
                 // It is important to save this value because on Linux it won't be the same as "flatlaf.uiScale" which will instead be the "uiScalePercentage" multiplied by the initial system "userScaleFactor".
 
-                FlatLaf defaultLaf = new FlatLightLaf();
-                FlatLaf platformFlatLaf = (isMacOS ? new com.formdev.flatlaf.themes.FlatMacLightLaf() : defaultLaf);
-                UIManager.setLookAndFeel(platformFlatLaf);
+                FlatLaf platformFlatLaf = (isMacOS ? new com.formdev.flatlaf.themes.FlatMacLightLaf() : new FlatLightLaf());
+
+                if (isMacOS) {
+                    // When using the FlatMac themes along with "Button.defaultButtonFollowsFocus" being set to "true" (which offers great functionality),
+                    // the bright blue highlighted default button moving around the window looks bad to me, but the rest of the "FlatMac" theme changes are good.
+                    // So, set the following theme values to the default values from the non-Mac themes to continue using the default FlatLaf button style with the FlatMac themes.
+                    // These values were determined by seeing what was changed by comparing these dumps: https://github.com/JFormDesigner/FlatLaf/tree/main/flatlaf-testing/dumps/uidefaults
+                    // These used to be copied out of the defaults of a second "FlatLightLaf" instance after the look and feel was set, but loading all the defaults of another look and feel just for these
+                    // few values was one of the slowest parts of launching. So, they are now set as the resolved "FlatLightLaf" values in "extraDefaults" so they are applied while the look and feel is installed.
+                    Map<String, String> flatLightLafButtonDefaults = new LinkedHashMap<>();
+                    flatLightLafButtonDefaults.put("Component.focusWidth", "0");
+                    flatLightLafButtonDefaults.put("Component.innerFocusWidth", "0.5");
+                    flatLightLafButtonDefaults.put("Component.innerOutlineWidth", "1");
+                    flatLightLafButtonDefaults.put("Button.default.borderWidth", "2");
+                    flatLightLafButtonDefaults.put("Button.default.foreground", "#000000");
+                    flatLightLafButtonDefaults.put("Button.default.background", "#ffffff");
+                    flatLightLafButtonDefaults.put("Button.default.focusedBackground", "#eaf3fb");
+                    platformFlatLaf.setExtraDefaults(flatLightLafButtonDefaults);
+                }
+
+                String linuxDisplayConfigurationKey = null;
+                if (isLinux) {
+                    // As noted above, Linux uses the "userScaleFactor" for the system scaling, and that initial value is normally only known after setting the FlatLaf look and feel.
+                    // Instead of setting the look and feel twice when a custom scale is used (once to learn the initial "userScaleFactor" and again after setting "flatlaf.uiScale"),
+                    // the initial "userScaleFactor" is cached from previous launches for the current display configuration so that the look and feel only needs to be set once.
+                    // Since changing the scale relaunches from a launch which was likely at 100% (which caches the value for free), this means the look and feel is pretty much always only set once.
+                    linuxDisplayConfigurationKey = getLinuxDisplayConfigurationKey();
+
+                    if (uiScalePercentage != 100) {
+                        String cachedUserScaleFactor = LaunchCache.get("userScaleFactor." + linuxDisplayConfigurationKey);
+
+                        if (cachedUserScaleFactor != null) {
+                            try {
+                                System.setProperty("flatlaf.uiScale", (Math.round(Float.parseFloat(cachedUserScaleFactor) * uiScalePercentage) + "%")); // https://www.formdev.com/flatlaf/system-properties/
+                            } catch (NumberFormatException parseCachedUserScaleFactorException) {
+                                // Ignore parseCachedUserScaleFactorException and just detect the "userScaleFactor" below.
+                            }
+                        }
 
-                if (isLinux && (uiScalePercentage != 100)) {
-                    // As noted above, Linux uses the "userScaleFactor" for the system scaling, and we can only know that initial value after setting the FlatLaf look and feel.
-                    // So, now that we know the initial "UserScaleFactor", we can multiply it by our desired "uiScalePercentage" to set the proper custom scaling with the initial system scaling treated as the starting point of 100%.
+                        if (System.getProperty("flatlaf.uiScale") == null) {
+                            UIManager.setLookAndFeel(platformFlatLaf);
+                            StartupTiming.mark("Look and Feel Set to Detect Scale");
 
-                    System.setProperty("flatlaf.uiScale", (Math.round(UIScale.getUserScaleFactor() * uiScalePercentage) + "%")); // https://www.formdev.com/flatlaf/system-properties/
-                    UIManager.setLookAndFeel(platformFlatLaf); // Must RE-SET the FlatLaf look and feel after setting "flatlaf.uiScale" for the custom scaling to properly be applied to the titlebar and any dialogs.
+                            // Now that we know the initial "UserScaleFactor", we can multiply it by our desired "uiScalePercentage" to set the proper custom scaling with the initial system scaling treated as the starting point of 100%.
+                            LaunchCache.put("userScaleFactor." + linuxDisplayConfigurationKey, Float.toString(UIScale.getUserScaleFactor()));
+                            System.setProperty("flatlaf.uiScale", (Math.round(UIScale.getUserScaleFactor() * uiScalePercentage) + "%")); // https://www.formdev.com/flatlaf/system-properties/
+                        }
+                    }
+                }
+
+                UIManager.setLookAndFeel(platformFlatLaf); // When the scale had to be detected above, this RE-SETs the FlatLaf look and feel after setting "flatlaf.uiScale" for the custom scaling to properly be applied to the titlebar and any dialogs.
+                StartupTiming.mark("Look and Feel Installed");
+
+                if (isLinux && (uiScalePercentage == 100)) {
+                    LaunchCache.put("userScaleFactor." + linuxDisplayConfigurationKey, Float.toString(UIScale.getUserScaleFactor())); // Cache the initial system "userScaleFactor" for when the scale is changed (which will relaunch with a custom scale).
                 }
 
                 // All FlatLaf options:
@@ -181,16 +418,6 @@ public class KeyboardTest extends javax.swing.JFrame {
 
                 Font defaultFont = (Font) UIManager.get("defaultFont");
                 if (isMacOS) {
-                    // When using the FlatMac themes along with "Button.defaultButtonFollowsFocus" being set to "true" (which offers great functionality),
-                    // the bright blue highlighted default button moving around the window looks bad to me, but the rest of the "FlatMac" theme changes are good.
-                    // So, set the following theme values to the default values from the non-Mac themes to continue using the default FlatLaf button style with the FlatMac themes.
-                    // These values were determined by seeing what was changed by comparing these dumps: https://github.com/JFormDesigner/FlatLaf/tree/main/flatlaf-testing/dumps/uidefaults
-                    String[] resetUIDefaults = new String[]{"Component.focusWidth", "Component.innerFocusWidth", "Component.innerOutlineWidth",
-                        "Button.default.borderWidth", "Button.default.foreground", "Button.default.background", "Button.default.focusedBackground"};
-                    for (String thisUIDefault : resetUIDefaults) {
-                        UIManager.put(thisUIDefault, defaultLaf.getDefaults().get(thisUIDefault));
-                    }
-
                     try {
                         String[] osVersionParts = System.getProperty("os.version").replaceAll("[^0-9.]", "").split("\\.");
                         if (Integer.parseInt(osVersionParts[0]) >= 26) { // Increase the corner radius for macOS 26 Tahoe.
@@ -276,21 +503,105 @@ public class KeyboardTest extends javax.swing.JFrame {
             }
         }
 
+        StartupTiming.mark("Look and Feel Set");
+
+        if (isLinux && (System.getProperty("KeyboardTest.multiDevice") != null)) {
+            java.awt.EventQueue.invokeLater(() -> {
+                try {
+                    new MultiDeviceKeyboardTest(KeyboardLayout.load("Standard"), System.getProperty("KeyboardTest.keyboardProfile"), MultiDeviceKeyboardTest.getDevices(System.getProperty("KeyboardTest.multiDevice")), LinuxEvdevInput.getDefaultEventSize()).setVisible(true);
+                } catch (IOException loadKeyboardLayoutException) {
+                    System.err.println("loadKeyboardLayoutException: " + loadKeyboardLayoutException);
+
+                    Toolkit.getDefaultToolkit().beep();
+                    JOptionPane.showMessageDialog(null, "<html><b>Failed to Load <i>Keyboard Test</i> Keyboard Layout</b><br/><br/><i>" + loadKeyboardLayoutException.getMessage() + "</i></html>", "Keyboard Test Error", JOptionPane.ERROR_MESSAGE);
+                    System.exit(1);
+                }
+            });
+
+            return;
+        }
+
         java.awt.EventQueue.invokeLater(() -> {
-            new KeyboardTest().setVisible(true);
+            KeyboardTest keyboardTestWindow = new KeyboardTest();
+            StartupTiming.mark("Window Built");
+
+            keyboardTestWindow.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent windowEvent) {
+                    StartupTiming.mark("Window Opened");
+                    printStartupTimingReportIfComplete();
+
+                    keyboardTestWindow.revealDeferredSections();
+                    keyboardTestWindow.startKeyHandlingWarmUp();
+                    java.awt.EventQueue.invokeLater(() -> keyboardTestWindow.promptForRestoredTestProgress()); // After the window has been painted.
+
+                    if (System.getProperty("KeyboardTest.stressTest") != null) {
+                        new KeyboardStressTest(keyboardTestWindow, keyboardTestWindow.textArea, keyboardTestWindow.keyboardTestEngine).start();
+                    }
+
+                    if (System.getProperty("KeyboardTest.soakTest") != null) {
+                        new KeyboardSoakTest(keyboardTestWindow.textArea, keyboardTestWindow.keyboardTestEngine, keyboardTestWindow.pendingKeyHighlightWorkerCount::get).start();
+                    }
+
+                    if (System.getProperty("KeyboardTest.replayPath") != null) {
+                        keyboardTestWindow.replayRecording(new File(System.getProperty("KeyboardTest.replayPath")), KeyEventRecording.parseReplaySpeed(System.getProperty("KeyboardTest.replaySpeed")));
+                    }
+                }
+            });
+
+            if (!Boolean.parseBoolean(System.getProperty("KeyboardTest.standby")) || !keyboardTestWindow.startStandby()) {
+                keyboardTestWindow.deferSectionsForProgressiveReveal();
+                StartupSplash.windowWillBeDisplayed();
+                keyboardTestWindow.setVisible(true);
+            }
         });
     }
 
+    private static void printStartupTimingReportIfComplete() {
+        if (StartupTiming.printReportIfEnabled("Window Opened", "Window Icons Applied", "Every Section Revealed") && Boolean.parseBoolean(System.getProperty("KeyboardTest.startupBenchmark"))) {
+            System.exit(0);
+        }
+    }
+
+    private static String getLinuxDisplayConfigurationKey() {
+        // The initial Linux "userScaleFactor" is determined by FlatLaf from the system font and scaling settings, so any of these changing means the cached "userScaleFactor" may no longer be correct.
+        // All of these values are quick to get without setting the look and feel or running any external commands.
+        StringBuilder displayConfiguration = new StringBuilder();
+        displayConfiguration.append("Xft/DPI=").append(Toolkit.getDefaultToolkit().getDesktopProperty("gnome.Xft/DPI"));
+        displayConfiguration.append(";GDK_SCALE=").append(System.getenv("GDK_SCALE"));
+        displayConfiguration.append(";GDK_DPI_SCALE=").append(System.getenv("GDK_DPI_SCALE"));
+        displayConfiguration.append(";Java=").append(System.getProperty("java.version"));
+
+        try {
+            for (GraphicsDevice thisScreenDevice : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+                DisplayMode thisDisplayMode = thisScreenDevice.getDisplayMode();
+                displayConfiguration.append(";Screen=").append(thisDisplayMode.getWidth()).append("x").append(thisDisplayMode.getHeight());
+            }
+        } catch (HeadlessException getScreenDevicesException) {
+            // Ignore getScreenDevicesException
+        }
+
+        return Integer.toHexString(displayConfiguration.toString().hashCode());
+    }
+
     /**
      * Creates new form KeyboardTest
      */
     public KeyboardTest() {
-        setIconImages(new ScaledImage("AppIcon", this).toImageList());
+        // Decode the window icons in parallel in the background and only set them once they are ready so that the window can be displayed and accept input as soon as its components exist.
+        new ScaledImage("AppIcon", this).toImageListAsync().thenAccept((appIconImages) -> {
+            java.awt.EventQueue.invokeLater(() -> {
+                setIconImages(appIconImages);
+                StartupTiming.mark("Window Icons Applied");
+                printStartupTimingReportIfComplete();
+            });
+        });
 
         initComponents();
+        StartupTiming.mark("Components Initialized");
 
-        uiScaleMenu.setEnabled(false); // "uiScaleMenu" will be set enabled and visible after loading the
-        uiScaleMenu.setVisible(false); // "launchPath" and "javaPath" is completed in the background below.
+        uiScaleMenu.setEnabled(false); // "uiScaleMenu" will be set enabled and visible after the "launchPath" and "javaPath"
+        uiScaleMenu.setVisible(false); // are determined below (which may need to be completed in the background).
 
         int uiScalePercentage = 100;
         if (System.getProperty("KeyboardTest.uiScalePercentage") != null) {
@@ -309,131 +620,220 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelGreenHighlightBorder = BorderFactory.createLineBorder(new Color(0, 128, 0), UIScale.scale(2));
         keyLabelGreenHighlightBackgroundColor = new Color(44, 179, 44);
 
-        keyLabels.put("keyLabel" + KeyEvent.VK_ESCAPE, keyLabelEscape);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F1, keyLabelF1);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F2, keyLabelF2);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F3, keyLabelF3);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F4, keyLabelF4);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F5, keyLabelF5);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F6, keyLabelF6);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F7, keyLabelF7);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F8, keyLabelF8);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F9, keyLabelF9);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F10, keyLabelF10);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F11, keyLabelF11);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F12, keyLabelF12);
-
-        keyLabels.put("keyLabel" + KeyEvent.VK_BACK_QUOTE, keyLabelBackQuote);
-        keyLabels.put("keyLabel" + KeyEvent.VK_1, keyLabel1);
-        keyLabels.put("keyLabel" + KeyEvent.VK_2, keyLabel2);
-        keyLabels.put("keyLabel" + KeyEvent.VK_3, keyLabel3);
-        keyLabels.put("keyLabel" + KeyEvent.VK_4, keyLabel4);
-        keyLabels.put("keyLabel" + KeyEvent.VK_5, keyLabel5);
-        keyLabels.put("keyLabel" + KeyEvent.VK_6, keyLabel6);
-        keyLabels.put("keyLabel" + KeyEvent.VK_7, keyLabel7);
-        keyLabels.put("keyLabel" + KeyEvent.VK_8, keyLabel8);
-        keyLabels.put("keyLabel" + KeyEvent.VK_9, keyLabel9);
-        keyLabels.put("keyLabel" + KeyEvent.VK_0, keyLabel0);
-        keyLabels.put("keyLabel" + KeyEvent.VK_MINUS, keyLabelMinus);
-        keyLabels.put("keyLabel" + KeyEvent.VK_EQUALS, keyLabelEquals);
-        keyLabels.put("keyLabel" + KeyEvent.VK_BACK_SPACE, keyLabelBackspace);
-
-        keyLabels.put("keyLabel" + KeyEvent.VK_TAB, keyLabelTab);
-        keyLabels.put("keyLabel" + KeyEvent.VK_Q, keyLabelQ);
-        keyLabels.put("keyLabel" + KeyEvent.VK_W, keyLabelW);
-        keyLabels.put("keyLabel" + KeyEvent.VK_E, keyLabelE);
-        keyLabels.put("keyLabel" + KeyEvent.VK_R, keyLabelR);
-        keyLabels.put("keyLabel" + KeyEvent.VK_T, keyLabelT);
-        keyLabels.put("keyLabel" + KeyEvent.VK_Y, keyLabelY);
-        keyLabels.put("keyLabel" + KeyEvent.VK_U, keyLabelU);
-        keyLabels.put("keyLabel" + KeyEvent.VK_I, keyLabelI);
-        keyLabels.put("keyLabel" + KeyEvent.VK_O, keyLabelO);
-        keyLabels.put("keyLabel" + KeyEvent.VK_P, keyLabelP);
-        keyLabels.put("keyLabel" + KeyEvent.VK_OPEN_BRACKET, keyLabelOpenBracket);
-        keyLabels.put("keyLabel" + KeyEvent.VK_CLOSE_BRACKET, keyLabelCloseBracket);
-        keyLabels.put("keyLabel" + KeyEvent.VK_BACK_SLASH, keyLabelBackSlash);
-
-        keyLabels.put("keyLabel" + KeyEvent.VK_CAPS_LOCK, keyLabelCapsLock);
-        keyLabels.put("keyLabel" + KeyEvent.VK_A, keyLabelA);
-        keyLabels.put("keyLabel" + KeyEvent.VK_S, keyLabelS);
-        keyLabels.put("keyLabel" + KeyEvent.VK_D, keyLabelD);
-        keyLabels.put("keyLabel" + KeyEvent.VK_F, keyLabelF);
-        keyLabels.put("keyLabel" + KeyEvent.VK_G, keyLabelG);
-        keyLabels.put("keyLabel" + KeyEvent.VK_H, keyLabelH);
-        keyLabels.put("keyLabel" + KeyEvent.VK_J, keyLabelJ);
-        keyLabels.put("keyLabel" + KeyEvent.VK_K, keyLabelK);
-        keyLabels.put("keyLabel" + KeyEvent.VK_L, keyLabelL);
-        keyLabels.put("keyLabel" + KeyEvent.VK_SEMICOLON, keyLabelSemicolon);
-        keyLabels.put("keyLabel" + KeyEvent.VK_QUOTE, keyLabelQuote);
-        keyLabels.put("keyLabel" + KeyEvent.VK_ENTER, keyLabelEnter);
-
-        keyLabels.put("keyLabelLeft" + KeyEvent.VK_SHIFT, keyLabelLeftShift);
-        keyLabels.put("keyLabel" + KeyEvent.VK_Z, keyLabelZ);
-        keyLabels.put("keyLabel" + KeyEvent.VK_X, keyLabelX);
-        keyLabels.put("keyLabel" + KeyEvent.VK_C, keyLabelC);
-        keyLabels.put("keyLabel" + KeyEvent.VK_V, keyLabelV);
-        keyLabels.put("keyLabel" + KeyEvent.VK_B, keyLabelB);
-        keyLabels.put("keyLabel" + KeyEvent.VK_N, keyLabelN);
-        keyLabels.put("keyLabel" + KeyEvent.VK_M, keyLabelM);
-        keyLabels.put("keyLabel" + KeyEvent.VK_COMMA, keyLabelComma);
-        keyLabels.put("keyLabel" + KeyEvent.VK_PERIOD, keyLabelPeriod);
-        keyLabels.put("keyLabel" + KeyEvent.VK_SLASH, keyLabelSlash);
-        keyLabels.put("keyLabelRight" + KeyEvent.VK_SHIFT, keyLabelRightShift);
-
-        keyLabels.put("keyLabelLeft" + KeyEvent.VK_CONTROL, keyLabelLeftControl);
-        keyLabels.put("keyLabelLeft" + KeyEvent.VK_WINDOWS, keyLabelLeftStart);
-        keyLabels.put("keyLabel" + KeyEvent.VK_WINDOWS, keyLabelLeftStart); // On Linux, both the Left and Right Start/Windows keys may not have a "keyLocation", so can't tell them apart and just consider either one the Left Start/Windows key.
-        keyLabels.put("keyLabelLeft" + KeyEvent.VK_ALT, keyLabelLeftAlt);
-        keyLabels.put("keyLabelLeft" + KeyEvent.VK_META, keyLabelLeftCommand);
-        keyLabels.put("keyLabel" + KeyEvent.VK_SPACE, keyLabelSpace);
-        keyLabels.put("keyLabelRight" + KeyEvent.VK_META, keyLabelRightCommand);
-        keyLabels.put("keyLabelRight" + KeyEvent.VK_ALT, keyLabelRightAlt);
-        keyLabels.put("keyLabel" + KeyEvent.VK_ALT, keyLabelRightAlt); // On Mac keyboards, the right Option key registers as "KEY_LOCATION_STANDARD" instead of "KEY_LOCATION_RIGHT", so add a "keyLabels" entry which connects that key code without a location to "keyLabelRightAlt".
-        keyLabels.put("keyLabelRight" + KeyEvent.VK_WINDOWS, keyLabelRightStart);
-        keyLabels.put("keyLabel" + KeyEvent.VK_CONTEXT_MENU, keyLabelMenu);
-        keyLabels.put("keyLabelRight" + KeyEvent.VK_CONTROL, keyLabelRightControl);
-
-        keyLabels.put("keyLabel" + KeyEvent.VK_PRINTSCREEN, keyLabelPrintScreen);
-        keyLabels.put("keyLabel" + KeyEvent.VK_SCROLL_LOCK, keyLabelScrollLock);
-        keyLabels.put("keyLabel" + KeyEvent.VK_PAUSE, keyLabelPause);
-
-        keyLabels.put("keyLabel" + KeyEvent.VK_INSERT, keyLabelInsert);
-        keyLabels.put("keyLabel" + KeyEvent.VK_HELP, keyLabelInsert); // On Mac keyboards, Insert (155) is Help (156) instead, so add a "keyLabels" entry which connects that key code to "keyLabelInsert".
-        keyLabels.put("keyLabel" + KeyEvent.VK_HOME, keyLabelHome);
-        keyLabels.put("keyLabel" + KeyEvent.VK_PAGE_UP, keyLabelPageUp);
-
-        keyLabels.put("keyLabel" + KeyEvent.VK_DELETE, keyLabelDelete);
-        keyLabels.put("keyLabel" + KeyEvent.VK_END, keyLabelEnd);
-        keyLabels.put("keyLabel" + KeyEvent.VK_PAGE_DOWN, keyLabelPageDown);
-
-        keyLabels.put("keyLabel" + KeyEvent.VK_UP, keyLabelArrowUp);
-        keyLabels.put("keyLabel" + KeyEvent.VK_LEFT, keyLabelArrowLeft);
-        keyLabels.put("keyLabel" + KeyEvent.VK_DOWN, keyLabelArrowDown);
-        keyLabels.put("keyLabel" + KeyEvent.VK_RIGHT, keyLabelArrowRight);
-
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_NUM_LOCK, keyLabelNumPadNumLock);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_CLEAR, keyLabelNumPadNumLock); // On Mac keyboards, Num Lock (144) is Clear (12) instead, so add a "keyLabels" entry which connects that key code to "keyLabelNumLock".
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_EQUALS, keyLabelNumPadEquals);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_DIVIDE, keyLabelNumPadDivide);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_MULTIPLY, keyLabelNumPadMultiply);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_SUBTRACT, keyLabelNumPadSubtract);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_ADD, keyLabelNumPadAdd);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_ENTER, keyLabelNumPadEnter);
-
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_NUMPAD7, keyLabelNumPad7);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_NUMPAD8, keyLabelNumPad8);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_NUMPAD9, keyLabelNumPad9);
-
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_NUMPAD4, keyLabelNumPad4);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_NUMPAD5, keyLabelNumPad5);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_NUMPAD6, keyLabelNumPad6);
-
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_NUMPAD1, keyLabelNumPad1);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_NUMPAD2, keyLabelNumPad2);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_NUMPAD3, keyLabelNumPad3);
-
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_NUMPAD0, keyLabelNumPad0);
-        keyLabels.put("keyLabelNumPad" + KeyEvent.VK_DECIMAL, keyLabelNumPadDecimal);
+        // Every key and its key code bindings (as well as any OS specific label changes) are defined in "/Resources/Layouts/Standard.layout"
+        // and each key label in the form is named with its layout key ID so that they can be connected here (see "KeyboardLayout" for more information).
+        try {
+            keyboardLayout = KeyboardLayout.load("Standard");
+        } catch (IOException loadKeyboardLayoutException) {
+            System.err.println("loadKeyboardLayoutException: " + loadKeyboardLayoutException);
+
+            Toolkit.getDefaultToolkit().beep();
+            JOptionPane.showMessageDialog(this, "<html><b>Failed to Load <i>Keyboard Test</i> Keyboard Layout</b><br/><br/><i>" + loadKeyboardLayoutException.getMessage() + "</i></html>", "Keyboard Test Error", JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+        }
+
+        StartupTiming.mark("Keyboard Layout Loaded");
+
+        if ((currentOS == KeyboardLayout.OS_LINUX) && (System.getProperty("KeyboardTest.evdevDevice") != null)) {
+            // The device must be opened before the layout is applied since reading from the kernel shows keys that are hidden when using AWT on Linux (see the "linuxEvdev" OS in "Standard.layout").
+            File evdevDevice = (System.getProperty("KeyboardTest.evdevDevice").isEmpty() ? LinuxEvdevInput.findKeyboardDevice() : new File(System.getProperty("KeyboardTest.evdevDevice")));
+            if (evdevDevice == null) {
+                System.err.println("No Keyboard Device Found to Read Key Events From (Using AWT Key Events Instead)");
+            } else {
+                try {
+                    evdevDeviceChannel = LinuxEvdevInput.open(evdevDevice);
+                    currentOS = KeyboardLayout.OS_LINUX_EVDEV;
+                    startReadingEvdevKeyEvents(evdevDevice.getName()); // Key presses are handed to the EDT, so none of them will be handled until this window has been set up.
+
+                    if (debugLogging) {
+                        System.out.println("Reading Key Events From: " + evdevDevice.getPath());
+                    }
+                } catch (IOException | SecurityException openEvdevDeviceException) {
+                    System.err.println("openEvdevDeviceException: " + openEvdevDeviceException + " (Using AWT Key Events Instead, Reading Keyboard Devices Requires Being Root or in the \"input\" Group)");
+                }
+            }
+        }
+
+        if (((currentOS == KeyboardLayout.OS_LINUX) || (currentOS == KeyboardLayout.OS_LINUX_EVDEV)) && (System.getProperty("KeyboardTest.deliveryLatencyDevice") != null)) {
+            startMeasuringKeyDeliveryLatency(System.getProperty("KeyboardTest.deliveryLatencyDevice"));
+        }
+
+        // All of the key handling and test state lives in "KeyboardTestEngine" (which doesn't need a display) and this window only shows its state.
+        keyboardTestEngine = new KeyboardTestEngine(keyboardLayout, currentOS);
+        keyboardTestEngine.addListener(new KeyboardTestEngine.Listener() {
+            @Override
+            public void profileChanged(KeyboardLayout.Profile newProfile, boolean wasDetected) {
+                if (wasDetected && debugLogging) {
+                    System.out.println("detectedKeyboardProfile: " + newProfile.id + " (after " + keyboardTestEngine.getPressedKeyCount() + " keys)");
+                }
+
+                updateKeyboardProfileView(newProfile);
+            }
+
+            @Override
+            public void everyExpectedKeyPressed(KeyboardLayout.Profile profile) {
+                exportTestResult("completed");
+                showEveryKeyPressedDialog();
+            }
+        });
+        layoutKeyLabels = new JLabel[keyboardLayout.getKeys().size()];
+        isResetSweepPendingKey = new boolean[layoutKeyLabels.length];
+
+        // The result of each test is written when it completes, is reset, or the app quits so that a record of each unit is kept without the technician needing to do anything.
+        // Quitting waits (briefly) for the last results to be written, but every other export never blocks the EDT (see "KeyboardTestResultWriter").
+        URL collectorURL = null;
+        if (System.getProperty("KeyboardTest.collectorURL") != null) {
+            try {
+                collectorURL = new URL(System.getProperty("KeyboardTest.collectorURL"));
+            } catch (MalformedURLException parseCollectorURLException) {
+                System.err.println("parseCollectorURLException: " + parseCollectorURLException);
+            }
+        }
+
+        keyboardTestResultWriter = new KeyboardTestResultWriter(((System.getProperty("KeyboardTest.resultsFolder") == null) ? KeyboardTestResultWriter.getDefaultSpoolFolder() : new File(System.getProperty("KeyboardTest.resultsFolder"))),
+                collectorURL, System.getProperty("KeyboardTest.stationName"), System.getProperty("KeyboardTest.computerModel"));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> keyboardTestResultWriter.waitForPendingResults(5000)));
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent windowEvent) {
+                exportTestResult("quit");
+            }
+        });
+
+        if (System.getProperty("KeyboardTest.metricsPort") != null) {
+            try {
+                StationMetricsServer stationMetricsServer = new StationMetricsServer(stationMetrics, System.getProperty("KeyboardTest.metricsAddress", "127.0.0.1"), Integer.parseInt(System.getProperty("KeyboardTest.metricsPort")));
+                stationMetricsServer.start();
+
+                if (debugLogging) {
+                    System.out.println("Serving Station Metrics at: http://" + stationMetricsServer.getAddress().getHostString() + ":" + stationMetricsServer.getAddress().getPort() + "/metrics");
+                }
+            } catch (IOException | IllegalArgumentException | SecurityException startStationMetricsServerException) {
+                System.err.println("startStationMetricsServerException: " + startStationMetricsServerException); // The test still works without the metrics server, so don't stop launching.
+            }
+        }
+
+        if (System.getProperty("KeyboardTest.recordPath") != null) {
+            startRecordingKeyEvents(System.getProperty("KeyboardTest.recordPath").isEmpty() ? KeyEventRecorder.getDefaultRecordingFile() : new File(System.getProperty("KeyboardTest.recordPath")));
+        }
+
+        keySectionPanels.put("main", mainKeysPanel);
+        keySectionPanels.put("topOther", topOtherKeysPanel);
+        keySectionPanels.put("other", otherKeysPanel);
+        keySectionPanels.put("arrows", arrowKeysPanel);
+        keySectionPanels.put("numPad", numPadPanel);
+        keySectionPanels.put("international", internationalKeysPanel);
+
+        HashMap<String, JLabel> namedKeyLabels = new HashMap<>();
+        for (JPanel thisKeySectionPanel : keySectionPanels.values()) {
+            addNamedKeyLabels(thisKeySectionPanel, namedKeyLabels);
+        }
+
+        for (KeyboardLayout.Section thisSection : keyboardLayout.getSections()) {
+            if (thisSection.isHidden(currentOS)) {
+                keySectionPanels.get(thisSection.name).setVisible(false);
+            }
+        }
+
+        for (KeyboardLayout.Key thisKey : keyboardLayout.getKeys()) {
+            JLabel thisKeyLabel = namedKeyLabels.get(thisKey.id);
+            if (thisKeyLabel == null) {
+                JPanel thisKeySectionPanel = keySectionPanels.get(thisKey.section.name);
+                if ((thisKeySectionPanel == null) || (thisKeySectionPanel.getLayout() instanceof javax.swing.GroupLayout)) {
+                    if (debugLogging) {
+                        System.out.println("KEY LABEL NOT FOUND FOR LAYOUT KEY: " + thisKey.id);
+                    }
+
+                    continue;
+                }
+
+                // Keys in sections that are not designed in the form (such as the extra keys on ISO and JIS keyboards) get key labels created here which are styled the same as the form key labels.
+                thisKeyLabel = new JLabel(thisKey.id, SwingConstants.CENTER);
+                thisKeyLabel.setName(thisKey.id);
+                thisKeyLabel.setBackground(Color.WHITE);
+                thisKeyLabel.setFont(keyLabelEscape.getFont());
+                thisKeyLabel.setForeground(Color.BLACK);
+                thisKeyLabel.setBorder(keyLabelBorder);
+                thisKeyLabel.setOpaque(true);
+                thisKeyLabel.setPreferredSize(keyLabelEscape.getPreferredSize());
+                thisKeyLabel.setMaximumSize(thisKeyLabel.getPreferredSize());
+                thisKeyLabel.setMinimumSize(thisKeyLabel.getPreferredSize());
+                thisKeySectionPanel.add(thisKeyLabel);
+            }
+
+            layoutKeyLabels[thisKey.index] = thisKeyLabel;
+
+            String thisKeyLabelText = thisKey.getLabel(currentOS);
+            if (thisKeyLabelText != null) {
+                thisKeyLabel.setText(thisKeyLabelText);
+            }
+
+            int thisKeyLabelWidth = thisKey.getWidth(currentOS);
+            if (thisKeyLabelWidth > 0) {
+                thisKeyLabel.setPreferredSize(new Dimension(UIScale.scale(thisKeyLabelWidth), thisKeyLabel.getPreferredSize().height));
+                thisKeyLabel.setMaximumSize(thisKeyLabel.getPreferredSize());
+                thisKeyLabel.setMinimumSize(thisKeyLabel.getPreferredSize());
+            }
+
+            String thisKeyLabelFontName = thisKey.getFontName(currentOS);
+            if (thisKeyLabelFontName != null) {
+                thisKeyLabel.setFont(new Font(thisKeyLabelFontName, 0, UIScale.scale(thisKey.getFontSize(currentOS))));
+            }
+
+            if (thisKey.isHidden(currentOS)) {
+                thisKeyLabel.setVisible(false);
+            }
+        }
+
+        // Layout profiles can be switched at any time from the "Keyboard Profile" menu, and the test will be finished automatically once every key expected by the selected profile has been pressed.
+        JMenu keyboardProfileMenu = new JMenu("Keyboard Profile");
+        ButtonGroup keyboardProfileButtonGroup = new ButtonGroup();
+
+        // Unless a profile is chosen, the profile is detected from the keys that are pressed (see "KeyboardProfileClassifier").
+        detectKeyboardProfileMenuItem = new JCheckBoxMenuItem("Detect Profile Automatically", (System.getProperty("KeyboardTest.keyboardProfile") == null));
+        keyboardTestEngine.setProfileDetectionEnabled(detectKeyboardProfileMenuItem.isSelected());
+        detectKeyboardProfileMenuItem.addActionListener((ActionEvent actionEvent) -> {
+            keyboardTestEngine.setProfileDetectionEnabled(detectKeyboardProfileMenuItem.isSelected());
+            if (testProgressSnapshot != null) {
+                testProgressSnapshot.profileDetectionChanged();
+            }
+            textArea.requestFocusInWindow();
+        });
+        keyboardProfileMenu.add(detectKeyboardProfileMenuItem);
+        keyboardProfileMenu.addSeparator();
+
+        JRadioButtonMenuItem manualKeyboardProfileMenuItem = new JRadioButtonMenuItem("Manual (Never Finish Automatically)");
+        manualKeyboardProfileMenuItem.addActionListener((ActionEvent actionEvent) -> {
+            didChooseKeyboardProfile = true;
+            detectKeyboardProfileMenuItem.setSelected(false);
+            keyboardTestEngine.setProfileDetectionEnabled(false);
+            keyboardTestEngine.setProfile(null);
+        });
+        keyboardProfileButtonGroup.add(manualKeyboardProfileMenuItem);
+        keyboardProfileMenu.add(manualKeyboardProfileMenuItem);
+        keyboardProfileMenuItems.add(manualKeyboardProfileMenuItem);
+
+        for (KeyboardLayout.Profile thisProfile : keyboardLayout.getProfiles()) {
+            if (thisProfile.isAvailable(currentOS)) {
+                JRadioButtonMenuItem thisKeyboardProfileMenuItem = new JRadioButtonMenuItem(thisProfile.name + " (" + keyboardLayout.getExpectedKeys(thisProfile, currentOS).cardinality() + " Keys)");
+                thisKeyboardProfileMenuItem.setActionCommand(thisProfile.id);
+                thisKeyboardProfileMenuItem.addActionListener((ActionEvent actionEvent) -> {
+                    didChooseKeyboardProfile = true;
+                    detectKeyboardProfileMenuItem.setSelected(false);
+                    keyboardTestEngine.setProfileDetectionEnabled(false);
+                    keyboardTestEngine.setProfile(thisProfile);
+                });
+                keyboardProfileButtonGroup.add(thisKeyboardProfileMenuItem);
+                keyboardProfileMenu.add(thisKeyboardProfileMenuItem);
+                keyboardProfileMenuItems.add(thisKeyboardProfileMenuItem);
+            }
+        }
+
+        optionsMenu.insert(keyboardProfileMenu, optionsMenu.getPopupMenu().getComponentIndex(optionsMenuSeparator));
+        manualKeyboardProfileMenuItem.setSelected(true);
+
+        StartupTiming.mark("Keyboard Layout Applied");
 
         String osName = System.getProperty("os.name");
         if (osName.startsWith("Mac OS X") || osName.startsWith("macOS")) {
@@ -443,6 +843,8 @@ public class KeyboardTest extends javax.swing.JFrame {
                 showCreditsMenuItemActionPerformed(null);
             });
 
+            Desktop.getDesktop().setQuitStrategy(QuitStrategy.CLOSE_ALL_WINDOWS); // So that quitting from the App menu (or with Command-Q) closes the window (which exports the test result) instead of just exiting.
+
             // On macOS, switch menu shortcuts from CTRL_DOWN_MASK to META_DOWN_MASK.
             resetPressedKeysMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_R, InputEvent.META_DOWN_MASK));
             toggleFullKeyboardMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_T, InputEvent.META_DOWN_MASK));
@@ -450,111 +852,91 @@ public class KeyboardTest extends javax.swing.JFrame {
             increaseUIScaleMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_EQUALS, InputEvent.META_DOWN_MASK));
             decreaseUIScaleMenuItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_MINUS, InputEvent.META_DOWN_MASK));
 
-            (new SwingWorker<Void, Void>() {
-                @Override
-                protected Void doInBackground() throws Exception { // Load "system_profiler SPHardwareDataType" in the background to not add any delay to the window opening after launch and because it's ok if "isMacLaptop" isn't set immediately.
-                    if (debugLogging) {
-                        System.out.println("system_profiler SPHardwareDataType:");
-                    }
+            // Running "system_profiler" can take longer than the window takes to open, and the Mac model can't change without rebooting,
+            // so the result is cached for the current boot and "system_profiler" is only run (in the background) when there is no cached result.
+            String bootIdentity = LaunchCache.getBootIdentity();
+            String isMacLaptopCacheKey = ((bootIdentity == null) ? null : ("isMacLaptop." + bootIdentity));
+            String cachedIsMacLaptop = ((isMacLaptopCacheKey == null) ? null : LaunchCache.get(isMacLaptopCacheKey));
 
-                    try (BufferedReader commandReader = new BufferedReader(new InputStreamReader(Runtime.getRuntime().exec(new String[]{"/usr/sbin/system_profiler", "SPHardwareDataType"}).getInputStream()))) {
-                        String thisLine;
-                        while ((thisLine = commandReader.readLine()) != null) {
-                            if (debugLogging) {
-                                System.out.println(thisLine);
-                            }
-
-                            if (thisLine.contains("Model Name:")) {
-                                isMacLaptop = thisLine.contains("Book");
-                                break;
-                            }
-                        }
+            if (cachedIsMacLaptop != null) {
+                isMacLaptop = Boolean.parseBoolean(cachedIsMacLaptop);
 
+                if (debugLogging) {
+                    System.out.println("cached isMacLaptop: " + isMacLaptop);
+                }
+            } else {
+                (new SwingWorker<Void, Void>() {
+                    @Override
+                    protected Void doInBackground() throws Exception { // Load "system_profiler SPHardwareDataType" in the background to not add any delay to the window opening after launch and because it's ok if "isMacLaptop" isn't set immediately.
                         if (debugLogging) {
-                            System.out.println("isMacLaptop: " + isMacLaptop);
-                        }
-                    } catch (Exception getIsMacLaptopException) {
-                        if (debugLogging) {
-                            System.out.println("getIsMacLaptopException: " + getIsMacLaptopException);
+                            System.out.println("system_profiler SPHardwareDataType:");
                         }
-                    }
 
-                    return null;
-                }
-            }).execute();
+                        try (BufferedReader commandReader = new BufferedReader(new InputStreamReader(Runtime.getRuntime().exec(new String[]{"/usr/sbin/system_profiler", "SPHardwareDataType"}).getInputStream()))) {
+                            String thisLine;
+                            while ((thisLine = commandReader.readLine()) != null) {
+                                if (debugLogging) {
+                                    System.out.println(thisLine);
+                                }
 
-            keyLabelBackspace.setText("delete");
-            keyLabelEnter.setText("return");
-
-            keyLabelLeftControl.setText("control");
-            keyLabelLeftControl.setPreferredSize(new Dimension(UIScale.scale(55), UIScale.scale(40)));
-            keyLabelLeftControl.setMaximumSize(keyLabelLeftControl.getPreferredSize());
-            keyLabelLeftControl.setMinimumSize(keyLabelLeftControl.getPreferredSize());
-            keyLabelRightControl.setText(keyLabelLeftControl.getText());
-
-            keyLabelLeftAlt.setText("option");
-            keyLabelLeftAlt.setPreferredSize(new Dimension(UIScale.scale(50), UIScale.scale(40)));
-            keyLabelLeftAlt.setMaximumSize(keyLabelLeftAlt.getPreferredSize());
-            keyLabelLeftAlt.setMinimumSize(keyLabelLeftAlt.getPreferredSize());
-            keyLabelRightAlt.setText(keyLabelLeftAlt.getText());
-
-            keyLabelInsert.setText("help"); // On Mac keyboards, Insert (155) is Help (156) instead, so change the label text.
-            keyLabelNumPadNumLock.setText("clear"); // On Mac keyboards, Num Lock (144) is Clear (12) instead, so change the label text.
-
-            JLabel[] keyLabelsToLowercase = new JLabel[]{
-                keyLabelEscape, keyLabelTab, keyLabelCapsLock, keyLabelLeftShift, keyLabelRightShift, keyLabelSpace,
-                keyLabelHome, keyLabelPageUp, keyLabelDelete, keyLabelEnd, keyLabelPageDown, keyLabelNumPadEnter
-            };
-            for (JLabel thisKeyLabelToLowercase : keyLabelsToLowercase) {
-                thisKeyLabelToLowercase.setText(thisKeyLabelToLowercase.getText().toLowerCase());
-            }
-
-            keyLabelArrowLeft.setText("◀");
-            keyLabelArrowLeft.setFont(new Font("Helvetica", 0, UIScale.scale(12)));
-            keyLabelArrowUp.setText("▲");
-            keyLabelArrowUp.setFont(keyLabelArrowLeft.getFont());
-            keyLabelArrowRight.setText("▶");
-            keyLabelArrowRight.setFont(keyLabelArrowLeft.getFont());
-            keyLabelArrowDown.setText("▼");
-            keyLabelArrowDown.setFont(keyLabelArrowLeft.getFont());
-
-            topOtherKeysPanel.setVisible(false); // Hide Print Screen, Scroll Lock, and Pause Keys
-            keyLabelLeftStart.setVisible(false);
-            keyLabelRightStart.setVisible(false);
-            keyLabelMenu.setVisible(false);
-
-            // On Mac keyboards, a "-" key on the 2nd row of the NumPad is used rather than the "regular" top row key to make space for the "=" key on top row of Mac keyboard Num Pads.
-            keyLabelNumPadSubtract.setVisible(false); // So, hide the "-" key on the top row of the NumPad since "keyLabelNumPadMacSubtract" on the 2nd row will be used instead,
-            keyLabels.put("keyLabelNumPad" + KeyEvent.VK_SUBTRACT, keyLabelNumPadMacSubtract); // and replace the "keyLabelNumPadSubtract" entry with "keyLabelNumPadMacSubtract" in "keyLabels".
-        } else {
-            keyLabelLeftCommand.setVisible(false);
-            keyLabelRightCommand.setVisible(false);
-            keyLabelNumPadEquals.setVisible(false); // Only Mac keyboards have an "=" key in the NumPad.
-            keyLabelNumPadMacSubtract.setVisible(false); // Hide the "-" key on the 2nd row of the NumPad since it only exists on Mac keyboards and the top row "keyLabelNumPadSubtract" will be used instead.
+                                if (thisLine.contains("Model Name:")) {
+                                    isMacLaptop = thisLine.contains("Book");
+
+                                    if (isMacLaptopCacheKey != null) {
+                                        LaunchCache.putReplacingPrefix("isMacLaptop.", isMacLaptopCacheKey, Boolean.toString(isMacLaptop));
+                                    }
 
-            if (osName.startsWith("Windows")) {
-                isWindows = true;
+                                    break;
+                                }
+                            }
 
-                try {
-                    File windowsKeyboardTestRelauncherFile = new File(System.getProperty("java.io.tmpdir"), "Keyboard_Test-Relauncher.cmd");
+                            if (debugLogging) {
+                                System.out.println("isMacLaptop: " + isMacLaptop);
+                            }
+                        } catch (Exception getIsMacLaptopException) {
+                            if (debugLogging) {
+                                System.out.println("getIsMacLaptopException: " + getIsMacLaptopException);
+                            }
+                        }
 
-                    if (windowsKeyboardTestRelauncherFile.exists()) {
-                        windowsKeyboardTestRelauncherFile.delete();
+                        return null;
                     }
-                } catch (Exception deleteTempRelauncherCmdException) {
-                    if (debugLogging) {
-                        System.out.println("deleteTempRelauncherCmdException: " + deleteTempRelauncherCmdException);
+
+                    @Override
+                    protected void done() {
+                        setDefaultKeyboardProfile();
                     }
-                }
-            } else if (osName.startsWith("Linux")) {
-                isLinux = true;
+                }).execute();
+            }
+        } else if (osName.startsWith("Windows")) {
+            isWindows = true;
+
+            try {
+                File windowsKeyboardTestRelauncherFile = new File(System.getProperty("java.io.tmpdir"), "Keyboard_Test-Relauncher.cmd");
 
-                keyLabelRightStart.setVisible(false); // Hide Right Start Key because Linux never differentiates between Left and Right Start Key, so will only highlight Left Start Key either way.
+                if (windowsKeyboardTestRelauncherFile.exists()) {
+                    windowsKeyboardTestRelauncherFile.delete();
+                }
+            } catch (Exception deleteTempRelauncherCmdException) {
+                if (debugLogging) {
+                    System.out.println("deleteTempRelauncherCmdException: " + deleteTempRelauncherCmdException);
+                }
             }
+        } else if (osName.startsWith("Linux")) {
+            isLinux = true;
         }
 
         resetPressedKeysMenuItemActionPerformed(null);
-        toggleFullKeyboardMenuItemActionPerformed(null); // Always start with a non-Full Keyboard layout since generally testing laptops. The Full Keyboard layout will display automatically if any of those hidden keys are pressed.
+        setFullKeyboardShown(false); // Always start with a non-Full Keyboard layout since generally testing laptops. The Full Keyboard layout will display automatically if any of those hidden keys are pressed.
+        setDefaultKeyboardProfile(); // On macOS, the default profile depends on "isMacLaptop" which may only be set in the background above, so this will be done again once it is.
+
+        if (!isSyntheticSession()) {
+            startSnapshottingTestProgress();
+        }
+
+        if (System.getProperty("KeyboardTest.qaHelperPort") != null) {
+            startQAHelperConnection(Integer.parseInt(System.getProperty("KeyboardTest.qaHelperPort")), System.getProperty("KeyboardTest.qaHelperToken"));
+        }
 
         (new SwingWorker<Void, Void>() {
             @Override
@@ -566,82 +948,129 @@ public class KeyboardTest extends javax.swing.JFrame {
             }
         }).execute();
 
-        (new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() throws Exception { // Load the "javaPath" in the background because loading PowerShell for the Windows "javaPath" can add a noticable delay to the window opening after launch.
-                // The following code to get "javaPath" is based on code from QA Helper (Copyright Free Geek - MIT License): https://github.com/freegeek-pdx/Java-QA-Helper/blob/b511d0259a657d1eebd4224a0950094f03d48156/src/GUI/QAHelper.java#L1413-L1447
+        // The following code to get "launchPath" and "javaPath" is based on code from QA Helper (Copyright Free Geek - MIT License): https://github.com/freegeek-pdx/Java-QA-Helper/blob/b511d0259a657d1eebd4224a0950094f03d48156/src/GUI/QAHelper.java#L1413-L1447
+        // The "launchPath" and (in almost all cases) the "javaPath" are now determined in-process without running any external commands, so "uiScaleMenu" can be enabled right away.
+        boolean shouldProbeJavaPath = false;
+        String javaPathCacheKey = null;
+        try {
+            URI launchURI = KeyboardTest.class.getProtectionDomain().getCodeSource().getLocation().toURI();
+            String launchURIString = launchURI.toString();
 
-                try {
-                    URI launchURI = KeyboardTest.class.getProtectionDomain().getCodeSource().getLocation().toURI();
-                    String launchURIString = launchURI.toString();
+            if (isWindows && launchURIString.startsWith("file://")) {
+                launchPath = new File(launchURIString.replace("file://", "//").replace("%20", " ")).getPath(); // To fix server (or Parallels shared folder) paths on Windows.
+            } else {
+                launchPath = new File(launchURI).getPath();
+            }
 
-                    if (isWindows && launchURIString.startsWith("file://")) {
-                        launchPath = new File(launchURIString.replace("file://", "//").replace("%20", " ")).getPath(); // To fix server (or Parallels shared folder) paths on Windows.
-                    } else {
-                        launchPath = new File(launchURI).getPath();
+            if (launchPath.endsWith(".jar")) {
+                if (isMacOS && launchPath.endsWith(".app/Contents/app/Keyboard_Test.jar")) {
+                    launchPath = launchPath.substring(0, launchPath.lastIndexOf("/Contents/app/Keyboard_Test.jar"));
+                } else {
+                    // The "java" binary running this process is the same "java" binary that finding the running "Keyboard_Test.jar" process with PowerShell or "pgrep" would find,
+                    // so get it from "ProcessHandle" instead of running those commands whenever it's available (and only fall back on running those commands in the background when it isn't).
+                    javaPath = ProcessHandle.current().info().command().orElse("");
+
+                    if (isWindows && javaPath.endsWith("java.exe") && new File(javaPath.replace("java.exe", "javaw.exe")).exists()) {
+                        javaPath = javaPath.replace("java.exe", "javaw.exe");
                     }
 
-                    if (launchPath.endsWith(".jar")) {
-                        if (isMacOS && launchPath.endsWith(".app/Contents/app/Keyboard_Test.jar")) {
-                            launchPath = launchPath.substring(0, launchPath.lastIndexOf("/Contents/app/Keyboard_Test.jar"));
-                        } else if (isWindows) {
-                            try (BufferedReader commandReader = new BufferedReader(new InputStreamReader(Runtime.getRuntime().exec(new String[]{"\\Windows\\System32\\WindowsPowerShell\\v1.0\\powershell.exe", "-NoLogo", "-NoProfile", "-NonInteractive", "-Command", "(Get-CimInstance Win32_Process -Filter \\\"Name LIKE 'java%.exe' AND CommandLine LIKE '%Keyboard_Test%.jar%'\\\" | Select-Object -First 1).Path"}).getInputStream()))) {
-                                String firstLine;
-                                if ((firstLine = commandReader.readLine()) != null) {
-                                    javaPath = firstLine;
-                                }
-                            } catch (Exception getWindowsJavaPathException) {
-                                if (debugLogging) {
-                                    System.out.println("getWindowsJavaPathException: " + getWindowsJavaPathException);
-                                }
+                    if (javaPath.isEmpty() || !new File(javaPath).exists() || !new File(javaPath).canExecute()) {
+                        javaPath = "";
+
+                        String bootIdentity = LaunchCache.getBootIdentity();
+                        if (bootIdentity != null) {
+                            javaPathCacheKey = "javaPath." + bootIdentity + "." + Integer.toHexString(launchPath.hashCode());
+
+                            String cachedJavaPath = LaunchCache.get(javaPathCacheKey);
+                            if ((cachedJavaPath != null) && new File(cachedJavaPath).exists() && new File(cachedJavaPath).canExecute()) {
+                                javaPath = cachedJavaPath;
                             }
+                        }
 
-                            if (javaPath.endsWith("java.exe") && new File(javaPath.replace("java.exe", "javaw.exe")).exists()) {
-                                javaPath = javaPath.replace("java.exe", "javaw.exe");
+                        shouldProbeJavaPath = javaPath.isEmpty();
+                    }
+                }
+            }
+
+            if (debugLogging) {
+                System.out.println("launchPath: " + launchPath);
+                System.out.println("javaPath: " + javaPath);
+            }
+        } catch (URISyntaxException getLaunchPathException) {
+            if (debugLogging) {
+                System.out.println("getLaunchPathException: " + getLaunchPathException);
+            }
+        }
+
+        updateUIScaleMenuAvailability();
+
+        if (shouldProbeJavaPath) {
+            String probedJavaPathCacheKey = javaPathCacheKey;
+
+            (new SwingWorker<Void, Void>() {
+                @Override
+                protected Void doInBackground() throws Exception { // Load the "javaPath" in the background because loading PowerShell for the Windows "javaPath" can add a noticable delay to the window opening after launch.
+                    // Only ever look at this process (rather than any running Keyboard Test jar) since a standby Keyboard Test or a fleet result collector could be running from the same jar with a different Java.
+                    long keyboardTestPID = ProcessHandle.current().pid();
+                    String probedJavaPath = "";
+
+                    if (isWindows) {
+                        try (BufferedReader commandReader = new BufferedReader(new InputStreamReader(Runtime.getRuntime().exec(new String[]{"\\Windows\\System32\\WindowsPowerShell\\v1.0\\powershell.exe", "-NoLogo", "-NoProfile", "-NonInteractive", "-Command", "(Get-CimInstance Win32_Process -Filter \\\"ProcessId = " + keyboardTestPID + "\\\").Path"}).getInputStream()))) {
+                            String firstLine;
+                            if ((firstLine = commandReader.readLine()) != null) {
+                                probedJavaPath = firstLine;
                             }
-                        } else {
-                            try (BufferedReader commandReader = new BufferedReader(new InputStreamReader(Runtime.getRuntime().exec(new String[]{"/usr/bin/pgrep", ("-fa" + (isMacOS ? "l" : "")), "Keyboard_Test.*\\.jar"}).getInputStream()))) {
-                                String thisLine;
-                                while ((thisLine = commandReader.readLine()) != null) {
-                                    if (!thisLine.contains("sudo ")) {
-                                        String runningJarInfoFirstPart = thisLine.split(" -jar ")[0];
-                                        javaPath = runningJarInfoFirstPart.substring(runningJarInfoFirstPart.indexOf(" ") + 1);
-                                        break;
-                                    }
-                                }
-                            } catch (Exception getJavaPathException) {
-                                if (debugLogging) {
-                                    System.out.println("getJavaPathException: " + getJavaPathException);
-                                }
+                        } catch (Exception getWindowsJavaPathException) {
+                            if (debugLogging) {
+                                System.out.println("getWindowsJavaPathException: " + getWindowsJavaPathException);
                             }
+                        }
 
-                            if (javaPath.isEmpty() || !new File(javaPath).exists() || !new File(javaPath).canExecute()) {
-                                javaPath = "/usr/bin/java";
+                        if (probedJavaPath.endsWith("java.exe") && new File(probedJavaPath.replace("java.exe", "javaw.exe")).exists()) {
+                            probedJavaPath = probedJavaPath.replace("java.exe", "javaw.exe");
+                        }
+                    } else {
+                        try {
+                            probedJavaPath = ProcessHandle.current().info().command().orElse(""); // The executable of this process, which is the "java" binary that launched the jar.
+                        } catch (SecurityException getJavaPathException) {
+                            if (debugLogging) {
+                                System.out.println("getJavaPathException: " + getJavaPathException);
                             }
                         }
+
+                        if (probedJavaPath.isEmpty() || !new File(probedJavaPath).exists() || !new File(probedJavaPath).canExecute()) {
+                            probedJavaPath = "/usr/bin/java";
+                        }
                     }
 
-                    if (debugLogging) {
-                        System.out.println("launchPath: " + launchPath);
-                        System.out.println("javaPath: " + javaPath);
+                    if (!probedJavaPath.isEmpty() && new File(probedJavaPath).exists() && new File(probedJavaPath).canExecute()) {
+                        javaPath = probedJavaPath;
+
+                        if (probedJavaPathCacheKey != null) {
+                            LaunchCache.putReplacingPrefix("javaPath.", probedJavaPathCacheKey, probedJavaPath);
+                        }
                     }
-                } catch (URISyntaxException getLaunchPathException) {
+
                     if (debugLogging) {
-                        System.out.println("getLaunchPathException: " + getLaunchPathException);
+                        System.out.println("probed javaPath: " + javaPath);
                     }
-                }
 
-                return null;
-            }
+                    return null;
+                }
 
-            @Override
-            protected void done() {
-                if (!launchPath.isEmpty() && new File(launchPath).exists() && ((isMacOS && launchPath.endsWith(".app")) || (!javaPath.isEmpty() && new File(javaPath).exists() && new File(javaPath).canExecute()))) {
-                    uiScaleMenu.setEnabled(true);
-                    uiScaleMenu.setVisible(true);
+                @Override
+                protected void done() {
+                    updateUIScaleMenuAvailability();
                 }
-            }
-        }).execute();
+            }).execute();
+        }
+    }
+
+    private void updateUIScaleMenuAvailability() {
+        if (!launchPath.isEmpty() && new File(launchPath).exists() && ((isMacOS && launchPath.endsWith(".app")) || (!javaPath.isEmpty() && new File(javaPath).exists() && new File(javaPath).canExecute()))) {
+            uiScaleMenu.setEnabled(true);
+            uiScaleMenu.setVisible(true);
+        }
     }
 
     private void updateLockKeysState() {
@@ -786,6 +1215,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelNumPad3 = new javax.swing.JLabel();
         keyLabelNumPad0 = new javax.swing.JLabel();
         keyLabelNumPadDecimal = new javax.swing.JLabel();
+        internationalKeysPanel = new javax.swing.JPanel();
         mainMenuBar = new javax.swing.JMenuBar();
         optionsMenu = new javax.swing.JMenu();
         resetPressedKeysMenuItem = new javax.swing.JMenuItem();
@@ -834,6 +1264,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelEscape.setForeground(java.awt.Color.black);
         keyLabelEscape.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelEscape.setText("Esc");
+        keyLabelEscape.setName("Escape"); // NOI18N
         keyLabelEscape.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelEscape.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelEscape.setOpaque(true);
@@ -844,6 +1275,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF1.setForeground(java.awt.Color.black);
         keyLabelF1.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF1.setText("F1");
+        keyLabelF1.setName("F1"); // NOI18N
         keyLabelF1.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF1.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF1.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -855,6 +1287,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF2.setForeground(java.awt.Color.black);
         keyLabelF2.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF2.setText("F2");
+        keyLabelF2.setName("F2"); // NOI18N
         keyLabelF2.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF2.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF2.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -866,6 +1299,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF3.setForeground(java.awt.Color.black);
         keyLabelF3.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF3.setText("F3");
+        keyLabelF3.setName("F3"); // NOI18N
         keyLabelF3.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF3.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF3.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -877,6 +1311,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF4.setForeground(java.awt.Color.black);
         keyLabelF4.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF4.setText("F4");
+        keyLabelF4.setName("F4"); // NOI18N
         keyLabelF4.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF4.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF4.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -888,6 +1323,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF5.setForeground(java.awt.Color.black);
         keyLabelF5.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF5.setText("F5");
+        keyLabelF5.setName("F5"); // NOI18N
         keyLabelF5.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF5.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF5.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -899,6 +1335,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF6.setForeground(java.awt.Color.black);
         keyLabelF6.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF6.setText("F6");
+        keyLabelF6.setName("F6"); // NOI18N
         keyLabelF6.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF6.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF6.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -910,6 +1347,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF7.setForeground(java.awt.Color.black);
         keyLabelF7.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF7.setText("F7");
+        keyLabelF7.setName("F7"); // NOI18N
         keyLabelF7.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF7.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF7.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -921,6 +1359,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF8.setForeground(java.awt.Color.black);
         keyLabelF8.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF8.setText("F8");
+        keyLabelF8.setName("F8"); // NOI18N
         keyLabelF8.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF8.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF8.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -932,6 +1371,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF9.setForeground(java.awt.Color.black);
         keyLabelF9.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF9.setText("F9");
+        keyLabelF9.setName("F9"); // NOI18N
         keyLabelF9.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF9.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF9.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -943,6 +1383,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF10.setForeground(java.awt.Color.black);
         keyLabelF10.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF10.setText("F10");
+        keyLabelF10.setName("F10"); // NOI18N
         keyLabelF10.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF10.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF10.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -954,6 +1395,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF11.setForeground(java.awt.Color.black);
         keyLabelF11.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF11.setText("F11");
+        keyLabelF11.setName("F11"); // NOI18N
         keyLabelF11.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF11.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF11.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -965,6 +1407,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelF12.setForeground(java.awt.Color.black);
         keyLabelF12.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelF12.setText("F12");
+        keyLabelF12.setName("F12"); // NOI18N
         keyLabelF12.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelF12.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
         keyLabelF12.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -976,6 +1419,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelBackQuote.setForeground(java.awt.Color.black);
         keyLabelBackQuote.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelBackQuote.setText("`");
+        keyLabelBackQuote.setName("BackQuote"); // NOI18N
         keyLabelBackQuote.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelBackQuote.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelBackQuote.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -987,6 +1431,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabel1.setForeground(java.awt.Color.black);
         keyLabel1.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabel1.setText("1");
+        keyLabel1.setName("1"); // NOI18N
         keyLabel1.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabel1.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabel1.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -998,6 +1443,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabel2.setForeground(java.awt.Color.black);
         keyLabel2.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabel2.setText("2");
+        keyLabel2.setName("2"); // NOI18N
         keyLabel2.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabel2.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabel2.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1009,6 +1455,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabel3.setForeground(java.awt.Color.black);
         keyLabel3.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabel3.setText("3");
+        keyLabel3.setName("3"); // NOI18N
         keyLabel3.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabel3.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabel3.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1020,6 +1467,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabel4.setForeground(java.awt.Color.black);
         keyLabel4.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabel4.setText("4");
+        keyLabel4.setName("4"); // NOI18N
         keyLabel4.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabel4.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabel4.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1031,6 +1479,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabel5.setForeground(java.awt.Color.black);
         keyLabel5.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabel5.setText("5");
+        keyLabel5.setName("5"); // NOI18N
         keyLabel5.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabel5.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabel5.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1042,6 +1491,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabel6.setForeground(java.awt.Color.black);
         keyLabel6.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabel6.setText("6");
+        keyLabel6.setName("6"); // NOI18N
         keyLabel6.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabel6.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabel6.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1053,6 +1503,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabel7.setForeground(java.awt.Color.black);
         keyLabel7.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabel7.setText("7");
+        keyLabel7.setName("7"); // NOI18N
         keyLabel7.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabel7.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabel7.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1064,6 +1515,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabel8.setForeground(java.awt.Color.black);
         keyLabel8.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabel8.setText("8");
+        keyLabel8.setName("8"); // NOI18N
         keyLabel8.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabel8.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabel8.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1075,6 +1527,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabel9.setForeground(java.awt.Color.black);
         keyLabel9.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabel9.setText("9");
+        keyLabel9.setName("9"); // NOI18N
         keyLabel9.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabel9.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabel9.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1086,6 +1539,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabel0.setForeground(java.awt.Color.black);
         keyLabel0.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabel0.setText("0");
+        keyLabel0.setName("0"); // NOI18N
         keyLabel0.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabel0.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabel0.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1097,6 +1551,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelMinus.setForeground(java.awt.Color.black);
         keyLabelMinus.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelMinus.setText("-");
+        keyLabelMinus.setName("Minus"); // NOI18N
         keyLabelMinus.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelMinus.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelMinus.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1108,6 +1563,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelEquals.setForeground(java.awt.Color.black);
         keyLabelEquals.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelEquals.setText("=");
+        keyLabelEquals.setName("Equals"); // NOI18N
         keyLabelEquals.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelEquals.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelEquals.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1119,6 +1575,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelBackspace.setForeground(java.awt.Color.black);
         keyLabelBackspace.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelBackspace.setText("Backspace");
+        keyLabelBackspace.setName("Backspace"); // NOI18N
         keyLabelBackspace.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelBackspace.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelBackspace.setOpaque(true);
@@ -1129,6 +1586,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelTab.setForeground(java.awt.Color.black);
         keyLabelTab.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelTab.setText("Tab");
+        keyLabelTab.setName("Tab"); // NOI18N
         keyLabelTab.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelTab.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelTab.setOpaque(true);
@@ -1139,6 +1597,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelQ.setForeground(java.awt.Color.black);
         keyLabelQ.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelQ.setText("Q");
+        keyLabelQ.setName("Q"); // NOI18N
         keyLabelQ.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelQ.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelQ.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1150,6 +1609,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelW.setForeground(java.awt.Color.black);
         keyLabelW.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelW.setText("W");
+        keyLabelW.setName("W"); // NOI18N
         keyLabelW.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelW.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelW.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1161,6 +1621,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelE.setForeground(java.awt.Color.black);
         keyLabelE.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelE.setText("E");
+        keyLabelE.setName("E"); // NOI18N
         keyLabelE.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelE.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelE.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1172,6 +1633,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelR.setForeground(java.awt.Color.black);
         keyLabelR.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelR.setText("R");
+        keyLabelR.setName("R"); // NOI18N
         keyLabelR.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelR.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelR.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1183,6 +1645,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelT.setForeground(java.awt.Color.black);
         keyLabelT.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelT.setText("T");
+        keyLabelT.setName("T"); // NOI18N
         keyLabelT.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelT.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelT.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1194,6 +1657,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelY.setForeground(java.awt.Color.black);
         keyLabelY.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelY.setText("Y");
+        keyLabelY.setName("Y"); // NOI18N
         keyLabelY.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelY.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelY.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1205,6 +1669,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelU.setForeground(java.awt.Color.black);
         keyLabelU.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelU.setText("U");
+        keyLabelU.setName("U"); // NOI18N
         keyLabelU.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelU.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelU.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1216,6 +1681,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelI.setForeground(java.awt.Color.black);
         keyLabelI.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelI.setText("I");
+        keyLabelI.setName("I"); // NOI18N
         keyLabelI.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelI.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelI.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1227,6 +1693,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelO.setForeground(java.awt.Color.black);
         keyLabelO.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelO.setText("O");
+        keyLabelO.setName("O"); // NOI18N
         keyLabelO.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelO.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelO.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1238,6 +1705,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelP.setForeground(java.awt.Color.black);
         keyLabelP.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelP.setText("P");
+        keyLabelP.setName("P"); // NOI18N
         keyLabelP.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelP.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelP.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1249,6 +1717,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelOpenBracket.setForeground(java.awt.Color.black);
         keyLabelOpenBracket.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelOpenBracket.setText("[");
+        keyLabelOpenBracket.setName("OpenBracket"); // NOI18N
         keyLabelOpenBracket.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelOpenBracket.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelOpenBracket.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1260,6 +1729,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelCloseBracket.setForeground(java.awt.Color.black);
         keyLabelCloseBracket.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelCloseBracket.setText("]");
+        keyLabelCloseBracket.setName("CloseBracket"); // NOI18N
         keyLabelCloseBracket.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
         keyLabelCloseBracket.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
         keyLabelCloseBracket.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1271,6 +1741,7 @@ public class KeyboardTest extends javax.swing.JFrame {
         keyLabelBackSlash.setForeground(java.awt.Color.black);
         keyLabelBackSlash.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
         keyLabelBackSlash.setText("\\");
+        keyLabelBackSlash.setName("BackSlash"); // NOI18N
             keyLabelBackSlash.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelBackSlash.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelBackSlash.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1282,6 +1753,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelCapsLock.setForeground(java.awt.Color.black);
             keyLabelCapsLock.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelCapsLock.setText("Caps Lock");
+            keyLabelCapsLock.setName("CapsLock"); // NOI18N
             keyLabelCapsLock.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelCapsLock.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelCapsLock.setOpaque(true);
@@ -1292,6 +1764,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelA.setForeground(java.awt.Color.black);
             keyLabelA.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelA.setText("A");
+            keyLabelA.setName("A"); // NOI18N
             keyLabelA.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelA.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelA.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1303,6 +1776,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelS.setForeground(java.awt.Color.black);
             keyLabelS.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelS.setText("S");
+            keyLabelS.setName("S"); // NOI18N
             keyLabelS.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelS.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelS.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1314,6 +1788,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelD.setForeground(java.awt.Color.black);
             keyLabelD.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelD.setText("D");
+            keyLabelD.setName("D"); // NOI18N
             keyLabelD.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelD.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelD.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1325,6 +1800,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelF.setForeground(java.awt.Color.black);
             keyLabelF.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelF.setText("F");
+            keyLabelF.setName("F"); // NOI18N
             keyLabelF.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelF.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelF.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1336,6 +1812,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelG.setForeground(java.awt.Color.black);
             keyLabelG.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelG.setText("G");
+            keyLabelG.setName("G"); // NOI18N
             keyLabelG.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelG.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelG.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1347,6 +1824,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelH.setForeground(java.awt.Color.black);
             keyLabelH.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelH.setText("H");
+            keyLabelH.setName("H"); // NOI18N
             keyLabelH.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelH.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelH.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1358,6 +1836,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelJ.setForeground(java.awt.Color.black);
             keyLabelJ.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelJ.setText("J");
+            keyLabelJ.setName("J"); // NOI18N
             keyLabelJ.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelJ.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelJ.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1369,6 +1848,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelK.setForeground(java.awt.Color.black);
             keyLabelK.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelK.setText("K");
+            keyLabelK.setName("K"); // NOI18N
             keyLabelK.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelK.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelK.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1380,6 +1860,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelL.setForeground(java.awt.Color.black);
             keyLabelL.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelL.setText("L");
+            keyLabelL.setName("L"); // NOI18N
             keyLabelL.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelL.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelL.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1391,6 +1872,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelSemicolon.setForeground(java.awt.Color.black);
             keyLabelSemicolon.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelSemicolon.setText(";");
+            keyLabelSemicolon.setName("Semicolon"); // NOI18N
             keyLabelSemicolon.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelSemicolon.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelSemicolon.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1402,6 +1884,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelQuote.setForeground(java.awt.Color.black);
             keyLabelQuote.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelQuote.setText("'");
+            keyLabelQuote.setName("Quote"); // NOI18N
             keyLabelQuote.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelQuote.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelQuote.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1413,6 +1896,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelEnter.setForeground(java.awt.Color.black);
             keyLabelEnter.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelEnter.setText("Enter");
+            keyLabelEnter.setName("Enter"); // NOI18N
             keyLabelEnter.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelEnter.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelEnter.setOpaque(true);
@@ -1423,6 +1907,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelLeftShift.setForeground(java.awt.Color.black);
             keyLabelLeftShift.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelLeftShift.setText("Shift");
+            keyLabelLeftShift.setName("LeftShift"); // NOI18N
             keyLabelLeftShift.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelLeftShift.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelLeftShift.setOpaque(true);
@@ -1433,6 +1918,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelZ.setForeground(java.awt.Color.black);
             keyLabelZ.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelZ.setText("Z");
+            keyLabelZ.setName("Z"); // NOI18N
             keyLabelZ.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelZ.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelZ.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1444,6 +1930,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelX.setForeground(java.awt.Color.black);
             keyLabelX.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelX.setText("X");
+            keyLabelX.setName("X"); // NOI18N
             keyLabelX.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelX.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelX.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1455,6 +1942,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelC.setForeground(java.awt.Color.black);
             keyLabelC.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelC.setText("C");
+            keyLabelC.setName("C"); // NOI18N
             keyLabelC.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelC.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelC.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1466,6 +1954,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelV.setForeground(java.awt.Color.black);
             keyLabelV.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelV.setText("V");
+            keyLabelV.setName("V"); // NOI18N
             keyLabelV.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelV.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelV.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1477,6 +1966,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelB.setForeground(java.awt.Color.black);
             keyLabelB.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelB.setText("B");
+            keyLabelB.setName("B"); // NOI18N
             keyLabelB.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelB.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelB.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1488,6 +1978,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelN.setForeground(java.awt.Color.black);
             keyLabelN.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelN.setText("N");
+            keyLabelN.setName("N"); // NOI18N
             keyLabelN.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelN.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelN.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1499,6 +1990,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelM.setForeground(java.awt.Color.black);
             keyLabelM.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelM.setText("M");
+            keyLabelM.setName("M"); // NOI18N
             keyLabelM.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelM.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelM.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1510,6 +2002,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelComma.setForeground(java.awt.Color.black);
             keyLabelComma.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelComma.setText(",");
+            keyLabelComma.setName("Comma"); // NOI18N
             keyLabelComma.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelComma.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelComma.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1521,6 +2014,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelPeriod.setForeground(java.awt.Color.black);
             keyLabelPeriod.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelPeriod.setText(".");
+            keyLabelPeriod.setName("Period"); // NOI18N
             keyLabelPeriod.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelPeriod.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelPeriod.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1532,6 +2026,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelSlash.setForeground(java.awt.Color.black);
             keyLabelSlash.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelSlash.setText("/");
+            keyLabelSlash.setName("Slash"); // NOI18N
             keyLabelSlash.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelSlash.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelSlash.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1543,6 +2038,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelRightShift.setForeground(java.awt.Color.black);
             keyLabelRightShift.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelRightShift.setText("Shift");
+            keyLabelRightShift.setName("RightShift"); // NOI18N
             keyLabelRightShift.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelRightShift.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelRightShift.setOpaque(true);
@@ -1553,6 +2049,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelLeftControl.setForeground(java.awt.Color.black);
             keyLabelLeftControl.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelLeftControl.setText("Ctrl");
+            keyLabelLeftControl.setName("LeftControl"); // NOI18N
             keyLabelLeftControl.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelLeftControl.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelLeftControl.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1564,6 +2061,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelLeftStart.setForeground(java.awt.Color.black);
             keyLabelLeftStart.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelLeftStart.setText("Start");
+            keyLabelLeftStart.setName("LeftStart"); // NOI18N
             keyLabelLeftStart.setToolTipText("");
             keyLabelLeftStart.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelLeftStart.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -1576,6 +2074,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelLeftAlt.setForeground(java.awt.Color.black);
             keyLabelLeftAlt.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelLeftAlt.setText("Alt");
+            keyLabelLeftAlt.setName("LeftAlt"); // NOI18N
             keyLabelLeftAlt.setToolTipText("");
             keyLabelLeftAlt.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelLeftAlt.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1588,6 +2087,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelLeftCommand.setForeground(java.awt.Color.black);
             keyLabelLeftCommand.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelLeftCommand.setText("command");
+            keyLabelLeftCommand.setName("LeftCommand"); // NOI18N
             keyLabelLeftCommand.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelLeftCommand.setMaximumSize(new java.awt.Dimension(UIScale.scale(75), UIScale.scale(40)));
             keyLabelLeftCommand.setMinimumSize(new java.awt.Dimension(UIScale.scale(75), UIScale.scale(40)));
@@ -1599,6 +2099,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelSpace.setForeground(java.awt.Color.black);
             keyLabelSpace.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelSpace.setText("Space");
+            keyLabelSpace.setName("Space"); // NOI18N
             keyLabelSpace.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelSpace.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelSpace.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1610,6 +2111,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelRightCommand.setForeground(java.awt.Color.black);
             keyLabelRightCommand.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelRightCommand.setText("command");
+            keyLabelRightCommand.setName("RightCommand"); // NOI18N
             keyLabelRightCommand.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelRightCommand.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelRightCommand.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1621,6 +2123,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelRightAlt.setForeground(java.awt.Color.black);
             keyLabelRightAlt.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelRightAlt.setText("Alt");
+            keyLabelRightAlt.setName("RightAlt"); // NOI18N
             keyLabelRightAlt.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelRightAlt.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelRightAlt.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1632,6 +2135,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelRightStart.setForeground(java.awt.Color.black);
             keyLabelRightStart.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelRightStart.setText("Start");
+            keyLabelRightStart.setName("RightStart"); // NOI18N
             keyLabelRightStart.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelRightStart.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelRightStart.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1643,6 +2147,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelMenu.setForeground(java.awt.Color.black);
             keyLabelMenu.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelMenu.setText("Menu");
+            keyLabelMenu.setName("Menu"); // NOI18N
             keyLabelMenu.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelMenu.setMaximumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
             keyLabelMenu.setMinimumSize(new java.awt.Dimension(UIScale.scale(45), UIScale.scale(40)));
@@ -1654,6 +2159,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelRightControl.setForeground(java.awt.Color.black);
             keyLabelRightControl.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelRightControl.setText("Ctrl");
+            keyLabelRightControl.setName("RightControl"); // NOI18N
             keyLabelRightControl.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelRightControl.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelRightControl.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1931,6 +2437,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelPrintScreen.setForeground(java.awt.Color.black);
             keyLabelPrintScreen.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelPrintScreen.setText("<html><center>Print<br/>Scrn</center></html>");
+            keyLabelPrintScreen.setName("PrintScreen"); // NOI18N
             keyLabelPrintScreen.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelPrintScreen.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelPrintScreen.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1942,6 +2449,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelScrollLock.setForeground(java.awt.Color.black);
             keyLabelScrollLock.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelScrollLock.setText("<html><center>Scroll<br/>Lock</center></html>");
+            keyLabelScrollLock.setName("ScrollLock"); // NOI18N
             keyLabelScrollLock.setToolTipText("");
             keyLabelScrollLock.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelScrollLock.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -1954,6 +2462,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelPause.setForeground(java.awt.Color.black);
             keyLabelPause.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelPause.setText("Pause");
+            keyLabelPause.setName("Pause"); // NOI18N
             keyLabelPause.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelPause.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelPause.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2016,6 +2525,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelInsert.setForeground(java.awt.Color.black);
             keyLabelInsert.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelInsert.setText("Ins");
+            keyLabelInsert.setName("Insert"); // NOI18N
             keyLabelInsert.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelInsert.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelInsert.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2027,6 +2537,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelHome.setForeground(java.awt.Color.black);
             keyLabelHome.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelHome.setText("Home");
+            keyLabelHome.setName("Home"); // NOI18N
             keyLabelHome.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelHome.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelHome.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2038,6 +2549,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelPageUp.setForeground(java.awt.Color.black);
             keyLabelPageUp.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelPageUp.setText("<html><center>Page<br/>Up</center></html>");
+            keyLabelPageUp.setName("PageUp"); // NOI18N
             keyLabelPageUp.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelPageUp.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelPageUp.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2049,6 +2561,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelDelete.setForeground(java.awt.Color.black);
             keyLabelDelete.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelDelete.setText("Del");
+            keyLabelDelete.setName("Delete"); // NOI18N
             keyLabelDelete.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelDelete.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelDelete.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2060,6 +2573,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelEnd.setForeground(java.awt.Color.black);
             keyLabelEnd.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelEnd.setText("End");
+            keyLabelEnd.setName("End"); // NOI18N
             keyLabelEnd.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelEnd.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelEnd.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2071,6 +2585,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelPageDown.setForeground(java.awt.Color.black);
             keyLabelPageDown.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelPageDown.setText("<html><center>Page<br/>Down</center></html>");
+            keyLabelPageDown.setName("PageDown"); // NOI18N
             keyLabelPageDown.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelPageDown.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelPageDown.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2119,6 +2634,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelArrowUp.setForeground(java.awt.Color.black);
             keyLabelArrowUp.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelArrowUp.setText("↑");
+            keyLabelArrowUp.setName("ArrowUp"); // NOI18N
             keyLabelArrowUp.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelArrowUp.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelArrowUp.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2145,6 +2661,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelArrowLeft.setForeground(java.awt.Color.black);
             keyLabelArrowLeft.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelArrowLeft.setText("←");
+            keyLabelArrowLeft.setName("ArrowLeft"); // NOI18N
             keyLabelArrowLeft.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelArrowLeft.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelArrowLeft.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2156,6 +2673,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelArrowDown.setForeground(java.awt.Color.black);
             keyLabelArrowDown.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelArrowDown.setText("↓");
+            keyLabelArrowDown.setName("ArrowDown"); // NOI18N
             keyLabelArrowDown.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelArrowDown.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelArrowDown.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2167,6 +2685,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelArrowRight.setForeground(java.awt.Color.black);
             keyLabelArrowRight.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelArrowRight.setText("→");
+            keyLabelArrowRight.setName("ArrowRight"); // NOI18N
             keyLabelArrowRight.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelArrowRight.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelArrowRight.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2213,6 +2732,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPadNumLock.setForeground(java.awt.Color.black);
             keyLabelNumPadNumLock.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPadNumLock.setText("<html><center>Num<br/>Lock</center></html>");
+            keyLabelNumPadNumLock.setName("NumPadNumLock"); // NOI18N
             keyLabelNumPadNumLock.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPadNumLock.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPadNumLock.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2224,6 +2744,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPadEquals.setForeground(java.awt.Color.black);
             keyLabelNumPadEquals.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPadEquals.setText("=");
+            keyLabelNumPadEquals.setName("NumPadEquals"); // NOI18N
             keyLabelNumPadEquals.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPadEquals.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPadEquals.setMinimumSize(new java.awt.Dimension(UIScale.scale(20), UIScale.scale(40)));
@@ -2235,6 +2756,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPadDivide.setForeground(java.awt.Color.black);
             keyLabelNumPadDivide.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPadDivide.setText("/");
+            keyLabelNumPadDivide.setName("NumPadDivide"); // NOI18N
             keyLabelNumPadDivide.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPadDivide.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPadDivide.setMinimumSize(new java.awt.Dimension(UIScale.scale(20), UIScale.scale(40)));
@@ -2246,6 +2768,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPadMultiply.setForeground(java.awt.Color.black);
             keyLabelNumPadMultiply.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPadMultiply.setText("*");
+            keyLabelNumPadMultiply.setName("NumPadMultiply"); // NOI18N
             keyLabelNumPadMultiply.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPadMultiply.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPadMultiply.setMinimumSize(new java.awt.Dimension(UIScale.scale(20), UIScale.scale(40)));
@@ -2257,6 +2780,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPadSubtract.setForeground(java.awt.Color.black);
             keyLabelNumPadSubtract.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPadSubtract.setText("-");
+            keyLabelNumPadSubtract.setName("NumPadSubtract"); // NOI18N
             keyLabelNumPadSubtract.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPadSubtract.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPadSubtract.setMinimumSize(new java.awt.Dimension(UIScale.scale(20), UIScale.scale(40)));
@@ -2268,6 +2792,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPadMacSubtract.setForeground(java.awt.Color.black);
             keyLabelNumPadMacSubtract.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPadMacSubtract.setText("-");
+            keyLabelNumPadMacSubtract.setName("NumPadMacSubtract"); // NOI18N
             keyLabelNumPadMacSubtract.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPadMacSubtract.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPadMacSubtract.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2279,6 +2804,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPadAdd.setForeground(java.awt.Color.black);
             keyLabelNumPadAdd.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPadAdd.setText("+");
+            keyLabelNumPadAdd.setName("NumPadAdd"); // NOI18N
             keyLabelNumPadAdd.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPadAdd.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPadAdd.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2290,6 +2816,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPadEnter.setForeground(java.awt.Color.black);
             keyLabelNumPadEnter.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPadEnter.setText("Enter");
+            keyLabelNumPadEnter.setName("NumPadEnter"); // NOI18N
             keyLabelNumPadEnter.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPadEnter.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(80) + 6));
             keyLabelNumPadEnter.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(80) + 6));
@@ -2301,6 +2828,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPad7.setForeground(java.awt.Color.black);
             keyLabelNumPad7.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPad7.setText("7");
+            keyLabelNumPad7.setName("NumPad7"); // NOI18N
             keyLabelNumPad7.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPad7.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPad7.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2312,6 +2840,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPad8.setForeground(java.awt.Color.black);
             keyLabelNumPad8.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPad8.setText("8");
+            keyLabelNumPad8.setName("NumPad8"); // NOI18N
             keyLabelNumPad8.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPad8.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPad8.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2323,6 +2852,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPad9.setForeground(java.awt.Color.black);
             keyLabelNumPad9.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPad9.setText("9");
+            keyLabelNumPad9.setName("NumPad9"); // NOI18N
             keyLabelNumPad9.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPad9.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPad9.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2334,6 +2864,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPad4.setForeground(java.awt.Color.black);
             keyLabelNumPad4.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPad4.setText("4");
+            keyLabelNumPad4.setName("NumPad4"); // NOI18N
             keyLabelNumPad4.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPad4.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPad4.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2345,6 +2876,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPad5.setForeground(java.awt.Color.black);
             keyLabelNumPad5.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPad5.setText("5");
+            keyLabelNumPad5.setName("NumPad5"); // NOI18N
             keyLabelNumPad5.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPad5.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPad5.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2356,6 +2888,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPad6.setForeground(java.awt.Color.black);
             keyLabelNumPad6.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPad6.setText("6");
+            keyLabelNumPad6.setName("NumPad6"); // NOI18N
             keyLabelNumPad6.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPad6.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPad6.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2367,6 +2900,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPad1.setForeground(java.awt.Color.black);
             keyLabelNumPad1.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPad1.setText("1");
+            keyLabelNumPad1.setName("NumPad1"); // NOI18N
             keyLabelNumPad1.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPad1.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPad1.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2378,6 +2912,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPad2.setForeground(java.awt.Color.black);
             keyLabelNumPad2.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPad2.setText("2");
+            keyLabelNumPad2.setName("NumPad2"); // NOI18N
             keyLabelNumPad2.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPad2.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPad2.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2389,6 +2924,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPad3.setForeground(java.awt.Color.black);
             keyLabelNumPad3.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPad3.setText("3");
+            keyLabelNumPad3.setName("NumPad3"); // NOI18N
             keyLabelNumPad3.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPad3.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPad3.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2400,6 +2936,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPad0.setForeground(java.awt.Color.black);
             keyLabelNumPad0.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPad0.setText("0");
+            keyLabelNumPad0.setName("NumPad0"); // NOI18N
             keyLabelNumPad0.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPad0.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPad0.setOpaque(true);
@@ -2410,6 +2947,7 @@ public class KeyboardTest extends javax.swing.JFrame {
             keyLabelNumPadDecimal.setForeground(java.awt.Color.black);
             keyLabelNumPadDecimal.setHorizontalAlignment(javax.swing.SwingConstants.CENTER);
             keyLabelNumPadDecimal.setText(".");
+            keyLabelNumPadDecimal.setName("NumPadDecimal"); // NOI18N
             keyLabelNumPadDecimal.setBorder(javax.swing.BorderFactory.createLineBorder(new java.awt.Color(153, 153, 153), UIScale.scale(2)));
             keyLabelNumPadDecimal.setMaximumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
             keyLabelNumPadDecimal.setMinimumSize(new java.awt.Dimension(UIScale.scale(40), UIScale.scale(40)));
@@ -2505,6 +3043,9 @@ public class KeyboardTest extends javax.swing.JFrame {
                             .addComponent(keyLabelNumPadEnter, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))))
             );
 
+            internationalKeysPanel.setFocusable(false);
+            internationalKeysPanel.setLayout(new java.awt.FlowLayout(java.awt.FlowLayout.LEFT, UIScale.scale(6), UIScale.scale(9)));
+
             javax.swing.GroupLayout contentPaneLayout = new javax.swing.GroupLayout(contentPane);
             contentPane.setLayout(contentPaneLayout);
             contentPaneLayout.setHorizontalGroup(
@@ -2522,7 +3063,8 @@ public class KeyboardTest extends javax.swing.JFrame {
                                         .addComponent(arrowKeysPanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
                                     .addGap(0, 0, Short.MAX_VALUE)
                                     .addComponent(numPadPanel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
-                                .addComponent(topOtherKeysAndLastKeyPressedPanel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))))
+                                .addComponent(topOtherKeysAndLastKeyPressedPanel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)))
+                        .addComponent(internationalKeysPanel, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
                     .addGap(UIScale.scale(18), UIScale.scale(18), UIScale.scale(18)))
             );
             contentPaneLayout.setVerticalGroup(
@@ -2542,6 +3084,7 @@ public class KeyboardTest extends javax.swing.JFrame {
                                     .addComponent(otherKeysPanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
                                     .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                                     .addComponent(arrowKeysPanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)))))
+                    .addComponent(internationalKeysPanel, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
                     .addGap(UIScale.scale(18), UIScale.scale(18), UIScale.scale(18)))
             );
 
@@ -2633,19 +3176,527 @@ public class KeyboardTest extends javax.swing.JFrame {
                     .addGap(0, 0, 0))
             );
 
-            pack();
-        }// </editor-fold>//GEN-END:initComponents
+            pack();
+        }// </editor-fold>//GEN-END:initComponents
+
+    private void onKeyPressed(java.awt.event.KeyEvent evt) {//GEN-FIRST:event_onKeyPressed
+        if (keyDeliveryLatency != null) {
+            long deliveryMicros = keyDeliveryLatency.awtKeyPressed(evt.getKeyCode(), evt.getKeyLocation()); // Before anything else so that only the OS and JVM are measured (and even when the key presses are handled from "--evdev" instead).
+            if (deliveryMicros != KeyDeliveryLatency.IS_AUTOREPEAT) {
+                stationMetrics.recordKeyDelivery(deliveryMicros);
+            }
+        }
+
+        if (evdevDeviceChannel != null) {
+            return; // Every key press is handled from the kernel events instead (see "startReadingEvdevKeyEvents()"), so handling the AWT key events too would count every key press twice.
+        }
+
+        long keyHandlingStartNanoTime = System.nanoTime();
+        stationMetrics.recordKeyEventDelay(System.currentTimeMillis() - evt.getWhen());
+
+        handleKeyPress(evt.getKeyCode(), evt.getKeyLocation(), evt.getModifiersEx(), getNumLockState(evt.getKeyLocation()));
+
+        stationMetrics.recordKeyHandling(System.nanoTime() - keyHandlingStartNanoTime);
+    }//GEN-LAST:event_onKeyPressed
+
+    private static boolean isSyntheticSession() {
+        // Stress tests, soak tests, and replays press keys that aren't from a real unit, so they're never snapshotted or exported as test results.
+        return ((System.getProperty("KeyboardTest.stressTest") != null) || (System.getProperty("KeyboardTest.soakTest") != null) || (System.getProperty("KeyboardTest.replayPath") != null));
+    }
+
+    private void exportTestResult(String endReason) {
+        // Nothing is exported if no keys were pressed since the last export (such as quitting right after resetting, or quitting after the completed test was already exported).
+        // The engine is only ever used on the EDT, so the result is snapshotted here and only the writing happens in the background.
+        long totalKeyPressCount = keyboardTestEngine.getTotalKeyPressCount();
+        if ((totalKeyPressCount != exportedTotalKeyPressCount) && !isSyntheticSession()) {
+            exportedTotalKeyPressCount = totalKeyPressCount;
+
+            KeyboardTestResult testResult = keyboardTestEngine.createResult(endReason);
+            stationMetrics.recordResult(testResult);
+            keyboardTestResultWriter.submit(testResult);
+
+            if (qaHelperConnection != null) {
+                qaHelperConnection.sendResult(testResult);
+            }
+        }
+    }
+
+    private void startQAHelperConnection(int port, String token) {
+        // Every callback from the connection is on its reader thread, so each command is handled on the EDT just like choosing the same thing from the menus.
+        qaHelperConnection = new QAHelperConnection(keyboardTestEngine, port, token, new QAHelperConnection.Listener() {
+            @Override
+            public void startTestRequested(String profileID) {
+                java.awt.EventQueue.invokeLater(() -> {
+                    resetPressedKeysMenuItemActionPerformed(null);
+
+                    if (profileID != null) {
+                        chooseKeyboardProfile(profileID);
+                    }
+                });
+            }
+
+            @Override
+            public void quitRequested() {
+                java.awt.EventQueue.invokeLater(() -> dispatchEvent(new WindowEvent(KeyboardTest.this, WindowEvent.WINDOW_CLOSING))); // The same as closing the window, which exports the test result.
+            }
+        });
+
+        keyboardTestEngine.addListener(qaHelperConnection);
+        qaHelperConnection.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> qaHelperConnection.waitForPendingMessages(2000)));
+    }
+
+    private void chooseKeyboardProfile(String profileID) {
+        // The same as choosing the profile from the "Keyboard Profile" menu (and "manual" chooses the first menu item, which never finishes automatically).
+        for (JRadioButtonMenuItem thisKeyboardProfileMenuItem : keyboardProfileMenuItems) {
+            if (profileID.equals("manual") ? (thisKeyboardProfileMenuItem == keyboardProfileMenuItems.get(0)) : profileID.equals(thisKeyboardProfileMenuItem.getActionCommand())) {
+                thisKeyboardProfileMenuItem.doClick();
+                return;
+            }
+        }
+
+        if (debugLogging) {
+            System.out.println("UNKNOWN KEYBOARD PROFILE: " + profileID);
+        }
+    }
+
+    private boolean startStandby() {
+        // Keep this window built but hidden until a launch with "--use-standby" asks for it, and hide and reset it instead of quitting when the test is done (see "KeyboardTestStandby").
+        keyboardTestStandby = new KeyboardTestStandby(new KeyboardTestStandby.Listener() {
+            @Override
+            public boolean showFreshTest(String profileID) {
+                if (isVisible()) {
+                    toFront(); // Launching again while a test is in progress shouldn't throw away that test.
+                    textArea.requestFocusInWindow();
+
+                    return false;
+                }
+
+                if (profileID != null) {
+                    chooseKeyboardProfile(profileID);
+                }
+
+                setVisible(true);
+                toFront();
+                textArea.requestFocusInWindow();
+                getRootPane().paintImmediately(getRootPane().getBounds()); // So the launch doesn't finish until the window has actually been drawn.
+
+                return true;
+            }
+
+            @Override
+            public void returnToStandby() {
+                returnKeyboardTestToStandby();
+            }
+
+            @Override
+            public void stopRequested() {
+                exportTestResult("quit");
+                System.exit(0);
+            }
+        });
+
+        try {
+            keyboardTestStandby.start();
+        } catch (IOException | SecurityException startStandbyException) {
+            keyboardTestStandby = null;
+            System.err.println("startStandbyException: " + startStandbyException);
+
+            return false;
+        }
+
+        setDefaultCloseOperation(javax.swing.WindowConstants.HIDE_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent windowEvent) {
+                returnKeyboardTestToStandby(); // The result was already exported by the other "windowClosing" listener.
+            }
+        });
+
+        startKeyHandlingWarmUp(); // The window won't be opened until the first launch, so warm up right away while waiting in standby.
+        StartupSplash.close(); // The window won't be displayed until the first launch, so the JVM would never close the splash screen.
+
+        if (debugLogging) {
+            System.out.println("Keyboard Test Is in Standby (launch with \"--use-standby\" to show it)");
+        }
+
+        return true;
+    }
+
+    private void deferSectionsForProgressiveReveal() {
+        // So that the window appears as soon as possible on slow computers, only the text area and the main keys are painted when the window is first displayed
+        // and the rest of the sections are revealed one at a time right after that (see "revealDeferredSections"). The deferred sections still take up their space
+        // in the layout while they are hidden so that the window is the right size and nothing moves around as they are revealed.
+        javax.swing.GroupLayout contentPaneLayout = (javax.swing.GroupLayout) contentPane.getLayout();
+        for (JPanel thisSectionPanel : new JPanel[]{topOtherKeysAndLastKeyPressedPanel, otherKeysPanel, arrowKeysPanel, numPadPanel, internationalKeysPanel}) {
+            if (thisSectionPanel.isVisible()) { // Sections that are hidden for this OS or keyboard profile stay hidden.
+                contentPaneLayout.setHonorsVisibility(thisSectionPanel, false);
+                thisSectionPanel.setVisible(false);
+                deferredSectionPanels.add(thisSectionPanel);
+            }
+        }
+    }
+
+    private void revealDeferredSections() {
+        // Reveal one deferred section each frame (about 60 frames per second) once the window has opened, so that each one is painted on its own.
+        if (deferredSectionPanels.isEmpty()) {
+            finishRevealingDeferredSections();
+            return;
+        }
+
+        deferredSectionRevealTimer = new Timer(16, (ActionEvent revealSectionEvent) -> {
+            JPanel nextSectionPanel = deferredSectionPanels.poll();
+            if (nextSectionPanel != null) { // Could already be revealed by "finishRevealingDeferredSections" if this event was already queued when it stopped this timer.
+                revealDeferredSection(nextSectionPanel);
+            }
+
+            if (deferredSectionPanels.isEmpty()) {
+                finishRevealingDeferredSections();
+            }
+        });
+        deferredSectionRevealTimer.start();
+    }
+
+    private void revealDeferredSection(JPanel sectionPanel) {
+        ((javax.swing.GroupLayout) contentPane.getLayout()).setHonorsVisibility(sectionPanel, null); // Back to the default so that the section can be hidden normally again (such as when toggling the Full Keyboard).
+        sectionPanel.setVisible(true);
+    }
+
+    private void finishRevealingDeferredSections() {
+        // Also called before anything that checks or changes which sections are visible (such as a key press), so that nothing ever sees a section that is only hidden until it's revealed.
+        if (deferredSectionRevealTimer != null) {
+            deferredSectionRevealTimer.stop();
+            deferredSectionRevealTimer = null;
+        }
+
+        while (!deferredSectionPanels.isEmpty()) {
+            revealDeferredSection(deferredSectionPanels.poll());
+        }
+
+        if (!didRevealEverySection) {
+            didRevealEverySection = true;
+            StartupTiming.mark("Every Section Revealed");
+            printStartupTimingReportIfComplete();
+        }
+    }
+
+    private void startKeyHandlingWarmUp() {
+        if ((keyHandlingWarmUp == null) && (System.getProperty("KeyboardTest.warmUp") != null)) {
+            keyHandlingWarmUp = new KeyHandlingWarmUp(keyboardLayout, currentOS, keyLabelEscape.getFont(), Integer.parseInt(System.getProperty("KeyboardTest.warmUp")));
+            keyHandlingWarmUp.start();
+        }
+    }
+
+    private void returnKeyboardTestToStandby() {
+        exportTestResult("quit");
+        setVisible(false);
+        resetPressedKeysMenuItemActionPerformed(null); // Since the window is hidden, every key is cleared at once instead of sweeping.
+    }
+
+    private void startSnapshottingTestProgress() {
+        // Restore the progress of a test that was interrupted by a relaunch, quit, or crash, and then keep the progress of the current test in the snapshot with each change (see "KeyboardTestProgressSnapshot").
+        try {
+            testProgressSnapshot = new KeyboardTestProgressSnapshot(KeyboardTestProgressSnapshot.getDefaultSnapshotFile(), keyboardTestEngine);
+
+            if (testProgressSnapshot.restore()) {
+                exportedTotalKeyPressCount = keyboardTestEngine.getTotalKeyPressCount(); // Quitting again without pressing any more keys shouldn't export the same result again.
+
+                if (!keyboardTestEngine.isProfileDetectionEnabled()) {
+                    didChooseKeyboardProfile = true; // So that the restored profile isn't replaced by the default profile (such as once "isMacLaptop" is determined).
+                    detectKeyboardProfileMenuItem.setSelected(false);
+                }
+
+                showRestoredKeyPresses();
+                restoredPressedKeyCount = keyboardTestEngine.getPressedKeyCount();
+
+                if (debugLogging) {
+                    System.out.println("Restored Test Progress: " + restoredPressedKeyCount + " Keys Pressed");
+                }
+            }
+
+            keyboardTestEngine.addListener(testProgressSnapshot);
+        } catch (IOException | SecurityException | UnsupportedOperationException startSnapshottingTestProgressException) {
+            testProgressSnapshot = null; // The test still works without snapshots, the progress just won't survive quitting.
+            System.err.println("startSnapshottingTestProgressException: " + startSnapshottingTestProgressException);
+        }
+    }
+
+    private void promptForRestoredTestProgress() {
+        // Restored progress can still be from the previous unit if it was quit (or crashed) without finishing the test and the next unit was started within a few minutes,
+        // so always make the restore obvious and easy to throw away. Resetting is the default since continuing a test for the wrong unit could pass keys that were never pressed on this one.
+        if (restoredPressedKeyCount == 0) {
+            return;
+        }
+
+        int pressedKeyCount = restoredPressedKeyCount;
+        restoredPressedKeyCount = 0;
+
+        if (keyboardTestEngine.getPressedKeyCount() != pressedKeyCount) {
+            return; // Keys were already pressed (or the test was already reset, such as by QA Helper), so the choice was already made.
+        }
+
+        String[] restoredTestProgressDialogButtons = new String[]{"Continue Test", "Reset Keyboard Test"};
+        int restoredTestProgressDialogReturn = JOptionPane.showOptionDialog(this, "<html>"
+                + "<b>Restored " + pressedKeyCount + " Pressed Key" + ((pressedKeyCount == 1) ? "" : "s") + " From an Unfinished Test</b><br/>"
+                + "<br/>"
+                + "<i>Keyboard Test</i> quit before every key was pressed, so the keys that were already pressed are still highlighted.<br/>"
+                + "<br/>"
+                + "<b style=\"color: #D83048;\">If this is not the same computer, reset the test.</b>"
+                + "</html>", "Restored Test Progress", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE, new ScaledImage("AppIcon", this).toImageIcon(), restoredTestProgressDialogButtons, restoredTestProgressDialogButtons[1]);
+
+        if ((restoredTestProgressDialogReturn != 0) && (keyboardTestEngine.getPressedKeyCount() == pressedKeyCount)) {
+            resetPressedKeysMenuItemActionPerformed(null); // Closing the dialog also resets, and the restored progress isn't exported again since it was marked as exported when it was restored.
+        }
+
+        textArea.requestFocusInWindow();
+    }
+
+    private void showRestoredKeyPresses() {
+        // Highlight every restored key Green right away (without the Orange flash of a new key press) and show any sections that pressing those keys would have shown.
+        boolean shouldShowFullKeyboard = false;
+        boolean didRevealSection = false;
+
+        for (KeyboardLayout.Key thisKey : keyboardLayout.getKeys()) {
+            JLabel thisKeyLabel = layoutKeyLabels[thisKey.index];
+            if ((thisKeyLabel == null) || !keyboardTestEngine.isKeyPressed(thisKey)) {
+                continue;
+            }
+
+            if ((thisKey.isFullKeyboardOnly(currentOS) && !thisKeyLabel.isVisible()) || (thisKey.section.isFullKeyboardOnly(currentOS) && !keySectionPanels.get(thisKey.section.name).isVisible())) {
+                shouldShowFullKeyboard = true;
+            }
+
+            if (thisKey.section.isRevealedOnPress() && !keySectionPanels.get(thisKey.section.name).isVisible()) {
+                keySectionPanels.get(thisKey.section.name).setVisible(true);
+                didRevealSection = true;
+            }
+
+            thisKeyLabel.setBorder(keyLabelGreenHighlightBorder);
+            thisKeyLabel.setBackground(keyLabelGreenHighlightBackgroundColor);
+            thisKeyLabel.setForeground(Color.WHITE);
+        }
+
+        if (shouldShowFullKeyboard) {
+            setFullKeyboardShown(true);
+        } else if (didRevealSection) {
+            pack();
+        }
+    }
+
+    private void startMeasuringKeyDeliveryLatency(String devicePath) {
+        // The device is read on its own thread with its own channel (even when also using "--evdev") so that every kernel key press is recorded as soon as the kernel sends it.
+        File device = (devicePath.isEmpty() ? LinuxEvdevInput.findKeyboardDevice() : new File(devicePath));
+        if (device == null) {
+            System.err.println("No Keyboard Device Found to Measure Key Delivery Latency From");
+            return;
+        }
+
+        try {
+            FileChannel deviceChannel = LinuxEvdevInput.open(device);
+            keyDeliveryLatency = new KeyDeliveryLatency();
+
+            LinuxEvdevInput.startReading(deviceChannel, device.getName(), new LinuxEvdevInput.Listener() {
+                @Override
+                public void keysPressed(List<LinuxEvdevInput.EvdevKeyPress> keyPresses) {
+                    for (LinuxEvdevInput.EvdevKeyPress thisKeyPress : keyPresses) {
+                        keyDeliveryLatency.kernelKeyPressed(thisKeyPress);
+                    }
+                }
+
+                @Override
+                public void readFailed(IOException readDeliveryLatencyDeviceException) {
+                    System.err.println("readDeliveryLatencyDeviceException: " + readDeliveryLatencyDeviceException); // Every AWT key press will just be counted as unmatched from now on.
+                }
+            });
+
+            // The generated key listener only handles key presses, so the key releases (which are only needed to tell autorepeats apart) get their own listener.
+            textArea.addKeyListener(new KeyAdapter() {
+                @Override
+                public void keyReleased(KeyEvent keyEvent) {
+                    keyDeliveryLatency.awtKeyReleased(keyEvent.getKeyCode(), keyEvent.getKeyLocation());
+                }
+            });
+
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.print(keyDeliveryLatency.getSummary())));
+
+            if (debugLogging) {
+                System.out.println("Measuring Key Delivery Latency From: " + device.getPath());
+            }
+        } catch (IOException | SecurityException openDeliveryLatencyDeviceException) {
+            keyDeliveryLatency = null;
+            System.err.println("openDeliveryLatencyDeviceException: " + openDeliveryLatencyDeviceException + " (Reading Keyboard Devices Requires Being Root or in the \"input\" Group)");
+        }
+    }
+
+    private void startReadingEvdevKeyEvents(String evdevDeviceName) {
+        LinuxEvdevInput.startReading(evdevDeviceChannel, evdevDeviceName, new LinuxEvdevInput.Listener() {
+            @Override
+            public void keysPressed(List<LinuxEvdevInput.EvdevKeyPress> keyPresses) {
+                // Every key press from one read is handled in one EDT task so that a burst of key presses (such as a key roll) only needs one trip to the EDT.
+                java.awt.EventQueue.invokeLater(() -> {
+                    for (LinuxEvdevInput.EvdevKeyPress thisKeyPress : keyPresses) {
+                        if (evdevDeviceChannel == null) {
+                            return; // Reading failed and AWT key events are being handled instead (see "readFailed()").
+                        }
+
+                        if (debugLogging && (thisKeyPress.keyCode == KeyEvent.VK_UNDEFINED)) {
+                            System.out.println("UNMAPPED KERNEL KEY CODE: " + thisKeyPress.evdevKeyCode); // Still handled just like an AWT key event with no key code so that it's listed as an unknown key.
+                        }
+
+                        long keyHandlingStartNanoTime = System.nanoTime();
+                        stationMetrics.recordKeyEventDelay(System.currentTimeMillis() - thisKeyPress.whenMillis);
+
+                        handleKeyPress(thisKeyPress.keyCode, thisKeyPress.keyLocation, 0, true); // NumPad keys from the kernel are always the NumPad keys no matter the Num Lock state.
+
+                        stationMetrics.recordKeyHandling(System.nanoTime() - keyHandlingStartNanoTime);
+                    }
+                });
+            }
+
+            @Override
+            public void readFailed(IOException readEvdevException) {
+                // Such as when the keyboard is unplugged, so go back to handling the AWT key events.
+                System.err.println("readEvdevException: " + readEvdevException + " (Using AWT Key Events Instead)");
+                java.awt.EventQueue.invokeLater(() -> useAWTKeyEventsInsteadOfEvdev());
+            }
+        });
+    }
+
+    private void useAWTKeyEventsInsteadOfEvdev() {
+        // The window was set up for the "linuxEvdev" OS, which shows and expects keys that AWT on Linux can't tell apart (such as the Right Start/Windows key),
+        // so the engine and the window must go back to the "linux" OS or a test that expects those keys could never finish.
+        evdevDeviceChannel = null;
+        currentOS = KeyboardLayout.OS_LINUX;
+        keyboardTestEngine.setOS(currentOS);
+
+        // Every key shown for "linux" is also shown for "linuxEvdev", so keys and sections only ever need to be hidden here.
+        for (KeyboardLayout.Section thisSection : keyboardLayout.getSections()) {
+            if (thisSection.isHidden(currentOS)) {
+                keySectionPanels.get(thisSection.name).setVisible(false);
+            }
+        }
+
+        for (KeyboardLayout.Key thisKey : keyboardLayout.getKeys()) {
+            if ((layoutKeyLabels[thisKey.index] != null) && thisKey.isHidden(currentOS)) {
+                layoutKeyLabels[thisKey.index].setVisible(false);
+            }
+        }
+
+        for (JRadioButtonMenuItem thisKeyboardProfileMenuItem : keyboardProfileMenuItems) {
+            KeyboardLayout.Profile thisProfile = keyboardLayout.getProfile(thisKeyboardProfileMenuItem.getActionCommand());
+            if (thisProfile != null) {
+                thisKeyboardProfileMenuItem.setText(thisProfile.name + " (" + keyboardLayout.getExpectedKeys(thisProfile, currentOS).cardinality() + " Keys)");
+            }
+        }
+    }
+
+    private void startRecordingKeyEvents(File recordingFile) {
+        try {
+            KeyEventRecorder keyEventRecorder = new KeyEventRecorder(recordingFile);
+
+            // Record every key press and release that the app sees (not only the ones that reach the "textArea") without consuming any of them.
+            KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher((KeyEvent keyEvent) -> {
+                if ((keyEvent.getID() == KeyEvent.KEY_PRESSED) || (keyEvent.getID() == KeyEvent.KEY_RELEASED)) {
+                    keyEventRecorder.record((keyEvent.getID() == KeyEvent.KEY_PRESSED), keyEvent.getKeyCode(), keyEvent.getKeyLocation(), keyEvent.getModifiersEx(),
+                            getNumLockState(keyEvent.getKeyLocation()), keyEvent.getWhen(), System.nanoTime());
+                }
+
+                return false;
+            });
+
+            Runtime.getRuntime().addShutdownHook(new Thread(keyEventRecorder::close));
+
+            if (debugLogging) {
+                System.out.println("Recording Key Events to: " + keyEventRecorder.getRecordingFile().getPath());
+            }
+        } catch (IOException | SecurityException startRecordingKeyEventsException) {
+            System.err.println("startRecordingKeyEventsException: " + startRecordingKeyEventsException);
+        }
+    }
+
+    private void replayRecording(File recordingFile, double replaySpeed) {
+        // Replay the key presses through "handleKeyPress" on the Event Dispatch Thread exactly like they were pressed (with the recorded Num Lock state),
+        // waiting for each key press to be handled before replaying the next one so that replaying as fast as possible also measures how fast key presses can be handled.
+        Thread replayThread = new Thread(() -> {
+            try {
+                KeyEventRecording recording = KeyEventRecording.read(recordingFile);
+                long replayStartNanoTime = System.nanoTime();
+                long handlingNanos = 0;
+                int replayedKeyPressCount = 0;
+
+                for (KeyEventRecording.Event thisEvent : recording.getEvents()) {
+                    if (thisEvent.isPress) {
+                        long waitNanos = (replayStartNanoTime + KeyEventRecording.getReplayNanoTime(thisEvent, replaySpeed) - System.nanoTime());
+                        if (waitNanos > 0) {
+                            TimeUnit.NANOSECONDS.sleep(waitNanos);
+                        }
+
+                        long[] thisHandlingNanos = new long[1];
+                        java.awt.EventQueue.invokeAndWait(() -> {
+                            long handleKeyPressStartNanoTime = System.nanoTime();
+                            handleKeyPress(thisEvent.keyCode, thisEvent.keyLocation, thisEvent.modifiersEx, thisEvent.isNumLockOn);
+                            thisHandlingNanos[0] = (System.nanoTime() - handleKeyPressStartNanoTime);
+                        });
+
+                        handlingNanos += thisHandlingNanos[0];
+                        replayedKeyPressCount++;
+                    }
+                }
+
+                if (debugLogging) {
+                    System.out.println("Replayed " + replayedKeyPressCount + " key presses from \"" + recordingFile.getName() + "\" in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - replayStartNanoTime) + " ms"
+                            + " (recorded in " + TimeUnit.NANOSECONDS.toMillis(recording.getDurationNanos()) + " ms) with an average of "
+                            + String.format("%.1f", ((replayedKeyPressCount == 0) ? 0 : ((handlingNanos / 1000.0) / replayedKeyPressCount))) + " microseconds to handle each key press.");
+                }
+            } catch (IOException | InterruptedException | java.lang.reflect.InvocationTargetException replayRecordingException) {
+                System.err.println("replayRecordingException: " + replayRecordingException);
+
+                java.awt.EventQueue.invokeLater(() -> {
+                    Toolkit.getDefaultToolkit().beep();
+                    JOptionPane.showMessageDialog(this, "<html><b>Failed to Replay Recording</b><br/><br/><i>" + replayRecordingException.getMessage() + "</i></html>", "Keyboard Test Error", JOptionPane.ERROR_MESSAGE);
+                });
+            }
+        }, "Key Event Replay");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    private boolean getNumLockState(int keyLocation) {
+        // The Num Lock state is only needed to translate NumPad keys (see "KeyboardTestEngine.translateNumPadKeyCode"), so don't bother checking it for any other keys.
+        boolean isNumLockOn = true;
+        if (!isMacOS && (keyLocation == KeyEvent.KEY_LOCATION_NUMPAD)) {
+            try {
+                isNumLockOn = Toolkit.getDefaultToolkit().getLockingKeyState(KeyEvent.VK_NUM_LOCK);
+            } catch (UnsupportedOperationException updateLockKeysStateException) {
+                if (debugLogging) {
+                    System.out.println("updateLockKeysStateException: " + updateLockKeysStateException);
+                }
+            }
+        }
+
+        return isNumLockOn;
+    }
+
+    private void handleKeyPress(int keyCode, int keyLocation, int modifiersEx, boolean isNumLockOn) {
+        // Key presses from the window and from replaying a recording (see "KeyEventRecording") are all handled here.
+        if (!deferredSectionPanels.isEmpty()) {
+            finishRevealingDeferredSections();
+        }
+
+        if ((keyHandlingWarmUp != null) && keyHandlingWarmUp.cancel() && StartupTiming.isReportEnabled()) { // Never let the warm-up compete with real key presses.
+            System.out.println("Key Handling Warm-Up: " + keyHandlingWarmUp.getWarmedUpKeyPressCount() + " of " + System.getProperty("KeyboardTest.warmUp") + " Key Presses Before the First Key Press");
+        }
 
-    private void onKeyPressed(java.awt.event.KeyEvent evt) {//GEN-FIRST:event_onKeyPressed
         if (textArea.getCaretColor().equals(Color.WHITE)) {
             textArea.setText("");
             textArea.setFont(new Font("Helvetica", 0, UIScale.scale(14)));
             textArea.setForeground(Color.BLACK);
             textArea.setCaretColor(Color.DARK_GRAY);
+        } else if (textArea.getDocument().getLength() > MAX_TEXT_AREA_LENGTH) {
+            // Burn-in stations leave the test open for hours, so only keep the most recently typed text instead of letting the text area grow forever.
+            textArea.replaceRange("", 0, (textArea.getDocument().getLength() - (MAX_TEXT_AREA_LENGTH / 2)));
         }
 
-        int keyCode = evt.getKeyCode();
-
         if ((keyCode == KeyEvent.VK_CAPS_LOCK) || (!isMacOS && ((keyCode == KeyEvent.VK_NUM_LOCK) || (keyCode == KeyEvent.VK_SCROLL_LOCK)))) {
             updateLockKeysState();
         } else if (!isMacOS && ((keyCode == KeyEvent.VK_ALT) || (keyCode == KeyEvent.VK_F10))) { // If Alt or F10 keys are pressed, it will highlight the menu bar and steal focus from the "textArea" and interrupt typing, so manually re-focus "textArea" after a half second delay.
@@ -2666,126 +3717,36 @@ public class KeyboardTest extends javax.swing.JFrame {
 
         if (debugLogging) {
             System.out.println("-----\n"
-                    + "keyLocation INT: " + evt.getKeyLocation());
-        }
-
-        String keyLocation = "";
-        switch (evt.getKeyLocation()) {
-            case KeyEvent.KEY_LOCATION_LEFT:
-                keyLocation = "Left";
-                break;
-            case KeyEvent.KEY_LOCATION_RIGHT:
-                keyLocation = "Right";
-                break;
-            case KeyEvent.KEY_LOCATION_NUMPAD:
-                keyLocation = "NumPad";
-        }
-
-        String keyCodeText = KeyEvent.getKeyText(keyCode);
-        if (keyCodeText.equals("Windows")) {
-            keyCodeText = "Start"; // Re-name "Windows" Key to "Start" Key for cross-platform consistency.
-        } else if (keyCodeText.startsWith("Unknown keyCode: ")) {
-            if (isMacOS && (keyCode == 0)) {
-                if (evt.getModifiersEx() != 0) { // On macOS, if two of the SAME modifiers are pressed at the same time, 0 key codes can be sent after the actual modifier key code was already sent. So, just ignore any 0 key codes if any modifiers are currently held down.
-                    return;
-                } else {
-                    keyCodeText = "fn"; // On Mac keyboards, pressing the "fn" key by itself sends a key code 0, so show it as the "fn" key (only when no modifiers are held down for reasons described above).
-                }
-            } else {
-                keyCodeText = keyCodeText.replace("Unknown keyCode: ", "UNKNOWN (") + ")";
-            }
-        } else if (isMacOS && keyCodeText.startsWith("⌨")) { // On Mac keyboards, the NumPad keys start with this Unicode Keyboard symbol for some reason.
-            keyCodeText = keyCodeText.replace("⌨", "NumPad");
+                    + "keyLocation INT: " + keyLocation);
         }
 
-        if (keyCodeText.startsWith("NumPad-")) { // NumPad Numbers show as "NumPad-1", etc. Get rid of the dash since I don't think it looks good.
-            keyCodeText = keyCodeText.replace("NumPad-", "NumPad ");
+        KeyboardTestEngine.KeyPress keyPress = handleKeyPressWithoutComponents(keyboardTestEngine, stationMetrics, keyCode, keyLocation, modifiersEx, isNumLockOn);
+        if (keyPress == null) {
+            return;
         }
 
-        if (!keyLocation.isEmpty() && !keyCodeText.startsWith(keyLocation)) { // Include the "keyLocation" in the "keyCodeText" for display (this also catches some NumPad keys that don't start with "NumPad ").
-            keyCodeText = keyLocation + " " + keyCodeText;
+        if (debugLogging && (keyPress.translatedKeyCode != keyCode)) {
+            System.out.println("ACTUAL NumPad keyCode: " + keyCode);
         }
 
-        lastKeyPressedLabel.setText("<html><center><i>Last Key Pressed:</i><br/><b>" + keyCodeText + "</b></center></html>");
+        lastKeyPressedLabel.setText(getLastKeyPressedText(keyPress.keyText));
         if (!lastKeyPressedLabel.getBackground().equals(Color.WHITE)) { // Reset "lastKeyPressedLabel" colors in case an unknown key was pressed last and the box is highlighted.
             lastKeyPressedLabel.setBorder(lastKeyPressedLabelBorder);
             lastKeyPressedLabel.setBackground(Color.WHITE);
             lastKeyPressedLabel.setForeground(Color.GRAY);
         }
 
-        if (!isMacOS) {
-            try {
-                if (keyLocation.equals("NumPad") && !Toolkit.getDefaultToolkit().getLockingKeyState(KeyEvent.VK_NUM_LOCK)) {
-                    if (debugLogging) {
-                        System.out.println("ACTUAL NumPad keyCode: " + keyCode);
-                    }
-
-                    switch (keyCode) { // Translate NumPad Navigation Keys to their regular NumPad Number Key equivalents to highlight the physical key being pressed regardless of whether or not Num Lock is enabled.
-                        case KeyEvent.VK_HOME:
-                            keyCode = KeyEvent.VK_NUMPAD7;
-                            break;
-                        case KeyEvent.VK_UP: // Key Code KV_UP (38) on Windows
-                        case KeyEvent.VK_KP_UP: // and KV_KP_UP (224) on Linux
-                            keyCode = KeyEvent.VK_NUMPAD8;
-                            break;
-                        case KeyEvent.VK_PAGE_UP:
-                            keyCode = KeyEvent.VK_NUMPAD9;
-                            break;
-                        case KeyEvent.VK_LEFT: // Key Code VK_LEFT (37) on Windows
-                        case KeyEvent.VK_KP_LEFT: // and VK_KP_LEFT (226) on Linux
-                            keyCode = KeyEvent.VK_NUMPAD4;
-                            break;
-                        case KeyEvent.VK_CLEAR: // Key Code VK_CLEAR (12) on Windows
-                        case KeyEvent.VK_BEGIN: // and VK_BEGIN (65368) on Linux
-                            // NOTE: This may conflict if a Mac keyboard is being tested on Windows since the "=" in the NumPad is recognized as "Clear" regardless of the Num Lock state,
-                            // so that means that when Num Lock is OFF the "5" could be highlighted when the physical NumPad "=" key is being pressed on a Mac keyboard in Windows.
-                            keyCode = KeyEvent.VK_NUMPAD5;
-                            break;
-                        case KeyEvent.VK_RIGHT: // Key Code VK_RIGHT (39) on Windows
-                        case KeyEvent.VK_KP_RIGHT: // and VK_KP_RIGHT (227) on Linux
-                            keyCode = KeyEvent.VK_NUMPAD6;
-                            break;
-                        case KeyEvent.VK_END:
-                            keyCode = KeyEvent.VK_NUMPAD1;
-                            break;
-                        case KeyEvent.VK_DOWN: // Key Code VK_DOWN (40) on Windows
-                        case KeyEvent.VK_KP_DOWN: // and VK_KP_DOWN (225) on Linux
-                            keyCode = KeyEvent.VK_NUMPAD2;
-                            break;
-                        case KeyEvent.VK_PAGE_DOWN:
-                            keyCode = KeyEvent.VK_NUMPAD3;
-                            break;
-                        case KeyEvent.VK_INSERT:
-                            keyCode = KeyEvent.VK_NUMPAD0;
-                            break;
-                        case KeyEvent.VK_DELETE:
-                            keyCode = KeyEvent.VK_DECIMAL;
-                            break;
-                    }
-                }
-            } catch (UnsupportedOperationException updateLockKeysStateException) {
-                if (debugLogging) {
-                    System.out.println("updateLockKeysStateException: " + updateLockKeysStateException);
-                }
-            }
-        }
-
-        String keyLabelKeyCodeName = "keyLabel" + keyLocation + keyCode;
-
-        if (debugLogging) {
-            System.out.println("keyLabelKeyCodeName: " + keyLabelKeyCodeName);
-        }
-
-        JLabel pressedKeyLabel = keyLabels.get(keyLabelKeyCodeName);
+        JLabel pressedKeyLabel = ((keyPress.key == null) ? null : layoutKeyLabels[keyPress.key.index]);
         if (pressedKeyLabel == null) {
             if (debugLogging) {
-                System.out.println("keyLabelKeyCodeName NOT FOUND: " + keyLabelKeyCodeName);
+                System.out.println("KEY NOT FOUND IN LAYOUT: " + keyPress.translatedKeyCode + " (" + keyPress.keyText + ")");
             }
 
             lastKeyPressedLabel.setBorder(keyLabelOrangeHighlightBorder);
             lastKeyPressedLabel.setBackground(Color.ORANGE);
             lastKeyPressedLabel.setForeground(Color.BLACK);
 
+            pendingKeyHighlightWorkerCount.incrementAndGet();
             (new SwingWorker<Void, Void>() {
                 @Override
                 protected Void doInBackground() throws Exception {
@@ -2796,6 +3757,8 @@ public class KeyboardTest extends javax.swing.JFrame {
 
                 @Override
                 protected void done() {
+                    pendingKeyHighlightWorkerCount.decrementAndGet();
+
                     if (lastKeyPressedLabel.getBackground().equals(Color.ORANGE)) { // If keyboard was reset, the button will no longer be Orange and the color should not be changed to Green after the delay.
                         lastKeyPressedLabel.setBorder(keyLabelGreenHighlightBorder);
                         lastKeyPressedLabel.setBackground(keyLabelGreenHighlightBackgroundColor);
@@ -2806,20 +3769,26 @@ public class KeyboardTest extends javax.swing.JFrame {
                 }
             }).execute();
         } else {
-            if ((!pressedKeyLabel.isVisible() && keyLocation.equals("Right"))
-                    || (!topOtherKeysPanel.isVisible() && ((keyCode == KeyEvent.VK_PRINTSCREEN) || (keyCode == KeyEvent.VK_SCROLL_LOCK) || (keyCode == KeyEvent.VK_PAUSE)))
-                    || (!otherKeysPanel.isVisible() && ((keyCode == KeyEvent.VK_INSERT) || (keyCode == KeyEvent.VK_HOME) || (keyCode == KeyEvent.VK_PAGE_UP) || (keyCode == KeyEvent.VK_DELETE) || (keyCode == KeyEvent.VK_END) || (keyCode == KeyEvent.VK_PAGE_DOWN)))
-                    || (!numPadPanel.isVisible() && keyLocation.equals("NumPad"))) {
-                toggleFullKeyboardMenuItemActionPerformed(null);
+            KeyboardLayout.Key pressedLayoutKey = keyPress.key;
+            if ((pressedLayoutKey.isFullKeyboardOnly(currentOS) && !pressedKeyLabel.isVisible())
+                    || (pressedLayoutKey.section.isFullKeyboardOnly(currentOS) && !keySectionPanels.get(pressedLayoutKey.section.name).isVisible())) {
+                setFullKeyboardShown(true); // Show the Full Keyboard layout if any key which is only shown on the Full Keyboard layout is pressed.
+            }
+
+            if (pressedLayoutKey.section.isRevealedOnPress() && !keySectionPanels.get(pressedLayoutKey.section.name).isVisible()) {
+                keySectionPanels.get(pressedLayoutKey.section.name).setVisible(true); // Show the extra keys on ISO and JIS keyboards as soon as any of them are pressed.
+                pack();
             }
 
+            isResetSweepPendingKey[pressedLayoutKey.index] = false; // Make sure an in-progress reset sweep doesn't clear this new highlight.
+
             pressedKeyLabel.setBorder(keyLabelOrangeHighlightBorder);
             pressedKeyLabel.setBackground(Color.ORANGE);
             pressedKeyLabel.setForeground(Color.BLACK);
 
             if ((pressedKeyLabel.getFont().getStyle() & Font.ITALIC) == 0) {
                 try {
-                    pressedKeyLabel.setFont(pressedKeyLabel.getFont().deriveFont(Font.BOLD));
+                    pressedKeyLabel.setFont(getKeyLabelFont(pressedKeyLabel.getFont(), true));
                 } catch (UnsupportedOperationException updateKeyLabelStyleException) {
                     if (debugLogging) {
                         System.out.println("updateKeyLabelStyleException: " + updateKeyLabelStyleException);
@@ -2827,6 +3796,7 @@ public class KeyboardTest extends javax.swing.JFrame {
                 }
             }
 
+            pendingKeyHighlightWorkerCount.incrementAndGet();
             (new SwingWorker<Void, Void>() {
                 @Override
                 protected Void doInBackground() throws Exception {
@@ -2837,6 +3807,8 @@ public class KeyboardTest extends javax.swing.JFrame {
 
                 @Override
                 protected void done() {
+                    pendingKeyHighlightWorkerCount.decrementAndGet();
+
                     if (pressedKeyLabel.getBackground().equals(Color.ORANGE)) { // If keyboard was reset, the button will no longer be Orange and the color should not be changed to Green after the delay.
                         pressedKeyLabel.setBorder(keyLabelGreenHighlightBorder);
                         pressedKeyLabel.setBackground(keyLabelGreenHighlightBackgroundColor);
@@ -2844,7 +3816,7 @@ public class KeyboardTest extends javax.swing.JFrame {
 
                         if ((pressedKeyLabel.getFont().getStyle() & Font.ITALIC) == 0) {
                             try {
-                                pressedKeyLabel.setFont(pressedKeyLabel.getFont().deriveFont(Font.PLAIN));
+                                pressedKeyLabel.setFont(getKeyLabelFont(pressedKeyLabel.getFont(), false));
                             } catch (UnsupportedOperationException updateKeyLabelStyleException) {
                                 if (debugLogging) {
                                     System.out.println("updateKeyLabelStyleException: " + updateKeyLabelStyleException);
@@ -2856,132 +3828,27 @@ public class KeyboardTest extends javax.swing.JFrame {
                     textArea.requestFocusInWindow();
                 }
             }).execute();
+        }
+    }
 
-            if (isMacLaptop && !didPressAllMacLaptopKeyboardKeys && !fullKeyboardHasBeenShown) { // Can only *know* if all keys have been pressed on Mac laptops since they are the only devices with consistent keyboards across all models.
-                int pressedKeyCount = 0;
-                for (JLabel thisKeyLabel : keyLabels.values()) {
-                    if (!thisKeyLabel.getBackground().equals(Color.WHITE)) {
-                        pressedKeyCount++;
-                    }
-                }
-
-                if (pressedKeyCount == 77) {
-                    didPressAllMacLaptopKeyboardKeys = true;
-
-                    JFrame keyboardTestWindow = this;
-                    (new SwingWorker<Void, Void>() {
-                        @Override
-                        protected Void doInBackground() throws Exception {
-                            TimeUnit.MILLISECONDS.sleep(400);
-
-                            return null;
-                        }
-
-                        @Override
-                        protected void done() {
-                            boolean isRunningFromQAHelper = false;
-                            ArrayList<String> launchNextMacTestBootAppDialogButtons = new ArrayList<>();
-                            try {
-                                String launchPath = new File(KeyboardTest.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
-                                if (launchPath.contains("/qa_helper-Keyboard_Test") && launchPath.endsWith(".jar")) {
-                                    isRunningFromQAHelper = true;
-                                } else if (launchPath.equals("/Applications/Keyboard Test.app/Contents/app/Keyboard_Test.jar") && new File("/Applications/Test Boot Setup.app").exists() && System.getProperty("user.name").equals("Tester")) {
-                                    if (new File("/Applications/CPU Stress Test.app").exists()) {
-                                        launchNextMacTestBootAppDialogButtons.add("Launch \"CPU Stress Test\"");
-                                    }
-                                    if (new File("/Applications/DriveDx.app").exists()) {
-                                        launchNextMacTestBootAppDialogButtons.add("Launch \"DriveDx\"");
-                                    }
-                                }
-                            } catch (URISyntaxException checkMacLaunchPathException) {
-                                if (debugLogging) {
-                                    System.out.println("checkMacLaunchPathException: " + checkMacLaunchPathException);
-                                }
-                            }
-
-                            // Make sure all pressed buttons are Green before the dialog is displayed so they aren't stuck as Orange while the dialog is displayed.
-                            for (JLabel thisKeyLabel : keyLabels.values()) {
-                                if (thisKeyLabel.getBackground().equals(Color.ORANGE)) {
-                                    thisKeyLabel.setBorder(keyLabelGreenHighlightBorder);
-                                    thisKeyLabel.setBackground(keyLabelGreenHighlightBackgroundColor);
-                                    thisKeyLabel.setForeground(Color.WHITE);
-                                }
-
-                                if ((thisKeyLabel.getFont().getStyle() & Font.ITALIC) == 0) {
-                                    try {
-                                        thisKeyLabel.setFont(thisKeyLabel.getFont().deriveFont(Font.PLAIN));
-                                    } catch (UnsupportedOperationException updateKeyLabelStyleException) {
-                                        if (debugLogging) {
-                                            System.out.println("updateKeyLabelStyleException: " + updateKeyLabelStyleException);
-                                        }
-                                    }
-                                }
-                            }
-
-                            if (lastKeyPressedLabel.getBackground().equals(Color.ORANGE)) {
-                                lastKeyPressedLabel.setBorder(keyLabelGreenHighlightBorder);
-                                lastKeyPressedLabel.setBackground(keyLabelGreenHighlightBackgroundColor);
-                                lastKeyPressedLabel.setForeground(Color.WHITE);
-                            }
-
-                            String[] everyKeyPressedDialogButtons = new String[]{(isRunningFromQAHelper ? "Quit & Return to \"QA Helper\"" : (launchNextMacTestBootAppDialogButtons.isEmpty() ? "Quit" : "Continue")), "Reset Keyboard Test"};
-                            int everyKeyPressedDialogReturn = JOptionPane.showOptionDialog(keyboardTestWindow, "<html>"
-                                    + "<b style=\"color: orange;\">Every Key Was Pressed!</b><br/>"
-                                    + "<br/><br/>"
-                                    + "<b style=\"color: green;\"><u>KEYBOARD TEST PASSED IF:</u></b><br/>"
-                                    + "- Every key functioned correctly.<br/>"
-                                    + "- No keys felt funky in any way.<br/>"
-                                    + "- No keys felt sticky or got stuck down.<br/>"
-                                    + "- No key caps are broken or missing.<br/>"
-                                    + "<br/><br/>"
-                                    + "<b style=\"color: #D83048;\"><u>KEYBOARD TEST FAILED IF:</u></b><br/>"
-                                    + "- Any key did not function correctly.<br/>"
-                                    + "- Any key triggered the wrong key.<br/>"
-                                    + "- Any key triggered multiple keys.<br/>"
-                                    + "- Any key felt funky in any way.<br/>"
-                                    + "- Any key felt sticky or got stuck down.<br/>"
-                                    + "- Any key caps are broken or missing."
-                                    + "</html>", "Finished Keyboard Test", JOptionPane.OK_CANCEL_OPTION, JOptionPane.INFORMATION_MESSAGE, new ScaledImage("AppIcon", keyboardTestWindow).toImageIcon(), everyKeyPressedDialogButtons, everyKeyPressedDialogButtons[0]);
-
-                            if (everyKeyPressedDialogReturn == 0) {
-                                if (isRunningFromQAHelper) {
-                                    try {
-                                        Runtime.getRuntime().exec(new String[]{"/usr/bin/open", "-b", "org.freegeek.QA-Helper"}).waitFor();
-                                    } catch (IOException | InterruptedException focusQAHelperException) {
-                                        if (debugLogging) {
-                                            System.out.println("focusQAHelperException: " + focusQAHelperException);
-                                        }
-                                    }
-                                } else if (!launchNextMacTestBootAppDialogButtons.isEmpty()) {
-                                    launchNextMacTestBootAppDialogButtons.add("Quit");
-                                    int launchNextMacTestBootAppDialogReturn = JOptionPane.showOptionDialog(keyboardTestWindow, "<html><b>What would you like to do next?</b></html>", "Finished Keyboard Test", JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, new ScaledImage("AppIcon", keyboardTestWindow).toImageIcon(32), launchNextMacTestBootAppDialogButtons.toArray(), launchNextMacTestBootAppDialogButtons.get(0));
+    static KeyboardTestEngine.KeyPress handleKeyPressWithoutComponents(KeyboardTestEngine engine, StationMetrics stationMetrics, int keyCode, int keyLocation, int modifiersEx, boolean isNumLockOn) {
+        // Everything "handleKeyPress()" does for each key press that doesn't change any components, along with "getLastKeyPressedText()" and "getKeyLabelFont()".
+        // These are also what "KeyHandlingWarmUp" runs (with its own engine and metrics) so that warming them up compiles exactly the code that real key presses run.
+        KeyboardTestEngine.KeyPress keyPress = engine.keyPressed(keyCode, keyLocation, modifiersEx, isNumLockOn);
+        if (keyPress != null) {
+            stationMetrics.recordKeyPress(keyPress.key == null);
+        }
 
-                                    String launchNextMacTestBootAppDialogDialogResponseString = "Quit";
-                                    if (launchNextMacTestBootAppDialogReturn > -1) {
-                                        launchNextMacTestBootAppDialogDialogResponseString = launchNextMacTestBootAppDialogButtons.get(launchNextMacTestBootAppDialogReturn);
-                                    }
+        return keyPress;
+    }
 
-                                    if (!launchNextMacTestBootAppDialogDialogResponseString.equals("Quit")) {
-                                        try {
-                                            Runtime.getRuntime().exec(new String[]{"/usr/bin/open", "-a", "/Applications/" + (launchNextMacTestBootAppDialogDialogResponseString.contains("DriveDx") ? "DriveDx" : "CPU Stress Test") + ".app"}).waitFor();
-                                        } catch (IOException | InterruptedException launchNextMacTestBootAppException) {
-                                            if (debugLogging) {
-                                                System.out.println("launchNextMacTestBootAppException: " + launchNextMacTestBootAppException);
-                                            }
-                                        }
-                                    }
-                                }
+    static String getLastKeyPressedText(String keyText) {
+        return ("<html><center><i>Last Key Pressed:</i><br/><b>" + keyText + "</b></center></html>");
+    }
 
-                                System.exit(0);
-                            } else {
-                                resetPressedKeysMenuItemActionPerformed(null);
-                            }
-                        }
-                    }).execute();
-                }
-            }
-        }
-    }//GEN-LAST:event_onKeyPressed
+    static Font getKeyLabelFont(Font keyLabelFont, boolean isHighlighted) {
+        return keyLabelFont.deriveFont(isHighlighted ? Font.BOLD : Font.PLAIN);
+    }
 
     private void showCreditsMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_showCreditsMenuItemActionPerformed
         if (creditsDialog == null) {
@@ -3071,44 +3938,75 @@ public class KeyboardTest extends javax.swing.JFrame {
     }//GEN-LAST:event_showCreditsMenuItemActionPerformed
 
     private void resetPressedKeysMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_resetPressedKeysMenuItemActionPerformed
-        if (isMacLaptop) {
-            didPressAllMacLaptopKeyboardKeys = false;
-        }
+        exportTestResult("reset");
+        keyboardTestEngine.reset();
+        exportedTotalKeyPressCount = 0;
 
-        (new SwingWorker<Void, String>() {
-            @Override
-            protected Void doInBackground() throws Exception {
-                for (Map.Entry<String, JLabel> thisKeyLabelEntry : keyLabels.entrySet()) { // Since a "keyLabels" is a "LinkedHashMap", the order of keys and values is preserved (https://stackoverflow.com/a/2924143).
-                    if (!thisKeyLabelEntry.getValue().getBackground().equals(Color.WHITE)) {
-                        TimeUnit.MILLISECONDS.sleep(10); // Add a slight delay so there is a nice looking affect of the keys being reset in order across the keyboard.
+        if (resetSweepTimer != null) {
+            resetSweepTimer.stop();
+            resetSweepTimer = null;
+        }
+        resetSweepKeyIndexes.clear();
+        Arrays.fill(isResetSweepPendingKey, false);
+
+        ArrayList<Integer> highlightedKeyIndexes = new ArrayList<>();
+        for (int keyIndex = 0; keyIndex < layoutKeyLabels.length; keyIndex++) { // The "layoutKeyLabels" are in the same order as the keys in the layout file so that the reset sweep goes across the keyboard.
+            JLabel thisKeyLabel = layoutKeyLabels[keyIndex];
+            if ((thisKeyLabel != null) && !thisKeyLabel.getBackground().equals(Color.WHITE)) {
+                highlightedKeyIndexes.add(keyIndex);
+            }
+        }
 
-                        publish(thisKeyLabelEntry.getKey());
-                    }
+        int resetSweepDuration = 500;
+        if (System.getProperty("KeyboardTest.resetSweepDuration") != null) {
+            try {
+                resetSweepDuration = Integer.parseInt(System.getProperty("KeyboardTest.resetSweepDuration"));
+            } catch (NumberFormatException parseResetSweepDurationException) {
+                if (debugLogging) {
+                    System.out.println("parseResetSweepDurationException: " + parseResetSweepDurationException);
                 }
+            }
+        }
 
-                return null;
+        if (Boolean.parseBoolean(System.getProperty("KeyboardTest.instantReset")) || (resetSweepDuration <= 0) || highlightedKeyIndexes.isEmpty() || !isVisible()) {
+            // Instant reset mode (for high-throughput stations) clears every key at once so the next unit can be tested immediately.
+            for (int thisKeyIndex : highlightedKeyIndexes) {
+                resetKeyLabel(layoutKeyLabels[thisKeyIndex]);
+            }
+        } else {
+            // Reset the keys in order across the keyboard so there is a nice looking affect, spread over "resetSweepDuration" milliseconds no matter how many keys were highlighted.
+            // This is driven by a Swing Timer at about 60 frames per second so no thread needs to sleep between each key and any number of keys can be reset in each frame.
+            // Any key that is pressed again while the sweep is still in progress is no longer pending in "isResetSweepPendingKey" (in "onKeyPressed") so that its new highlight is not cleared by the sweep.
+            long resetSweepStartNanoTime = System.nanoTime();
+            long resetSweepDurationNanos = TimeUnit.MILLISECONDS.toNanos(resetSweepDuration);
+            int resetSweepKeyLabelCount = highlightedKeyIndexes.size();
+            int[] resetSweepFrameKeyLabelCount = new int[]{0};
+            resetSweepKeyIndexes.addAll(highlightedKeyIndexes);
+            for (int thisKeyIndex : highlightedKeyIndexes) {
+                isResetSweepPendingKey[thisKeyIndex] = true;
             }
 
-            @Override
-            protected void process(java.util.List<String> tasks) {
-                tasks.forEach((thisKeyLabelKey) -> {
-                    JLabel thisKeyLabel = keyLabels.get(thisKeyLabelKey);
-                    thisKeyLabel.setBorder(keyLabelBorder);
-                    thisKeyLabel.setBackground(Color.WHITE);
-                    thisKeyLabel.setForeground(Color.BLACK);
+            resetSweepTimer = new Timer(16, null);
+            resetSweepTimer.addActionListener((ActionEvent resetSweepFrameEvent) -> {
+                double resetSweepProgress = Math.min(((double) (System.nanoTime() - resetSweepStartNanoTime) / resetSweepDurationNanos), 1.0);
+                int resetSweepFrameKeyLabelTargetCount = (int) Math.ceil(resetSweepProgress * resetSweepKeyLabelCount);
 
-                    if ((thisKeyLabel.getFont().getStyle() & Font.ITALIC) == 0) {
-                        try {
-                            thisKeyLabel.setFont(thisKeyLabel.getFont().deriveFont(Font.PLAIN));
-                        } catch (UnsupportedOperationException updateKeyLabelStyleException) {
-                            if (debugLogging) {
-                                System.out.println("updateKeyLabelStyleException: " + updateKeyLabelStyleException);
-                            }
-                        }
+                while ((resetSweepFrameKeyLabelCount[0] < resetSweepFrameKeyLabelTargetCount) && !resetSweepKeyIndexes.isEmpty()) {
+                    int thisKeyIndex = resetSweepKeyIndexes.poll();
+                    if (isResetSweepPendingKey[thisKeyIndex]) {
+                        isResetSweepPendingKey[thisKeyIndex] = false;
+                        resetKeyLabel(layoutKeyLabels[thisKeyIndex]);
                     }
-                });
-            }
-        }).execute();
+                    resetSweepFrameKeyLabelCount[0]++;
+                }
+
+                if (resetSweepKeyIndexes.isEmpty()) {
+                    ((Timer) resetSweepFrameEvent.getSource()).stop();
+                }
+            });
+            resetSweepTimer.setInitialDelay(0);
+            resetSweepTimer.start();
+        }
 
         lastKeyPressedLabel.setText("<html><center><i>Last Key Pressed:</i><br/><b>NONE</b></center></html>");
         if (!lastKeyPressedLabel.getBackground().equals(Color.WHITE)) {
@@ -3142,25 +4040,226 @@ public class KeyboardTest extends javax.swing.JFrame {
         textArea.requestFocusInWindow();
     }//GEN-LAST:event_resetPressedKeysMenuItemActionPerformed
 
+    private void showEveryKeyPressedDialog() {
+        JFrame keyboardTestWindow = this;
+        (new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                TimeUnit.MILLISECONDS.sleep(400);
+
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                boolean isRunningFromQAHelper = ((qaHelperConnection != null) && !qaHelperConnection.isDisconnected()); // QA Helper is only ever told about the result through "QAHelperConnection" (it used to be detected from the jar path and brought to the front with "open -b").
+                ArrayList<String> launchNextMacTestBootAppDialogButtons = new ArrayList<>();
+                try {
+                    String launchPath = new File(KeyboardTest.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+                    if (!isRunningFromQAHelper && launchPath.equals("/Applications/Keyboard Test.app/Contents/app/Keyboard_Test.jar") && new File("/Applications/Test Boot Setup.app").exists() && System.getProperty("user.name").equals("Tester")) {
+                        if (new File("/Applications/CPU Stress Test.app").exists()) {
+                            launchNextMacTestBootAppDialogButtons.add("Launch \"CPU Stress Test\"");
+                        }
+                        if (new File("/Applications/DriveDx.app").exists()) {
+                            launchNextMacTestBootAppDialogButtons.add("Launch \"DriveDx\"");
+                        }
+                    }
+                } catch (URISyntaxException checkMacLaunchPathException) {
+                    if (debugLogging) {
+                        System.out.println("checkMacLaunchPathException: " + checkMacLaunchPathException);
+                    }
+                }
+
+                // Make sure all pressed buttons are Green before the dialog is displayed so they aren't stuck as Orange while the dialog is displayed.
+                for (JLabel thisKeyLabel : layoutKeyLabels) {
+                    if (thisKeyLabel == null) {
+                        continue;
+                    }
+
+                    if (thisKeyLabel.getBackground().equals(Color.ORANGE)) {
+                        thisKeyLabel.setBorder(keyLabelGreenHighlightBorder);
+                        thisKeyLabel.setBackground(keyLabelGreenHighlightBackgroundColor);
+                        thisKeyLabel.setForeground(Color.WHITE);
+                    }
+
+                    if ((thisKeyLabel.getFont().getStyle() & Font.ITALIC) == 0) {
+                        try {
+                            thisKeyLabel.setFont(thisKeyLabel.getFont().deriveFont(Font.PLAIN));
+                        } catch (UnsupportedOperationException updateKeyLabelStyleException) {
+                            if (debugLogging) {
+                                System.out.println("updateKeyLabelStyleException: " + updateKeyLabelStyleException);
+                            }
+                        }
+                    }
+                }
+
+                if (lastKeyPressedLabel.getBackground().equals(Color.ORANGE)) {
+                    lastKeyPressedLabel.setBorder(keyLabelGreenHighlightBorder);
+                    lastKeyPressedLabel.setBackground(keyLabelGreenHighlightBackgroundColor);
+                    lastKeyPressedLabel.setForeground(Color.WHITE);
+                }
+
+                String[] everyKeyPressedDialogButtons = new String[]{(isRunningFromQAHelper ? "Quit & Return to \"QA Helper\"" : (launchNextMacTestBootAppDialogButtons.isEmpty() ? "Quit" : "Continue")), "Reset Keyboard Test", "Keep Testing"}; // "Keep Testing" is for when a detected profile expects fewer keys than the keyboard actually has.
+                int everyKeyPressedDialogReturn = JOptionPane.showOptionDialog(keyboardTestWindow, "<html>"
+                        + "<b style=\"color: orange;\">Every Key Was Pressed!</b><br/>"
+                        + "<br/><br/>"
+                        + "<b style=\"color: green;\"><u>KEYBOARD TEST PASSED IF:</u></b><br/>"
+                        + "- Every key functioned correctly.<br/>"
+                        + "- No keys felt funky in any way.<br/>"
+                        + "- No keys felt sticky or got stuck down.<br/>"
+                        + "- No key caps are broken or missing.<br/>"
+                        + "<br/><br/>"
+                        + "<b style=\"color: #D83048;\"><u>KEYBOARD TEST FAILED IF:</u></b><br/>"
+                        + "- Any key did not function correctly.<br/>"
+                        + "- Any key triggered the wrong key.<br/>"
+                        + "- Any key triggered multiple keys.<br/>"
+                        + "- Any key felt funky in any way.<br/>"
+                        + "- Any key felt sticky or got stuck down.<br/>"
+                        + "- Any key caps are broken or missing."
+                        + "</html>", "Finished Keyboard Test", JOptionPane.OK_CANCEL_OPTION, JOptionPane.INFORMATION_MESSAGE, new ScaledImage("AppIcon", keyboardTestWindow).toImageIcon(), everyKeyPressedDialogButtons, everyKeyPressedDialogButtons[0]);
+
+                if (everyKeyPressedDialogReturn == 0) {
+                    if (isRunningFromQAHelper) {
+                        qaHelperConnection.sendReturnToHost(); // QA Helper brings itself back to the front when it gets this, and the shutdown hook waits for it to be sent.
+                    } else if (!launchNextMacTestBootAppDialogButtons.isEmpty()) {
+                        launchNextMacTestBootAppDialogButtons.add("Quit");
+                        int launchNextMacTestBootAppDialogReturn = JOptionPane.showOptionDialog(keyboardTestWindow, "<html><b>What would you like to do next?</b></html>", "Finished Keyboard Test", JOptionPane.DEFAULT_OPTION, JOptionPane.INFORMATION_MESSAGE, new ScaledImage("AppIcon", keyboardTestWindow).toImageIcon(32), launchNextMacTestBootAppDialogButtons.toArray(), launchNextMacTestBootAppDialogButtons.get(0));
+
+                        String launchNextMacTestBootAppDialogDialogResponseString = "Quit";
+                        if (launchNextMacTestBootAppDialogReturn > -1) {
+                            launchNextMacTestBootAppDialogDialogResponseString = launchNextMacTestBootAppDialogButtons.get(launchNextMacTestBootAppDialogReturn);
+                        }
+
+                        if (!launchNextMacTestBootAppDialogDialogResponseString.equals("Quit")) {
+                            try {
+                                Runtime.getRuntime().exec(new String[]{"/usr/bin/open", "-a", "/Applications/" + (launchNextMacTestBootAppDialogDialogResponseString.contains("DriveDx") ? "DriveDx" : "CPU Stress Test") + ".app"}).waitFor();
+                            } catch (IOException | InterruptedException launchNextMacTestBootAppException) {
+                                if (debugLogging) {
+                                    System.out.println("launchNextMacTestBootAppException: " + launchNextMacTestBootAppException);
+                                }
+                            }
+                        }
+                    }
+
+                    if (keyboardTestStandby != null) {
+                        returnKeyboardTestToStandby();
+                    } else {
+                        System.exit(0);
+                    }
+                } else if (everyKeyPressedDialogReturn != 2) {
+                    resetPressedKeysMenuItemActionPerformed(null);
+                }
+            }
+        }).execute();
+    }
+
+    private void setDefaultKeyboardProfile() {
+        String keyboardProfileID = System.getProperty("KeyboardTest.keyboardProfile");
+
+        if (didChooseKeyboardProfile) {
+            // Never override a profile that was chosen from the "Keyboard Profile" menu.
+        } else if (keyboardProfileID != null) {
+            KeyboardLayout.Profile specifiedKeyboardProfile = keyboardLayout.getProfile(keyboardProfileID);
+
+            if ((specifiedKeyboardProfile == null) && !keyboardProfileID.equals("manual") && debugLogging) {
+                System.out.println("UNKNOWN KEYBOARD PROFILE: " + keyboardProfileID);
+            }
+
+            keyboardTestEngine.setProfile(specifiedKeyboardProfile);
+        } else if (isMacLaptop) {
+            keyboardTestEngine.setProfile(keyboardLayout.getProfile("macLaptop")); // Mac laptops are the only computers with consistent keyboards across all models, so always finish automatically on them.
+        }
+    }
+
+    private void updateKeyboardProfileView(KeyboardLayout.Profile keyboardProfile) {
+        if (!deferredSectionPanels.isEmpty()) {
+            finishRevealingDeferredSections();
+        }
+
+        for (JRadioButtonMenuItem thisKeyboardProfileMenuItem : keyboardProfileMenuItems) {
+            if (((keyboardProfile == null) && (thisKeyboardProfileMenuItem == keyboardProfileMenuItems.get(0))) || ((keyboardProfile != null) && keyboardProfile.id.equals(thisKeyboardProfileMenuItem.getActionCommand()))) {
+                thisKeyboardProfileMenuItem.setSelected(true);
+                break;
+            }
+        }
+
+        boolean didChangeSectionVisibility = false;
+        for (KeyboardLayout.Section thisSection : keyboardLayout.getSections()) {
+            if (thisSection.isRevealedOnPress()) {
+                boolean shouldShowSection = false;
+                for (KeyboardLayout.Key thisKey : keyboardLayout.getKeys()) {
+                    if ((thisKey.section == thisSection) && (keyboardTestEngine.isKeyExpected(thisKey) || keyboardTestEngine.isKeyPressed(thisKey))) {
+                        shouldShowSection = true;
+                        break;
+                    }
+                }
+
+                JPanel thisKeySectionPanel = keySectionPanels.get(thisSection.name);
+                if (thisKeySectionPanel.isVisible() != shouldShowSection) {
+                    thisKeySectionPanel.setVisible(shouldShowSection);
+                    didChangeSectionVisibility = true;
+                }
+            }
+        }
+
+        if ((keyboardProfile != null) && (keyboardProfile.showsFullKeyboard() != isFullKeyboardShown())) {
+            setFullKeyboardShown(keyboardProfile.showsFullKeyboard());
+        } else if (didChangeSectionVisibility) {
+            pack();
+        }
+
+        textArea.requestFocusInWindow();
+    }
+
+    private void addNamedKeyLabels(Container container, Map<String, JLabel> namedKeyLabels) {
+        for (Component thisComponent : container.getComponents()) {
+            if (thisComponent instanceof JLabel) {
+                if ((thisComponent.getName() != null) && (thisComponent != lastKeyPressedLabel)) {
+                    namedKeyLabels.put(thisComponent.getName(), (JLabel) thisComponent);
+                }
+            } else if (thisComponent instanceof Container) {
+                addNamedKeyLabels((Container) thisComponent, namedKeyLabels);
+            }
+        }
+    }
+
+    private void resetKeyLabel(JLabel keyLabel) {
+        keyLabel.setBorder(keyLabelBorder);
+        keyLabel.setBackground(Color.WHITE);
+        keyLabel.setForeground(Color.BLACK);
+
+        if ((keyLabel.getFont().getStyle() & Font.ITALIC) == 0) {
+            try {
+                keyLabel.setFont(keyLabel.getFont().deriveFont(Font.PLAIN));
+            } catch (UnsupportedOperationException updateKeyLabelStyleException) {
+                if (debugLogging) {
+                    System.out.println("updateKeyLabelStyleException: " + updateKeyLabelStyleException);
+                }
+            }
+        }
+    }
+
     private void toggleFullKeyboardMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_toggleFullKeyboardMenuItemActionPerformed
+        if (!deferredSectionPanels.isEmpty()) {
+            finishRevealingDeferredSections();
+        }
+
         if (!isTogglingFullKeyboard) {
             isTogglingFullKeyboard = true;
 
-            numPadPanel.setVisible(!numPadPanel.isVisible());
-
-            if (isMacOS) {
-                otherKeysPanel.setVisible(!otherKeysPanel.isVisible());
-                keyLabelRightControl.setVisible(!keyLabelRightControl.isVisible()); // On Mac keyboards, Right Control Key is only shown on full keyboard layouts.
-            } else {
-                topOtherKeysPanel.setVisible(!topOtherKeysPanel.isVisible());
-
-                if (isWindows) {
-                    keyLabelRightStart.setVisible(!keyLabelRightStart.isVisible()); // If a Right Start/Windows Key exists, it usually only exists on full keyboard layouts (and it will only be detected on Windows since Linux doesn't differentiate between Left and Right Start/Windows Keys).
+            // Which sections and keys are only shown on the Full Keyboard layout for each OS is defined in "/Resources/Layouts/Standard.layout".
+            for (KeyboardLayout.Section thisSection : keyboardLayout.getSections()) {
+                if (thisSection.isFullKeyboardOnly(currentOS)) {
+                    JPanel thisKeySectionPanel = keySectionPanels.get(thisSection.name);
+                    thisKeySectionPanel.setVisible(!thisKeySectionPanel.isVisible());
                 }
             }
 
-            if (!fullKeyboardHasBeenShown && numPadPanel.isVisible()) {
-                fullKeyboardHasBeenShown = true;
+            for (KeyboardLayout.Key thisKey : keyboardLayout.getKeys()) {
+                JLabel thisKeyLabel = layoutKeyLabels[thisKey.index];
+                if ((thisKeyLabel != null) && thisKey.isFullKeyboardOnly(currentOS)) {
+                    thisKeyLabel.setVisible(!thisKeyLabel.isVisible());
+                }
             }
 
             setMinimumSize(null); // Clear minimum and preferred sizes so pack can go smaller than current size if size was reduced to fit screen.
@@ -3219,40 +4318,78 @@ public class KeyboardTest extends javax.swing.JFrame {
                 setSize(reducedWindowSize);
                 textArea.requestFocusInWindow();
 
-                // Wait up to 1/2 second in the background before re-centering because setSize() may not happen immediately.
-                (new SwingWorker<Void, Void>() {
+                // Wait for the window to actually be resized (up to 1/2 second) before re-centering because setSize() may not happen immediately.
+                // Instead of polling the size from a background thread, finish when the window resize event is received (or the timeout fires if it never is).
+                fullKeyboardToggleResizeListener = new ComponentAdapter() {
                     @Override
-                    protected Void doInBackground() throws Exception {
-                        for (int waitForSetSize = 0; waitForSetSize < 50; waitForSetSize++) {
-                            if (!windowSize.equals(getSize())) {
-                                break;
-                            }
-
-                            TimeUnit.MILLISECONDS.sleep(10);
+                    public void componentResized(ComponentEvent componentEvent) {
+                        if (!windowSize.equals(getSize())) {
+                            finishTogglingFullKeyboard();
                         }
-                        return null;
                     }
+                };
+                addComponentListener(fullKeyboardToggleResizeListener);
 
-                    @Override
-                    protected void done() {
-                        setLocationRelativeTo(null);
-                        textArea.requestFocusInWindow();
-                        isTogglingFullKeyboard = false;
-                    }
-                }).execute();
+                fullKeyboardToggleResizeTimeoutTimer = new Timer(500, (ActionEvent timeoutEvent) -> {
+                    finishTogglingFullKeyboard();
+                });
+                fullKeyboardToggleResizeTimeoutTimer.setRepeats(false);
+                fullKeyboardToggleResizeTimeoutTimer.start();
             } else {
-                setLocationRelativeTo(null);
-                textArea.requestFocusInWindow();
-                isTogglingFullKeyboard = false;
+                finishTogglingFullKeyboard();
             }
         } else {
-            Toolkit.getDefaultToolkit().beep();
+            // Do not beep and ignore toggles requested while already toggling since that could be from choosing "Toggle Full Keyboard" quickly.
+            // Instead, queue the opposite of the layout that will be shown once the current toggle (and any already queued layout) is done.
+            queuedFullKeyboardShown = !((queuedFullKeyboardShown != null) ? queuedFullKeyboardShown : isFullKeyboardShown());
         }
     }//GEN-LAST:event_toggleFullKeyboardMenuItemActionPerformed
 
+    private boolean isFullKeyboardShown() {
+        // The NumPad is only ever shown on the Full Keyboard layout (for every OS), and the sections are already switched at the start of a toggle,
+        // so this is the layout being switched to during a toggle. A NumPad that is only hidden until it's progressively revealed is still shown.
+        return (numPadPanel.isVisible() || deferredSectionPanels.contains(numPadPanel));
+    }
+
+    private void setFullKeyboardShown(boolean shouldShowFullKeyboard) {
+        // Key presses and profile changes ask for the layout they need instead of toggling, so that a request made while already toggling
+        // (such as from pressing keys that are only on the Full Keyboard layout while typing quickly) can never end up on the wrong layout.
+        if (isTogglingFullKeyboard) {
+            queuedFullKeyboardShown = shouldShowFullKeyboard;
+        } else if (isFullKeyboardShown() != shouldShowFullKeyboard) {
+            toggleFullKeyboardMenuItemActionPerformed(null);
+        }
+    }
+
+    private void finishTogglingFullKeyboard() {
+        if (fullKeyboardToggleResizeListener != null) {
+            removeComponentListener(fullKeyboardToggleResizeListener);
+            fullKeyboardToggleResizeListener = null;
+        }
+
+        if (fullKeyboardToggleResizeTimeoutTimer != null) {
+            fullKeyboardToggleResizeTimeoutTimer.stop();
+            fullKeyboardToggleResizeTimeoutTimer = null;
+        }
+
+        setLocationRelativeTo(null);
+        textArea.requestFocusInWindow();
+        isTogglingFullKeyboard = false;
+
+        if (queuedFullKeyboardShown != null) {
+            boolean shouldShowFullKeyboard = queuedFullKeyboardShown;
+            queuedFullKeyboardShown = null;
+            setFullKeyboardShown(shouldShowFullKeyboard); // Nothing is toggled if the layout is already the one that was requested.
+        }
+    }
+
     private void setUIScale(int newUIScalePercentage) {
         if ((newUIScalePercentage >= 50) && (newUIScalePercentage <= 200)) {
             if (!launchPath.isEmpty() && new File(launchPath).exists() && ((isMacOS && launchPath.endsWith(".app")) || (!javaPath.isEmpty() && new File(javaPath).exists() && new File(javaPath).canExecute()))) {
+                if (testProgressSnapshot == null) {
+                    exportTestResult("relaunch"); // The pressed keys won't be restored after the relaunch, so keep a record of them (the shutdown hook waits for it to be written).
+                }
+
                 mainMenuBar.removeAll();
                 contentPane.removeAll();
                 contentPane.setLayout(new FlowLayout(FlowLayout.CENTER, UIScale.scale(60), UIScale.scale(30)));
@@ -3276,9 +4413,17 @@ public class KeyboardTest extends javax.swing.JFrame {
 
                     @Override
                     protected void done() {
+                        List<String> relaunchArgs = getRelaunchArgs(newUIScalePercentage);
+                        long keyboardTestPID = ProcessHandle.current().pid(); // Wait for only this process to quit (rather than any Keyboard Test jar) since a standby Keyboard Test or a fleet result collector could be running from the same jar.
+
                         if (isMacOS && launchPath.endsWith(".app")) {
                             // The following code to relaunch Mac app is based on code from QA Helper (Copyright Free Geek - MIT License): https://github.com/freegeek-pdx/Java-QA-Helper/blob/b511d0259a657d1eebd4224a0950094f03d48156/src/GUI/QAHelper.java#L1715-L1719 & https://github.com/freegeek-pdx/Java-QA-Helper/blob/b511d0259a657d1eebd4224a0950094f03d48156/src/GUI/QAHelper.java#L1834-L1835
 
+                            ArrayList<String> quotedRelaunchArgs = new ArrayList<>();
+                            for (String thisRelaunchArg : relaunchArgs) {
+                                quotedRelaunchArgs.add("'" + thisRelaunchArg.replace("'", "'\\''") + "'");
+                            }
+
                             try {
                                 Runtime.getRuntime().exec(new String[]{"/usr/bin/osascript",
                                     "-e", "use scripting additions",
@@ -3288,7 +4433,7 @@ public class KeyboardTest extends javax.swing.JFrame {
                                     "-e", "delay 0.5",
                                     "-e", "end repeat",
                                     "-e", "try",
-                                    "-e", "do shell script \"/usr/bin/open -na \" & (quoted form of appPath) & \" --args '" + newUIScalePercentage + "%'\"",
+                                    "-e", "do shell script \"/usr/bin/open -na \" & (quoted form of appPath) & \" --args " + String.join(" ", quotedRelaunchArgs).replace("\\", "\\\\").replace("\"", "\\\"") + "\"",
                                     "-e", "end try"});
                             } catch (IOException relaunchKeyboardTestMacAppException) {
                                 if (debugLogging) {
@@ -3301,6 +4446,11 @@ public class KeyboardTest extends javax.swing.JFrame {
                             if (isWindows) {
                                 File windowsKeyboardTestRelauncherFile = new File(System.getProperty("java.io.tmpdir"), "Keyboard_Test-Relauncher.cmd");
 
+                                StringBuilder windowsRelaunchArgs = new StringBuilder();
+                                for (String thisRelaunchArg : relaunchArgs) {
+                                    windowsRelaunchArgs.append(" \"").append(thisRelaunchArg.replace("\"", "").replace("%", "%%")).append("\""); // In batch script, the percent sign needs to be doubled to escape it to a literal percent sign character (and double quotes can't be escaped within double quotes).
+                                }
+
                                 try (BufferedWriter bufferedWriter = new BufferedWriter(new FileWriter(windowsKeyboardTestRelauncherFile))) {
                                     bufferedWriter.write( // Checking for existance of each command file because they may not exists in WinPE/WinRE, in which case just skip the waiting and checking if running and just relaunch.
                                             "@ECHO OFF" + "\n"
@@ -3312,17 +4462,17 @@ public class KeyboardTest extends javax.swing.JFrame {
                                             + "\n"
                                             + "IF EXIST \"\\Windows\\System32\\tasklist.exe\" (" + "\n"
                                             + "\t" + "IF EXIST \"\\Windows\\System32\\find.exe\" (" + "\n"
-                                            + "\t\t" + "\\Windows\\System32\\tasklist.exe /nh /fi \"WINDOWTITLE eq Keyboard Test\" | \\Windows\\System32\\find.exe \"No tasks are running\" >NUL" + "\n"
+                                            + "\t\t" + "\\Windows\\System32\\tasklist.exe /nh /fi \"PID eq " + keyboardTestPID + "\" | \\Windows\\System32\\find.exe \"No tasks are running\" >NUL" + "\n"
                                             + "\t\t" + "IF ERRORLEVEL 1 (" + "\n"
                                             + "\t\t\t" + "IF EXIST \"\\Windows\\System32\\taskkill.exe\" (" + "\n"
-                                            + "\t\t\t\t" + "\\Windows\\System32\\taskkill.exe /fi \"WINDOWTITLE eq Keyboard Test\" >NUL" + "\n"
+                                            + "\t\t\t\t" + "\\Windows\\System32\\taskkill.exe /fi \"PID eq " + keyboardTestPID + "\" >NUL" + "\n"
                                             + "\t\t\t" + ")" + "\n"
                                             + "\t\t\t" + "GOTO WaitForQuit" + "\n"
                                             + "\t\t" + ")" + "\n"
                                             + "\t" + ")" + "\n"
                                             + ")" + "\n"
                                             + "\n"
-                                            + "START \"Keyboard Test Relauncher\" \"" + javaPath + "\" -jar \"" + launchPath + "\" \"" + newUIScalePercentage + "%%\"" + "\n" // In batch script, the percent sign needs to be doubled to escape it to a literal percent sign character.
+                                            + "START \"Keyboard Test Relauncher\" \"" + javaPath + "\" -jar \"" + launchPath + "\"" + windowsRelaunchArgs + "\n"
                                             + "\n"
                                             + "EXIT 0"
                                             + "\n"
@@ -3347,8 +4497,13 @@ public class KeyboardTest extends javax.swing.JFrame {
                                     JOptionPane.showMessageDialog(keyboardTestWindow, "<html><b>Error Relaunching <i>Keyboard Test</i></b><br/><br/><i>Failed to create relaunch command file.</i></html>", "Scale Keyboard Test UI Error", JOptionPane.ERROR_MESSAGE);
                                 }
                             } else {
+                                StringBuilder quotedRelaunchArgs = new StringBuilder();
+                                for (String thisRelaunchArg : relaunchArgs) {
+                                    quotedRelaunchArgs.append(" '").append(thisRelaunchArg.replace("'", "'\\''")).append("'");
+                                }
+
                                 try {
-                                    Runtime.getRuntime().exec(new String[]{"/bin/bash", "-c", "/bin/sleep 0.5; while [[ \"$(/usr/bin/pgrep -fl 'Keyboard_Test.*\\.jar')\" == *java* ]]; do " + (isLinux ? "/usr/bin/wmctrl -Fc 'Keyboard Test'; " : "") + "/bin/sleep 0.5; done; '" + javaPath.replace("'", "'\\''") + "' -jar '" + launchPath.replace("'", "'\\''") + "' '" + newUIScalePercentage + "%' & disown"});
+                                    Runtime.getRuntime().exec(new String[]{"/bin/bash", "-c", "/bin/sleep 0.5; while /bin/kill -0 " + keyboardTestPID + " 2> /dev/null; do " + (isLinux ? "/usr/bin/wmctrl -Fc 'Keyboard Test'; " : "") + "/bin/sleep 0.5; done; '" + javaPath.replace("'", "'\\''") + "' -jar '" + launchPath.replace("'", "'\\''") + "'" + quotedRelaunchArgs + " & disown"});
                                 } catch (IOException relaunchKeyboardTestJarException) {
                                     if (debugLogging) {
                                         System.out.println("relaunchKeyboardTestJarException: " + relaunchKeyboardTestJarException);
@@ -3369,6 +4524,24 @@ public class KeyboardTest extends javax.swing.JFrame {
         }
     }
 
+    private static List<String> getRelaunchArgs(int newUIScalePercentage) {
+        // Every original command line argument except for the previous UI scale, along with the new UI scale, so that options such as "--qa-helper-port=", "--results-folder=", and "--profile=" are kept.
+        // The arguments that only make sense for a single launch (starting, using, or stopping a standby Keyboard Test and benchmarking startup) are not kept,
+        // and a specific "--record=" file is changed to a new file in the "Recordings" folder so that the recording from before the relaunch isn't overwritten.
+        List<String> relaunchArgs = new ArrayList<>();
+        for (String thisLaunchArg : launchArgs) {
+            if (thisLaunchArg.matches("^[0-9]+%$") || thisLaunchArg.equals("--standby") || thisLaunchArg.equals("--use-standby") || thisLaunchArg.equals("--stop-standby") || thisLaunchArg.equals("--startup-benchmark")) {
+                continue;
+            }
+
+            relaunchArgs.add(thisLaunchArg.startsWith("--record=") ? "--record" : thisLaunchArg);
+        }
+
+        relaunchArgs.add(newUIScalePercentage + "%");
+
+        return relaunchArgs;
+    }
+
     private void resetUIScaleMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_resetUIScaleMenuItemActionPerformed
         int uiScalePercentage = 100;
         if (System.getProperty("KeyboardTest.uiScalePercentage") != null) {
@@ -3425,6 +4598,7 @@ public class KeyboardTest extends javax.swing.JFrame {
     private javax.swing.JScrollPane contentScrollPane;
     private javax.swing.JMenuItem decreaseUIScaleMenuItem;
     private javax.swing.JMenuItem increaseUIScaleMenuItem;
+    private javax.swing.JPanel internationalKeysPanel;
     private javax.swing.JLabel keyLabel0;
     private javax.swing.JLabel keyLabel1;
     private javax.swing.JLabel keyLabel2;
@@ -0,0 +1,525 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * All of the keyboard test logic without any user interface: translating key events into layout keys (including key code aliases and NumPad translation),
+ * tracking which keys have been pressed, and detecting the layout profile and when every expected key of the profile has been pressed.
+ *
+ * The engine only uses "KeyEvent" constants and never the AWT toolkit, so it can run with "java.awt.headless=true" to process synthetic events
+ * (such as for benchmarks, recording replays, and batch tools). The "KeyboardTest" window is one frontend which passes its key events to the engine
+ * and updates its key labels from the results and the listener callbacks.
+ *
+ * The engine is not thread safe, so all events must be passed from a single thread (which is the Event Dispatch Thread for the "KeyboardTest" window).
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyboardTestEngine {
+
+    private final KeyboardLayout layout;
+    private int os;
+    private final HashMap<Long, KeyboardLayout.Key> boundKeys = new HashMap<>();
+    private KeyboardProfileClassifier profileClassifier;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private KeyboardLayout.Profile profile = null;
+    private boolean isProfileDetectionEnabled = true;
+    private boolean isProfileDetected = false; // Whether the current profile was detected (rather than chosen), in which case the test is only finished automatically once the profile is confirmed.
+    private BitSet expectedKeys = new BitSet();
+    private int expectedKeyCount = 0;
+    private final BitSet pressedKeys = new BitSet();
+    private int pressedKeyCount = 0;
+    private int pressedExpectedKeyCount = 0;
+    private boolean didPressEveryExpectedKey = false;
+    private boolean didPressFullKeyboardOnlyKey = false;
+
+    // Statistics for "createResult()", which are all cleared when the test is reset.
+    private final int[] keyPressCounts;
+    private final long[] firstKeyPressNanos; // Nanoseconds from the first key press of the test (only set for pressed keys).
+    private final LinkedHashMap<Long, UnknownKeyPresses> unknownKeyPresses = new LinkedHashMap<>();
+    private long totalKeyPressCount = 0;
+    private long firstKeyPressNanoTime = 0;
+    private long firstKeyPressMillis = 0;
+    private long lastKeyPressNanoTime = 0;
+    private long longestKeyPressIntervalNanos = 0;
+    private long everyExpectedKeyPressedNanos = -1;
+
+    private static class UnknownKeyPresses {
+
+        final int keyCode;
+        final int keyLocation;
+        final String keyText;
+        int pressCount = 0;
+
+        UnknownKeyPresses(int keyCode, int keyLocation, String keyText) {
+            this.keyCode = keyCode;
+            this.keyLocation = keyLocation;
+            this.keyText = keyText;
+        }
+    }
+
+    public interface Listener {
+
+        default void keyPressed(KeyPress keyPress) {
+        }
+
+        default void profileChanged(KeyboardLayout.Profile newProfile, boolean wasDetected) {
+        }
+
+        default void everyExpectedKeyPressed(KeyboardLayout.Profile profile) {
+        }
+
+        default void pressedKeysReset() {
+        }
+    }
+
+    public static class KeyPress {
+
+        public final int keyCode; // The key code as reported by the key event.
+        public final int keyLocation;
+        public final int modifiersEx;
+        public final int translatedKeyCode; // The key code after any NumPad translation (see "translateNumPadKeyCode").
+        public final String keyText;
+        public final KeyboardLayout.Key key; // "null" if the key isn't in the layout (which is shown as an unknown key).
+        public final boolean isFirstPress;
+
+        KeyPress(int keyCode, int keyLocation, int modifiersEx, int translatedKeyCode, String keyText, KeyboardLayout.Key key, boolean isFirstPress) {
+            this.keyCode = keyCode;
+            this.keyLocation = keyLocation;
+            this.modifiersEx = modifiersEx;
+            this.translatedKeyCode = translatedKeyCode;
+            this.keyText = keyText;
+            this.key = key;
+            this.isFirstPress = isFirstPress;
+        }
+    }
+
+    public KeyboardTestEngine(KeyboardLayout layout, int os) {
+        this.layout = layout;
+        this.os = os;
+
+        bindKeys();
+        profileClassifier = new KeyboardProfileClassifier(layout, layout.getProfiles(), os);
+
+        keyPressCounts = new int[layout.getKeys().size()];
+        firstKeyPressNanos = new long[layout.getKeys().size()];
+    }
+
+    private void bindKeys() {
+        boundKeys.clear();
+
+        for (KeyboardLayout.Key thisKey : layout.getKeys()) {
+            for (KeyboardLayout.Binding thisBinding : thisKey.getBindings()) {
+                if (thisBinding.appliesTo(os)) {
+                    boundKeys.put(getBindingLookupKey(thisBinding.keyLocation, thisBinding.keyCode), thisKey);
+                }
+            }
+        }
+    }
+
+    private static long getBindingLookupKey(int keyLocation, int keyCode) {
+        // Key events with a standard or unknown key location are both bound with the standard key location.
+        int bindingKeyLocation = (((keyLocation == KeyEvent.KEY_LOCATION_LEFT) || (keyLocation == KeyEvent.KEY_LOCATION_RIGHT) || (keyLocation == KeyEvent.KEY_LOCATION_NUMPAD)) ? keyLocation : KeyEvent.KEY_LOCATION_STANDARD);
+        return ((((long) bindingKeyLocation) << 32) | (keyCode & 0xFFFFFFFFL));
+    }
+
+    public KeyboardLayout.Key getBoundKey(int keyLocation, int keyCode) {
+        return boundKeys.get(getBindingLookupKey(keyLocation, keyCode));
+    }
+
+    public KeyboardLayout getLayout() {
+        return layout;
+    }
+
+    public int getOS() {
+        return os;
+    }
+
+    public void setOS(int newOS) {
+        // Such as when reading key events straight from the kernel fails and the key events come from AWT again, which binds and expects different keys.
+        // The keys that were already pressed stay pressed (and are observed again for profile detection), and the expected keys of the profile are updated for the new OS.
+        os = newOS;
+        bindKeys();
+
+        profileClassifier = new KeyboardProfileClassifier(layout, layout.getProfiles(), os);
+        for (int thisKeyIndex = pressedKeys.nextSetBit(0); thisKeyIndex >= 0; thisKeyIndex = pressedKeys.nextSetBit(thisKeyIndex + 1)) {
+            profileClassifier.observe(thisKeyIndex);
+        }
+
+        KeyboardLayout.Profile detectedProfile = profileClassifier.getMostLikelyProfile();
+        if (isProfileDetectionEnabled && (detectedProfile != null)) {
+            applyProfile(detectedProfile, ((detectedProfile != profile) || isProfileDetected)); // A chosen profile that is also detected is still a chosen profile.
+        } else {
+            applyProfile((((profile == null) || profile.isAvailable(os)) ? profile : null), false);
+        }
+
+        checkEveryExpectedKeyPressed();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public KeyPress keyPressed(int keyCode, int keyLocation, int modifiersEx, boolean isNumLockOn) {
+        // Returns "null" if the key event should be ignored completely.
+        String keyText = getKeyText(keyCode, keyLocation, modifiersEx);
+        if (keyText == null) {
+            return null;
+        }
+
+        int translatedKeyCode = keyCode;
+        if ((os != KeyboardLayout.OS_MAC) && (keyLocation == KeyEvent.KEY_LOCATION_NUMPAD) && !isNumLockOn) {
+            translatedKeyCode = translateNumPadKeyCode(keyCode);
+        }
+
+        KeyboardLayout.Key pressedKey = getBoundKey(keyLocation, translatedKeyCode);
+        boolean isFirstPress = ((pressedKey != null) && !pressedKeys.get(pressedKey.index));
+        KeyPress keyPress = new KeyPress(keyCode, keyLocation, modifiersEx, translatedKeyCode, keyText, pressedKey, isFirstPress);
+
+        long keyPressNanoTime = System.nanoTime();
+        if (totalKeyPressCount == 0) {
+            firstKeyPressNanoTime = keyPressNanoTime;
+            firstKeyPressMillis = System.currentTimeMillis();
+        } else {
+            longestKeyPressIntervalNanos = Math.max(longestKeyPressIntervalNanos, (keyPressNanoTime - lastKeyPressNanoTime));
+        }
+        lastKeyPressNanoTime = keyPressNanoTime;
+        totalKeyPressCount++;
+
+        if (pressedKey == null) {
+            unknownKeyPresses.computeIfAbsent(((((long) keyLocation) << 32) | (translatedKeyCode & 0xFFFFFFFFL)), (Long thisUnknownKey) -> new UnknownKeyPresses(keyPress.translatedKeyCode, keyPress.keyLocation, keyPress.keyText)).pressCount++;
+        } else {
+            keyPressCounts[pressedKey.index]++;
+        }
+
+        if (isFirstPress) {
+            firstKeyPressNanos[pressedKey.index] = (keyPressNanoTime - firstKeyPressNanoTime);
+
+            pressedKeys.set(pressedKey.index);
+            pressedKeyCount++;
+
+            if (expectedKeys.get(pressedKey.index)) {
+                pressedExpectedKeyCount++; // Keeping count of pressed expected keys means checking whether every expected key has been pressed is just comparing two numbers.
+            }
+
+            if (pressedKey.isFullKeyboardOnly(os) || pressedKey.section.isFullKeyboardOnly(os)) {
+                didPressFullKeyboardOnlyKey = true;
+            }
+        }
+
+        for (Listener thisListener : listeners) {
+            thisListener.keyPressed(keyPress);
+        }
+
+        if (isFirstPress) {
+            KeyboardLayout.Profile detectedProfile = profileClassifier.observe(pressedKey.index);
+            if (isProfileDetectionEnabled && (detectedProfile != null) && (detectedProfile != profile)) {
+                applyProfile(detectedProfile, true);
+            }
+
+            checkEveryExpectedKeyPressed();
+        }
+
+        return keyPress;
+    }
+
+    private void checkEveryExpectedKeyPressed() {
+        // Can only *know* that every key of a laptop profile has been pressed if an external full keyboard hasn't also been used.
+        // And a detected profile is only finished once the pressed keys rule out every other profile, since otherwise a full keyboard would be finished as a laptop keyboard without its NumPad ever being tested.
+        if ((profile != null) && !didPressEveryExpectedKey && (profile.showsFullKeyboard() || !didPressFullKeyboardOnlyKey)
+                && (expectedKeyCount > 0) && (pressedExpectedKeyCount == expectedKeyCount) && (!isProfileDetected || profileClassifier.isConfirmed(profile))) {
+            didPressEveryExpectedKey = true;
+            everyExpectedKeyPressedNanos = (lastKeyPressNanoTime - firstKeyPressNanoTime);
+
+            for (Listener thisListener : listeners) {
+                thisListener.everyExpectedKeyPressed(profile);
+            }
+        }
+    }
+
+    public String getKeyText(int keyCode, int keyLocation, int modifiersEx) {
+        // Returns "null" if the key event should be ignored completely.
+        String keyText = KeyEvent.getKeyText(keyCode);
+        if (keyText.equals("Windows")) {
+            keyText = "Start"; // Re-name "Windows" Key to "Start" Key for cross-platform consistency.
+        } else if (keyText.startsWith("Unknown keyCode: ")) {
+            if ((os == KeyboardLayout.OS_MAC) && (keyCode == 0)) {
+                if (modifiersEx != 0) { // On macOS, if two of the SAME modifiers are pressed at the same time, 0 key codes can be sent after the actual modifier key code was already sent. So, just ignore any 0 key codes if any modifiers are currently held down.
+                    return null;
+                } else {
+                    keyText = "fn"; // On Mac keyboards, pressing the "fn" key by itself sends a key code 0, so show it as the "fn" key (only when no modifiers are held down for reasons described above).
+                }
+            } else {
+                keyText = keyText.replace("Unknown keyCode: ", "UNKNOWN (") + ")";
+            }
+        } else if ((os == KeyboardLayout.OS_MAC) && keyText.startsWith("⌨")) { // On Mac keyboards, the NumPad keys start with this Unicode Keyboard symbol for some reason.
+            keyText = keyText.replace("⌨", "NumPad");
+        }
+
+        if (keyText.startsWith("NumPad-")) { // NumPad Numbers show as "NumPad-1", etc. Get rid of the dash since I don't think it looks good.
+            keyText = keyText.replace("NumPad-", "NumPad ");
+        }
+
+        String keyLocationName = KeyboardLayout.getKeyLocationName(keyLocation);
+        if (!keyLocationName.isEmpty() && !keyText.startsWith(keyLocationName)) { // Include the key location in the key text for display (this also catches some NumPad keys that don't start with "NumPad ").
+            keyText = keyLocationName + " " + keyText;
+        }
+
+        return keyText;
+    }
+
+    public static int translateNumPadKeyCode(int keyCode) {
+        // Translate NumPad Navigation Keys (which are sent when Num Lock is off) to their regular NumPad Number Key equivalents to highlight the physical key being pressed regardless of whether or not Num Lock is enabled.
+        switch (keyCode) {
+            case KeyEvent.VK_HOME:
+                return KeyEvent.VK_NUMPAD7;
+            case KeyEvent.VK_UP: // Key Code KV_UP (38) on Windows
+            case KeyEvent.VK_KP_UP: // and KV_KP_UP (224) on Linux
+                return KeyEvent.VK_NUMPAD8;
+            case KeyEvent.VK_PAGE_UP:
+                return KeyEvent.VK_NUMPAD9;
+            case KeyEvent.VK_LEFT: // Key Code VK_LEFT (37) on Windows
+            case KeyEvent.VK_KP_LEFT: // and VK_KP_LEFT (226) on Linux
+                return KeyEvent.VK_NUMPAD4;
+            case KeyEvent.VK_CLEAR: // Key Code VK_CLEAR (12) on Windows
+            case KeyEvent.VK_BEGIN: // and VK_BEGIN (65368) on Linux
+                // NOTE: This may conflict if a Mac keyboard is being tested on Windows since the "=" in the NumPad is recognized as "Clear" regardless of the Num Lock state,
+                // so that means that when Num Lock is OFF the "5" could be highlighted when the physical NumPad "=" key is being pressed on a Mac keyboard in Windows.
+                return KeyEvent.VK_NUMPAD5;
+            case KeyEvent.VK_RIGHT: // Key Code VK_RIGHT (39) on Windows
+            case KeyEvent.VK_KP_RIGHT: // and VK_KP_RIGHT (227) on Linux
+                return KeyEvent.VK_NUMPAD6;
+            case KeyEvent.VK_END:
+                return KeyEvent.VK_NUMPAD1;
+            case KeyEvent.VK_DOWN: // Key Code VK_DOWN (40) on Windows
+            case KeyEvent.VK_KP_DOWN: // and VK_KP_DOWN (225) on Linux
+                return KeyEvent.VK_NUMPAD2;
+            case KeyEvent.VK_PAGE_DOWN:
+                return KeyEvent.VK_NUMPAD3;
+            case KeyEvent.VK_INSERT:
+                return KeyEvent.VK_NUMPAD0;
+            case KeyEvent.VK_DELETE:
+                return KeyEvent.VK_DECIMAL;
+            default:
+                return keyCode;
+        }
+    }
+
+    public void reset() {
+        pressedKeys.clear();
+        pressedKeyCount = 0;
+        pressedExpectedKeyCount = 0;
+        didPressEveryExpectedKey = false;
+        profileClassifier.reset();
+
+        Arrays.fill(keyPressCounts, 0);
+        unknownKeyPresses.clear();
+        totalKeyPressCount = 0;
+        longestKeyPressIntervalNanos = 0;
+        everyExpectedKeyPressedNanos = -1;
+
+        for (Listener thisListener : listeners) {
+            thisListener.pressedKeysReset();
+        }
+    }
+
+    public void setProfile(KeyboardLayout.Profile newProfile) {
+        applyProfile(newProfile, false);
+    }
+
+    private void applyProfile(KeyboardLayout.Profile newProfile, boolean wasDetected) {
+        profile = newProfile;
+        isProfileDetected = wasDetected;
+        expectedKeys = ((profile == null) ? new BitSet() : layout.getExpectedKeys(profile, os));
+        expectedKeyCount = expectedKeys.cardinality();
+
+        // Only count the keys that have already been pressed once when switching profiles so that each key press only needs to update the count.
+        BitSet pressedExpectedKeys = (BitSet) pressedKeys.clone();
+        pressedExpectedKeys.and(expectedKeys);
+        pressedExpectedKeyCount = pressedExpectedKeys.cardinality();
+        didPressEveryExpectedKey = false;
+
+        for (Listener thisListener : listeners) {
+            thisListener.profileChanged(profile, wasDetected);
+        }
+    }
+
+    public KeyboardLayout.Profile getProfile() {
+        return profile;
+    }
+
+    public KeyboardLayout.Profile getDetectedProfile() {
+        return profileClassifier.getMostLikelyProfile();
+    }
+
+    public void setProfileDetectionEnabled(boolean shouldDetectProfile) {
+        isProfileDetectionEnabled = shouldDetectProfile;
+
+        if (isProfileDetectionEnabled) {
+            KeyboardLayout.Profile detectedProfile = profileClassifier.getMostLikelyProfile();
+            if ((detectedProfile != null) && (detectedProfile != profile)) {
+                applyProfile(detectedProfile, true);
+            }
+        }
+    }
+
+    public boolean isProfileDetectionEnabled() {
+        return isProfileDetectionEnabled;
+    }
+
+    public boolean isKeyPressed(KeyboardLayout.Key key) {
+        return pressedKeys.get(key.index);
+    }
+
+    public boolean isKeyExpected(KeyboardLayout.Key key) {
+        return expectedKeys.get(key.index);
+    }
+
+    public int getPressedKeyCount() {
+        return pressedKeyCount;
+    }
+
+    public int getExpectedKeyCount() {
+        return expectedKeyCount;
+    }
+
+    public int getPressedExpectedKeyCount() {
+        return pressedExpectedKeyCount;
+    }
+
+    public boolean didPressEveryExpectedKey() {
+        return didPressEveryExpectedKey;
+    }
+
+    public long getTotalKeyPressCount() {
+        return totalKeyPressCount;
+    }
+
+    int getKeyPressCount(int keyIndex) {
+        return keyPressCounts[keyIndex];
+    }
+
+    long getFirstKeyPressNanos(int keyIndex) {
+        return firstKeyPressNanos[keyIndex];
+    }
+
+    long getFirstKeyPressMillis() {
+        return firstKeyPressMillis;
+    }
+
+    long getLastKeyPressElapsedNanos() {
+        return ((totalKeyPressCount == 0) ? 0 : (lastKeyPressNanoTime - firstKeyPressNanoTime));
+    }
+
+    long getLongestKeyPressIntervalNanos() {
+        return longestKeyPressIntervalNanos;
+    }
+
+    public void restore(int[] restoredKeyPressCounts, long[] restoredFirstKeyPressNanos, List<int[]> restoredUnknownKeyPresses, long restoredTotalKeyPressCount, long restoredFirstKeyPressMillis, long restoredElapsedNanos, long restoredLongestKeyPressIntervalNanos) {
+        // Continue a test from before a relaunch or crash (see "KeyboardTestProgressSnapshot"), as if every key had just been pressed in the same order as before
+        // except that no key press listeners are notified (only profile changes and finishing are). The time between the last key press before and now isn't counted in the elapsed time.
+        reset();
+
+        long restoredNanoTime = System.nanoTime();
+        firstKeyPressNanoTime = (restoredNanoTime - restoredElapsedNanos);
+        firstKeyPressMillis = restoredFirstKeyPressMillis;
+        lastKeyPressNanoTime = restoredNanoTime;
+        totalKeyPressCount = restoredTotalKeyPressCount;
+        longestKeyPressIntervalNanos = restoredLongestKeyPressIntervalNanos;
+
+        List<KeyboardLayout.Key> restoredPressedKeys = new ArrayList<>();
+        for (KeyboardLayout.Key thisKey : layout.getKeys()) {
+            keyPressCounts[thisKey.index] = restoredKeyPressCounts[thisKey.index];
+            if (keyPressCounts[thisKey.index] > 0) {
+                firstKeyPressNanos[thisKey.index] = restoredFirstKeyPressNanos[thisKey.index];
+                restoredPressedKeys.add(thisKey);
+            }
+        }
+
+        for (int[] thisUnknownKeyPresses : restoredUnknownKeyPresses) { // Each entry is {keyCode, keyLocation, pressCount}.
+            String thisUnknownKeyText = getKeyText(thisUnknownKeyPresses[0], thisUnknownKeyPresses[1], 0);
+            if (thisUnknownKeyText != null) {
+                unknownKeyPresses.computeIfAbsent(((((long) thisUnknownKeyPresses[1]) << 32) | (thisUnknownKeyPresses[0] & 0xFFFFFFFFL)),
+                        (Long thisUnknownKey) -> new UnknownKeyPresses(thisUnknownKeyPresses[0], thisUnknownKeyPresses[1], thisUnknownKeyText)).pressCount += thisUnknownKeyPresses[2];
+            }
+        }
+
+        restoredPressedKeys.sort((KeyboardLayout.Key thisKey, KeyboardLayout.Key otherKey) -> Long.compare(firstKeyPressNanos[thisKey.index], firstKeyPressNanos[otherKey.index])); // So profile detection sees the keys in the same order as before.
+
+        for (KeyboardLayout.Key thisKey : restoredPressedKeys) {
+            pressedKeys.set(thisKey.index);
+            pressedKeyCount++;
+
+            if (expectedKeys.get(thisKey.index)) {
+                pressedExpectedKeyCount++;
+            }
+
+            if (thisKey.isFullKeyboardOnly(os) || thisKey.section.isFullKeyboardOnly(os)) {
+                didPressFullKeyboardOnlyKey = true;
+            }
+
+            profileClassifier.observe(thisKey.index);
+        }
+
+        KeyboardLayout.Profile detectedProfile = profileClassifier.getMostLikelyProfile();
+        if (isProfileDetectionEnabled && (detectedProfile != null) && (detectedProfile != profile)) {
+            applyProfile(detectedProfile, true);
+        }
+
+        checkEveryExpectedKeyPressed();
+    }
+
+    public KeyboardTestResult createResult(String endReason) {
+        // Snapshot the state of every key that is shown on this OS (or was pressed anyway) so that the result can be written on another thread.
+        ArrayList<KeyboardTestResult.KeyResult> keyResults = new ArrayList<>();
+        for (KeyboardLayout.Key thisKey : layout.getKeys()) {
+            boolean isPressed = pressedKeys.get(thisKey.index);
+            if (isPressed || !(thisKey.isHidden(os) || (thisKey.section.isHidden(os) && !thisKey.section.isRevealedOnPress()))) {
+                keyResults.add(new KeyboardTestResult.KeyResult(thisKey.id, thisKey.section.name, expectedKeys.get(thisKey.index), keyPressCounts[thisKey.index],
+                        (isPressed ? TimeUnit.NANOSECONDS.toMillis(firstKeyPressNanos[thisKey.index]) : -1)));
+            }
+        }
+
+        ArrayList<KeyboardTestResult.UnknownKey> unknownKeyResults = new ArrayList<>();
+        for (UnknownKeyPresses thisUnknownKeyPresses : unknownKeyPresses.values()) {
+            unknownKeyResults.add(new KeyboardTestResult.UnknownKey(thisUnknownKeyPresses.keyCode, thisUnknownKeyPresses.keyLocation, thisUnknownKeyPresses.keyText, thisUnknownKeyPresses.pressCount));
+        }
+
+        long endedAtMillis = System.currentTimeMillis();
+
+        return new KeyboardTestResult(endReason, KeyboardLayout.getOSName(os), ((profile == null) ? "manual" : profile.id), didPressEveryExpectedKey, expectedKeyCount, pressedExpectedKeyCount, totalKeyPressCount,
+                ((totalKeyPressCount == 0) ? endedAtMillis : firstKeyPressMillis), endedAtMillis, ((totalKeyPressCount == 0) ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - firstKeyPressNanoTime)),
+                ((everyExpectedKeyPressedNanos < 0) ? -1 : TimeUnit.NANOSECONDS.toMillis(everyExpectedKeyPressedNanos)),
+                ((totalKeyPressCount < 2) ? 0 : (((lastKeyPressNanoTime - firstKeyPressNanoTime) / 1_000_000.0) / (totalKeyPressCount - 1))), TimeUnit.NANOSECONDS.toMillis(longestKeyPressIntervalNanos),
+                keyResults, unknownKeyResults);
+    }
+}
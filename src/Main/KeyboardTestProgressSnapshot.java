@@ -0,0 +1,257 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the progress of the current test in a small memory-mapped file so that it survives the app quitting (such as relaunching to change the UI scale,
+ * an accidental quit, or the JVM crashing on flaky hardware) and can be restored on the next launch instead of needing to re-test every key.
+ *
+ * The file has a fixed size header followed by a fixed size record for each key in the layout and a few fixed size records for unknown keys (keys that aren't in the layout),
+ * so each key press only writes the record of that key and the header
+ * into the mapped memory, which takes the same time no matter how many keys have been pressed. The mapped memory is never forced to disk since the OS
+ * writes it back on its own and keeps it when the process exits for any reason, so nothing ever waits on the disk on the EDT (only an OS crash or power loss can lose the latest progress).
+ *
+ * Progress is only restored if it's from the same boot and was updated recently, so that the progress of a unit is unlikely to be restored for the next unit,
+ * and a test that was already finished is never restored. Since an unfinished test can still be quit right before the next unit is tested on the same computer,
+ * the window asks whether to continue or reset whenever any progress is restored.
+ *
+ * Only the first "MAX_UNKNOWN_KEY_COUNT" different unknown keys of a test are kept (any other unknown keys pressed before quitting are still counted in the total key presses,
+ * but won't be in the unknown keys of the restored result), and their key text is worked out again from their key code and key location when restored.
+ *
+ * Each Keyboard Test holds an exclusive lock on the snapshot file for as long as it's running, so a second Keyboard Test (such as a normal launch while a standby Keyboard Test is running)
+ * can't overwrite the progress of the first or restore its keys, and just runs without a snapshot instead.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyboardTestProgressSnapshot implements KeyboardTestEngine.Listener {
+
+    private static final int MAGIC = 0x4B545032; // "KTP2"
+    private static final long MAX_RESTORE_AGE_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    private static final int FLAG_HAS_PROGRESS = 1;
+    private static final int FLAG_FINISHED = 2;
+    private static final int FLAG_PROFILE_DETECTION_ENABLED = 4;
+
+    // Header
+    private static final int MAGIC_OFFSET = 0;
+    private static final int LAYOUT_SIGNATURE_OFFSET = 4; // So progress is never restored into a different layout (or OS, such as when switching to "--evdev").
+    private static final int BOOT_IDENTITY_OFFSET = 8;
+    private static final int FLAGS_OFFSET = 12;
+    private static final int PROFILE_INDEX_OFFSET = 16; // -1 for no profile ("Manual").
+    private static final int UPDATED_MILLIS_OFFSET = 24;
+    private static final int FIRST_KEY_PRESS_MILLIS_OFFSET = 32;
+    private static final int ELAPSED_NANOS_OFFSET = 40;
+    private static final int TOTAL_KEY_PRESS_COUNT_OFFSET = 48;
+    private static final int LONGEST_KEY_PRESS_INTERVAL_NANOS_OFFSET = 56;
+    private static final int HEADER_SIZE = 64;
+
+    // Key records (in layout key index order)
+    private static final int KEY_PRESS_COUNT_OFFSET = 0;
+    private static final int KEY_FIRST_PRESS_NANOS_OFFSET = 4;
+    private static final int KEY_RECORD_SIZE = 12;
+
+    // Unknown key records (after the key records, in the order the unknown keys were first pressed, and empty once the press count is 0)
+    static final int MAX_UNKNOWN_KEY_COUNT = 16;
+    private static final int UNKNOWN_KEY_CODE_OFFSET = 0;
+    private static final int UNKNOWN_KEY_LOCATION_OFFSET = 4;
+    private static final int UNKNOWN_KEY_PRESS_COUNT_OFFSET = 8;
+    private static final int UNKNOWN_KEY_RECORD_SIZE = 12;
+
+    private final KeyboardTestEngine engine;
+    private final List<KeyboardLayout.Profile> profiles;
+    private final FileChannel snapshotChannel; // Kept open (and never closed) since closing it would release "snapshotLock".
+    private final FileLock snapshotLock;
+    private final MappedByteBuffer snapshotBuffer;
+    private final int unknownKeyRecordsOffset;
+    private final int layoutSignature;
+    private final int bootIdentity;
+
+    public KeyboardTestProgressSnapshot(File snapshotFile, KeyboardTestEngine engine) throws IOException {
+        this.engine = engine;
+
+        KeyboardLayout layout = engine.getLayout();
+        profiles = layout.getProfiles();
+
+        int signature = engine.getOS();
+        for (KeyboardLayout.Key thisKey : layout.getKeys()) {
+            signature = ((31 * signature) + thisKey.id.hashCode());
+        }
+        layoutSignature = signature;
+
+        String bootIdentityString = LaunchCache.getBootIdentity();
+        bootIdentity = ((bootIdentityString == null) ? 0 : bootIdentityString.hashCode()); // If the boot can't be identified, only how recently the progress was updated is checked.
+
+        File snapshotFolder = snapshotFile.getParentFile();
+        if ((snapshotFolder != null) && !snapshotFolder.exists()) {
+            snapshotFolder.mkdirs();
+        }
+
+        unknownKeyRecordsOffset = (HEADER_SIZE + (layout.getKeys().size() * KEY_RECORD_SIZE));
+
+        snapshotChannel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            // The lock is released by the OS when this Keyboard Test quits for any reason, so a relaunch (which waits for this one to quit) always gets it.
+            snapshotLock = snapshotChannel.tryLock();
+            if (snapshotLock == null) {
+                throw new IOException("Test Progress Snapshot Is In Use by Another Keyboard Test: " + snapshotFile.getPath());
+            }
+
+            snapshotBuffer = snapshotChannel.map(FileChannel.MapMode.READ_WRITE, 0, (unknownKeyRecordsOffset + ((long) MAX_UNKNOWN_KEY_COUNT * UNKNOWN_KEY_RECORD_SIZE)));
+        } catch (OverlappingFileLockException lockSnapshotException) {
+            // This same JVM already has the lock, and on some OSes closing any channel of the file releases every lock this JVM has on it, so this channel is deliberately left open.
+            throw new IOException("Test Progress Snapshot Is In Use: " + snapshotFile.getPath(), lockSnapshotException);
+        } catch (IOException lockSnapshotException) {
+            snapshotChannel.close();
+            throw lockSnapshotException;
+        }
+    }
+
+    public static File getDefaultSnapshotFile() {
+        return new File(LaunchCache.getCacheFolder(), "test-progress.snapshot");
+    }
+
+    public boolean restore() {
+        // Must be called before this snapshot is added as a listener of the engine. Returns whether any progress was restored, and either way the snapshot then matches the engine.
+        int flags = snapshotBuffer.getInt(FLAGS_OFFSET);
+        long updatedMillis = snapshotBuffer.getLong(UPDATED_MILLIS_OFFSET);
+        long updatedAgeMillis = (System.currentTimeMillis() - updatedMillis);
+
+        if ((snapshotBuffer.getInt(MAGIC_OFFSET) != MAGIC) || (snapshotBuffer.getInt(LAYOUT_SIGNATURE_OFFSET) != layoutSignature) || (snapshotBuffer.getInt(BOOT_IDENTITY_OFFSET) != bootIdentity)
+                || ((flags & FLAG_HAS_PROGRESS) == 0) || ((flags & FLAG_FINISHED) != 0) || (updatedAgeMillis < 0) || (updatedAgeMillis > MAX_RESTORE_AGE_MILLIS)) {
+            clear();
+            return false;
+        }
+
+        int keyCount = engine.getLayout().getKeys().size();
+        int[] keyPressCounts = new int[keyCount];
+        long[] firstKeyPressNanos = new long[keyCount];
+        for (int keyIndex = 0; keyIndex < keyCount; keyIndex++) {
+            int thisKeyRecordOffset = (HEADER_SIZE + (keyIndex * KEY_RECORD_SIZE));
+            keyPressCounts[keyIndex] = Math.max(snapshotBuffer.getInt(thisKeyRecordOffset + KEY_PRESS_COUNT_OFFSET), 0);
+            firstKeyPressNanos[keyIndex] = snapshotBuffer.getLong(thisKeyRecordOffset + KEY_FIRST_PRESS_NANOS_OFFSET);
+        }
+
+        List<int[]> unknownKeyPresses = new ArrayList<>(); // Each entry is {keyCode, keyLocation, pressCount}.
+        for (int unknownKeyIndex = 0; unknownKeyIndex < MAX_UNKNOWN_KEY_COUNT; unknownKeyIndex++) {
+            int thisUnknownKeyRecordOffset = (unknownKeyRecordsOffset + (unknownKeyIndex * UNKNOWN_KEY_RECORD_SIZE));
+            int thisUnknownKeyPressCount = snapshotBuffer.getInt(thisUnknownKeyRecordOffset + UNKNOWN_KEY_PRESS_COUNT_OFFSET);
+            if (thisUnknownKeyPressCount <= 0) {
+                break;
+            }
+
+            unknownKeyPresses.add(new int[]{snapshotBuffer.getInt(thisUnknownKeyRecordOffset + UNKNOWN_KEY_CODE_OFFSET), snapshotBuffer.getInt(thisUnknownKeyRecordOffset + UNKNOWN_KEY_LOCATION_OFFSET), thisUnknownKeyPressCount});
+        }
+
+        // The profile is applied first so that it's only replaced if detection is enabled and detects a different profile from the restored keys (just like when the keys were pressed).
+        int profileIndex = snapshotBuffer.getInt(PROFILE_INDEX_OFFSET);
+        engine.setProfileDetectionEnabled((flags & FLAG_PROFILE_DETECTION_ENABLED) != 0);
+        engine.setProfile(((profileIndex >= 0) && (profileIndex < profiles.size())) ? profiles.get(profileIndex) : null);
+
+        engine.restore(keyPressCounts, firstKeyPressNanos, unknownKeyPresses, snapshotBuffer.getLong(TOTAL_KEY_PRESS_COUNT_OFFSET), snapshotBuffer.getLong(FIRST_KEY_PRESS_MILLIS_OFFSET),
+                snapshotBuffer.getLong(ELAPSED_NANOS_OFFSET), snapshotBuffer.getLong(LONGEST_KEY_PRESS_INTERVAL_NANOS_OFFSET));
+
+        return (engine.getTotalKeyPressCount() > 0);
+    }
+
+    private void clear() {
+        // Only done when the test is reset (or when there is nothing to restore), so it's fine that this takes time for each key.
+        for (int thisKeyRecordOffset = HEADER_SIZE; thisKeyRecordOffset < unknownKeyRecordsOffset; thisKeyRecordOffset += KEY_RECORD_SIZE) {
+            snapshotBuffer.putInt(thisKeyRecordOffset + KEY_PRESS_COUNT_OFFSET, 0);
+            snapshotBuffer.putLong(thisKeyRecordOffset + KEY_FIRST_PRESS_NANOS_OFFSET, 0);
+        }
+
+        for (int thisUnknownKeyRecordOffset = unknownKeyRecordsOffset; thisUnknownKeyRecordOffset < snapshotBuffer.capacity(); thisUnknownKeyRecordOffset += UNKNOWN_KEY_RECORD_SIZE) {
+            snapshotBuffer.putInt(thisUnknownKeyRecordOffset + UNKNOWN_KEY_PRESS_COUNT_OFFSET, 0);
+        }
+
+        snapshotBuffer.putInt(MAGIC_OFFSET, MAGIC);
+        snapshotBuffer.putInt(LAYOUT_SIGNATURE_OFFSET, layoutSignature);
+        snapshotBuffer.putInt(BOOT_IDENTITY_OFFSET, bootIdentity);
+        updateHeader();
+    }
+
+    private void updateHeader() {
+        KeyboardLayout.Profile profile = engine.getProfile();
+        snapshotBuffer.putInt(PROFILE_INDEX_OFFSET, ((profile == null) ? -1 : profiles.indexOf(profile))); // There are only a handful of profiles.
+        snapshotBuffer.putLong(UPDATED_MILLIS_OFFSET, System.currentTimeMillis());
+        snapshotBuffer.putLong(FIRST_KEY_PRESS_MILLIS_OFFSET, engine.getFirstKeyPressMillis());
+        snapshotBuffer.putLong(ELAPSED_NANOS_OFFSET, engine.getLastKeyPressElapsedNanos());
+        snapshotBuffer.putLong(TOTAL_KEY_PRESS_COUNT_OFFSET, engine.getTotalKeyPressCount());
+        snapshotBuffer.putLong(LONGEST_KEY_PRESS_INTERVAL_NANOS_OFFSET, engine.getLongestKeyPressIntervalNanos());
+
+        // The flags are written last so that progress is only marked as restorable once everything else has been written.
+        snapshotBuffer.putInt(FLAGS_OFFSET, (((engine.getTotalKeyPressCount() > 0) ? FLAG_HAS_PROGRESS : 0) | (engine.isProfileDetectionEnabled() ? FLAG_PROFILE_DETECTION_ENABLED : 0)
+                | (engine.didPressEveryExpectedKey() ? FLAG_FINISHED : 0))); // A finished test was already exported, so it's never restored (even if testing is continued with "Keep Testing").
+    }
+
+    @Override
+    public void keyPressed(KeyboardTestEngine.KeyPress keyPress) {
+        if (keyPress.key != null) {
+            int keyRecordOffset = (HEADER_SIZE + (keyPress.key.index * KEY_RECORD_SIZE));
+            snapshotBuffer.putLong(keyRecordOffset + KEY_FIRST_PRESS_NANOS_OFFSET, engine.getFirstKeyPressNanos(keyPress.key.index));
+            snapshotBuffer.putInt(keyRecordOffset + KEY_PRESS_COUNT_OFFSET, engine.getKeyPressCount(keyPress.key.index));
+        } else {
+            // Unknown keys are rare, so just look through the few unknown key records for this one (or the first empty one).
+            for (int thisUnknownKeyRecordOffset = unknownKeyRecordsOffset; thisUnknownKeyRecordOffset < snapshotBuffer.capacity(); thisUnknownKeyRecordOffset += UNKNOWN_KEY_RECORD_SIZE) {
+                int thisUnknownKeyPressCount = snapshotBuffer.getInt(thisUnknownKeyRecordOffset + UNKNOWN_KEY_PRESS_COUNT_OFFSET);
+                if (thisUnknownKeyPressCount <= 0) {
+                    snapshotBuffer.putInt(thisUnknownKeyRecordOffset + UNKNOWN_KEY_CODE_OFFSET, keyPress.translatedKeyCode);
+                    snapshotBuffer.putInt(thisUnknownKeyRecordOffset + UNKNOWN_KEY_LOCATION_OFFSET, keyPress.keyLocation);
+                    snapshotBuffer.putInt(thisUnknownKeyRecordOffset + UNKNOWN_KEY_PRESS_COUNT_OFFSET, 1);
+                    break;
+                } else if ((snapshotBuffer.getInt(thisUnknownKeyRecordOffset + UNKNOWN_KEY_CODE_OFFSET) == keyPress.translatedKeyCode) && (snapshotBuffer.getInt(thisUnknownKeyRecordOffset + UNKNOWN_KEY_LOCATION_OFFSET) == keyPress.keyLocation)) {
+                    snapshotBuffer.putInt(thisUnknownKeyRecordOffset + UNKNOWN_KEY_PRESS_COUNT_OFFSET, (thisUnknownKeyPressCount + 1));
+                    break;
+                }
+            }
+        }
+
+        updateHeader();
+    }
+
+    @Override
+    public void profileChanged(KeyboardLayout.Profile newProfile, boolean wasDetected) {
+        updateHeader();
+    }
+
+    @Override
+    public void everyExpectedKeyPressed(KeyboardLayout.Profile profile) {
+        updateHeader();
+    }
+
+    @Override
+    public void pressedKeysReset() {
+        clear();
+    }
+
+    public void profileDetectionChanged() {
+        // Changing whether the profile is detected doesn't always change the profile (which is the only change the engine notifies listeners of), so the window calls this itself.
+        updateHeader();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A snapshot of the state of every key and the timing of a keyboard test when it ended (see "KeyboardTestEngine.createResult()"),
+ * which is written to the results folder by "KeyboardTestResultWriter" so that the results of each unit don't disappear when the test is reset or quit.
+ *
+ * Every field is final so that a result can be safely handed off to the writer thread.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyboardTestResult {
+
+    public static final String KEY_STATE_PRESSED = "pressed";
+    public static final String KEY_STATE_NOT_PRESSED = "notPressed"; // An expected key which was never pressed (which means the test did not pass).
+    public static final String KEY_STATE_NOT_EXPECTED = "notExpected"; // A key which isn't expected by the profile and wasn't pressed.
+
+    public static class KeyResult {
+
+        public final String id;
+        public final String section;
+        public final boolean isExpected;
+        public final int pressCount;
+        public final long firstPressMillis; // Milliseconds from the first key press of the test, or -1 if the key was never pressed.
+
+        KeyResult(String id, String section, boolean isExpected, int pressCount, long firstPressMillis) {
+            this.id = id;
+            this.section = section;
+            this.isExpected = isExpected;
+            this.pressCount = pressCount;
+            this.firstPressMillis = firstPressMillis;
+        }
+
+        public String getState() {
+            return ((pressCount > 0) ? KEY_STATE_PRESSED : (isExpected ? KEY_STATE_NOT_PRESSED : KEY_STATE_NOT_EXPECTED));
+        }
+    }
+
+    public static class UnknownKey {
+
+        public final int keyCode;
+        public final int keyLocation;
+        public final String keyText;
+        public final int pressCount;
+
+        UnknownKey(int keyCode, int keyLocation, String keyText, int pressCount) {
+            this.keyCode = keyCode;
+            this.keyLocation = keyLocation;
+            this.keyText = keyText;
+            this.pressCount = pressCount;
+        }
+    }
+
+    public final String endReason; // "completed", "reset", "quit", or "relaunch".
+    public final String os;
+    public final String profileID; // "manual" if no profile was selected.
+    public final boolean didPressEveryExpectedKey;
+    public final int expectedKeyCount;
+    public final int pressedExpectedKeyCount;
+    public final long totalKeyPressCount;
+    public final long startedAtMillis; // Wall clock time of the first key press.
+    public final long endedAtMillis;
+    public final long durationMillis; // From the first key press until the test ended.
+    public final long completionMillis; // From the first key press until every expected key was pressed, or -1 if that never happened.
+    public final double meanKeyPressIntervalMillis;
+    public final long longestKeyPressIntervalMillis;
+    public final List<KeyResult> keys;
+    public final List<UnknownKey> unknownKeys;
+
+    KeyboardTestResult(String endReason, String os, String profileID, boolean didPressEveryExpectedKey, int expectedKeyCount, int pressedExpectedKeyCount, long totalKeyPressCount,
+            long startedAtMillis, long endedAtMillis, long durationMillis, long completionMillis, double meanKeyPressIntervalMillis, long longestKeyPressIntervalMillis,
+            List<KeyResult> keys, List<UnknownKey> unknownKeys) {
+        this.endReason = endReason;
+        this.os = os;
+        this.profileID = profileID;
+        this.didPressEveryExpectedKey = didPressEveryExpectedKey;
+        this.expectedKeyCount = expectedKeyCount;
+        this.pressedExpectedKeyCount = pressedExpectedKeyCount;
+        this.totalKeyPressCount = totalKeyPressCount;
+        this.startedAtMillis = startedAtMillis;
+        this.endedAtMillis = endedAtMillis;
+        this.durationMillis = durationMillis;
+        this.completionMillis = completionMillis;
+        this.meanKeyPressIntervalMillis = meanKeyPressIntervalMillis;
+        this.longestKeyPressIntervalMillis = longestKeyPressIntervalMillis;
+        this.keys = Collections.unmodifiableList(keys);
+        this.unknownKeys = Collections.unmodifiableList(unknownKeys);
+    }
+}
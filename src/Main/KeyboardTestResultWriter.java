@@ -0,0 +1,491 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes each "KeyboardTestResult" to the results spool folder as both JSON and CSV files without ever blocking the Event Dispatch Thread.
+ *
+ * Results are queued and written by a background thread, which writes every result that is waiting (such as a reset quickly followed by a quit)
+ * before syncing any of them to the disk, so slow boot media (such as USB drives) only has to sync once for the whole batch.
+ * Each file is written to a temporary file that is only moved into place once every file of the batch has been written and synced (and the spool folder is synced after the moves),
+ * so anything that collects the results from the spool folder never sees a partial file. If writing or syncing fails, the temporary files of the batch are deleted and the batch isn't posted
+ * to the collector (and a result that was cut off by the computer losing power is just a leftover temporary file).
+ *
+ * The JSON and CSV are written by hand one field at a time (instead of with reflection or a library) since the result format is small and fixed.
+ *
+ * When a collector URL is set (see "FleetResultCollector"), the JSON of each result is also posted to it after it has been saved,
+ * and any results that couldn't be posted (such as while the collector is restarting) are posted again along with the next batch. Each result is posted with its
+ * file name as its "Idempotency-Key" so that the collector never counts a result twice when the response to an earlier post was lost (such as from a timeout).
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyboardTestResultWriter {
+
+    private static final String TEMPORARY_FILE_EXTENSION = ".tmp";
+    private static final int MAX_PENDING_UPLOAD_COUNT = 1000; // So that a collector that's down all day can't use up all the memory (the results are still in the spool folder).
+
+    private final File spoolFolder;
+    private final LinkedBlockingQueue<KeyboardTestResult> pendingResults = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private final Object writtenResultsLock = new Object();
+    private long queuedResultCount = 0;
+    private long writtenResultCount = 0;
+    private URL collectorURL = null;
+    private String stationName = null; // Determined on the writer thread (when not set) since getting the host name can wait on DNS.
+    private String computerModel = null; // Determined on the writer thread (when not set) since it may need to run a command.
+    private final ArrayDeque<PendingUpload> pendingUploads = new ArrayDeque<>(); // Only used on the writer thread.
+
+    private static class PendingUpload {
+
+        final String resultID; // The result file name, which is unique on this station and includes the station name, so the collector can ignore a result that's posted again.
+        final byte[] jsonBytes;
+
+        PendingUpload(String resultID, byte[] jsonBytes) {
+            this.resultID = resultID;
+            this.jsonBytes = jsonBytes;
+        }
+    }
+
+    public KeyboardTestResultWriter(File spoolFolder) {
+        this(spoolFolder, null, null, null);
+    }
+
+    public KeyboardTestResultWriter(File spoolFolder, URL collectorURL, String stationName, String computerModel) {
+        this.spoolFolder = spoolFolder;
+        this.collectorURL = collectorURL;
+        this.stationName = stationName;
+        this.computerModel = computerModel;
+
+        writerThread = new Thread(this::writeResultsForever, "Keyboard Test Result Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public static File getDefaultSpoolFolder() {
+        return new File(LaunchCache.getCacheFolder(), "Results");
+    }
+
+    public File getSpoolFolder() {
+        return spoolFolder;
+    }
+
+    public void submit(KeyboardTestResult result) {
+        synchronized (writtenResultsLock) {
+            queuedResultCount++;
+        }
+
+        pendingResults.add(result);
+    }
+
+    public boolean waitForPendingResults(long timeoutMillis) {
+        // Called when quitting to make sure the last result gets written (the writer thread is a daemon thread so that it never keeps the app open on its own).
+        long timeoutNanoTime = (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+
+        synchronized (writtenResultsLock) {
+            while (writtenResultCount < queuedResultCount) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(timeoutNanoTime - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+
+                try {
+                    writtenResultsLock.wait(remainingMillis);
+                } catch (InterruptedException waitForPendingResultsException) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void writeResultsForever() {
+        while (true) {
+            List<KeyboardTestResult> resultBatch = new ArrayList<>();
+
+            try {
+                resultBatch.add(pendingResults.take());
+            } catch (InterruptedException waitForResultException) {
+                return;
+            }
+
+            pendingResults.drainTo(resultBatch);
+
+            writeResultBatch(resultBatch);
+
+            synchronized (writtenResultsLock) {
+                writtenResultCount += resultBatch.size();
+                writtenResultsLock.notifyAll();
+            }
+        }
+    }
+
+    private void writeResultBatch(List<KeyboardTestResult> resultBatch) {
+        if (stationName == null) {
+            stationName = getDefaultStationName();
+        }
+
+        if (computerModel == null) {
+            computerModel = getDefaultComputerModel();
+        }
+
+        if (!spoolFolder.exists()) {
+            spoolFolder.mkdirs();
+        }
+
+        List<FileOutputStream> unsyncedOutputStreams = new ArrayList<>();
+        List<File> temporaryFiles = new ArrayList<>();
+        List<String> resultFileNames = new ArrayList<>(); // In the same order as the batch.
+        boolean didWriteResultBatch = false;
+
+        try {
+            SimpleDateFormat resultFileNameDateFormat = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss-SSS");
+            String stationFileName = stationName.replaceAll("[^A-Za-z0-9._-]", "-");
+            Set<String> batchResultFileNames = new HashSet<>();
+
+            for (KeyboardTestResult thisResult : resultBatch) {
+                // The station name keeps results from different stations apart when they share a spool folder, and a number is added if a result with the same name
+                // already exists or is in this batch (such as two results ending in the same millisecond) so that an existing result is never replaced.
+                String baseResultFileName = "Keyboard Test " + resultFileNameDateFormat.format(new Date(thisResult.endedAtMillis)) + " " + stationFileName + " " + thisResult.endReason;
+                String thisResultFileName = baseResultFileName;
+                for (int thisResultFileNumber = 2; !batchResultFileNames.add(thisResultFileName) || new File(spoolFolder, thisResultFileName + ".json").exists() || new File(spoolFolder, thisResultFileName + ".csv").exists(); thisResultFileNumber++) {
+                    thisResultFileName = baseResultFileName + " " + thisResultFileNumber;
+                }
+                resultFileNames.add(thisResultFileName);
+
+                for (boolean isJSON : new boolean[]{true, false}) {
+                    File thisTemporaryFile = new File(spoolFolder, thisResultFileName + (isJSON ? ".json" : ".csv") + TEMPORARY_FILE_EXTENSION);
+                    FileOutputStream thisOutputStream = new FileOutputStream(thisTemporaryFile);
+                    unsyncedOutputStreams.add(thisOutputStream);
+                    temporaryFiles.add(thisTemporaryFile);
+
+                    Writer thisWriter = new BufferedWriter(new OutputStreamWriter(thisOutputStream, StandardCharsets.UTF_8));
+                    if (isJSON) {
+                        writeJSON(thisResult, stationName, computerModel, thisWriter);
+                    } else {
+                        writeCSV(thisResult, thisWriter);
+                    }
+                    thisWriter.flush(); // Don't close the writer yet since the file still needs to be synced below.
+                }
+            }
+
+            for (FileOutputStream thisOutputStream : unsyncedOutputStreams) {
+                thisOutputStream.getFD().sync();
+            }
+
+            didWriteResultBatch = true;
+        } catch (IOException writeResultException) {
+            System.err.println("writeResultException: " + writeResultException);
+        } finally {
+            for (FileOutputStream thisOutputStream : unsyncedOutputStreams) {
+                try {
+                    thisOutputStream.close();
+                } catch (IOException closeResultException) {
+                    // Ignore closeResultException since the file is either already synced or the error was already logged.
+                }
+            }
+        }
+
+        if (!didWriteResultBatch) {
+            // Never move a partial or unsynced result into place (or post it to the collector), so delete every temporary file of this batch instead.
+            for (File thisTemporaryFile : temporaryFiles) {
+                if (!thisTemporaryFile.delete() && thisTemporaryFile.exists()) {
+                    System.err.println("Failed to Delete Temporary Result File: " + thisTemporaryFile.getPath());
+                }
+            }
+
+            return;
+        }
+
+        for (File thisTemporaryFile : temporaryFiles) {
+            String thisTemporaryFilePath = thisTemporaryFile.getPath();
+            try {
+                Files.move(thisTemporaryFile.toPath(), new File(thisTemporaryFilePath.substring(0, thisTemporaryFilePath.length() - TEMPORARY_FILE_EXTENSION.length())).toPath(), StandardCopyOption.ATOMIC_MOVE); // The name is already unique (see above).
+            } catch (IOException | UnsupportedOperationException moveResultException) {
+                System.err.println("moveResultException: " + moveResultException);
+            }
+        }
+
+        syncSpoolFolder(); // So that the new names of the result files also survive the computer losing power.
+
+        if (collectorURL != null) {
+            for (int resultIndex = 0; resultIndex < resultBatch.size(); resultIndex++) {
+                if (pendingUploads.size() >= MAX_PENDING_UPLOAD_COUNT) {
+                    pendingUploads.removeFirst();
+                }
+
+                pendingUploads.addLast(new PendingUpload(resultFileNames.get(resultIndex), getJSONBytes(resultBatch.get(resultIndex), stationName, computerModel)));
+            }
+
+            while (!pendingUploads.isEmpty()) {
+                try {
+                    PendingUpload thisPendingUpload = pendingUploads.peekFirst();
+                    postJSON(collectorURL, thisPendingUpload.jsonBytes, thisPendingUpload.resultID);
+                    pendingUploads.removeFirst();
+                } catch (IOException uploadResultException) {
+                    System.err.println("uploadResultException: " + uploadResultException + " (" + pendingUploads.size() + " results will be posted again with the next result)");
+                    break;
+                }
+            }
+        }
+    }
+
+    private void syncSpoolFolder() {
+        try (FileChannel spoolFolderChannel = FileChannel.open(spoolFolder.toPath(), StandardOpenOption.READ)) {
+            spoolFolderChannel.force(true);
+        } catch (IOException syncSpoolFolderException) {
+            // Ignore syncSpoolFolderException since folders can't be opened to be synced on Windows (where moving a file is already durable once it returns).
+        }
+    }
+
+    static byte[] getJSONBytes(KeyboardTestResult result, String stationName, String computerModel) {
+        StringWriter jsonWriter = new StringWriter(8192);
+
+        try {
+            writeJSON(result, stationName, computerModel, jsonWriter);
+        } catch (IOException writeJSONException) {
+            // "StringWriter" never throws.
+        }
+
+        return jsonWriter.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static void postJSON(URL url, byte[] jsonBytes, String resultID) throws IOException {
+        HttpURLConnection httpConnection = (HttpURLConnection) url.openConnection();
+
+        try {
+            httpConnection.setConnectTimeout(5000);
+            httpConnection.setReadTimeout(5000);
+            httpConnection.setRequestMethod("POST");
+            httpConnection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+            httpConnection.setRequestProperty("Idempotency-Key", resultID); // So that the collector never counts a result twice when it's posted again after a timeout.
+            httpConnection.setFixedLengthStreamingMode(jsonBytes.length);
+            httpConnection.setDoOutput(true);
+
+            try (OutputStream requestBody = httpConnection.getOutputStream()) {
+                requestBody.write(jsonBytes);
+            }
+
+            int responseCode = httpConnection.getResponseCode();
+            if ((responseCode < 200) || (responseCode > 299)) {
+                throw new IOException("Collector responded with HTTP " + responseCode);
+            }
+        } finally {
+            httpConnection.disconnect();
+        }
+    }
+
+    private static String getDefaultStationName() {
+        String stationName = System.getenv(System.getProperty("os.name").startsWith("Windows") ? "COMPUTERNAME" : "HOSTNAME");
+
+        if ((stationName == null) || stationName.isEmpty()) {
+            try {
+                stationName = InetAddress.getLocalHost().getHostName();
+            } catch (IOException getHostNameException) {
+                stationName = "unknown";
+            }
+        }
+
+        return stationName;
+    }
+
+    private static String getDefaultComputerModel() {
+        // The computer model lets the fleet collector spot models whose keyboards fail more often than others.
+        String osName = System.getProperty("os.name");
+
+        try {
+            if (osName.startsWith("Linux")) {
+                return new String(Files.readAllBytes(new File("/sys/class/dmi/id/product_name").toPath()), StandardCharsets.UTF_8).trim();
+            }
+
+            String[] computerModelCommand = null;
+            if (osName.startsWith("Mac OS X") || osName.startsWith("macOS")) {
+                computerModelCommand = new String[]{"/usr/sbin/sysctl", "-n", "hw.model"};
+            } else if (osName.startsWith("Windows")) {
+                computerModelCommand = new String[]{"\\Windows\\System32\\reg.exe", "query", "HKLM\\HARDWARE\\DESCRIPTION\\System\\BIOS", "/v", "SystemProductName"};
+            }
+
+            if (computerModelCommand != null) {
+                try (BufferedReader commandReader = new BufferedReader(new InputStreamReader(Runtime.getRuntime().exec(computerModelCommand).getInputStream()))) {
+                    String thisLine;
+                    while ((thisLine = commandReader.readLine()) != null) {
+                        thisLine = thisLine.trim();
+                        if (thisLine.startsWith("SystemProductName")) {
+                            return thisLine.replaceFirst("^SystemProductName\\s+REG_SZ\\s+", "");
+                        } else if (!thisLine.isEmpty() && !osName.startsWith("Windows")) {
+                            return thisLine;
+                        }
+                    }
+                }
+            }
+        } catch (IOException | SecurityException getComputerModelException) {
+            // Ignore getComputerModelException since the model is only used to group results.
+        }
+
+        return "unknown";
+    }
+
+    static void writeJSON(KeyboardTestResult result, String stationName, String computerModel, Writer writer) throws IOException {
+        writer.write("{\n");
+        writeJSONField(writer, "station", stationName, false);
+        writeJSONField(writer, "computerModel", computerModel, false);
+        writeJSONField(writer, "endReason", result.endReason, false);
+        writeJSONField(writer, "os", result.os, false);
+        writeJSONField(writer, "profile", result.profileID, false);
+        writeJSONRawField(writer, "didPressEveryExpectedKey", Boolean.toString(result.didPressEveryExpectedKey), false);
+        writeJSONRawField(writer, "expectedKeyCount", Integer.toString(result.expectedKeyCount), false);
+        writeJSONRawField(writer, "pressedExpectedKeyCount", Integer.toString(result.pressedExpectedKeyCount), false);
+        writeJSONRawField(writer, "totalKeyPressCount", Long.toString(result.totalKeyPressCount), false);
+        writeJSONRawField(writer, "startedAtMillis", Long.toString(result.startedAtMillis), false);
+        writeJSONRawField(writer, "endedAtMillis", Long.toString(result.endedAtMillis), false);
+        writeJSONRawField(writer, "durationMillis", Long.toString(result.durationMillis), false);
+        writeJSONRawField(writer, "completionMillis", Long.toString(result.completionMillis), false);
+        writeJSONRawField(writer, "meanKeyPressIntervalMillis", String.format(Locale.ROOT, "%.1f", result.meanKeyPressIntervalMillis), false);
+        writeJSONRawField(writer, "longestKeyPressIntervalMillis", Long.toString(result.longestKeyPressIntervalMillis), false);
+
+        writer.write("  \"keys\": [");
+        for (int keyIndex = 0; keyIndex < result.keys.size(); keyIndex++) {
+            KeyboardTestResult.KeyResult thisKey = result.keys.get(keyIndex);
+            writer.write((keyIndex == 0) ? "\n    {" : ",\n    {");
+            writer.write("\"id\": ");
+            writeJSONString(writer, thisKey.id);
+            writer.write(", \"section\": ");
+            writeJSONString(writer, thisKey.section);
+            writer.write(", \"state\": ");
+            writeJSONString(writer, thisKey.getState());
+            writer.write(", \"expected\": " + thisKey.isExpected + ", \"pressCount\": " + thisKey.pressCount + ", \"firstPressMillis\": " + thisKey.firstPressMillis + "}");
+        }
+        writer.write(result.keys.isEmpty() ? "],\n" : "\n  ],\n");
+
+        writer.write("  \"unknownKeys\": [");
+        for (int unknownKeyIndex = 0; unknownKeyIndex < result.unknownKeys.size(); unknownKeyIndex++) {
+            KeyboardTestResult.UnknownKey thisUnknownKey = result.unknownKeys.get(unknownKeyIndex);
+            writer.write((unknownKeyIndex == 0) ? "\n    {" : ",\n    {");
+            writer.write("\"keyText\": ");
+            writeJSONString(writer, thisUnknownKey.keyText);
+            writer.write(", \"keyCode\": " + thisUnknownKey.keyCode + ", \"keyLocation\": " + thisUnknownKey.keyLocation + ", \"pressCount\": " + thisUnknownKey.pressCount + "}");
+        }
+        writer.write(result.unknownKeys.isEmpty() ? "]\n" : "\n  ]\n");
+
+        writer.write("}\n");
+    }
+
+    private static void writeJSONField(Writer writer, String name, String value, boolean isLastField) throws IOException {
+        writer.write("  ");
+        writeJSONString(writer, name);
+        writer.write(": ");
+        if (value == null) {
+            writer.write("null"); // Such as the station name and computer model of results sent to QA Helper, which already knows them (see "QAHelperConnection").
+        } else {
+            writeJSONString(writer, value);
+        }
+        writer.write(isLastField ? "\n" : ",\n");
+    }
+
+    private static void writeJSONRawField(Writer writer, String name, String rawValue, boolean isLastField) throws IOException {
+        writer.write("  ");
+        writeJSONString(writer, name);
+        writer.write(": " + rawValue + (isLastField ? "\n" : ",\n"));
+    }
+
+    static void writeJSONString(Writer writer, String string) throws IOException {
+        writer.write('"');
+
+        for (int charIndex = 0; charIndex < string.length(); charIndex++) {
+            char thisChar = string.charAt(charIndex);
+            switch (thisChar) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (thisChar < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) thisChar));
+                    } else {
+                        writer.write(thisChar);
+                    }
+            }
+        }
+
+        writer.write('"');
+    }
+
+    static void writeCSV(KeyboardTestResult result, Writer writer) throws IOException {
+        // One row per key (including unknown keys) with the overall result repeated on every row so that the CSV files from many units can just be concatenated.
+        writer.write("End Reason,OS,Profile,Did Press Every Expected Key,Started At Millis,Duration Millis,Completion Millis,Key,Section,State,Expected,Press Count,First Press Millis\n");
+
+        String resultColumns = (getCSVField(result.endReason) + "," + getCSVField(result.os) + "," + getCSVField(result.profileID) + "," + result.didPressEveryExpectedKey + ","
+                + result.startedAtMillis + "," + result.durationMillis + "," + result.completionMillis + ",");
+
+        for (KeyboardTestResult.KeyResult thisKey : result.keys) {
+            writer.write(resultColumns + getCSVField(thisKey.id) + "," + getCSVField(thisKey.section) + "," + thisKey.getState() + "," + thisKey.isExpected + "," + thisKey.pressCount + "," + thisKey.firstPressMillis + "\n");
+        }
+
+        for (KeyboardTestResult.UnknownKey thisUnknownKey : result.unknownKeys) {
+            writer.write(resultColumns + getCSVField(thisUnknownKey.keyText) + ",,unknown,false," + thisUnknownKey.pressCount + ",-1\n");
+        }
+    }
+
+    private static String getCSVField(String field) {
+        if ((field.indexOf(',') >= 0) || (field.indexOf('"') >= 0) || (field.indexOf('\n') >= 0) || (field.indexOf('\r') >= 0)) {
+            return ("\"" + field.replace("\"", "\"\"") + "\"");
+        }
+
+        return field;
+    }
+}
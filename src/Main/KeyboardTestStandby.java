@@ -0,0 +1,254 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Keeps one Keyboard Test resident in the background with its window already built but hidden (launched with "--standby"), so that launching with "--use-standby"
+ * only has to connect to it and ask it to show a fresh test instead of paying for the JVM boot, the look and feel, building the window, and decoding the icons every time.
+ *
+ * The standby Keyboard Test listens on the loopback address and writes its port and a random token to "standby.properties" in the cache folder
+ * (which only the same user can read, so no other user can show or stop it), and removes the file when it quits. Each launch connects, sends one message right away, and waits for one reply,
+ * using the same length-prefixed JSON messages as "QAHelperConnection" (each connection is handled on its own thread and is dropped if it doesn't send its message within a second):
+ *   "launch" with "token" and an optional "profile" to reset the test and show the window (or bring it to the front if it's already showing),
+ *     and "benchmark" (true or false) to go right back to standby once the window is showing so launches can be timed repeatedly.
+ *   "stop" with "token" to quit the standby Keyboard Test.
+ * The reply is "shown" (with "showMillis", how long resetting and showing the window took) once the window has been painted, "stopped", or "error" with a "message".
+ *
+ * Closing the window (or quitting from the "Finished Keyboard Test" dialog) exports the result as usual and then hides the window and resets the test instead of quitting,
+ * so the next launch is just as fast. If there is no standby Keyboard Test (or it doesn't reply), "--use-standby" falls back to a normal launch.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class KeyboardTestStandby {
+
+    public interface Listener {
+
+        boolean showFreshTest(String profileID); // Called on the EDT, and must return once the window has been painted. Returns false if the window was already showing (and was only brought to the front).
+
+        void returnToStandby(); // Called on the EDT.
+
+        void stopRequested(); // Called on the EDT.
+    }
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+    private static final int REPLY_TIMEOUT_MILLIS = 15000;
+    private static final int READ_LAUNCH_TIMEOUT_MILLIS = 1000; // Launches send their message as soon as they connect, so a connection that hasn't sent anything by then is given up on.
+
+    private final Listener listener;
+    private final String token;
+    private ServerSocket serverSocket = null;
+
+    public KeyboardTestStandby(Listener listener) {
+        this.listener = listener;
+
+        byte[] tokenBytes = new byte[16];
+        new SecureRandom().nextBytes(tokenBytes);
+        StringBuilder tokenBuilder = new StringBuilder();
+        for (byte thisTokenByte : tokenBytes) {
+            tokenBuilder.append(String.format("%02x", thisTokenByte));
+        }
+        token = tokenBuilder.toString();
+    }
+
+    public static File getStandbyFile() {
+        return new File(LaunchCache.getCacheFolder(), "standby.properties");
+    }
+
+    public void start() throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0)); // Any free port, since launches find the port in the standby file.
+
+        Properties standbyProperties = new Properties();
+        standbyProperties.setProperty("port", Integer.toString(serverSocket.getLocalPort()));
+        standbyProperties.setProperty("token", token);
+        standbyProperties.setProperty("pid", Long.toString(ProcessHandle.current().pid()));
+
+        // Write to a temporary file and then move it into place (just like "LaunchCache") so that a launch never reads a partial file.
+        // The file contains the token, so it's only readable by the same user (and the cache folder is only created with access for the same user).
+        // On Windows, there are no POSIX permissions but the cache folder is in the per-user "LOCALAPPDATA" folder.
+        File standbyFile = getStandbyFile();
+        File standbyFolder = standbyFile.getParentFile();
+        boolean isPOSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+        if (!standbyFolder.exists()) {
+            if (isPOSIX) {
+                Files.createDirectories(standbyFolder.toPath(), PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            } else {
+                standbyFolder.mkdirs();
+            }
+        }
+
+        File tempStandbyFile = (isPOSIX ? Files.createTempFile(standbyFolder.toPath(), "standby", ".tmp", PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))).toFile()
+                : File.createTempFile("standby", ".tmp", standbyFolder));
+        try (FileOutputStream tempStandbyFileOutputStream = new FileOutputStream(tempStandbyFile)) {
+            standbyProperties.store(tempStandbyFileOutputStream, "Keyboard Test Standby");
+        }
+        Files.move(tempStandbyFile.toPath(), standbyFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                // Only remove the standby file if it's still ours, since another standby Keyboard Test may have been started after this one.
+                if (token.equals(readStandbyProperties().getProperty("token"))) {
+                    standbyFile.delete();
+                }
+            } catch (IOException | SecurityException removeStandbyFileException) {
+                // Ignore removeStandbyFileException since launches fall back to a normal launch when the standby Keyboard Test doesn't reply.
+            }
+        }));
+
+        Thread acceptThread = new Thread(this::acceptLaunchesForever, "Keyboard Test Standby");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    private void acceptLaunchesForever() {
+        while (!serverSocket.isClosed()) {
+            Socket launchSocket;
+            try {
+                launchSocket = serverSocket.accept();
+            } catch (IOException acceptLaunchException) {
+                if (!serverSocket.isClosed()) {
+                    System.err.println("acceptLaunchException: " + acceptLaunchException);
+                }
+                continue;
+            }
+
+            // Each launch is handled on its own thread so that a connection that never sends anything can't hold up the launches after it
+            // (showing the window is still done one at a time since it's done on the EDT).
+            Thread launchThread = new Thread(() -> handleLaunch(launchSocket), "Keyboard Test Standby Launch");
+            launchThread.setDaemon(true);
+            launchThread.start();
+        }
+    }
+
+    private void handleLaunch(Socket launchSocket) {
+        try (launchSocket) {
+            launchSocket.setTcpNoDelay(true);
+            launchSocket.setSoTimeout(READ_LAUNCH_TIMEOUT_MILLIS);
+
+            DataInputStream launchInputStream = new DataInputStream(new BufferedInputStream(launchSocket.getInputStream()));
+            DataOutputStream launchOutputStream = new DataOutputStream(new BufferedOutputStream(launchSocket.getOutputStream()));
+
+            QAHelperConnection.writeMessage(launchOutputStream, handleLaunchMessage(QAHelperConnection.readMessage(launchInputStream)).toBytes());
+        } catch (IOException | RuntimeException standbyLaunchException) {
+            // Any local process can connect, so nothing it sends (such as a message that isn't a JSON object) can be allowed to stop the standby Keyboard Test from accepting launches.
+            if (!serverSocket.isClosed()) {
+                System.err.println("standbyLaunchException: " + standbyLaunchException); // Such as a launch that gave up waiting, the next launch will still be handled.
+            }
+        }
+    }
+
+    private boolean isValidToken(Object messageToken) {
+        // Compared in constant time so that how long the comparison takes doesn't reveal how much of the token was right.
+        return ((messageToken instanceof String) && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), ((String) messageToken).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private QAHelperConnection.Message handleLaunchMessage(Map<?, ?> launchMessage) {
+        if ((launchMessage == null) || !isValidToken(launchMessage.get("token"))) {
+            return QAHelperConnection.newMessage("error").field("message", "Invalid Token");
+        }
+
+        String messageType = String.valueOf(launchMessage.get("type"));
+        try {
+            if (messageType.equals("launch")) {
+                Object profileID = launchMessage.get("profile");
+                boolean[] didShowFreshTest = new boolean[]{false};
+
+                long showStartNanoTime = System.nanoTime();
+                java.awt.EventQueue.invokeAndWait(() -> didShowFreshTest[0] = listener.showFreshTest((profileID instanceof String) ? (String) profileID : null));
+                long showMillis = Math.round((System.nanoTime() - showStartNanoTime) / 1_000_000.0);
+
+                if (Boolean.TRUE.equals(launchMessage.get("benchmark"))) {
+                    java.awt.EventQueue.invokeLater(listener::returnToStandby);
+                }
+
+                return QAHelperConnection.newMessage("shown").rawField("showMillis", Long.toString(showMillis)).rawField("wasFresh", Boolean.toString(didShowFreshTest[0]));
+            } else if (messageType.equals("stop")) {
+                java.awt.EventQueue.invokeLater(listener::stopRequested);
+
+                return QAHelperConnection.newMessage("stopped");
+            }
+        } catch (InterruptedException | InvocationTargetException showFreshTestException) {
+            return QAHelperConnection.newMessage("error").field("message", showFreshTestException.toString());
+        }
+
+        return QAHelperConnection.newMessage("error").field("message", "Unknown Message Type: " + messageType);
+    }
+
+    private static Properties readStandbyProperties() throws IOException {
+        Properties standbyProperties = new Properties();
+        try (FileInputStream standbyFileInputStream = new FileInputStream(getStandbyFile())) {
+            standbyProperties.load(standbyFileInputStream);
+        }
+
+        return standbyProperties;
+    }
+
+    private static Map<?, ?> sendToStandby(QAHelperConnection.Message message) throws IOException {
+        // The token is added here since it's only known from the standby file.
+        Properties standbyProperties = readStandbyProperties();
+
+        try (Socket standbySocket = new Socket()) {
+            standbySocket.setTcpNoDelay(true);
+            standbySocket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(standbyProperties.getProperty("port", ""))), CONNECT_TIMEOUT_MILLIS);
+            standbySocket.setSoTimeout(REPLY_TIMEOUT_MILLIS);
+
+            QAHelperConnection.writeMessage(new DataOutputStream(new BufferedOutputStream(standbySocket.getOutputStream())), message.field("token", standbyProperties.getProperty("token")).toBytes());
+            Map<?, ?> replyMessage = QAHelperConnection.readMessage(new DataInputStream(new BufferedInputStream(standbySocket.getInputStream())));
+
+            if ("error".equals(replyMessage.get("type"))) {
+                throw new IOException("Standby Error: " + replyMessage.get("message"));
+            }
+
+            return replyMessage;
+        } catch (IllegalArgumentException | ClassCastException invalidStandbyException) { // Including "NumberFormatException" for an invalid port.
+            throw new IOException(invalidStandbyException);
+        }
+    }
+
+    public static Map<?, ?> launch(String profileID, boolean isBenchmark) throws IOException {
+        // Throws "IOException" (such as "FileNotFoundException" when there is no standby Keyboard Test) so that the caller can fall back to a normal launch.
+        return sendToStandby(QAHelperConnection.newMessage("launch").field("profile", profileID).rawField("benchmark", Boolean.toString(isBenchmark)));
+    }
+
+    public static void stop() throws IOException {
+        sendToStandby(QAHelperConnection.newMessage("stop"));
+    }
+}
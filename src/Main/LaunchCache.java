@@ -0,0 +1,153 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * A tiny on-disk cache of values that are slow to determine at launch but rarely change between launches (such as the system UI scale factor on Linux or the Mac model).
+ *
+ * Values are stored in a properties file in the per-user cache folder for each OS. Every value is only a hint to make launching faster,
+ * so any error reading or writing the cache is ignored and callers must always be able to determine the value themselves when it's not cached.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class LaunchCache {
+
+    private static final Properties cachedValues = new Properties();
+    private static boolean didLoad = false;
+
+    private LaunchCache() {
+        // Only static methods.
+    }
+
+    static File getCacheFolder() {
+        String osName = System.getProperty("os.name");
+        String userHome = System.getProperty("user.home");
+
+        File cacheFolder;
+        if (osName.startsWith("Mac OS X") || osName.startsWith("macOS")) {
+            cacheFolder = new File(userHome, "Library/Caches/org.freegeek.Keyboard-Test");
+        } else if (osName.startsWith("Windows")) {
+            String localAppData = System.getenv("LOCALAPPDATA");
+            cacheFolder = new File(((localAppData == null) || localAppData.isEmpty()) ? System.getProperty("java.io.tmpdir") : localAppData, "Keyboard Test");
+        } else {
+            String xdgCacheHome = System.getenv("XDG_CACHE_HOME");
+            cacheFolder = new File(((xdgCacheHome == null) || xdgCacheHome.isEmpty()) ? new File(userHome, ".cache").getPath() : xdgCacheHome, "keyboard-test");
+        }
+
+        return cacheFolder;
+    }
+
+    public static String getBootIdentity() {
+        // Values such as the Mac model can only change when booting (such as when a test boot drive is moved to another computer), so these values are cached per boot.
+        // The boot identity is determined without running any external commands: Linux provides a unique ID for each boot, and on macOS and Windows
+        // the start time of the first process (which is started when booting) is used. If the boot identity can't be determined, "null" is returned and nothing should be cached.
+        String osName = System.getProperty("os.name");
+
+        if (osName.startsWith("Linux")) {
+            try {
+                String linuxBootID = new String(Files.readAllBytes(new File("/proc/sys/kernel/random/boot_id").toPath()), StandardCharsets.UTF_8).trim();
+                if (!linuxBootID.isEmpty()) {
+                    return linuxBootID;
+                }
+            } catch (IOException | SecurityException readLinuxBootIDException) {
+                // Ignore readLinuxBootIDException and fall back on checking the first process start time below.
+            }
+        }
+
+        Optional<Instant> firstProcessStartInstant = ProcessHandle.of(osName.startsWith("Windows") ? 4 : 1).flatMap((ProcessHandle firstProcessHandle) -> firstProcessHandle.info().startInstant()); // PID 4 is the "System" process on Windows and PID 1 is "launchd" on macOS (and "init" on Linux).
+        if (firstProcessStartInstant.isPresent()) {
+            return Long.toString(firstProcessStartInstant.get().getEpochSecond());
+        }
+
+        return null;
+    }
+
+    private static File getCacheFile() {
+        return new File(getCacheFolder(), "launch-cache.properties");
+    }
+
+    private static void loadIfNeeded() {
+        if (!didLoad) {
+            didLoad = true;
+
+            File cacheFile = getCacheFile();
+            if (cacheFile.exists()) {
+                try (FileInputStream cacheFileInputStream = new FileInputStream(cacheFile)) {
+                    cachedValues.load(cacheFileInputStream);
+                } catch (IOException | IllegalArgumentException loadLaunchCacheException) {
+                    cachedValues.clear(); // Ignore loadLaunchCacheException since everything will just be re-determined and re-cached.
+                }
+            }
+        }
+    }
+
+    public static synchronized String get(String key) {
+        loadIfNeeded();
+
+        return cachedValues.getProperty(key);
+    }
+
+    public static synchronized void put(String key, String value) {
+        loadIfNeeded();
+
+        if (!value.equals(cachedValues.getProperty(key))) {
+            cachedValues.setProperty(key, value);
+            save();
+        }
+    }
+
+    public static synchronized void putReplacingPrefix(String keyPrefix, String key, String value) {
+        // For values that are cached per boot, any values from previous boots will never be used again, so remove them to not let the cache grow forever.
+        loadIfNeeded();
+
+        cachedValues.stringPropertyNames().stream().filter((String thisKey) -> (thisKey.startsWith(keyPrefix) && !thisKey.equals(key))).forEach(cachedValues::remove);
+        cachedValues.setProperty(key, value);
+        save();
+    }
+
+    private static void save() {
+        try {
+            File cacheFolder = getCacheFolder();
+            if (!cacheFolder.exists()) {
+                cacheFolder.mkdirs();
+            }
+
+            // Write to a temporary file and then move it into place so that a launch that happens while the cache is being written never reads a partial file.
+            File cacheFile = getCacheFile();
+            File tempCacheFile = File.createTempFile("launch-cache", ".tmp", cacheFolder);
+            try (FileOutputStream tempCacheFileOutputStream = new FileOutputStream(tempCacheFile)) {
+                cachedValues.store(tempCacheFileOutputStream, "Keyboard Test Launch Cache");
+            }
+
+            Files.move(tempCacheFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | SecurityException | UnsupportedOperationException saveLaunchCacheException) {
+            // Ignore saveLaunchCacheException since the cache is only used to make launching faster.
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Reads key events straight from a Linux keyboard device ("/dev/input/event*") instead of from AWT when launched with "--evdev",
+ * which can tell apart keys that AWT on Linux can't (such as the Left and Right Start/Windows keys) and skips the latency and key code remapping of the X server and AWT.
+ *
+ * Each "struct input_event" is read in batches from a "FileChannel" into one reused direct "ByteBuffer" (so reading the events doesn't allocate,
+ * but each key press is a new "EvdevKeyPress" and each batch is handed to the listener as a new list since the listener may hand it off to another thread),
+ * and every key press in a batch is handed to the listener at once so that the window only needs to update once per batch.
+ * The kernel key codes are translated to the "java.awt.event.KeyEvent" key codes and locations that the layout bindings use,
+ * so that key presses from the kernel go through exactly the same "KeyboardTestEngine" as key presses from AWT.
+ *
+ * Reading the keyboard devices requires being root or being in the "input" group. A captured device stream (such as from "cat /dev/input/event3 > capture.evdev")
+ * can be replayed without any keyboard or display with "java -cp KeyboardTest.jar Main.LinuxEvdevInput capture.evdev".
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class LinuxEvdevInput {
+
+    private static final int EV_KEY = 0x01; // Every other event type (such as EV_SYN and EV_MSC scan codes) is ignored.
+    private static final int EV_LED = 0x11;
+    private static final int EV_REP = 0x14;
+    private static final int KEY_VALUE_PRESSED = 1; // Releases are 0.
+    private static final int KEY_VALUE_REPEATED = 2;
+    private static final int EVENTS_PER_READ = 64;
+
+    // The AWT key code and key location for each kernel key code (from "linux/input-event-codes.h"), indexed by kernel key code.
+    // The JIS Ro (89) and Yen (124) keys are translated to the same AWT key codes that AWT reports for them, which the layout binds to the "IntlBackslash" and "Backslash" keys.
+    private static final int[] AWT_KEY_CODES = new int[256];
+    private static final int[] AWT_KEY_LOCATIONS = new int[256];
+
+    static {
+        int[][] keyCodes = {
+            {1, KeyEvent.VK_ESCAPE}, {2, KeyEvent.VK_1}, {3, KeyEvent.VK_2}, {4, KeyEvent.VK_3}, {5, KeyEvent.VK_4}, {6, KeyEvent.VK_5}, {7, KeyEvent.VK_6}, {8, KeyEvent.VK_7},
+            {9, KeyEvent.VK_8}, {10, KeyEvent.VK_9}, {11, KeyEvent.VK_0}, {12, KeyEvent.VK_MINUS}, {13, KeyEvent.VK_EQUALS}, {14, KeyEvent.VK_BACK_SPACE}, {15, KeyEvent.VK_TAB},
+            {16, KeyEvent.VK_Q}, {17, KeyEvent.VK_W}, {18, KeyEvent.VK_E}, {19, KeyEvent.VK_R}, {20, KeyEvent.VK_T}, {21, KeyEvent.VK_Y}, {22, KeyEvent.VK_U}, {23, KeyEvent.VK_I},
+            {24, KeyEvent.VK_O}, {25, KeyEvent.VK_P}, {26, KeyEvent.VK_OPEN_BRACKET}, {27, KeyEvent.VK_CLOSE_BRACKET}, {28, KeyEvent.VK_ENTER},
+            {29, KeyEvent.VK_CONTROL, KeyEvent.KEY_LOCATION_LEFT}, {30, KeyEvent.VK_A}, {31, KeyEvent.VK_S}, {32, KeyEvent.VK_D}, {33, KeyEvent.VK_F}, {34, KeyEvent.VK_G},
+            {35, KeyEvent.VK_H}, {36, KeyEvent.VK_J}, {37, KeyEvent.VK_K}, {38, KeyEvent.VK_L}, {39, KeyEvent.VK_SEMICOLON}, {40, KeyEvent.VK_QUOTE}, {41, KeyEvent.VK_BACK_QUOTE},
+            {42, KeyEvent.VK_SHIFT, KeyEvent.KEY_LOCATION_LEFT}, {43, KeyEvent.VK_BACK_SLASH}, {44, KeyEvent.VK_Z}, {45, KeyEvent.VK_X}, {46, KeyEvent.VK_C}, {47, KeyEvent.VK_V},
+            {48, KeyEvent.VK_B}, {49, KeyEvent.VK_N}, {50, KeyEvent.VK_M}, {51, KeyEvent.VK_COMMA}, {52, KeyEvent.VK_PERIOD}, {53, KeyEvent.VK_SLASH},
+            {54, KeyEvent.VK_SHIFT, KeyEvent.KEY_LOCATION_RIGHT}, {55, KeyEvent.VK_MULTIPLY, KeyEvent.KEY_LOCATION_NUMPAD}, {56, KeyEvent.VK_ALT, KeyEvent.KEY_LOCATION_LEFT},
+            {57, KeyEvent.VK_SPACE}, {58, KeyEvent.VK_CAPS_LOCK}, {59, KeyEvent.VK_F1}, {60, KeyEvent.VK_F2}, {61, KeyEvent.VK_F3}, {62, KeyEvent.VK_F4}, {63, KeyEvent.VK_F5},
+            {64, KeyEvent.VK_F6}, {65, KeyEvent.VK_F7}, {66, KeyEvent.VK_F8}, {67, KeyEvent.VK_F9}, {68, KeyEvent.VK_F10}, {69, KeyEvent.VK_NUM_LOCK, KeyEvent.KEY_LOCATION_NUMPAD},
+            {70, KeyEvent.VK_SCROLL_LOCK}, {71, KeyEvent.VK_NUMPAD7, KeyEvent.KEY_LOCATION_NUMPAD}, {72, KeyEvent.VK_NUMPAD8, KeyEvent.KEY_LOCATION_NUMPAD},
+            {73, KeyEvent.VK_NUMPAD9, KeyEvent.KEY_LOCATION_NUMPAD}, {74, KeyEvent.VK_SUBTRACT, KeyEvent.KEY_LOCATION_NUMPAD}, {75, KeyEvent.VK_NUMPAD4, KeyEvent.KEY_LOCATION_NUMPAD},
+            {76, KeyEvent.VK_NUMPAD5, KeyEvent.KEY_LOCATION_NUMPAD}, {77, KeyEvent.VK_NUMPAD6, KeyEvent.KEY_LOCATION_NUMPAD}, {78, KeyEvent.VK_ADD, KeyEvent.KEY_LOCATION_NUMPAD},
+            {79, KeyEvent.VK_NUMPAD1, KeyEvent.KEY_LOCATION_NUMPAD}, {80, KeyEvent.VK_NUMPAD2, KeyEvent.KEY_LOCATION_NUMPAD}, {81, KeyEvent.VK_NUMPAD3, KeyEvent.KEY_LOCATION_NUMPAD},
+            {82, KeyEvent.VK_NUMPAD0, KeyEvent.KEY_LOCATION_NUMPAD}, {83, KeyEvent.VK_DECIMAL, KeyEvent.KEY_LOCATION_NUMPAD}, {85, KeyEvent.VK_HALF_WIDTH}, {86, KeyEvent.VK_LESS},
+            {87, KeyEvent.VK_F11}, {88, KeyEvent.VK_F12}, {89, KeyEvent.VK_LESS}, {90, KeyEvent.VK_KATAKANA}, {91, KeyEvent.VK_HIRAGANA}, {92, KeyEvent.VK_CONVERT}, {93, KeyEvent.VK_KATAKANA},
+            {94, KeyEvent.VK_NONCONVERT}, {96, KeyEvent.VK_ENTER, KeyEvent.KEY_LOCATION_NUMPAD}, {97, KeyEvent.VK_CONTROL, KeyEvent.KEY_LOCATION_RIGHT},
+            {98, KeyEvent.VK_DIVIDE, KeyEvent.KEY_LOCATION_NUMPAD}, {99, KeyEvent.VK_PRINTSCREEN}, {100, KeyEvent.VK_ALT, KeyEvent.KEY_LOCATION_RIGHT}, {102, KeyEvent.VK_HOME},
+            {103, KeyEvent.VK_UP}, {104, KeyEvent.VK_PAGE_UP}, {105, KeyEvent.VK_LEFT}, {106, KeyEvent.VK_RIGHT}, {107, KeyEvent.VK_END}, {108, KeyEvent.VK_DOWN},
+            {109, KeyEvent.VK_PAGE_DOWN}, {110, KeyEvent.VK_INSERT}, {111, KeyEvent.VK_DELETE}, {117, KeyEvent.VK_EQUALS, KeyEvent.KEY_LOCATION_NUMPAD}, {119, KeyEvent.VK_PAUSE}, {124, KeyEvent.VK_BACK_SLASH},
+            {125, KeyEvent.VK_WINDOWS, KeyEvent.KEY_LOCATION_LEFT}, {126, KeyEvent.VK_WINDOWS, KeyEvent.KEY_LOCATION_RIGHT}, {127, KeyEvent.VK_CONTEXT_MENU},
+            {183, KeyEvent.VK_F13}, {184, KeyEvent.VK_F14}, {185, KeyEvent.VK_F15}, {186, KeyEvent.VK_F16}, {187, KeyEvent.VK_F17}, {188, KeyEvent.VK_F18},
+            {189, KeyEvent.VK_F19}, {190, KeyEvent.VK_F20}, {191, KeyEvent.VK_F21}, {192, KeyEvent.VK_F22}, {193, KeyEvent.VK_F23}, {194, KeyEvent.VK_F24}
+        };
+
+        for (int[] thisKeyCode : keyCodes) {
+            AWT_KEY_CODES[thisKeyCode[0]] = thisKeyCode[1];
+            AWT_KEY_LOCATIONS[thisKeyCode[0]] = ((thisKeyCode.length > 2) ? thisKeyCode[2] : KeyEvent.KEY_LOCATION_STANDARD);
+        }
+    }
+
+    /**
+     * A single key press (or autorepeat) from the kernel, already translated to AWT key codes.
+     */
+    public static class EvdevKeyPress {
+
+        public final int evdevKeyCode;
+        public final int keyCode; // "KeyEvent.VK_UNDEFINED" if the kernel key code has no AWT key code.
+        public final int keyLocation;
+        public final boolean isRepeat;
+        public final long whenMillis; // The kernel timestamp of the event (which uses the same clock as "System.currentTimeMillis()").
+        public final long whenMicros; // The same kernel timestamp with the full microsecond precision of the event (see "KeyDeliveryLatency").
+
+        EvdevKeyPress(int evdevKeyCode, boolean isRepeat, long whenMicros) {
+            this.evdevKeyCode = evdevKeyCode;
+            this.keyCode = (((evdevKeyCode >= 0) && (evdevKeyCode < AWT_KEY_CODES.length)) ? AWT_KEY_CODES[evdevKeyCode] : KeyEvent.VK_UNDEFINED);
+            this.keyLocation = ((keyCode == KeyEvent.VK_UNDEFINED) ? KeyEvent.KEY_LOCATION_UNKNOWN : AWT_KEY_LOCATIONS[evdevKeyCode]);
+            this.isRepeat = isRepeat;
+            this.whenMillis = (whenMicros / 1000);
+            this.whenMicros = whenMicros;
+        }
+    }
+
+    public interface Listener {
+
+        void keysPressed(List<EvdevKeyPress> keyPresses); // Called on the reader thread with every key press from one read.
+
+        default void readEnded() { // Only happens for captured streams, since devices never end until they're unplugged (which is a "readFailed()" instead).
+        }
+
+        default void readFailed(IOException readException) {
+        }
+    }
+
+    private LinuxEvdevInput() {
+        // Only static methods.
+    }
+
+    public static int getDefaultEventSize() {
+        // "struct input_event" starts with a "struct timeval" which is two longs, so each event is 24 bytes on 64-bit and 16 bytes on 32-bit.
+        return ("32".equals(System.getProperty("sun.arch.data.model")) ? 16 : 24);
+    }
+
+    public static File findKeyboardDevice() {
+        LinkedHashMap<File, String> keyboardDevices = findKeyboardDevices();
+
+        return (keyboardDevices.isEmpty() ? null : keyboardDevices.keySet().iterator().next());
+    }
+
+    public static LinkedHashMap<File, String> findKeyboardDevices() {
+        // Every input device is listed in "/proc/bus/input/devices" along with its name, handlers, and supported event types, and keyboards are the devices
+        // with the "kbd" handler that support autorepeat (EV_REP) and LEDs (EV_LED), which rules out power buttons and media key devices that also use the "kbd" handler.
+        LinkedHashMap<File, String> keyboardDevices = new LinkedHashMap<>();
+
+        try {
+            String[] inputDevices = new String(Files.readAllBytes(new File("/proc/bus/input/devices").toPath()), StandardCharsets.UTF_8).split("\n\n");
+
+            for (String thisInputDevice : inputDevices) {
+                String deviceName = null;
+                String eventHandler = null;
+                boolean isKeyboardHandler = false;
+                long eventTypes = 0;
+
+                for (String thisLine : thisInputDevice.split("\n")) {
+                    if (thisLine.startsWith("N: Name=")) {
+                        deviceName = thisLine.substring(8).trim().replaceAll("^\"|\"$", "");
+                    } else if (thisLine.startsWith("H: Handlers=")) {
+                        for (String thisHandler : thisLine.substring(12).trim().split(" ")) {
+                            if (thisHandler.equals("kbd")) {
+                                isKeyboardHandler = true;
+                            } else if (thisHandler.startsWith("event")) {
+                                eventHandler = thisHandler;
+                            }
+                        }
+                    } else if (thisLine.startsWith("B: EV=")) {
+                        eventTypes = Long.parseLong(thisLine.substring(6).trim(), 16);
+                    }
+                }
+
+                if (isKeyboardHandler && (eventHandler != null) && ((eventTypes & (1L << EV_KEY)) != 0) && ((eventTypes & (1L << EV_REP)) != 0) && ((eventTypes & (1L << EV_LED)) != 0)) {
+                    keyboardDevices.put(new File("/dev/input", eventHandler), ((deviceName == null) ? eventHandler : deviceName));
+                }
+            }
+        } catch (IOException | NumberFormatException findKeyboardDevicesException) {
+            System.err.println("findKeyboardDevicesException: " + findKeyboardDevicesException);
+        }
+
+        return keyboardDevices;
+    }
+
+    public static FileChannel open(File device) throws IOException {
+        // Opened here (instead of on the reader thread) so that a permission error can be shown before the window is set up to use evdev.
+        return FileChannel.open(device.toPath(), StandardOpenOption.READ);
+    }
+
+    public static Thread startReading(FileChannel deviceChannel, String deviceName, Listener listener) {
+        return startReading(deviceChannel, getDefaultEventSize(), deviceName, listener);
+    }
+
+    public static Thread startReading(FileChannel deviceChannel, int eventSize, String deviceName, Listener listener) {
+        // Each device gets its own reader thread (which is just blocked in "read()" until a key is pressed) so that devices never wait on each other.
+        Thread readerThread = new Thread(() -> {
+            try (deviceChannel) {
+                readEvents(deviceChannel, eventSize, listener);
+                listener.readEnded();
+            } catch (IOException readEvdevException) {
+                listener.readFailed(readEvdevException);
+            }
+        }, "Evdev Reader (" + deviceName + ")");
+        readerThread.setDaemon(true);
+        readerThread.start();
+
+        return readerThread;
+    }
+
+    public static void readEvents(ReadableByteChannel eventChannel, int eventSize, Listener listener) throws IOException {
+        // Reads until the end of the channel (which never happens for a device until it's unplugged).
+        ByteBuffer eventBuffer = ByteBuffer.allocateDirect(eventSize * EVENTS_PER_READ).order(ByteOrder.nativeOrder());
+        ArrayList<EvdevKeyPress> keyPresses = new ArrayList<>(EVENTS_PER_READ);
+
+        while (eventChannel.read(eventBuffer) >= 0) {
+            eventBuffer.flip();
+
+            keyPresses.clear();
+            parseEvents(eventBuffer, eventSize, keyPresses);
+            if (!keyPresses.isEmpty()) {
+                listener.keysPressed(new ArrayList<>(keyPresses)); // Copied since the listener may hand them off to another thread.
+            }
+
+            eventBuffer.compact(); // Keep any partial event (which can only happen when reading from a file or pipe, since devices always return whole events).
+        }
+    }
+
+    static void parseEvents(ByteBuffer eventBuffer, int eventSize, List<EvdevKeyPress> keyPresses) {
+        while (eventBuffer.remaining() >= eventSize) {
+            int eventStartPosition = eventBuffer.position();
+
+            long seconds;
+            long microseconds;
+            if (eventSize == 24) {
+                seconds = eventBuffer.getLong(eventStartPosition);
+                microseconds = eventBuffer.getLong(eventStartPosition + 8);
+            } else {
+                seconds = (eventBuffer.getInt(eventStartPosition) & 0xFFFFFFFFL);
+                microseconds = eventBuffer.getInt(eventStartPosition + 4);
+            }
+
+            int typeAndCodePosition = (eventStartPosition + eventSize - 8);
+            int type = (eventBuffer.getShort(typeAndCodePosition) & 0xFFFF);
+            int code = (eventBuffer.getShort(typeAndCodePosition + 2) & 0xFFFF);
+            int value = eventBuffer.getInt(typeAndCodePosition + 4);
+
+            if ((type == EV_KEY) && ((value == KEY_VALUE_PRESSED) || (value == KEY_VALUE_REPEATED))) { // Only presses are tested, and AWT also sends autorepeats as key presses.
+                keyPresses.add(new EvdevKeyPress(code, (value == KEY_VALUE_REPEATED), ((seconds * 1_000_000) + microseconds)));
+            }
+
+            eventBuffer.position(eventStartPosition + eventSize);
+        }
+    }
+
+    public static void main(String[] args) {
+        // Replay a captured device stream through the same key handling that the window uses (with the "linuxEvdev" layout OS) and print which key each key press lit up.
+        int eventSize = getDefaultEventSize();
+        String capturePath = null;
+
+        for (String thisArg : args) {
+            if (thisArg.matches("^--event-size=(16|24)$")) {
+                eventSize = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else {
+                capturePath = thisArg;
+            }
+        }
+
+        if (capturePath == null) {
+            System.err.println("Usage: java -cp KeyboardTest.jar Main.LinuxEvdevInput [--event-size=24] capture.evdev");
+            System.exit(2);
+        }
+
+        try (FileChannel captureChannel = FileChannel.open(new File(capturePath).toPath(), StandardOpenOption.READ)) {
+            KeyboardTestEngine engine = new KeyboardTestEngine(KeyboardLayout.load("Standard"), KeyboardLayout.OS_LINUX_EVDEV);
+            long[] keyPressCounts = new long[2]; // {handled, unmapped}
+
+            readEvents(captureChannel, eventSize, (List<EvdevKeyPress> keyPresses) -> {
+                for (EvdevKeyPress thisKeyPress : keyPresses) {
+                    if (thisKeyPress.keyCode == KeyEvent.VK_UNDEFINED) {
+                        keyPressCounts[1]++;
+                        System.out.println("Unmapped Kernel Key Code " + thisKeyPress.evdevKeyCode);
+                        continue;
+                    }
+
+                    KeyboardTestEngine.KeyPress thisEngineKeyPress = engine.keyPressed(thisKeyPress.keyCode, thisKeyPress.keyLocation, 0, true);
+                    if (thisEngineKeyPress != null) {
+                        keyPressCounts[0]++;
+                        System.out.println(thisKeyPress.evdevKeyCode + (thisKeyPress.isRepeat ? " (Repeat)" : "") + " -> " + thisEngineKeyPress.keyText
+                                + " -> " + ((thisEngineKeyPress.key == null) ? "UNKNOWN KEY" : thisEngineKeyPress.key.id));
+                    }
+                }
+            });
+
+            System.out.println("\nReplayed " + keyPressCounts[0] + " Key Presses (" + keyPressCounts[1] + " Unmapped) and Pressed " + engine.getPressedKeyCount() + " Different Keys");
+        } catch (IOException replayEvdevCaptureException) {
+            System.err.println("replayEvdevCaptureException: " + replayEvdevCaptureException);
+            System.exit(1);
+        }
+    }
+}
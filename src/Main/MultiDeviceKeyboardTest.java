@@ -0,0 +1,403 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import com.formdev.flatlaf.util.UIScale;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.SwingConstants;
+import javax.swing.WindowConstants;
+
+/**
+ * Tests several keyboards at once on one Linux station (launched with "--multi-device"), with each keyboard device read on its own thread (see "LinuxEvdevInput")
+ * into its own "KeyboardTestEngine" and shown in its own compact keyboard view in one window, so key presses from different keyboards never blend together.
+ *
+ * Each engine is only used by its own reader thread (and by the EDT when the test for that device is reset), so each device has its own lock
+ * which is almost never contended and devices never wait on each other. The reader thread handles a whole batch of key presses before handing
+ * just the newly pressed keys to the EDT, so the EDT only ever updates labels.
+ *
+ * Captured device streams can stand in for devices (such as "--multi-device=first.evdev,second.evdev") and can also be run without a display
+ * with "java -cp KeyboardTest.jar Main.MultiDeviceKeyboardTest first.evdev second.evdev", which reports the result of each device.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class MultiDeviceKeyboardTest extends JFrame {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The test state of one keyboard device.
+     */
+    static class DeviceTest {
+
+        final String deviceName;
+        final KeyboardTestEngine engine;
+        private int resetCount = 0; // So that the EDT can ignore any update from before the last reset.
+        private long handledKeyPressCount = 0;
+        private long unknownKeyPressCount = 0;
+
+        DeviceTest(String deviceName, KeyboardLayout keyboardLayout, String profileID) {
+            this.deviceName = deviceName;
+
+            engine = new KeyboardTestEngine(keyboardLayout, KeyboardLayout.OS_LINUX_EVDEV);
+            if (profileID != null) {
+                // Same as "--profile=" for the main window, so "manual" (or any unknown profile ID) never finishes automatically.
+                engine.setProfileDetectionEnabled(false);
+                engine.setProfile(keyboardLayout.getProfile(profileID));
+            }
+        }
+
+        synchronized Update handleKeyPresses(List<LinuxEvdevInput.EvdevKeyPress> keyPresses) {
+            // Called on the reader thread of this device.
+            IntListBuilder newlyPressedKeyIndexes = new IntListBuilder();
+
+            for (LinuxEvdevInput.EvdevKeyPress thisKeyPress : keyPresses) {
+                if (thisKeyPress.keyCode == KeyEvent.VK_UNDEFINED) {
+                    unknownKeyPressCount++;
+                    continue;
+                }
+
+                KeyboardTestEngine.KeyPress thisEngineKeyPress = engine.keyPressed(thisKeyPress.keyCode, thisKeyPress.keyLocation, 0, true);
+                if (thisEngineKeyPress != null) {
+                    handledKeyPressCount++;
+
+                    if (thisEngineKeyPress.key == null) {
+                        unknownKeyPressCount++;
+                    } else if (thisEngineKeyPress.isFirstPress) {
+                        newlyPressedKeyIndexes.add(thisEngineKeyPress.key.index);
+                    }
+                }
+            }
+
+            return getUpdate(newlyPressedKeyIndexes.toArray());
+        }
+
+        synchronized Update reset() {
+            // Called on the EDT.
+            engine.reset();
+            resetCount++;
+
+            return getUpdate(new int[0]);
+        }
+
+        private Update getUpdate(int[] newlyPressedKeyIndexes) {
+            KeyboardLayout.Profile profile = engine.getProfile();
+            return new Update(resetCount, newlyPressedKeyIndexes, ((profile == null) ? "Manual" : profile.name), engine.getPressedExpectedKeyCount(), engine.getExpectedKeyCount(),
+                    engine.getPressedKeyCount(), unknownKeyPressCount, engine.didPressEveryExpectedKey());
+        }
+
+        synchronized long getHandledKeyPressCount() {
+            return handledKeyPressCount;
+        }
+    }
+
+    /**
+     * Everything the EDT needs to update the view of one device after a batch of key presses, so that the EDT never needs to touch the engine.
+     */
+    static class Update {
+
+        final int resetCount;
+        final int[] newlyPressedKeyIndexes;
+        final String profileName;
+        final int pressedExpectedKeyCount;
+        final int expectedKeyCount;
+        final int pressedKeyCount;
+        final long unknownKeyPressCount;
+        final boolean didPressEveryExpectedKey;
+
+        Update(int resetCount, int[] newlyPressedKeyIndexes, String profileName, int pressedExpectedKeyCount, int expectedKeyCount, int pressedKeyCount, long unknownKeyPressCount, boolean didPressEveryExpectedKey) {
+            this.resetCount = resetCount;
+            this.newlyPressedKeyIndexes = newlyPressedKeyIndexes;
+            this.profileName = profileName;
+            this.pressedExpectedKeyCount = pressedExpectedKeyCount;
+            this.expectedKeyCount = expectedKeyCount;
+            this.pressedKeyCount = pressedKeyCount;
+            this.unknownKeyPressCount = unknownKeyPressCount;
+            this.didPressEveryExpectedKey = didPressEveryExpectedKey;
+        }
+    }
+
+    private static class IntListBuilder {
+        // Collects the newly pressed key indexes of a batch without boxing each one into an "ArrayList".
+
+        private int[] values = new int[8];
+        private int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * The compact keyboard view of one device, which is only used on the EDT.
+     */
+    private class DeviceView extends JPanel {
+
+        private static final long serialVersionUID = 1L;
+
+        private final DeviceTest deviceTest;
+        private final JLabel[] keyLabels;
+        private final JLabel statusLabel = new JLabel();
+        private int shownResetCount = 0;
+
+        DeviceView(DeviceTest deviceTest) {
+            this.deviceTest = deviceTest;
+
+            setLayout(new BorderLayout(0, UIScale.scale(5)));
+            setBorder(BorderFactory.createCompoundBorder(BorderFactory.createTitledBorder(deviceTest.deviceName), BorderFactory.createEmptyBorder(UIScale.scale(5), UIScale.scale(5), UIScale.scale(5), UIScale.scale(5))));
+
+            KeyboardLayout keyboardLayout = deviceTest.engine.getLayout();
+            keyLabels = new JLabel[keyboardLayout.getKeys().size()];
+
+            // Every key that can be on any kind of keyboard is shown (including the Full Keyboard and international keys), in layout order and grouped by section.
+            JPanel keySectionsPanel = new JPanel();
+            keySectionsPanel.setLayout(new BoxLayout(keySectionsPanel, BoxLayout.Y_AXIS));
+            for (KeyboardLayout.Section thisSection : keyboardLayout.getSections()) {
+                if (thisSection.isHidden(KeyboardLayout.OS_LINUX_EVDEV) && !thisSection.isRevealedOnPress()) {
+                    continue;
+                }
+
+                JPanel thisKeySectionPanel = new JPanel(new GridLayout(0, 18, UIScale.scale(2), UIScale.scale(2)));
+                for (KeyboardLayout.Key thisKey : keyboardLayout.getKeys()) {
+                    if ((thisKey.section == thisSection) && !thisKey.isHidden(KeyboardLayout.OS_LINUX_EVDEV)) {
+                        String thisKeyLabelText = thisKey.getLabel(KeyboardLayout.OS_LINUX_EVDEV);
+                        JLabel thisKeyLabel = new JLabel(((thisKeyLabelText == null) ? thisKey.id : thisKeyLabelText), SwingConstants.CENTER);
+                        thisKeyLabel.setFont(new Font("Helvetica", 0, UIScale.scale(10)));
+                        thisKeyLabel.setOpaque(true);
+                        thisKeyLabel.setPreferredSize(new Dimension(UIScale.scale(58), UIScale.scale(22)));
+                        thisKeyLabel.setBorder(BorderFactory.createLineBorder(new Color(153, 153, 153), UIScale.scale(1)));
+                        keyLabels[thisKey.index] = thisKeyLabel;
+                        thisKeySectionPanel.add(thisKeyLabel);
+                    }
+                }
+
+                keySectionsPanel.add(thisKeySectionPanel);
+                keySectionsPanel.add(Box.createVerticalStrut(UIScale.scale(4)));
+            }
+
+            JButton resetButton = new JButton("Reset");
+            resetButton.setFocusable(false); // Never steal key presses from anything else since this window doesn't use AWT key events anyway.
+            resetButton.addActionListener((ActionEvent actionEvent) -> reset());
+
+            JPanel statusPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, UIScale.scale(10), 0));
+            statusPanel.add(resetButton);
+            statusPanel.add(statusLabel);
+
+            add(keySectionsPanel, BorderLayout.CENTER);
+            add(statusPanel, BorderLayout.SOUTH);
+
+            applyUpdate(deviceTest.reset());
+        }
+
+        private void reset() {
+            for (JLabel thisKeyLabel : keyLabels) {
+                if (thisKeyLabel != null) {
+                    thisKeyLabel.setBackground(Color.WHITE);
+                    thisKeyLabel.setForeground(Color.BLACK);
+                }
+            }
+
+            applyUpdate(deviceTest.reset());
+        }
+
+        void applyUpdate(Update update) {
+            if (update.resetCount < shownResetCount) {
+                return; // Key presses from before the last reset (which were handled on the reader thread before the reset but got to the EDT after it).
+            }
+            shownResetCount = update.resetCount;
+
+            for (int thisKeyIndex : update.newlyPressedKeyIndexes) {
+                JLabel thisKeyLabel = keyLabels[thisKeyIndex];
+                if (thisKeyLabel != null) {
+                    thisKeyLabel.setBackground(new Color(44, 179, 44));
+                    thisKeyLabel.setForeground(Color.WHITE);
+                }
+            }
+
+            statusLabel.setText("<html><b>" + update.profileName + ":</b> " + update.pressedExpectedKeyCount + " of " + update.expectedKeyCount + " Expected Keys Pressed"
+                    + " (" + update.pressedKeyCount + " Keys Pressed" + ((update.unknownKeyPressCount > 0) ? (", " + update.unknownKeyPressCount + " Unknown") : "") + ")"
+                    + (update.didPressEveryExpectedKey ? " &mdash; <b>PASSED</b>" : "") + "</html>");
+            setBackground(update.didPressEveryExpectedKey ? new Color(220, 245, 220) : null);
+        }
+
+        void setStatusSuffix(String statusSuffix) {
+            statusLabel.setText(statusLabel.getText().replace("</html>", " &mdash; <i>" + statusSuffix + "</i></html>"));
+        }
+    }
+
+    public MultiDeviceKeyboardTest(KeyboardLayout keyboardLayout, String profileID, Map<File, String> devices, int eventSize) {
+        setTitle("Keyboard Test (" + devices.size() + " Keyboards)");
+        setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+
+        JPanel deviceViewsPanel = new JPanel();
+        deviceViewsPanel.setLayout(new BoxLayout(deviceViewsPanel, BoxLayout.Y_AXIS));
+
+        for (Map.Entry<File, String> thisDevice : devices.entrySet()) {
+            String thisDeviceName = (thisDevice.getValue() + " (" + thisDevice.getKey().getName() + ")");
+            DeviceTest thisDeviceTest = new DeviceTest(thisDeviceName, keyboardLayout, profileID);
+            DeviceView thisDeviceView = new DeviceView(thisDeviceTest);
+            deviceViewsPanel.add(thisDeviceView);
+
+            try {
+                LinuxEvdevInput.startReading(FileChannel.open(thisDevice.getKey().toPath(), StandardOpenOption.READ), eventSize, thisDevice.getKey().getName(), new LinuxEvdevInput.Listener() {
+                    @Override
+                    public void keysPressed(List<LinuxEvdevInput.EvdevKeyPress> keyPresses) {
+                        Update update = thisDeviceTest.handleKeyPresses(keyPresses);
+                        EventQueue.invokeLater(() -> thisDeviceView.applyUpdate(update));
+                    }
+
+                    @Override
+                    public void readEnded() {
+                        EventQueue.invokeLater(() -> thisDeviceView.setStatusSuffix("End of Captured Stream"));
+                    }
+
+                    @Override
+                    public void readFailed(IOException readException) {
+                        EventQueue.invokeLater(() -> thisDeviceView.setStatusSuffix("Disconnected: " + readException.getMessage()));
+                    }
+                });
+            } catch (IOException | SecurityException openDeviceException) {
+                thisDeviceView.setStatusSuffix("Failed to Open: " + openDeviceException.getMessage() + " (Reading Keyboard Devices Requires Being Root or in the \"input\" Group)");
+            }
+        }
+
+        if (devices.isEmpty()) {
+            deviceViewsPanel.add(new JLabel("<html><b>No Keyboard Devices Found</b></html>"));
+        }
+
+        JScrollPane deviceViewsScrollPane = new JScrollPane(deviceViewsPanel);
+        deviceViewsScrollPane.setBorder(BorderFactory.createEmptyBorder(UIScale.scale(10), UIScale.scale(10), UIScale.scale(10), UIScale.scale(10)));
+        deviceViewsScrollPane.getVerticalScrollBar().setUnitIncrement(UIScale.scale(16));
+        setContentPane(deviceViewsScrollPane);
+
+        pack();
+
+        Dimension screenSize = getToolkit().getScreenSize();
+        setSize(Math.min(getWidth(), screenSize.width), Math.min(getHeight(), (screenSize.height - UIScale.scale(80))));
+        setLocationRelativeTo(null);
+    }
+
+    public static LinkedHashMap<File, String> getDevices(String devicePaths) {
+        // Every keyboard device if no paths are specified, otherwise each comma separated device or captured stream.
+        if ((devicePaths == null) || devicePaths.isEmpty()) {
+            return LinuxEvdevInput.findKeyboardDevices();
+        }
+
+        LinkedHashMap<File, String> devices = new LinkedHashMap<>();
+        for (String thisDevicePath : devicePaths.split(",")) {
+            if (!thisDevicePath.isEmpty()) {
+                File thisDevice = new File(thisDevicePath);
+                devices.put(thisDevice, (thisDevicePath.startsWith("/dev/") ? "Keyboard" : "Captured Stream"));
+            }
+        }
+
+        return devices;
+    }
+
+    public static void main(String[] args) {
+        // Replay each captured stream (or read each device until it's unplugged) on its own thread at the same time without a display, and print the result of each device.
+        int eventSize = LinuxEvdevInput.getDefaultEventSize();
+        String profileID = null;
+        List<String> devicePaths = new ArrayList<>();
+
+        for (String thisArg : args) {
+            if (thisArg.matches("^--event-size=(16|24)$")) {
+                eventSize = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.startsWith("--profile=")) {
+                profileID = thisArg.substring(thisArg.indexOf("=") + 1);
+            } else {
+                devicePaths.add(thisArg);
+            }
+        }
+
+        try {
+            KeyboardLayout keyboardLayout = KeyboardLayout.load("Standard");
+
+            List<DeviceTest> deviceTests = new ArrayList<>();
+            List<Thread> readerThreads = new ArrayList<>();
+            long startNanoTime = System.nanoTime();
+
+            for (Map.Entry<File, String> thisDevice : getDevices(String.join(",", devicePaths)).entrySet()) {
+                DeviceTest thisDeviceTest = new DeviceTest(thisDevice.getKey().getPath(), keyboardLayout, profileID);
+                deviceTests.add(thisDeviceTest);
+
+                readerThreads.add(LinuxEvdevInput.startReading(FileChannel.open(thisDevice.getKey().toPath(), StandardOpenOption.READ), eventSize, thisDevice.getKey().getName(), new LinuxEvdevInput.Listener() {
+                    @Override
+                    public void keysPressed(List<LinuxEvdevInput.EvdevKeyPress> keyPresses) {
+                        thisDeviceTest.handleKeyPresses(keyPresses);
+                    }
+
+                    @Override
+                    public void readFailed(IOException readException) {
+                        System.err.println("readDeviceException (" + thisDeviceTest.deviceName + "): " + readException);
+                    }
+                }));
+            }
+
+            for (Thread thisReaderThread : readerThreads) {
+                thisReaderThread.join();
+            }
+
+            double elapsedSeconds = ((System.nanoTime() - startNanoTime) / 1_000_000_000.0);
+            long totalKeyPressCount = 0;
+            for (DeviceTest thisDeviceTest : deviceTests) {
+                Update thisUpdate = thisDeviceTest.getUpdate(new int[0]);
+                totalKeyPressCount += thisDeviceTest.getHandledKeyPressCount();
+                System.out.println(thisDeviceTest.deviceName + ": " + thisUpdate.profileName + ", " + thisUpdate.pressedExpectedKeyCount + " of " + thisUpdate.expectedKeyCount + " Expected Keys Pressed ("
+                        + thisUpdate.pressedKeyCount + " Keys Pressed, " + thisUpdate.unknownKeyPressCount + " Unknown)" + (thisUpdate.didPressEveryExpectedKey ? " PASSED" : ""));
+            }
+
+            System.out.println(String.format("%nHandled %d Key Presses From %d Devices in %.3f Seconds (%.0f Key Presses per Second)", totalKeyPressCount, deviceTests.size(), elapsedSeconds, (totalKeyPressCount / elapsedSeconds)));
+        } catch (IOException | InterruptedException multiDeviceKeyboardTestException) {
+            System.err.println("multiDeviceKeyboardTestException: " + multiDeviceKeyboardTestException);
+            System.exit(1);
+        }
+    }
+}
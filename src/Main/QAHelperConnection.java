@@ -0,0 +1,328 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local connection to QA Helper (or any other harness) which launched Keyboard Test with "--qa-helper-port=", so that the harness can start and quit tests
+ * and gets every key press and the result of each test as they happen, instead of Keyboard Test only being able to bring QA Helper back to the front by running "open".
+ *
+ * Keyboard Test connects to the harness on the loopback address, and each message in both directions is a JSON object preceded by its length in bytes as a 4 byte big-endian integer
+ * (so messages can contain newlines, such as the result JSON). Messages are sent from a writer thread and commands are read on a reader thread, so the EDT never waits on the socket.
+ *
+ * Messages to the harness (every message has a "type"):
+ *   "hello" with "protocol" (1), "token" (from "--qa-helper-token=", or null), "os", "profile", and "expectedKeyCount".
+ *   "keyPressed" with "key" (the layout key ID, or null for an unknown key), "keyText", "isFirstPress", "pressedExpectedKeyCount", and "expectedKeyCount".
+ *   "profileChanged" with "profile" ("manual" if none), "wasDetected", and "expectedKeyCount".
+ *   "everyExpectedKeyPressed" with "profile".
+ *   "reset".
+ *   "result" with "result" (the same JSON object as the result files, see "KeyboardTestResultWriter").
+ *   "returnToHost" when "Quit & Return to "QA Helper"" is chosen, right before quitting.
+ *
+ * Commands from the harness:
+ *   "start" with an optional "profile" to reset the test (the current test is exported as usual) and optionally choose the profile ("manual" to never finish automatically).
+ *   "quit" to quit (the current test is exported as usual).
+ *
+ * Run "java -cp KeyboardTest.jar Main.QAHelperStubHarness" to stand in for QA Helper.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class QAHelperConnection implements KeyboardTestEngine.Listener {
+
+    public static final int PROTOCOL_VERSION = 1;
+    static final int MAX_MESSAGE_LENGTH = (16 * 1024 * 1024);
+    private static final boolean debugLogging = false;
+    private static final byte[] DISCONNECTED_MESSAGE = new byte[0]; // Only ever compared by identity to wake up the writer thread when the reader thread is disconnected.
+
+    public interface Listener {
+
+        void startTestRequested(String profileID); // Called on the reader thread, and "profileID" is null if the profile shouldn't be changed.
+
+        void quitRequested(); // Called on the reader thread.
+    }
+
+    private final KeyboardTestEngine engine;
+    private final int port;
+    private final String token;
+    private final Listener listener;
+    private final LinkedBlockingQueue<byte[]> pendingMessages = new LinkedBlockingQueue<>();
+    private final Object sentMessagesLock = new Object();
+    private long queuedMessageCount = 0;
+    private long sentMessageCount = 0;
+    private volatile boolean isDisconnected = false;
+
+    public QAHelperConnection(KeyboardTestEngine engine, int port, String token, Listener listener) {
+        this.engine = engine;
+        this.port = port;
+        this.token = token;
+        this.listener = listener;
+    }
+
+    public void start() {
+        // The hello message is queued now (with the state of the engine right now, on the EDT) but is only sent once connected.
+        KeyboardLayout.Profile profile = engine.getProfile();
+        send(newMessage("hello").rawField("protocol", Integer.toString(PROTOCOL_VERSION)).field("token", token).field("os", KeyboardLayout.getOSName(engine.getOS()))
+                .field("profile", ((profile == null) ? "manual" : profile.id)).rawField("expectedKeyCount", Integer.toString(engine.getExpectedKeyCount())));
+
+        Thread writerThread = new Thread(this::connectAndSendForever, "QA Helper Connection Writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public boolean isDisconnected() {
+        return isDisconnected;
+    }
+
+    private void connectAndSendForever() {
+        try (Socket socket = new Socket()) {
+            socket.setTcpNoDelay(true); // Every message is small and should get to the harness right away instead of waiting to be combined with the next one.
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 5000);
+
+            DataInputStream commandInputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            Thread readerThread = new Thread(() -> readCommandsForever(socket, commandInputStream), "QA Helper Connection Reader");
+            readerThread.setDaemon(true);
+            readerThread.start();
+
+            DataOutputStream messageOutputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            while (true) {
+                byte[] thisMessage = pendingMessages.take();
+                if (thisMessage == DISCONNECTED_MESSAGE) {
+                    break;
+                }
+                long thisSentMessageCount = 1;
+
+                messageOutputStream.writeInt(thisMessage.length);
+                messageOutputStream.write(thisMessage);
+
+                // Send every message that's already waiting in one flush (such as during a fast key roll).
+                while (((thisMessage = pendingMessages.poll()) != null) && (thisMessage != DISCONNECTED_MESSAGE)) {
+                    messageOutputStream.writeInt(thisMessage.length);
+                    messageOutputStream.write(thisMessage);
+                    thisSentMessageCount++;
+                }
+
+                messageOutputStream.flush();
+
+                synchronized (sentMessagesLock) {
+                    sentMessageCount += thisSentMessageCount;
+                    sentMessagesLock.notifyAll();
+                }
+
+                if (thisMessage == DISCONNECTED_MESSAGE) {
+                    break;
+                }
+            }
+        } catch (IOException qaHelperConnectionException) {
+            System.err.println("qaHelperConnectionException: " + qaHelperConnectionException); // The test still works without QA Helper, the harness just won't get any more messages.
+        } catch (InterruptedException qaHelperConnectionInterruptedException) {
+            // Only interrupted when quitting.
+        }
+
+        disconnected();
+    }
+
+    private void readCommandsForever(Socket socket, DataInputStream commandInputStream) {
+        try {
+            while (true) {
+                Map<?, ?> thisCommand = readMessage(commandInputStream);
+                Object thisCommandType = ((thisCommand == null) ? null : thisCommand.get("type"));
+
+                if ("start".equals(thisCommandType)) {
+                    listener.startTestRequested((thisCommand.get("profile") instanceof String) ? (String) thisCommand.get("profile") : null);
+                } else if ("quit".equals(thisCommandType)) {
+                    listener.quitRequested();
+                } else if (debugLogging) {
+                    System.out.println("UNKNOWN QA HELPER COMMAND: " + thisCommandType);
+                }
+            }
+        } catch (IOException readQAHelperCommandException) {
+            // The harness closed the connection, so the test just keeps going on its own.
+        } catch (RuntimeException handleQAHelperCommandException) {
+            // The harness sent something invalid (or handling a command failed), so the test just keeps going on its own,
+            // but this must still be treated as disconnected so that quitting doesn't wait on messages that will never be sent.
+            System.err.println("handleQAHelperCommandException: " + handleQAHelperCommandException);
+        }
+
+        disconnected();
+
+        // Wake up the writer thread (which would otherwise wait for the next message forever) so that it stops and the socket is closed.
+        pendingMessages.add(DISCONNECTED_MESSAGE);
+        try {
+            socket.close();
+        } catch (IOException closeQAHelperConnectionException) {
+            // Ignore closeQAHelperConnectionException since the connection is already done either way.
+        }
+    }
+
+    private void disconnected() {
+        isDisconnected = true;
+        pendingMessages.clear();
+
+        synchronized (sentMessagesLock) {
+            sentMessagesLock.notifyAll();
+        }
+    }
+
+    static Map<?, ?> readMessage(DataInputStream inputStream) throws IOException {
+        int messageLength = inputStream.readInt();
+        if ((messageLength < 0) || (messageLength > MAX_MESSAGE_LENGTH)) {
+            throw new IOException("Invalid Message Length: " + messageLength);
+        }
+
+        byte[] messageBytes = new byte[messageLength];
+        inputStream.readFully(messageBytes);
+
+        return (Map<?, ?>) new FleetResultCollector.JSONReader(new String(messageBytes, StandardCharsets.UTF_8)).readValue();
+    }
+
+    static void writeMessage(DataOutputStream outputStream, byte[] messageBytes) throws IOException {
+        outputStream.writeInt(messageBytes.length);
+        outputStream.write(messageBytes);
+        outputStream.flush();
+    }
+
+    public boolean waitForPendingMessages(long timeoutMillis) {
+        // Called when quitting to make sure the last messages (such as the result and "returnToHost") get to the harness.
+        long timeoutNanoTime = (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+
+        synchronized (sentMessagesLock) {
+            while (!isDisconnected && (sentMessageCount < queuedMessageCount)) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(timeoutNanoTime - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+
+                try {
+                    sentMessagesLock.wait(remainingMillis);
+                } catch (InterruptedException waitForPendingMessagesException) {
+                    return false;
+                }
+            }
+        }
+
+        return !isDisconnected;
+    }
+
+    static class Message {
+
+        // A tiny JSON object builder since every message is just a flat object (except for the result, which is already JSON).
+        private final StringWriter json = new StringWriter(128);
+        private boolean hasField = false;
+
+        Message(String type) {
+            field("type", type);
+        }
+
+        Message field(String name, String value) {
+            try {
+                writeName(name);
+                if (value == null) {
+                    json.write("null");
+                } else {
+                    KeyboardTestResultWriter.writeJSONString(json, value);
+                }
+            } catch (IOException writeMessageFieldException) {
+                // "StringWriter" never throws.
+            }
+
+            return this;
+        }
+
+        Message rawField(String name, String rawValue) {
+            try {
+                writeName(name);
+                json.write(rawValue);
+            } catch (IOException writeMessageFieldException) {
+                // "StringWriter" never throws.
+            }
+
+            return this;
+        }
+
+        private void writeName(String name) throws IOException {
+            json.write(hasField ? ", " : "{");
+            KeyboardTestResultWriter.writeJSONString(json, name);
+            json.write(": ");
+            hasField = true;
+        }
+
+        byte[] toBytes() {
+            return (json.toString() + "}").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    static Message newMessage(String type) {
+        return new Message(type);
+    }
+
+    private void send(Message message) {
+        if (isDisconnected) {
+            return;
+        }
+
+        synchronized (sentMessagesLock) {
+            queuedMessageCount++;
+        }
+
+        pendingMessages.add(message.toBytes());
+    }
+
+    public void sendResult(KeyboardTestResult result) {
+        byte[] resultJSON = KeyboardTestResultWriter.getJSONBytes(result, null, null);
+        send(newMessage("result").rawField("result", new String(resultJSON, StandardCharsets.UTF_8).trim()));
+    }
+
+    public void sendReturnToHost() {
+        send(newMessage("returnToHost"));
+    }
+
+    @Override
+    public void keyPressed(KeyboardTestEngine.KeyPress keyPress) {
+        send(newMessage("keyPressed").field("key", ((keyPress.key == null) ? null : keyPress.key.id)).field("keyText", keyPress.keyText).rawField("isFirstPress", Boolean.toString(keyPress.isFirstPress))
+                .rawField("pressedExpectedKeyCount", Integer.toString(engine.getPressedExpectedKeyCount())).rawField("expectedKeyCount", Integer.toString(engine.getExpectedKeyCount())));
+    }
+
+    @Override
+    public void profileChanged(KeyboardLayout.Profile newProfile, boolean wasDetected) {
+        send(newMessage("profileChanged").field("profile", ((newProfile == null) ? "manual" : newProfile.id)).rawField("wasDetected", Boolean.toString(wasDetected))
+                .rawField("expectedKeyCount", Integer.toString(engine.getExpectedKeyCount())));
+    }
+
+    @Override
+    public void everyExpectedKeyPressed(KeyboardLayout.Profile profile) {
+        send(newMessage("everyExpectedKeyPressed").field("profile", profile.id));
+    }
+
+    @Override
+    public void pressedKeysReset() {
+        send(newMessage("reset"));
+    }
+}
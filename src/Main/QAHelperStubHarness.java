@@ -0,0 +1,300 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stands in for QA Helper to try out and check the QA Helper connection (see "QAHelperConnection") without QA Helper.
+ *
+ * Listens on the loopback address, launches the specified Keyboard Test command with "--qa-helper-port=" and "--qa-helper-token=" added (unless no command is specified,
+ * in which case the port and token are printed to launch Keyboard Test manually), and prints every message from Keyboard Test. Commands can be typed into the harness:
+ * "start" (or "start pcLaptop" to also choose the profile) and "quit". The harness exits once Keyboard Test disconnects.
+ *
+ * For example: "java -cp KeyboardTest.jar Main.QAHelperStubHarness --start-profile=pcLaptop --quit-after-result java -jar KeyboardTest.jar"
+ *
+ * With "--expect-key-presses=", the harness checks the whole session once Keyboard Test disconnects and exits with 1 unless exactly that many key presses were received,
+ * a completed result was received, a "quit" command was sent, and Keyboard Test exited cleanly. To check the protocol without a display, the launched command can be
+ * "java -cp KeyboardTest.jar Main.QAHelperStubHarness --scripted-keyboard-test", which is a Keyboard Test without a window that presses every expected key
+ * (as if on Linux) each time it's sent a "start" command (see the "qa-helper-self-check" target in "build.xml").
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class QAHelperStubHarness {
+
+    private static volatile boolean wasQuitSent = false; // Set by both the command thread and the message loop.
+
+    public static void main(String[] args) {
+        if ((args.length > 0) && args[0].equals("--scripted-keyboard-test")) {
+            runScriptedKeyboardTest(args);
+            return;
+        }
+
+        int port = 0; // Any free port.
+        String startProfileID = null;
+        boolean shouldQuitAfterResult = false;
+        long expectedKeyPressedMessageCount = -1;
+        List<String> keyboardTestCommand = new ArrayList<>();
+
+        for (int argIndex = 0; argIndex < args.length; argIndex++) {
+            String thisArg = args[argIndex];
+
+            if (!keyboardTestCommand.isEmpty()) {
+                keyboardTestCommand.add(thisArg); // Everything after the command is part of the command.
+            } else if (thisArg.matches("^--port=[0-9]+$")) {
+                port = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.startsWith("--start-profile=")) {
+                startProfileID = thisArg.substring(thisArg.indexOf("=") + 1); // Send a "start" command with this profile as soon as Keyboard Test connects.
+            } else if (thisArg.equals("--quit-after-result")) {
+                shouldQuitAfterResult = true; // Send a "quit" command as soon as a completed result is received.
+            } else if (thisArg.matches("^--expect-key-presses=[0-9]+$")) {
+                expectedKeyPressedMessageCount = Long.parseLong(thisArg.substring(thisArg.indexOf("=") + 1)); // Check the whole session once Keyboard Test disconnects and exit with 1 if anything was wrong.
+            } else {
+                keyboardTestCommand.add(thisArg);
+            }
+        }
+
+        byte[] tokenBytes = new byte[16];
+        new SecureRandom().nextBytes(tokenBytes);
+        StringBuilder token = new StringBuilder();
+        for (byte thisTokenByte : tokenBytes) {
+            token.append(String.format("%02x", thisTokenByte));
+        }
+
+        try (ServerSocket serverSocket = new ServerSocket(port, 1, InetAddress.getLoopbackAddress())) {
+            System.out.println("QA Helper Stub Harness Listening on Port " + serverSocket.getLocalPort() + " (Token " + token + ")");
+
+            Process keyboardTestProcess = null;
+            long keyPressedMessageCount = 0;
+            int completedResultMessageCount = 0;
+            if (!keyboardTestCommand.isEmpty()) {
+                keyboardTestCommand.add("--qa-helper-port=" + serverSocket.getLocalPort());
+                keyboardTestCommand.add("--qa-helper-token=" + token);
+                keyboardTestProcess = new ProcessBuilder(keyboardTestCommand).inheritIO().start();
+            }
+
+            serverSocket.setSoTimeout(60000);
+            try (Socket socket = serverSocket.accept()) {
+                socket.setTcpNoDelay(true);
+                DataInputStream messageInputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream commandOutputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+                Map<?, ?> helloMessage = QAHelperConnection.readMessage(messageInputStream);
+                if (!"hello".equals(helloMessage.get("type")) || !token.toString().equals(helloMessage.get("token"))) {
+                    System.err.println("INVALID HELLO (Closing Connection): " + helloMessage);
+                    System.exit(1);
+                }
+                System.out.println("Connected: " + helloMessage);
+
+                Thread commandThread = new Thread(() -> {
+                    // Commands typed into the harness.
+                    try (BufferedReader commandReader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+                        String thisCommandLine;
+                        while ((thisCommandLine = commandReader.readLine()) != null) {
+                            List<String> thisCommandParts = Arrays.asList(thisCommandLine.trim().split("\\s+"));
+                            if (thisCommandParts.get(0).equals("start")) {
+                                sendCommand(commandOutputStream, QAHelperConnection.newMessage("start").field("profile", ((thisCommandParts.size() > 1) ? thisCommandParts.get(1) : null)));
+                            } else if (thisCommandParts.get(0).equals("quit")) {
+                                sendCommand(commandOutputStream, QAHelperConnection.newMessage("quit"));
+                                wasQuitSent = true;
+                            } else if (!thisCommandParts.get(0).isEmpty()) {
+                                System.err.println("Unknown Command (Use \"start [profile]\" or \"quit\"): " + thisCommandLine);
+                            }
+                        }
+                    } catch (IOException sendHarnessCommandException) {
+                        // Keyboard Test disconnected.
+                    }
+                }, "QA Helper Stub Harness Commands");
+                commandThread.setDaemon(true);
+                commandThread.start();
+
+                if (startProfileID != null) {
+                    sendCommand(commandOutputStream, QAHelperConnection.newMessage("start").field("profile", startProfileID));
+                }
+
+                int resultMessageCount = 0;
+                try {
+                    while (true) {
+                        Map<?, ?> thisMessage = QAHelperConnection.readMessage(messageInputStream);
+                        Object thisMessageType = thisMessage.get("type");
+
+                        if ("keyPressed".equals(thisMessageType)) {
+                            keyPressedMessageCount++;
+                            System.out.println("Key Pressed: " + thisMessage.get("key") + " (" + getCount(thisMessage, "pressedExpectedKeyCount") + " of " + getCount(thisMessage, "expectedKeyCount") + " Expected Keys Pressed)");
+                        } else if ("result".equals(thisMessageType)) {
+                            resultMessageCount++;
+                            Map<?, ?> thisResult = (Map<?, ?>) thisMessage.get("result");
+                            if ("completed".equals(thisResult.get("endReason"))) {
+                                completedResultMessageCount++;
+                            }
+                            System.out.println("Result: " + thisResult.get("endReason") + ", " + thisResult.get("profile") + ", " + getCount(thisResult, "pressedExpectedKeyCount") + " of " + getCount(thisResult, "expectedKeyCount")
+                                    + " Expected Keys Pressed, " + getCount(thisResult, "totalKeyPressCount") + " Key Presses");
+
+                            if (shouldQuitAfterResult && "completed".equals(thisResult.get("endReason"))) {
+                                sendCommand(commandOutputStream, QAHelperConnection.newMessage("quit"));
+                                wasQuitSent = true;
+                            }
+                        } else {
+                            System.out.println("Message: " + thisMessage);
+                        }
+                    }
+                } catch (IOException readKeyboardTestMessageException) {
+                    // Keyboard Test disconnected (such as by quitting).
+                }
+
+                System.out.println("Disconnected After " + keyPressedMessageCount + " Key Presses and " + resultMessageCount + " Results");
+            }
+
+            int keyboardTestExitCode = ((keyboardTestProcess == null) ? 0 : keyboardTestProcess.waitFor());
+
+            if (expectedKeyPressedMessageCount >= 0) {
+                List<String> selfCheckFailures = new ArrayList<>();
+                if (keyPressedMessageCount != expectedKeyPressedMessageCount) {
+                    selfCheckFailures.add("Received " + keyPressedMessageCount + " Key Presses Instead of " + expectedKeyPressedMessageCount);
+                }
+                if (completedResultMessageCount == 0) {
+                    selfCheckFailures.add("Never Received a Completed Result");
+                }
+                if (!wasQuitSent) {
+                    selfCheckFailures.add("Disconnected Before Being Sent \"quit\"");
+                }
+                if (keyboardTestExitCode != 0) {
+                    selfCheckFailures.add("Keyboard Test Exited With " + keyboardTestExitCode);
+                }
+
+                if (!selfCheckFailures.isEmpty()) {
+                    System.err.println("QA HELPER SELF-CHECK FAILED: " + String.join(", ", selfCheckFailures));
+                    System.exit(1);
+                }
+
+                System.out.println("QA Helper Self-Check Passed: " + keyPressedMessageCount + " Key Presses, " + completedResultMessageCount + " Completed Result" + ((completedResultMessageCount == 1) ? "" : "s") + ", and a Clean Quit");
+            }
+
+            System.exit(keyboardTestExitCode);
+        } catch (IOException | InterruptedException | IllegalArgumentException | ClassCastException qaHelperStubHarnessException) {
+            System.err.println("qaHelperStubHarnessException: " + qaHelperStubHarnessException);
+            System.exit(1);
+        }
+    }
+
+    private static void runScriptedKeyboardTest(String[] args) {
+        // Stands in for Keyboard Test the same way the harness stands in for QA Helper, using the same engine and connection as the window but pressing every expected key itself.
+        // Like in the window, the engine is only ever used on one thread (here the main thread), so each command from the reader thread is queued for it.
+        int port = 0;
+        String token = null;
+        for (String thisArg : args) {
+            if (thisArg.matches("^--qa-helper-port=[0-9]+$")) {
+                port = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.startsWith("--qa-helper-token=")) {
+                token = thisArg.substring(thisArg.indexOf("=") + 1);
+            }
+        }
+
+        try {
+            KeyboardLayout keyboardLayout = KeyboardLayout.load("Standard");
+            KeyboardTestEngine keyboardTestEngine = new KeyboardTestEngine(keyboardLayout, KeyboardLayout.OS_LINUX); // Always as if on Linux so that the expected key count is the same on every OS.
+
+            LinkedBlockingQueue<String> pendingCommands = new LinkedBlockingQueue<>();
+            QAHelperConnection qaHelperConnection = new QAHelperConnection(keyboardTestEngine, port, token, new QAHelperConnection.Listener() {
+                @Override
+                public void startTestRequested(String profileID) {
+                    pendingCommands.add("start" + ((profileID == null) ? "" : (" " + profileID)));
+                }
+
+                @Override
+                public void quitRequested() {
+                    pendingCommands.add("quit");
+                }
+            });
+
+            long[] exportedTotalKeyPressCount = {0};
+            keyboardTestEngine.addListener(qaHelperConnection);
+            keyboardTestEngine.addListener(new KeyboardTestEngine.Listener() {
+                @Override
+                public void everyExpectedKeyPressed(KeyboardLayout.Profile profile) {
+                    exportedTotalKeyPressCount[0] = keyboardTestEngine.getTotalKeyPressCount();
+                    qaHelperConnection.sendResult(keyboardTestEngine.createResult("completed"));
+                }
+            });
+            qaHelperConnection.start();
+
+            while (true) {
+                String thisCommand = pendingCommands.poll(60, TimeUnit.SECONDS);
+                if ((thisCommand == null) || qaHelperConnection.isDisconnected()) {
+                    System.err.println("Scripted Keyboard Test Gave Up Waiting for a Command");
+                    System.exit(1);
+                }
+
+                if (thisCommand.equals("quit")) {
+                    // The same as quitting the window, which only exports the test result if any keys were pressed since the last export.
+                    if (keyboardTestEngine.getTotalKeyPressCount() != exportedTotalKeyPressCount[0]) {
+                        qaHelperConnection.sendResult(keyboardTestEngine.createResult("quit"));
+                    }
+
+                    System.exit(qaHelperConnection.waitForPendingMessages(2000) ? 0 : 1);
+                }
+
+                keyboardTestEngine.reset();
+                if (thisCommand.startsWith("start ")) {
+                    KeyboardLayout.Profile thisProfile = keyboardLayout.getProfile(thisCommand.substring(6));
+                    keyboardTestEngine.setProfileDetectionEnabled(thisProfile == null);
+                    keyboardTestEngine.setProfile(thisProfile);
+                }
+
+                for (KeyboardLayout.Key thisKey : keyboardLayout.getKeys()) {
+                    if (keyboardTestEngine.isKeyExpected(thisKey)) {
+                        for (KeyboardLayout.Binding thisBinding : thisKey.getBindings()) {
+                            if (thisBinding.appliesTo(KeyboardLayout.OS_LINUX)) {
+                                keyboardTestEngine.keyPressed(thisBinding.keyCode, thisBinding.keyLocation, 0, true);
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (IOException | InterruptedException scriptedKeyboardTestException) {
+            System.err.println("scriptedKeyboardTestException: " + scriptedKeyboardTestException);
+            System.exit(1);
+        }
+    }
+
+    private static long getCount(Map<?, ?> message, String name) {
+        return ((message.get(name) instanceof Number) ? ((Number) message.get(name)).longValue() : -1); // JSON numbers are always read as doubles.
+    }
+
+    private static synchronized void sendCommand(DataOutputStream commandOutputStream, QAHelperConnection.Message command) throws IOException {
+        QAHelperConnection.writeMessage(commandOutputStream, command.toBytes());
+    }
+}
@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 
@@ -57,7 +58,11 @@ public class ScaledImage {
         // Linux Mint uses userScaleFactor for HiDPI while macOS and Windows use systemScaleFactor for HiDPI.
         // This code only handles whole and half number scaling factors because thosea are the only PNG sizes I've included. (125% scaling will use 150% sizes and 175% scaling will use 200% sizes).
         userScaleFactor = (Math.round(UIScale.getUserScaleFactor() * 2.0) / 2.0);
-        systemScaleFactor = (Math.round(UIScale.getSystemScaleFactor((window != null) ? window.getGraphicsConfiguration() : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()) * 2.0) / 2.0);
+        if ((window == null) && GraphicsEnvironment.isHeadless()) {
+            systemScaleFactor = 1; // There is no screen to get the scale factor of when running without a display (such as for "KeyHandlingBenchmark").
+        } else {
+            systemScaleFactor = (Math.round(UIScale.getSystemScaleFactor((window != null) ? window.getGraphicsConfiguration() : GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()) * 2.0) / 2.0);
+        }
     }
 
     public String toImgTag(String positionInText) {
@@ -178,6 +183,56 @@ public class ScaledImage {
         return imageList;
     }
 
+    public CompletableFuture<List<Image>> toImageListAsync() {
+        // Decode every size in parallel in the background so that decoding the PNGs never delays the window from being built and displayed.
+        // The order of the sizes is still preserved in the returned list (which is the same as "toImageList()" returns) since each decode is joined in order.
+        String[] everyImageSize = new String[]{"16", "24", "32", "48", "64", "96", "128"};
+        List<CompletableFuture<Image>> imageFutures = new ArrayList<>();
+
+        for (String thisImageSize : everyImageSize) {
+            URL thisImageURL = this.getClass().getResource("/Resources/Images/" + name + thisImageSize + ".png");
+
+            if (thisImageURL != null) {
+                imageFutures.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return ImageIO.read(thisImageURL);
+                    } catch (IOException ex) {
+                        return null;
+                    }
+                }));
+            }
+        }
+
+        return CompletableFuture.allOf(imageFutures.toArray(CompletableFuture[]::new)).thenApply((allDecoded) -> {
+            List<Image> imageList = new ArrayList<>();
+
+            for (CompletableFuture<Image> thisImageFuture : imageFutures) {
+                Image thisImage = thisImageFuture.join();
+                if (thisImage != null) {
+                    imageList.add(thisImage);
+                }
+            }
+
+            return imageList;
+        });
+    }
+
+    public static CompletableFuture<Image> readImageAsync(String imageFileName) {
+        URL thisImageURL = ScaledImage.class.getResource("/Resources/Images/" + imageFileName);
+
+        if (thisImageURL == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return ImageIO.read(thisImageURL);
+            } catch (IOException ex) {
+                return null;
+            }
+        });
+    }
+
     private BufferedImage trimTopTransparentPixels(BufferedImage image) {
         // Based on: https://stackoverflow.com/questions/3224561/crop-image-to-smallest-size-by-removing-transparent-pixels-in-java
         //  and: https://stackoverflow.com/questions/47164777/crop-transparent-edges-of-an-image
@@ -0,0 +1,594 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Analyzes a whole folder of recorded sessions (".ktr" files, see "KeyEventRecording") and test results (".json" files, see "KeyboardTestResultWriter") in parallel
+ * and reports key chatter, stuck keys, rollover failures, and key event delay for each computer model, so that problems with a model (or a slow OS image) stand out.
+ *
+ * Every file is analyzed on its own in a "ForkJoinPool" (which uses every core by default), and the reports of each file are only combined by model at the end.
+ * Recordings are memory-mapped and decoded straight from the mapped bytes into primitive arrays that are reused by each worker thread, so analyzing a recording
+ * doesn't allocate anything for each event no matter how long it is. Recordings don't include the computer model, so each recording gets the model from the result
+ * in the same folder whose test overlaps the recording the most (or "Unknown" if there is none).
+ *
+ * - Chatter is a key being pressed again within "--chatter-millis=" (30 by default) of being released, which is faster than anyone types and means a worn or dirty switch.
+ * - A stuck key is a key held down for at least "--stuck-millis=" (2000 by default) without being released.
+ * - A rollover failure is a key being released that was never pressed while at least 2 other keys were held down, which means the keyboard dropped the key press.
+ * - The key event delay is how long each key press waited from when the OS created it until it was handled, relative to the fastest key press in the same recording
+ *   (since the OS event times and the handled times are on different clocks).
+ *
+ * Results are written as tab separated lines for each model to "--output=" and can be compared to a previous report with "--compare=" (just like "KeyHandlingBenchmark"),
+ * which exits with 1 if the 95th percentile key event delay of any model got slower by more than "--max-regression=" percent (25% by default).
+ *
+ * java -Djava.awt.headless=true -cp KeyboardTest.jar Main.SessionBatchAnalyzer [--threads=N] [--output=report.tsv] [--compare=previous-report.tsv] folder...
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class SessionBatchAnalyzer {
+
+    private static final int DIRECT_KEY_SLOT_COUNT = (1 << 17); // Key codes up to 0x3FFF (which covers almost every "VK_" key code) combined with key locations.
+    private static final int OVERFLOW_KEY_SLOT_COUNT = 256; // Larger key codes (such as "VK_BEGIN" and the Unicode key codes from 0x01000000) that are given their own slots as they show up in each recording.
+    private static final int KEY_SLOT_COUNT = (DIRECT_KEY_SLOT_COUNT + OVERFLOW_KEY_SLOT_COUNT);
+    private static final int DELAY_BUCKET_COUNT = 1000; // 1 ms buckets up to 1 second, and anything slower goes into one more overflow bucket.
+    private static final String UNKNOWN_MODEL = "Unknown";
+
+    private static long chatterNanos = TimeUnit.MILLISECONDS.toNanos(30);
+    private static long stuckNanos = TimeUnit.MILLISECONDS.toNanos(2000);
+
+    private static long getKeyID(int keyCode, int keyLocation) {
+        // The same as the direct key slot for key codes up to 0x3FFF, but never collides for larger key codes.
+        return (((long) keyCode << 3) | (keyLocation & 0x07));
+    }
+
+    /**
+     * The state of every key while decoding a recording, which is allocated once for each worker thread and only the touched keys are cleared after each recording.
+     */
+    private static class RecordingScratch {
+
+        final long[] lastPressNanoTimes = new long[KEY_SLOT_COUNT];
+        final long[] lastReleaseNanoTimes = new long[KEY_SLOT_COUNT];
+        final boolean[] isDown = new boolean[KEY_SLOT_COUNT];
+        final int[] chatterCounts = new int[KEY_SLOT_COUNT];
+        final boolean[] isTouched = new boolean[KEY_SLOT_COUNT];
+        final int[] touchedSlots = new int[KEY_SLOT_COUNT];
+        int touchedSlotCount = 0;
+        final long[] delayBucketCounts = new long[DELAY_BUCKET_COUNT + 1];
+        final Map<Long, Integer> overflowKeySlots = new HashMap<>();
+        final long[] overflowKeyIDs = new long[OVERFLOW_KEY_SLOT_COUNT];
+
+        RecordingScratch() {
+            Arrays.fill(lastReleaseNanoTimes, -1);
+        }
+
+        int getKeySlot(int keyCode, int keyLocation) {
+            // Returns -1 if there are already more different large key codes in this recording than there are overflow slots (which no real keyboard could ever do).
+            long keyID = getKeyID(keyCode, keyLocation);
+            if ((keyCode >= 0) && (keyCode <= 0x3FFF)) {
+                return (int) keyID;
+            }
+
+            Integer overflowKeySlot = overflowKeySlots.get(keyID);
+            if (overflowKeySlot == null) {
+                if (overflowKeySlots.size() >= OVERFLOW_KEY_SLOT_COUNT) {
+                    return -1;
+                }
+
+                overflowKeyIDs[overflowKeySlots.size()] = keyID;
+                overflowKeySlot = (DIRECT_KEY_SLOT_COUNT + overflowKeySlots.size());
+                overflowKeySlots.put(keyID, overflowKeySlot);
+            }
+
+            return overflowKeySlot;
+        }
+
+        long getSlotKeyID(int keySlot) {
+            return ((keySlot < DIRECT_KEY_SLOT_COUNT) ? keySlot : overflowKeyIDs[keySlot - DIRECT_KEY_SLOT_COUNT]);
+        }
+
+        void touch(int keySlot) {
+            if (!isTouched[keySlot]) {
+                isTouched[keySlot] = true;
+                touchedSlots[touchedSlotCount++] = keySlot;
+            }
+        }
+
+        void clear() {
+            for (int touchedIndex = 0; touchedIndex < touchedSlotCount; touchedIndex++) {
+                int thisKeySlot = touchedSlots[touchedIndex];
+                lastPressNanoTimes[thisKeySlot] = 0;
+                lastReleaseNanoTimes[thisKeySlot] = -1;
+                isDown[thisKeySlot] = false;
+                chatterCounts[thisKeySlot] = 0;
+                isTouched[thisKeySlot] = false;
+            }
+
+            touchedSlotCount = 0;
+            Arrays.fill(delayBucketCounts, 0);
+            overflowKeySlots.clear();
+        }
+    }
+
+    private static final ThreadLocal<RecordingScratch> recordingScratch = ThreadLocal.withInitial(RecordingScratch::new);
+
+    static class RecordingReport {
+
+        final File file;
+        long firstEventMillis = 0;
+        long lastEventMillis = 0;
+        long eventCount = 0;
+        long keyPressCount = 0; // Only the first press of each key hold (not the autorepeats).
+        long chatterCount = 0;
+        long stuckKeyCount = 0;
+        long rolloverFailureCount = 0;
+        final long[] delayBucketCounts = new long[DELAY_BUCKET_COUNT + 1];
+        final Map<Long, Integer> chatterCountsByKeyID = new HashMap<>(); // Only filled in at the end of the recording for the keys that chattered.
+        String model = UNKNOWN_MODEL;
+
+        RecordingReport(File file) {
+            this.file = file;
+        }
+    }
+
+    static class ResultReport {
+
+        final File file;
+        final String model;
+        final boolean didPressEveryExpectedKey;
+        final long startedAtMillis;
+        final long endedAtMillis;
+
+        ResultReport(File file, String model, boolean didPressEveryExpectedKey, long startedAtMillis, long endedAtMillis) {
+            this.file = file;
+            this.model = model;
+            this.didPressEveryExpectedKey = didPressEveryExpectedKey;
+            this.startedAtMillis = startedAtMillis;
+            this.endedAtMillis = endedAtMillis;
+        }
+    }
+
+    static class ModelReport {
+
+        final String model;
+        long recordingCount = 0;
+        long resultCount = 0;
+        long completedResultCount = 0;
+        long keyPressCount = 0;
+        long chatterCount = 0;
+        long stuckKeyCount = 0;
+        long rolloverFailureCount = 0;
+        final long[] delayBucketCounts = new long[DELAY_BUCKET_COUNT + 1];
+        final Map<Long, Integer> chatterCountsByKeyID = new HashMap<>();
+
+        ModelReport(String model) {
+            this.model = model;
+        }
+
+        void add(RecordingReport recordingReport) {
+            recordingCount++;
+            keyPressCount += recordingReport.keyPressCount;
+            chatterCount += recordingReport.chatterCount;
+            stuckKeyCount += recordingReport.stuckKeyCount;
+            rolloverFailureCount += recordingReport.rolloverFailureCount;
+
+            for (int bucketIndex = 0; bucketIndex <= DELAY_BUCKET_COUNT; bucketIndex++) {
+                delayBucketCounts[bucketIndex] += recordingReport.delayBucketCounts[bucketIndex];
+            }
+
+            recordingReport.chatterCountsByKeyID.forEach((Long keyID, Integer thisChatterCount) -> chatterCountsByKeyID.merge(keyID, thisChatterCount, Integer::sum));
+        }
+
+        long getDelayPercentileMillis(double percentile) {
+            return SessionBatchAnalyzer.getDelayPercentileMillis(delayBucketCounts, percentile);
+        }
+
+        String getTopChatterKeys(int maxKeyCount) {
+            return chatterCountsByKeyID.entrySet().stream().sorted((Map.Entry<Long, Integer> thisEntry, Map.Entry<Long, Integer> otherEntry) -> Integer.compare(otherEntry.getValue(), thisEntry.getValue()))
+                    .limit(maxKeyCount).map((Map.Entry<Long, Integer> thisEntry) -> (getKeyName(thisEntry.getKey()) + " (" + thisEntry.getValue() + ")")).collect(Collectors.joining(", "));
+        }
+    }
+
+    static long getDelayPercentileMillis(long[] delayBucketCounts, double percentile) {
+        long totalCount = 0;
+        for (long thisBucketCount : delayBucketCounts) {
+            totalCount += thisBucketCount;
+        }
+
+        if (totalCount == 0) {
+            return 0;
+        }
+
+        long targetCount = (long) Math.ceil(totalCount * (percentile / 100.0));
+        long cumulativeCount = 0;
+        for (int bucketIndex = 0; bucketIndex <= DELAY_BUCKET_COUNT; bucketIndex++) {
+            cumulativeCount += delayBucketCounts[bucketIndex];
+            if (cumulativeCount >= targetCount) {
+                return Math.min((bucketIndex + 1), DELAY_BUCKET_COUNT); // The upper bound of the bucket in milliseconds (and the overflow bucket is reported as 1000 ms).
+            }
+        }
+
+        return DELAY_BUCKET_COUNT;
+    }
+
+    private static String getKeyName(long keyID) {
+        int keyLocation = (int) (keyID & 0x07);
+        return (KeyEvent.getKeyText((int) (keyID >> 3)) + ((keyLocation == KeyEvent.KEY_LOCATION_LEFT) ? " (Left)" : ((keyLocation == KeyEvent.KEY_LOCATION_RIGHT) ? " (Right)" : ((keyLocation == KeyEvent.KEY_LOCATION_NUMPAD) ? " (NumPad)" : ""))));
+    }
+
+    private static long readVarLong(MappedByteBuffer recordingBuffer) {
+        // The same as "KeyEventRecording.readVarLong()" but straight from the mapped bytes, and throws "BufferUnderflowException" if the recording was cut off in the middle of an event.
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int thisByte = (recordingBuffer.get() & 0xFF);
+
+            value |= ((long) (thisByte & 0x7F) << shift);
+            if ((thisByte & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IllegalArgumentException("Invalid varint in recording");
+    }
+
+    static RecordingReport analyzeRecording(File recordingFile) {
+        RecordingReport report = new RecordingReport(recordingFile);
+        RecordingScratch scratch = recordingScratch.get();
+
+        try (FileChannel recordingChannel = FileChannel.open(recordingFile.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer recordingBuffer = recordingChannel.map(FileChannel.MapMode.READ_ONLY, 0, recordingChannel.size());
+            if ((recordingBuffer.remaining() < KeyEventRecording.HEADER_LENGTH) || (recordingBuffer.getInt() != KeyEventRecording.MAGIC)) {
+                System.err.println("NOT A RECORDING: " + recordingFile.getPath());
+                return null;
+            }
+
+            long firstEventMillis = recordingBuffer.getLong();
+            int firstEventPosition = recordingBuffer.position();
+
+            // The delay of each key press can only be measured relative to the fastest key press in the recording, so the first pass finds the smallest
+            // offset between the OS event time and the handled time and the second pass does everything else (which is cheap since the recording is already mapped).
+            long minimumDelayOffsetMicros = Long.MAX_VALUE;
+            for (int pass = 0; pass < 2; pass++) {
+                recordingBuffer.position(firstEventPosition);
+                long eventMillis = firstEventMillis;
+                long eventNanoTime = 0;
+                boolean isFirstEvent = true;
+                int downKeyCount = 0;
+
+                while (recordingBuffer.hasRemaining()) {
+                    int flags;
+                    int keyCode;
+                    int keyLocation;
+                    try {
+                        flags = (recordingBuffer.get() & 0xFF);
+                        keyCode = (int) readVarLong(recordingBuffer);
+                        readVarLong(recordingBuffer); // The "getModifiersEx()" aren't needed.
+                        long whenDelta = readVarLong(recordingBuffer);
+                        long nanoTimeDelta = readVarLong(recordingBuffer);
+
+                        if (!isFirstEvent) {
+                            eventMillis += ((whenDelta >>> 1) ^ -(whenDelta & 1));
+                            eventNanoTime += nanoTimeDelta;
+                        }
+                        isFirstEvent = false;
+
+                        keyLocation = ((flags >> KeyEventRecording.LOCATION_SHIFT) & KeyEventRecording.LOCATION_MASK);
+                    } catch (BufferUnderflowException truncatedEventException) {
+                        break; // Ignore truncatedEventException since the recording was cut off in the middle of writing the last event.
+                    }
+
+                    boolean isPress = ((flags & KeyEventRecording.FLAG_PRESS) != 0);
+                    long delayOffsetMicros = ((eventNanoTime / 1000) - ((eventMillis - firstEventMillis) * 1000));
+
+                    if (pass == 0) {
+                        if (isPress && (delayOffsetMicros < minimumDelayOffsetMicros)) {
+                            minimumDelayOffsetMicros = delayOffsetMicros;
+                        }
+
+                        continue;
+                    }
+
+                    report.eventCount++;
+                    report.lastEventMillis = eventMillis;
+
+                    int keySlot = scratch.getKeySlot(keyCode, keyLocation);
+                    if (keySlot < 0) {
+                        continue;
+                    }
+                    scratch.touch(keySlot);
+
+                    if (isPress) {
+                        scratch.delayBucketCounts[(int) Math.min(((delayOffsetMicros - minimumDelayOffsetMicros) / 1000), DELAY_BUCKET_COUNT)]++;
+
+                        if (!scratch.isDown[keySlot]) { // Presses while the key is already down are autorepeats.
+                            report.keyPressCount++;
+
+                            if ((scratch.lastReleaseNanoTimes[keySlot] >= 0) && ((eventNanoTime - scratch.lastReleaseNanoTimes[keySlot]) < chatterNanos)) {
+                                report.chatterCount++;
+                                scratch.chatterCounts[keySlot]++;
+                            }
+
+                            scratch.isDown[keySlot] = true;
+                            scratch.lastPressNanoTimes[keySlot] = eventNanoTime;
+                            downKeyCount++;
+                        }
+                    } else {
+                        if (scratch.isDown[keySlot]) {
+                            if ((eventNanoTime - scratch.lastPressNanoTimes[keySlot]) >= stuckNanos) {
+                                report.stuckKeyCount++;
+                            }
+
+                            scratch.isDown[keySlot] = false;
+                            downKeyCount--;
+                        } else if (downKeyCount >= 2) {
+                            report.rolloverFailureCount++;
+                        }
+
+                        scratch.lastReleaseNanoTimes[keySlot] = eventNanoTime;
+                    }
+                }
+
+                if (pass == 1) {
+                    // Keys that were still held down when the recording ended.
+                    for (int touchedIndex = 0; touchedIndex < scratch.touchedSlotCount; touchedIndex++) {
+                        int thisKeySlot = scratch.touchedSlots[touchedIndex];
+                        if (scratch.isDown[thisKeySlot] && ((eventNanoTime - scratch.lastPressNanoTimes[thisKeySlot]) >= stuckNanos)) {
+                            report.stuckKeyCount++;
+                        }
+
+                        if (scratch.chatterCounts[thisKeySlot] > 0) {
+                            report.chatterCountsByKeyID.put(scratch.getSlotKeyID(thisKeySlot), scratch.chatterCounts[thisKeySlot]);
+                        }
+                    }
+
+                    System.arraycopy(scratch.delayBucketCounts, 0, report.delayBucketCounts, 0, report.delayBucketCounts.length);
+                }
+            }
+
+            report.firstEventMillis = firstEventMillis;
+        } catch (IOException | RuntimeException analyzeRecordingException) {
+            // Skip any recording that can't be analyzed (instead of letting it fail the whole batch), since a batch can be tens of thousands of files copied from many stations.
+            System.err.println("analyzeRecordingException (" + recordingFile.getPath() + "): " + analyzeRecordingException);
+            return null;
+        } finally {
+            scratch.clear();
+        }
+
+        return report;
+    }
+
+    static ResultReport analyzeResult(File resultFile) {
+        try {
+            Map<?, ?> result = (Map<?, ?>) new FleetResultCollector.JSONReader(new String(Files.readAllBytes(resultFile.toPath()), StandardCharsets.UTF_8)).readValue();
+            Object model = result.get("computerModel");
+
+            return new ResultReport(resultFile, (((model instanceof String) && !((String) model).isEmpty()) ? (String) model : UNKNOWN_MODEL), Boolean.TRUE.equals(result.get("didPressEveryExpectedKey")),
+                    ((Number) result.get("startedAtMillis")).longValue(), ((Number) result.get("endedAtMillis")).longValue());
+        } catch (IOException | RuntimeException analyzeResultException) {
+            System.err.println("analyzeResultException (" + resultFile.getPath() + "): " + analyzeResultException); // Such as a JSON file that isn't a result or was cut off, which is skipped just like an unreadable recording.
+            return null;
+        }
+    }
+
+    static void assignModels(List<RecordingReport> recordingReports, List<ResultReport> resultReports) {
+        // Each recording gets the model from the result in the same folder whose test overlaps the recording the most.
+        Map<File, List<ResultReport>> resultReportsByFolder = resultReports.stream().collect(Collectors.groupingBy((ResultReport thisResultReport) -> thisResultReport.file.getAbsoluteFile().getParentFile()));
+
+        for (RecordingReport thisRecordingReport : recordingReports) {
+            List<ResultReport> thisFolderResultReports = resultReportsByFolder.get(thisRecordingReport.file.getAbsoluteFile().getParentFile());
+            if ((thisFolderResultReports == null) || (thisRecordingReport.eventCount == 0)) {
+                continue;
+            }
+
+            long mostOverlapMillis = -1;
+            for (ResultReport thisResultReport : thisFolderResultReports) {
+                long thisOverlapMillis = (Math.min(thisRecordingReport.lastEventMillis, thisResultReport.endedAtMillis) - Math.max(thisRecordingReport.firstEventMillis, thisResultReport.startedAtMillis));
+                if (thisOverlapMillis > mostOverlapMillis) {
+                    mostOverlapMillis = thisOverlapMillis;
+                    thisRecordingReport.model = thisResultReport.model;
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int threadCount = Runtime.getRuntime().availableProcessors();
+        File outputFile = null;
+        File compareFile = null;
+        double maxRegressionPercentage = 25;
+        List<File> folders = new ArrayList<>();
+
+        for (String thisArg : args) {
+            if (thisArg.matches("^--threads=[1-9][0-9]*$")) {
+                threadCount = Integer.parseInt(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.startsWith("--output=")) {
+                outputFile = new File(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.startsWith("--compare=") && (thisArg.length() > "--compare=".length())) {
+                compareFile = new File(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.matches("^--max-regression=[0-9.]+$")) {
+                maxRegressionPercentage = Double.parseDouble(thisArg.substring(thisArg.indexOf("=") + 1));
+            } else if (thisArg.matches("^--chatter-millis=[0-9]+$")) {
+                chatterNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(thisArg.substring(thisArg.indexOf("=") + 1)));
+            } else if (thisArg.matches("^--stuck-millis=[0-9]+$")) {
+                stuckNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(thisArg.substring(thisArg.indexOf("=") + 1)));
+            } else {
+                folders.add(new File(thisArg));
+            }
+        }
+
+        if (folders.isEmpty()) {
+            System.err.println("Usage: java -Djava.awt.headless=true -cp KeyboardTest.jar Main.SessionBatchAnalyzer [--threads=N] [--output=report.tsv] [--compare=previous-report.tsv] [--max-regression=25] [--chatter-millis=30] [--stuck-millis=2000] folder...");
+            System.exit(2);
+        }
+
+        long startNanoTime = System.nanoTime();
+
+        List<File> recordingFiles = new ArrayList<>();
+        List<File> resultFiles = new ArrayList<>();
+        for (File thisFolder : folders) {
+            try (Stream<Path> thisFolderPaths = Files.walk(thisFolder.toPath())) {
+                thisFolderPaths.filter(Files::isRegularFile).map(Path::toFile).forEach((File thisFile) -> {
+                    if (thisFile.getName().endsWith(".ktr")) {
+                        recordingFiles.add(thisFile);
+                    } else if (thisFile.getName().endsWith(".json")) { // Results that are still being written end with ".tmp" and are never included.
+                        resultFiles.add(thisFile);
+                    }
+                });
+            } catch (IOException | UncheckedIOException listFolderException) {
+                System.err.println("listFolderException (" + thisFolder.getPath() + "): " + listFolderException);
+            }
+        }
+
+        // Analyze every file in parallel on a pool with the requested number of threads (parallel streams run on the pool they are started from).
+        List<RecordingReport> recordingReports;
+        List<ResultReport> resultReports;
+        ForkJoinPool analyzerPool = new ForkJoinPool(threadCount);
+        try {
+            recordingReports = analyzerPool.submit(() -> recordingFiles.parallelStream().map(SessionBatchAnalyzer::analyzeRecording).filter((RecordingReport thisRecordingReport) -> (thisRecordingReport != null)).collect(Collectors.toList())).get();
+            resultReports = analyzerPool.submit(() -> resultFiles.parallelStream().map(SessionBatchAnalyzer::analyzeResult).filter((ResultReport thisResultReport) -> (thisResultReport != null)).collect(Collectors.toList())).get();
+        } catch (InterruptedException | ExecutionException analyzeFilesException) {
+            System.err.println("analyzeFilesException: " + analyzeFilesException);
+            System.exit(1);
+            return;
+        } finally {
+            analyzerPool.shutdown();
+        }
+
+        assignModels(recordingReports, resultReports);
+
+        TreeMap<String, ModelReport> modelReports = new TreeMap<>();
+        ModelReport allModelsReport = new ModelReport("All Models");
+        long totalEventCount = 0;
+        for (RecordingReport thisRecordingReport : recordingReports) {
+            modelReports.computeIfAbsent(thisRecordingReport.model, ModelReport::new).add(thisRecordingReport);
+            allModelsReport.add(thisRecordingReport);
+            totalEventCount += thisRecordingReport.eventCount;
+        }
+        for (ResultReport thisResultReport : resultReports) {
+            for (ModelReport thisModelReport : new ModelReport[]{modelReports.computeIfAbsent(thisResultReport.model, ModelReport::new), allModelsReport}) {
+                thisModelReport.resultCount++;
+                if (thisResultReport.didPressEveryExpectedKey) {
+                    thisModelReport.completedResultCount++;
+                }
+            }
+        }
+
+        double elapsedSeconds = ((System.nanoTime() - startNanoTime) / 1_000_000_000.0);
+
+        List<ModelReport> reportRows = new ArrayList<>(modelReports.values());
+        reportRows.add(allModelsReport);
+        long allModelsP95DelayMillis = allModelsReport.getDelayPercentileMillis(95);
+
+        System.out.println(String.format("%-28s %10s %8s %9s %11s %8s %7s %8s %15s %8s  %s", "Model", "Recordings", "Results", "Completed", "Key Presses", "Chatter", "Stuck", "Rollover", "Delay P50/95/99", "P95/All", "Top Chatter Keys"));
+        for (ModelReport thisModelReport : reportRows) {
+            long thisP95DelayMillis = thisModelReport.getDelayPercentileMillis(95);
+            System.out.println(String.format("%-28s %10d %8d %9d %11d %8d %7d %8d %15s %8s  %s", thisModelReport.model, thisModelReport.recordingCount, thisModelReport.resultCount, thisModelReport.completedResultCount,
+                    thisModelReport.keyPressCount, thisModelReport.chatterCount, thisModelReport.stuckKeyCount, thisModelReport.rolloverFailureCount,
+                    (thisModelReport.getDelayPercentileMillis(50) + "/" + thisP95DelayMillis + "/" + thisModelReport.getDelayPercentileMillis(99) + " ms"),
+                    (((allModelsP95DelayMillis > 0) && (thisModelReport.recordingCount > 0)) ? String.format("%.2fx", ((double) thisP95DelayMillis / allModelsP95DelayMillis)) : "-"), thisModelReport.getTopChatterKeys(3)));
+        }
+
+        System.out.println(String.format("%nAnalyzed %d Recordings (%d Events) and %d Results on %d Threads in %.2f Seconds (%.0f Events per Second)",
+                recordingReports.size(), totalEventCount, resultReports.size(), threadCount, elapsedSeconds, (totalEventCount / elapsedSeconds)));
+
+        int skippedFileCount = ((recordingFiles.size() - recordingReports.size()) + (resultFiles.size() - resultReports.size()));
+        if (skippedFileCount > 0) {
+            System.out.println("Skipped " + skippedFileCount + " Files That Couldn't Be Analyzed (see the errors above)");
+        }
+
+        if (outputFile != null) {
+            try (PrintWriter outputWriter = new PrintWriter(Files.newBufferedWriter(outputFile.toPath(), StandardCharsets.UTF_8))) {
+                for (ModelReport thisModelReport : reportRows) {
+                    outputWriter.println(thisModelReport.model.replace('\t', ' ') + "\t" + thisModelReport.getDelayPercentileMillis(95) + "\t" + thisModelReport.getDelayPercentileMillis(50) + "\t" + thisModelReport.getDelayPercentileMillis(99)
+                            + "\t" + thisModelReport.recordingCount + "\t" + thisModelReport.resultCount + "\t" + thisModelReport.completedResultCount + "\t" + thisModelReport.keyPressCount
+                            + "\t" + thisModelReport.chatterCount + "\t" + thisModelReport.stuckKeyCount + "\t" + thisModelReport.rolloverFailureCount);
+                }
+            } catch (IOException writeBatchReportException) {
+                System.err.println("writeBatchReportException: " + writeBatchReportException);
+            }
+        }
+
+        if ((compareFile != null) && !compareReports(reportRows, compareFile, maxRegressionPercentage)) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean compareReports(List<ModelReport> reportRows, File previousReportFile, double maxRegressionPercentage) {
+        // Only the 95th percentile key event delay of each model (the second column) is compared, since the other columns are counts that depend on how many units were tested.
+        List<String> previousReportLines;
+        try {
+            previousReportLines = Files.readAllLines(previousReportFile.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException readPreviousReportException) {
+            System.err.println("readPreviousReportException: " + readPreviousReportException);
+            return false;
+        }
+
+        Map<String, ModelReport> modelReports = reportRows.stream().collect(Collectors.toMap((ModelReport thisModelReport) -> thisModelReport.model.replace('\t', ' '), (ModelReport thisModelReport) -> thisModelReport));
+
+        System.out.println("\nKey Event Delay P95 Compared to: " + previousReportFile.getPath());
+
+        boolean didPass = true;
+        for (String thisPreviousReportLine : previousReportLines) {
+            String[] thisPreviousReport = thisPreviousReportLine.split("\t");
+            if ((thisPreviousReport.length < 2) || !modelReports.containsKey(thisPreviousReport[0])) {
+                continue;
+            }
+
+            long previousP95DelayMillis;
+            try {
+                previousP95DelayMillis = Long.parseLong(thisPreviousReport[1]);
+            } catch (NumberFormatException parsePreviousReportException) {
+                System.err.println("Skipping Invalid Previous Report Line: " + thisPreviousReportLine); // Such as a hand edited report or one from a different version.
+                continue;
+            }
+
+            long currentP95DelayMillis = modelReports.get(thisPreviousReport[0]).getDelayPercentileMillis(95);
+            double changePercentage = (((currentP95DelayMillis - previousP95DelayMillis) / (double) Math.max(previousP95DelayMillis, 1)) * 100);
+            boolean isRegression = (changePercentage > maxRegressionPercentage);
+            if (isRegression) {
+                didPass = false;
+            }
+
+            System.out.println(String.format("  %-36s %4d ms -> %4d ms %+8.1f%%%s", thisPreviousReport[0], previousP95DelayMillis, currentP95DelayMillis, changePercentage, (isRegression ? "  REGRESSION" : "")));
+        }
+
+        return didPass;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.SplashScreen;
+
+/**
+ * Shows each startup phase on the splash screen that the JVM displays from the "SplashScreen-Image" in the JAR manifest (see the "-post-jar" target in "build.xml"),
+ * so that there is something on screen right away on slow computers and so that it's visible where the startup time goes on each computer.
+ *
+ * The name and time of each phase (see "StartupTiming") is drawn over the bottom of the splash image along with a progress bar, which is based on the number of phases
+ * that were shown during the previous launch (cached in "LaunchCache"). The JVM only shows the splash screen when launched with "java -jar" and closes it as soon as the window
+ * is displayed, so this does nothing once the splash screen is gone (or if there never was one, such as in the macOS app). Launches that never display a window
+ * (such as "--standby", "--use-standby", and "--stop-standby") must close the splash screen themselves with "close()".
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class StartupSplash {
+
+    private static final String PHASE_COUNT_CACHE_KEY = "splashPhaseCount";
+
+    private static SplashScreen splashScreen = null;
+    private static boolean didCheckForSplashScreen = false;
+    private static int shownPhaseCount = 0;
+    private static int expectedPhaseCount = 0;
+
+    private StartupSplash() {
+        // Only static methods.
+    }
+
+    private static void checkForSplashScreen() {
+        if (!didCheckForSplashScreen) {
+            didCheckForSplashScreen = true;
+
+            try {
+                // "SplashScreen.getSplashScreen()" doesn't initialize the AWT toolkit, so this is quick even when there is no splash screen.
+                if (!GraphicsEnvironment.isHeadless()) {
+                    splashScreen = SplashScreen.getSplashScreen();
+                }
+            } catch (UnsupportedOperationException | SecurityException getSplashScreenException) {
+                // Ignore getSplashScreenException since there is just no splash screen to update.
+            }
+
+            if (splashScreen != null) {
+                try {
+                    expectedPhaseCount = Integer.parseInt(LaunchCache.get(PHASE_COUNT_CACHE_KEY));
+                } catch (NumberFormatException parseSplashPhaseCountException) {
+                    // Ignore parseSplashPhaseCountException (or there being no cached count) since the progress bar just won't be drawn this time.
+                }
+            }
+        }
+    }
+
+    static synchronized void phaseMarked(String phaseName, long elapsedMillis) {
+        checkForSplashScreen();
+
+        if (splashScreen == null) {
+            return;
+        }
+
+        shownPhaseCount++;
+
+        try {
+            Graphics2D splashGraphics = splashScreen.createGraphics();
+            Dimension splashSize = splashScreen.getSize();
+
+            int fontSize = Math.max((splashSize.width / 14), 9);
+            int progressBarHeight = Math.max((fontSize / 3), 2);
+            int statusHeight = ((fontSize * 2) + progressBarHeight + 6);
+            int statusTop = (splashSize.height - statusHeight);
+
+            // The graphics are an overlay on top of the splash image, so clear the previous phase and then draw the new one.
+            splashGraphics.setComposite(AlphaComposite.Clear);
+            splashGraphics.fillRect(0, statusTop, splashSize.width, statusHeight);
+            splashGraphics.setComposite(AlphaComposite.SrcOver);
+            splashGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            splashGraphics.setColor(new Color(255, 255, 255, 220));
+            splashGraphics.fillRect(0, statusTop, splashSize.width, statusHeight);
+
+            splashGraphics.setColor(Color.DARK_GRAY);
+            splashGraphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, fontSize));
+            splashGraphics.drawString(phaseName, 3, (statusTop + fontSize + 1));
+            splashGraphics.drawString(elapsedMillis + " ms", 3, (statusTop + (fontSize * 2) + 2));
+
+            if (expectedPhaseCount > 0) {
+                splashGraphics.setColor(new Color(0, 122, 255));
+                splashGraphics.fillRect(0, (splashSize.height - progressBarHeight), ((splashSize.width * Math.min(shownPhaseCount, expectedPhaseCount)) / expectedPhaseCount), progressBarHeight);
+            }
+
+            splashGraphics.dispose();
+            splashScreen.update();
+        } catch (IllegalStateException splashScreenClosedException) {
+            splashScreen = null; // The splash screen was closed (such as by the window being displayed), so there's nothing more to update.
+        }
+    }
+
+    public static synchronized void windowWillBeDisplayed() {
+        // The JVM closes the splash screen when the window is displayed, so remember how many phases were shown for the progress bar during the next launch.
+        if ((splashScreen != null) && (shownPhaseCount > 0)) {
+            LaunchCache.put(PHASE_COUNT_CACHE_KEY, Integer.toString(shownPhaseCount));
+            splashScreen = null;
+        }
+    }
+
+    public static synchronized void close() {
+        // The phase count is not remembered since these launches don't go through the same phases as a launch that displays the window.
+        checkForSplashScreen();
+
+        if (splashScreen != null) {
+            try {
+                splashScreen.close();
+            } catch (IllegalStateException splashScreenClosedException) {
+                // Ignore splashScreenClosedException since the splash screen is already gone.
+            }
+
+            splashScreen = null;
+        }
+    }
+}
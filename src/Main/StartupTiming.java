@@ -0,0 +1,106 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Records how long each startup phase takes so slow launches can be diagnosed on each machine.
+ *
+ * Timing is only reported when "--startup-timing" is passed as a launch argument (which sets the "KeyboardTest.startupTiming" system property),
+ * but phases are always recorded since recording is just storing a "System.nanoTime()" value (and each phase is also shown on the splash screen, see "StartupSplash").
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class StartupTiming {
+
+    private static final long classLoadedNanoTime = System.nanoTime();
+    private static final List<String> phaseNames = new ArrayList<>();
+    private static final List<Long> phaseNanoTimes = new ArrayList<>();
+    private static boolean didReport = false;
+
+    private StartupTiming() {
+        // Only static methods.
+    }
+
+    public static synchronized void mark(String phaseName) {
+        if (!didReport) {
+            long phaseNanoTime = System.nanoTime();
+            phaseNames.add(phaseName);
+            phaseNanoTimes.add(phaseNanoTime);
+
+            StartupSplash.phaseMarked(phaseName, Math.round((phaseNanoTime - classLoadedNanoTime) / 1_000_000.0));
+        }
+    }
+
+    public static boolean isReportEnabled() {
+        return Boolean.parseBoolean(System.getProperty("KeyboardTest.startupTiming"));
+    }
+
+    public static synchronized long elapsedMillis() {
+        return Math.round((System.nanoTime() - classLoadedNanoTime) / 1_000_000.0);
+    }
+
+    public static synchronized String report() {
+        StringBuilder report = new StringBuilder("Keyboard Test Startup Timing:\n");
+
+        // The JVM itself starts before any of our code runs, so include how long it took to get to "main()" when the OS is able to tell us the process start time.
+        long jvmBootMillis = -1;
+        Optional<Instant> processStartInstant = ProcessHandle.current().info().startInstant();
+        if (processStartInstant.isPresent()) {
+            jvmBootMillis = Math.max((Duration.between(processStartInstant.get(), Instant.now()).toMillis() - elapsedMillis()), 0);
+            report.append(String.format("  %-36s %6d ms%n", "JVM Boot (Before main)", jvmBootMillis));
+        }
+
+        long previousNanoTime = classLoadedNanoTime;
+        for (int phaseIndex = 0; phaseIndex < phaseNames.size(); phaseIndex++) {
+            long thisPhaseNanoTime = phaseNanoTimes.get(phaseIndex);
+            report.append(String.format("  %-36s %6d ms  (+%d ms)%n", phaseNames.get(phaseIndex), Math.round((thisPhaseNanoTime - classLoadedNanoTime) / 1_000_000.0), Math.round((thisPhaseNanoTime - previousNanoTime) / 1_000_000.0)));
+            previousNanoTime = thisPhaseNanoTime;
+        }
+
+        if ((jvmBootMillis >= 0) && !phaseNames.isEmpty()) {
+            // The whole time from the process starting until the last phase, which is what to compare between a normal launch and a launch with "--use-standby".
+            report.append(String.format("  %-36s %6d ms%n", "Total (Since Process Started)", (jvmBootMillis + Math.round((previousNanoTime - classLoadedNanoTime) / 1_000_000.0))));
+        }
+
+        return report.toString();
+    }
+
+    public static synchronized boolean printReportIfEnabled(String... requiredPhaseNames) {
+        // Some phases finish in the background (such as the window icons being decoded), so only report once every required phase has been marked no matter which order they finish in.
+        if (!didReport && isReportEnabled()) {
+            for (String thisRequiredPhaseName : requiredPhaseNames) {
+                if (!phaseNames.contains(thisRequiredPhaseName)) {
+                    return false;
+                }
+            }
+
+            didReport = true;
+            System.out.print(report());
+
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and histograms of station throughput and key handling latency which are served in the Prometheus text format by "StationMetricsServer".
+ *
+ * Everything is updated on the EDT for every key press, so every counter is a "LongAdder" or "AtomicLongArray" which never blocks,
+ * and a scrape only ever reads those values (on the HTTP server thread) without taking any lock that the EDT could be waiting on.
+ * A scrape that happens during a key press may see a histogram bucket updated before its sum, which is fine for monitoring.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class StationMetrics {
+
+    static class Histogram {
+
+        private final double[] upperBoundSeconds;
+        private final AtomicLongArray bucketCounts; // Not cumulative (the last bucket is "+Inf"), the cumulative counts are calculated when scraping.
+        private final LongAdder sumNanos = new LongAdder();
+
+        Histogram(double... upperBoundSeconds) {
+            this.upperBoundSeconds = upperBoundSeconds;
+            bucketCounts = new AtomicLongArray(upperBoundSeconds.length + 1);
+        }
+
+        void observeNanos(long nanos) {
+            if (nanos < 0) {
+                nanos = 0; // Event timestamps come from a different clock than "System.nanoTime()" and can be slightly in the future.
+            }
+
+            double seconds = (nanos / 1_000_000_000.0);
+            int bucketIndex = 0;
+            while ((bucketIndex < upperBoundSeconds.length) && (seconds > upperBoundSeconds[bucketIndex])) {
+                bucketIndex++;
+            }
+
+            bucketCounts.incrementAndGet(bucketIndex);
+            sumNanos.add(nanos);
+        }
+
+        void appendTo(StringBuilder metrics, String name, String help) {
+            metrics.append("# HELP ").append(name).append(' ').append(help).append('\n');
+            metrics.append("# TYPE ").append(name).append(" histogram\n");
+
+            long cumulativeCount = 0;
+            for (int bucketIndex = 0; bucketIndex <= upperBoundSeconds.length; bucketIndex++) {
+                cumulativeCount += bucketCounts.get(bucketIndex);
+                metrics.append(name).append("_bucket{le=\"").append((bucketIndex < upperBoundSeconds.length) ? Double.toString(upperBoundSeconds[bucketIndex]) : "+Inf").append("\"} ").append(cumulativeCount).append('\n');
+            }
+
+            // The count is the same as the "+Inf" bucket (instead of a separate counter) so that they always match in a scrape.
+            metrics.append(name).append("_sum ").append(sumNanos.sum() / 1_000_000_000.0).append('\n');
+            metrics.append(name).append("_count ").append(cumulativeCount).append('\n');
+        }
+    }
+
+    private final long startTimeMillis = System.currentTimeMillis();
+    private final LongAdder completedUnitCount = new LongAdder();
+    private final LongAdder incompleteUnitCount = new LongAdder();
+    private final LongAdder keyPressCount = new LongAdder();
+    private final LongAdder unknownKeyPressCount = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> missedKeyCounts = new ConcurrentHashMap<>(); // Expected keys that were never pressed in a test that was ended without completing, which points to failing keys.
+    private final Histogram completionDurationHistogram = new Histogram(15, 30, 45, 60, 90, 120, 180, 300, 600);
+    private final Histogram keyEventDelayHistogram = new Histogram(0.001, 0.002, 0.004, 0.008, 0.016, 0.033, 0.05, 0.1, 0.25, 0.5, 1);
+    private final Histogram keyHandlingHistogram = new Histogram(0.0001, 0.00025, 0.0005, 0.001, 0.002, 0.004, 0.008, 0.016, 0.033, 0.1);
+    private final Histogram keyDeliveryHistogram = new Histogram(0.0005, 0.001, 0.002, 0.004, 0.008, 0.016, 0.033, 0.05, 0.1, 0.25); // Only observed when launched with "--delivery-latency" (see "KeyDeliveryLatency").
+    private final LongAdder unmatchedKeyDeliveryCount = new LongAdder();
+
+    public void recordKeyPress(boolean isUnknownKey) {
+        keyPressCount.increment();
+
+        if (isUnknownKey) {
+            unknownKeyPressCount.increment();
+        }
+    }
+
+    public void recordKeyEventDelay(long delayMillis) {
+        // How long a key event waited from when the OS created it until it was handled, which is how far behind the EDT is.
+        keyEventDelayHistogram.observeNanos(TimeUnit.MILLISECONDS.toNanos(delayMillis));
+    }
+
+    public void recordKeyHandling(long handlingNanos) {
+        keyHandlingHistogram.observeNanos(handlingNanos);
+    }
+
+    public void recordKeyDelivery(long deliveryMicros) {
+        // How long the OS and JVM took to deliver a key press from the kernel to "onKeyPressed", or -1 if the AWT key press didn't match any kernel key press.
+        if (deliveryMicros < 0) {
+            unmatchedKeyDeliveryCount.increment();
+        } else {
+            keyDeliveryHistogram.observeNanos(TimeUnit.MICROSECONDS.toNanos(deliveryMicros));
+        }
+    }
+
+    public void recordResult(KeyboardTestResult result) {
+        if (result.endReason.equals("completed")) {
+            completedUnitCount.increment();
+            completionDurationHistogram.observeNanos(TimeUnit.MILLISECONDS.toNanos(result.completionMillis));
+        } else if (!result.didPressEveryExpectedKey) { // A completed test that is reset or quit was already counted when it completed.
+            incompleteUnitCount.increment();
+
+            for (KeyboardTestResult.KeyResult thisKey : result.keys) {
+                if (thisKey.getState().equals(KeyboardTestResult.KEY_STATE_NOT_PRESSED)) {
+                    missedKeyCounts.computeIfAbsent(thisKey.id, (String keyID) -> new LongAdder()).increment();
+                }
+            }
+        }
+    }
+
+    public String scrape() {
+        StringBuilder metrics = new StringBuilder(4096);
+
+        appendMetric(metrics, "keyboard_test_start_time_seconds", "gauge", "When Keyboard Test was launched in seconds since the epoch.", (startTimeMillis / 1000.0));
+
+        metrics.append("# HELP keyboard_test_units_total Tests that were completed, or were reset or quit without pressing every expected key.\n");
+        metrics.append("# TYPE keyboard_test_units_total counter\n");
+        metrics.append("keyboard_test_units_total{result=\"completed\"} ").append(completedUnitCount.sum()).append('\n');
+        metrics.append("keyboard_test_units_total{result=\"incomplete\"} ").append(incompleteUnitCount.sum()).append('\n');
+
+        completionDurationHistogram.appendTo(metrics, "keyboard_test_completion_duration_seconds", "Time from the first key press until every expected key was pressed for each completed test.");
+
+        appendMetric(metrics, "keyboard_test_key_presses_total", "counter", "Every key press that was handled.", keyPressCount.sum());
+        appendMetric(metrics, "keyboard_test_unknown_key_presses_total", "counter", "Key presses that didn't match any key in the layout.", unknownKeyPressCount.sum());
+
+        metrics.append("# HELP keyboard_test_missed_keys_total Expected keys that were never pressed in tests that were reset or quit without completing.\n");
+        metrics.append("# TYPE keyboard_test_missed_keys_total counter\n");
+        for (Map.Entry<String, LongAdder> thisMissedKeyCount : missedKeyCounts.entrySet()) {
+            metrics.append("keyboard_test_missed_keys_total{key=\"").append(getEscapedLabelValue(thisMissedKeyCount.getKey())).append("\"} ").append(thisMissedKeyCount.getValue().sum()).append('\n');
+        }
+
+        keyEventDelayHistogram.appendTo(metrics, "keyboard_test_key_event_delay_seconds", "Time from when the OS created each key event until it was handled.");
+        keyHandlingHistogram.appendTo(metrics, "keyboard_test_key_handling_seconds", "Time spent handling each key press on the Event Dispatch Thread.");
+        keyDeliveryHistogram.appendTo(metrics, "keyboard_test_key_delivery_seconds", "Time from the kernel timestamp of each key press until AWT delivered it (only with --delivery-latency).");
+        appendMetric(metrics, "keyboard_test_unmatched_key_deliveries_total", "counter", "AWT key presses that didn't match any kernel key press (only with --delivery-latency).", unmatchedKeyDeliveryCount.sum());
+
+        return metrics.toString();
+    }
+
+    private static void appendMetric(StringBuilder metrics, String name, String type, String help, double value) {
+        metrics.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        metrics.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        metrics.append(name).append(' ').append((value == Math.rint(value)) ? Long.toString((long) value) : Double.toString(value)).append('\n');
+    }
+
+    private static String getEscapedLabelValue(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *
+ * MIT License
+ *
+ * Copyright (c) 2026 Free Geek
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY,
+ * WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package Main;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves "StationMetrics" at "/metrics" in the Prometheus text format with the HTTP server that is built into the JDK so that supervisors can monitor each station.
+ *
+ * The server is only started when "--metrics-port=" is passed as a launch argument, and only listens on localhost unless another address
+ * (such as the LAN address of the station, or "0.0.0.0" for every interface) is passed with "--metrics-address=".
+ * Scrapes are handled on a single background thread which only reads the lock-free counters, so a scrape can never stall the Event Dispatch Thread.
+ *
+ * @author Pico Mitchell (of Free Geek)
+ */
+public class StationMetricsServer {
+
+    private final HttpServer httpServer;
+
+    public StationMetricsServer(StationMetrics stationMetrics, String address, int port) throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(address, port), 0);
+
+        httpServer.createContext("/metrics", (HttpExchange httpExchange) -> {
+            try {
+                if (!httpExchange.getRequestMethod().equals("GET") && !httpExchange.getRequestMethod().equals("HEAD")) {
+                    httpExchange.sendResponseHeaders(405, -1);
+                    return;
+                }
+
+                byte[] metricsBytes = stationMetrics.scrape().getBytes(StandardCharsets.UTF_8);
+                httpExchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+
+                if (httpExchange.getRequestMethod().equals("HEAD")) {
+                    httpExchange.sendResponseHeaders(200, -1);
+                } else {
+                    httpExchange.sendResponseHeaders(200, metricsBytes.length);
+                    try (OutputStream responseBody = httpExchange.getResponseBody()) {
+                        responseBody.write(metricsBytes);
+                    }
+                }
+            } finally {
+                httpExchange.close();
+            }
+        });
+
+        httpServer.setExecutor(Executors.newSingleThreadExecutor((Runnable scrapeRunnable) -> {
+            Thread scrapeThread = new Thread(scrapeRunnable, "Station Metrics Server");
+            scrapeThread.setDaemon(true);
+            return scrapeThread;
+        }));
+    }
+
+    public void start() {
+        httpServer.start();
+    }
+
+    public InetSocketAddress getAddress() {
+        return httpServer.getAddress();
+    }
+}